@@ -0,0 +1,69 @@
+package com.eg.hospital.messaging.jms.processor.actuator;
+
+import com.eg.hospital.messaging.jms.processor.broker.BrokerStatistics;
+import com.eg.hospital.messaging.jms.processor.config.DeadLetterConfig;
+import com.eg.hospital.messaging.jms.processor.config.QueueConfig;
+import com.eg.hospital.messaging.jms.processor.messaging.deadletter.DeadLetterReplayer;
+import com.eg.hospital.messaging.jms.processor.messaging.deadletter.DeadLetterStore;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/deadletters}) over the dead letter holding store: a GET returns the held
+ * messages by reason, operation and dead letter queue, the broker depth of every dead letter queue of the hospital
+ * management queue ({@code -1} without the embedded broker) and the progress of the current or latest replay, a POST
+ * starts a replay with optional {@code reason}, {@code operation}, {@code limit} and {@code rate} settings and a
+ * DELETE stops the replay.
+ * Invalid settings, or a POST while a replay is in progress, are answered with 400 and an {@code error} message.
+ *
+ * @author Sanjay
+ */
+@Component
+@WebEndpoint(id = "deadletters")
+@AllArgsConstructor
+public class DeadLetterEndpoint {
+
+    private final DeadLetterStore deadLetterStore;
+    private final DeadLetterReplayer deadLetterReplayer;
+    private final DeadLetterConfig deadLetterConfig;
+    private final QueueConfig queueConfig;
+    private final BrokerStatistics brokerStatistics;
+
+    @ReadOperation
+    public Map<String, Object> deadLetters() {
+        Map<String, Object> deadLetters = deadLetterStore.summary();
+        Map<String, Long> depths = new LinkedHashMap<>();
+        for (String queue : deadLetterConfig.deadLetterQueues(queueConfig.getHospitalManagement())) {
+            depths.put(queue, brokerStatistics.queueDepth(queue));
+        }
+        deadLetters.put("brokerDepths", depths);
+        deadLetters.put("replay", deadLetterReplayer.progress());
+        return deadLetters;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> replay(@Nullable String reason, @Nullable String operation,
+                                                           @Nullable Long limit, @Nullable Integer rate) {
+        try {
+            return new WebEndpointResponse<>(deadLetterReplayer.start(reason, operation, limit, rate));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("error", e.getMessage());
+            return new WebEndpointResponse<>(error, WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    @DeleteOperation
+    public Map<String, Object> cancel() {
+        return deadLetterReplayer.cancel();
+    }
+}
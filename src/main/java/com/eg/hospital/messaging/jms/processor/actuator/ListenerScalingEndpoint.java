@@ -0,0 +1,38 @@
+package com.eg.hospital.messaging.jms.processor.actuator;
+
+import com.eg.hospital.messaging.jms.processor.messaging.scaling.ListenerConcurrencyScaler;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/listenerscaling}) exposing the state of the adaptive listener scaler:
+ * its bounds, the current consumer target, the last sample and the most recent scaling decisions.
+ *
+ * @author Sanjay
+ */
+@Component
+@Endpoint(id = "listenerscaling")
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "spring.jms.consumers.adaptive", name = "enabled", havingValue = "true")
+public class ListenerScalingEndpoint {
+
+    private final ListenerConcurrencyScaler listenerConcurrencyScaler;
+
+    @ReadOperation
+    public Map<String, Object> scaling() {
+        Map<String, Object> scaling = new LinkedHashMap<>();
+        scaling.put("minConsumers", listenerConcurrencyScaler.getConfig().getMinConsumers());
+        scaling.put("maxConsumers", listenerConcurrencyScaler.getConfig().getMaxConsumers());
+        scaling.put("currentConsumers", listenerConcurrencyScaler.getCurrentConsumers());
+        scaling.put("lastQueueDepth", listenerConcurrencyScaler.getLastQueueDepth());
+        scaling.put("lastProcessingTimeMillis", listenerConcurrencyScaler.getLastProcessingTimeMillis());
+        scaling.put("decisions", listenerConcurrencyScaler.getDecisions());
+        return scaling;
+    }
+}
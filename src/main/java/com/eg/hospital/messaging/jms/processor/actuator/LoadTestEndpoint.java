@@ -0,0 +1,56 @@
+package com.eg.hospital.messaging.jms.processor.actuator;
+
+import com.eg.hospital.messaging.jms.processor.config.LoadTestConfig;
+import com.eg.hospital.messaging.jms.processor.loadtest.LoadGenerator;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/loadtest}) driving the {@link LoadGenerator}: a POST starts a run with optional
+ * {@code target}, {@code rate}, {@code duration} and {@code createPercent} overrides, a GET returns the report of the
+ * current or latest run and a DELETE stops starting new operations. Invalid settings, or a POST while a run is in
+ * progress, are answered with 400 and an {@code error} message.
+ *
+ * @author Sanjay
+ */
+@Component
+@WebEndpoint(id = "loadtest")
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "spring.jms.load-test", name = "enabled", havingValue = "true")
+public class LoadTestEndpoint {
+
+    private final LoadGenerator loadGenerator;
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        return loadGenerator.report();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> start(@Nullable LoadTestConfig.Target target, @Nullable Integer rate,
+                                                          @Nullable Duration duration, @Nullable Integer createPercent) {
+        try {
+            return new WebEndpointResponse<>(loadGenerator.start(target, rate, duration, createPercent));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("error", e.getMessage());
+            return new WebEndpointResponse<>(error, WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    @DeleteOperation
+    public Map<String, Object> cancel() {
+        return loadGenerator.cancel();
+    }
+}
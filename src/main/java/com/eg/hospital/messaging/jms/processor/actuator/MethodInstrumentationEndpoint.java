@@ -0,0 +1,50 @@
+package com.eg.hospital.messaging.jms.processor.actuator;
+
+import com.eg.hospital.messaging.jms.processor.aspect.LoggingAspect;
+import com.eg.hospital.messaging.jms.processor.config.MessageLoggingConfig.MethodInstrumentation;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/methodinstrumentation}) over the {@link LoggingAspect}: a GET returns the current
+ * instrumentation mode of the controller and service methods and the number of methods instrumented so far, and a
+ * POST with a {@code mode} of {@code LOG}, {@code TIMING} or {@code OFF} switches to it without a restart. An unknown
+ * mode is answered with 400 and an {@code error} message.
+ *
+ * @author Sanjay
+ */
+@Component
+@WebEndpoint(id = "methodinstrumentation")
+@AllArgsConstructor
+public class MethodInstrumentationEndpoint {
+
+    private final LoggingAspect loggingAspect;
+
+    @ReadOperation
+    public Map<String, Object> instrumentation() {
+        Map<String, Object> instrumentation = new LinkedHashMap<>();
+        instrumentation.put("mode", loggingAspect.getMode());
+        instrumentation.put("methods", loggingAspect.getInstrumentedMethods());
+        return instrumentation;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> mode(String mode) {
+        try {
+            loggingAspect.setMode(MethodInstrumentation.valueOf(mode.toUpperCase(Locale.ROOT)));
+            return new WebEndpointResponse<>(instrumentation());
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("error", "Unknown method instrumentation mode " + mode + ", expected one of LOG, TIMING, OFF");
+            return new WebEndpointResponse<>(error, WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.eg.hospital.messaging.jms.processor.aspect;
+
+import com.eg.hospital.messaging.jms.processor.config.DeduplicationConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.messaging.dedup.OperationDeduplicationCache;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@Slf4j
+@AllArgsConstructor
+public class DeduplicationAspect {
+
+    private final OperationDeduplicationCache operationDeduplicationCache;
+    private final DeduplicationConfig deduplicationConfig;
+
+    /**
+     * Skips a {@code GroupMessageListener.processMessage} call for a message whose operation id was already
+     * processed. If the listener fails, the id is forgotten again so that the redelivered message is processed.
+     * Messages without an operation id are always processed.
+     *
+     * @param joinPoint the listener invocation
+     * @param message   the received message
+     * @return the listener result, or {@code null} for a skipped duplicate
+     * @throws Throwable whatever the listener throws
+     */
+    @Around("execution(* com.eg.hospital.messaging.jms.processor.messaging.GroupMessageListener+.processMessage(..)) && args(message)")
+    public Object skipDuplicates(ProceedingJoinPoint joinPoint, GroupMessageDTO message) throws Throwable {
+        String operationId = message == null ? null : message.getOperationId();
+        if (!deduplicationConfig.isEnabled() || operationId == null) {
+            return joinPoint.proceed();
+        }
+        if (!operationDeduplicationCache.markIfAbsent(operationId)) {
+            log.info("Skipping duplicate {} operation {} for Group Id: {}", message.getOperation(), operationId, message.getGroupId());
+            return null;
+        }
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            operationDeduplicationCache.forget(operationId);
+            throw throwable;
+        }
+    }
+}
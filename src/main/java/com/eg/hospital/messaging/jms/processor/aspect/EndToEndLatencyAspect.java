@@ -0,0 +1,29 @@
+package com.eg.hospital.messaging.jms.processor.aspect;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.loadtest.EndToEndLatencyRecorder;
+import lombok.AllArgsConstructor;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@AllArgsConstructor
+public class EndToEndLatencyAspect {
+
+    private final EndToEndLatencyRecorder endToEndLatencyRecorder;
+
+    /**
+     * Hands every message to the {@link EndToEndLatencyRecorder} just before
+     * {@code GroupMessageListener.processMessage} runs, which records it if it belongs to an active load test run.
+     *
+     * @param message the received message
+     */
+    @Before("execution(* com.eg.hospital.messaging.jms.processor.messaging.GroupMessageListener+.processMessage(..)) && args(message)")
+    public void recordEndToEndLatency(GroupMessageDTO message) {
+        if (message != null) {
+            endToEndLatencyRecorder.record(message);
+        }
+    }
+}
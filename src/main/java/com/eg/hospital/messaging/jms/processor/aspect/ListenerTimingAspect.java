@@ -0,0 +1,48 @@
+package com.eg.hospital.messaging.jms.processor.aspect;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.messaging.scaling.ProcessingTimeTracker;
+import com.eg.hospital.messaging.jms.processor.metrics.MessagingMetrics;
+import lombok.AllArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@AllArgsConstructor
+public class ListenerTimingAspect {
+
+    private final ProcessingTimeTracker processingTimeTracker;
+    private final MessagingMetrics messagingMetrics;
+
+    /**
+     * Measures the time taken by every {@code GroupMessageListener.processMessage} call
+     * and feeds it to the {@link ProcessingTimeTracker} and, per operation and result, to the
+     * {@link MessagingMetrics}, which also records how long the message waited before processing.
+     *
+     * @param joinPoint the listener invocation
+     * @param message   the received message
+     * @return the listener result
+     * @throws Throwable whatever the listener throws
+     */
+    @Around("execution(* com.eg.hospital.messaging.jms.processor.messaging.GroupMessageListener+.processMessage(..)) && args(message)")
+    public Object timeListener(ProceedingJoinPoint joinPoint, GroupMessageDTO message) throws Throwable {
+        String operation = message == null ? null : message.getOperation();
+        if (message != null) {
+            messagingMetrics.recordDwell(message);
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            processingTimeTracker.record(nanos);
+            messagingMetrics.recordProcess(operation, nanos, success);
+        }
+    }
+}
@@ -1,17 +1,48 @@
 package com.eg.hospital.messaging.jms.processor.aspect;
 
+import com.eg.hospital.messaging.jms.processor.config.MessageLoggingConfig;
+import com.eg.hospital.messaging.jms.processor.config.MessageLoggingConfig.MethodInstrumentation;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Instruments every controller and service method call according to the
+ * {@link MessageLoggingConfig#getMethodInstrumentation() method instrumentation} mode, which can be changed at runtime:
+ * {@code LOG} logs controller arguments and service entries at INFO, {@code TIMING} records the call in the
+ * {@code request.method} timer and {@code OFF} only calls the method.
+ * <p>
+ * The class and method names and the timers of a method are resolved on its first call and cached, so later calls
+ * do no reflection. The names are those of the first target class the method is called on.
+ * </p>
+ *
+ * @author Sanjay
+ */
 @Aspect
 @Component
 @Slf4j
 public class LoggingAspect {
 
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, InstrumentedMethod> methods = new ConcurrentHashMap<>();
+    private volatile MethodInstrumentation mode;
+
+    public LoggingAspect(MessageLoggingConfig messageLoggingConfig, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.mode = messageLoggingConfig.getMethodInstrumentation();
+    }
+
     /**
      * Pointcut for all methods in the controller package.
      * Targets all classes and methods under com.eg.hospital.messaging.jms.processor.controller.
@@ -20,29 +51,104 @@ public class LoggingAspect {
     public void controllerMethods() {}
 
     /**
-     * Logs input parameters of controller methods.
+     * Logs input parameters of controller methods, or times them.
      */
-    @Before("controllerMethods()")
-    public void logInputParameters(JoinPoint joinPoint) {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-
-        log.info("{}.{}() called with request body: {}", className, methodName, args);
+    @Around("controllerMethods()")
+    public Object logInputParameters(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodInstrumentation current = mode;
+        if (current == MethodInstrumentation.OFF) {
+            return joinPoint.proceed();
+        }
+        InstrumentedMethod method = instrumentedMethod(joinPoint);
+        if (current == MethodInstrumentation.LOG) {
+            log.info("{}.{}() called with request body: {}", method.className, method.methodName, joinPoint.getArgs());
+            return joinPoint.proceed();
+        }
+        return time(joinPoint, method);
     }
 
     /**
-     * Advice that runs before any method in the service package.
-     * Logs method entry points to indicate that a service method was invoked.
+     * Advice that runs around any method in the service package.
+     * Logs method entry points to indicate that a service method was invoked, or times the method.
      *
      * @param joinPoint provides access to method being called
      */
-    @Before("execution(* com.eg.hospital.messaging.jms.processor.service..*(..))")
-    public void logServiceInputs(JoinPoint joinPoint) {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
+    @Around("execution(* com.eg.hospital.messaging.jms.processor.service..*(..))")
+    public Object logServiceInputs(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodInstrumentation current = mode;
+        if (current == MethodInstrumentation.OFF) {
+            return joinPoint.proceed();
+        }
+        InstrumentedMethod method = instrumentedMethod(joinPoint);
+        if (current == MethodInstrumentation.LOG) {
+            log.info("Entering {}.{}", method.className, method.methodName);
+            return joinPoint.proceed();
+        }
+        return time(joinPoint, method);
+    }
+
+    public MethodInstrumentation getMode() {
+        return mode;
+    }
+
+    public void setMode(MethodInstrumentation mode) {
+        log.info("Controller and service method instrumentation changed from {} to {}", this.mode, mode);
+        this.mode = mode;
+    }
+
+    /**
+     * @return the number of methods called since startup
+     */
+    public int getInstrumentedMethods() {
+        return methods.size();
+    }
 
-        log.info("Entering {}.{}", className, methodName);
+    private InstrumentedMethod instrumentedMethod(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        InstrumentedMethod instrumented = methods.get(method);
+        if (instrumented == null) {
+            instrumented = methods.computeIfAbsent(method,
+                    key -> new InstrumentedMethod(joinPoint.getTarget().getClass().getSimpleName(), key.getName(), meterRegistry));
+        }
+        return instrumented;
     }
 
-}
\ No newline at end of file
+    private static Object time(ProceedingJoinPoint joinPoint, InstrumentedMethod method) throws Throwable {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            (success ? method.success : method.failure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Names and timers of one instrumented method.
+     */
+    private static final class InstrumentedMethod {
+
+        private final String className;
+        private final String methodName;
+        private final Timer success;
+        private final Timer failure;
+
+        private InstrumentedMethod(String className, String methodName, MeterRegistry meterRegistry) {
+            this.className = className;
+            this.methodName = methodName;
+            this.success = timer(meterRegistry, className, methodName, "success");
+            this.failure = timer(meterRegistry, className, methodName, "failure");
+        }
+
+        private static Timer timer(MeterRegistry meterRegistry, String className, String methodName, String result) {
+            return Timer.builder("request.method")
+                    .description("Controller and service method calls on the request path")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.eg.hospital.messaging.jms.processor.aspect;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.metrics.MessagingMetrics;
+import lombok.AllArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@AllArgsConstructor
+public class ProducerTimingAspect {
+
+    private final MessagingMetrics messagingMetrics;
+
+    /**
+     * Measures every blocking {@code JmsMessageProducer.sendMessage} call and records it, per operation and result,
+     * in the {@link MessagingMetrics}.
+     *
+     * @param joinPoint the send invocation
+     * @param message   the message being sent
+     * @return the send result
+     * @throws Throwable whatever the send throws
+     */
+    @Around("execution(* com.eg.hospital.messaging.jms.processor.messaging.JmsMessageProducer.sendMessage(..)) && args(message)")
+    public Object timeSend(ProceedingJoinPoint joinPoint, GroupMessageDTO message) throws Throwable {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            messagingMetrics.recordSend(message == null ? null : message.getOperation(), System.nanoTime() - start, success);
+        }
+    }
+}
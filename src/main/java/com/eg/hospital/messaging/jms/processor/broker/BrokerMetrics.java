@@ -0,0 +1,44 @@
+package com.eg.hospital.messaging.jms.processor.broker;
+
+import com.eg.hospital.messaging.jms.processor.config.DeadLetterConfig;
+import com.eg.hospital.messaging.jms.processor.config.QueueConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds the depth of the hospital management queue and of its dead letter queues (the shared {@code ActiveMQ.DLQ},
+ * or the individual queue and its operation shards) as the {@code jms.queue.depth} gauge, tagged with the queue name.
+ * The depth is read from the {@link BrokerStatistics} on every scrape and reported as NaN when the embedded broker is
+ * not running in this JVM.
+ *
+ * @author Sanjay
+ */
+@Component
+@AllArgsConstructor
+public class BrokerMetrics implements MeterBinder {
+
+    private final BrokerStatistics brokerStatistics;
+    private final QueueConfig queueConfig;
+    private final DeadLetterConfig deadLetterConfig;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        queueDepth(registry, queueConfig.getHospitalManagement());
+        for (String deadLetterQueue : deadLetterConfig.deadLetterQueues(queueConfig.getHospitalManagement())) {
+            queueDepth(registry, deadLetterQueue);
+        }
+    }
+
+    private void queueDepth(MeterRegistry registry, String queueName) {
+        Gauge.builder("jms.queue.depth", brokerStatistics, statistics -> {
+                    long depth = statistics.queueDepth(queueName);
+                    return depth < 0 ? Double.NaN : depth;
+                })
+                .description("Messages held by the queue, including dispatched but unacknowledged ones")
+                .tag("queue", queueName)
+                .register(registry);
+    }
+}
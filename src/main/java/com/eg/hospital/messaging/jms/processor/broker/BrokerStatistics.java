@@ -0,0 +1,88 @@
+package com.eg.hospital.messaging.jms.processor.broker;
+
+import org.apache.activemq.broker.BrokerRegistry;
+import org.apache.activemq.broker.BrokerService;
+import org.apache.activemq.broker.region.Destination;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-only access to the statistics of the embedded ActiveMQ broker.
+ * <p>
+ * The broker is looked up by name in the {@link BrokerRegistry}, which is where the {@code vm://} transport
+ * registers the embedded broker, and kept until it stops. When the broker is not running in this JVM every statistic
+ * reads as {@code -1}.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+public class BrokerStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(BrokerStatistics.class);
+
+    private final String brokerName;
+
+    private volatile BrokerService brokerService;
+
+    public BrokerStatistics(@Value("${spring.jms.broker.name:localhost}") String brokerName) {
+        this.brokerName = brokerName;
+    }
+
+    /**
+     * Returns the number of messages currently held by a queue, including dispatched but unacknowledged ones.
+     *
+     * @param queueName the queue name
+     * @return the queue depth, or {@code -1} if the embedded broker is not available
+     */
+    public long queueDepth(String queueName) {
+        BrokerService brokerService = brokerService();
+        if (brokerService == null) {
+            return -1;
+        }
+        try {
+            Destination destination = brokerService.getDestination(new ActiveMQQueue(queueName));
+            return destination == null ? -1 : destination.getDestinationStatistics().getMessages().getCount();
+        } catch (Exception e) {
+            log.warn("Unable to read depth of queue {}: {}", queueName, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * @return the memory usage of the broker in percent of its memory limit, or {@code -1} if the embedded broker is
+     * not available
+     */
+    public int memoryPercentUsage() {
+        BrokerService brokerService = brokerService();
+        return brokerService == null ? -1 : brokerService.getSystemUsage().getMemoryUsage().getPercentUsage();
+    }
+
+    /**
+     * @return the store usage of the broker in percent of its store limit, or {@code -1} if the embedded broker is
+     * not available
+     */
+    public int storePercentUsage() {
+        BrokerService brokerService = brokerService();
+        return brokerService == null ? -1 : brokerService.getSystemUsage().getStoreUsage().getPercentUsage();
+    }
+
+    /**
+     * @return the embedded broker, or {@code null} if it is not running in this JVM
+     */
+    public BrokerService brokerService() {
+        BrokerService cached = brokerService;
+        if (cached != null && cached.isStarted()) {
+            return cached;
+        }
+        BrokerService registered = BrokerRegistry.getInstance().lookup(brokerName);
+        if (registered != null && registered.isStarted()) {
+            brokerService = registered;
+            return registered;
+        }
+        return null;
+    }
+}
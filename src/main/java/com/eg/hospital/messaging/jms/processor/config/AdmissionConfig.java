@@ -0,0 +1,57 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration class that binds the producer admission control properties defined under the
+ * {@code spring.jms.admission} prefix in the application's configuration file.
+ *
+ * <p>
+ * Admission control rejects a send before it reaches the broker when too many sends are already in flight or when
+ * the embedded broker's memory or store usage is above its high watermark, so REST callers get a 429 or 503 with a
+ * {@code Retry-After} header instead of a request thread blocked by producer flow control.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.jms.admission")
+@Getter
+@Setter
+public class AdmissionConfig {
+
+    /**
+     * Whether sends go through admission control.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of blocking sends in progress at the same time; further sends are rejected with a 429.
+     */
+    private int maxInFlight = 100;
+
+    /**
+     * Broker memory usage, in percent of the memory limit, from which sends are rejected with a 503.
+     */
+    private int memoryHighWatermark = 90;
+
+    /**
+     * Broker store usage, in percent of the store limit, from which sends are rejected with a 503.
+     */
+    private int storeHighWatermark = 90;
+
+    /**
+     * Retry-After returned when a send is rejected because too many sends are in flight.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Retry-After returned when a send is rejected because the broker is above a high watermark.
+     */
+    private Duration brokerRetryAfter = Duration.ofSeconds(5);
+}
@@ -0,0 +1,47 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration class that binds the asynchronous send properties defined under the
+ * {@code spring.jms.async} prefix in the application's configuration file.
+ *
+ * <p>
+ * When enabled, the {@code /groups/async/**} endpoints hand messages to the broker without
+ * blocking the request thread. The in-flight window bounds how many sends may be awaiting a
+ * broker acknowledgement at the same time; a send that finds it full is rejected at once with a 429.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.jms.async")
+@Getter
+@Setter
+public class AsyncSendConfig {
+
+    /**
+     * Whether the asynchronous group endpoints are exposed.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of sends awaiting a broker acknowledgement.
+     */
+    private int maxInFlight = 1000;
+
+    /**
+     * Retry-After returned when a send is rejected because the in-flight window is full.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Number of sending sessions, each driven by its own thread.
+     */
+    private int lanes = 2;
+}
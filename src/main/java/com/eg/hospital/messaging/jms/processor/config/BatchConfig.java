@@ -0,0 +1,34 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration class that binds the batch sending properties defined under the
+ * {@code spring.jms.batch} prefix in the application's configuration file.
+ *
+ * <p>
+ * Controls how the {@code /groups/batch} endpoint splits a bulk request into
+ * transacted JMS chunks.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.jms.batch")
+@Getter
+@Setter
+public class BatchConfig {
+
+    /**
+     * Number of messages sent within one JMS transaction before it is committed.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Maximum number of operations accepted in a single batch request.
+     */
+    private int maxOperations = 10000;
+}
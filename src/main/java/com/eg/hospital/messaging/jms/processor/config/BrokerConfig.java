@@ -0,0 +1,146 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration class that binds the embedded broker properties defined under the
+ * {@code spring.jms.broker} prefix in the application's configuration file.
+ *
+ * <p>
+ * The embedded broker is created explicitly instead of implicitly by the first {@code vm://} connection, so its
+ * persistence can be chosen through a named {@link Profile}. Every KahaDB profile carries its own journal and index
+ * settings, bound from {@code spring.jms.broker.<profile>.*}, so switching profiles does not require retuning.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.jms.broker")
+@Getter
+@Setter
+public class BrokerConfig {
+
+    /**
+     * Whether the embedded broker is started. Disable it when {@code spring.activemq.broker-url} points to an
+     * external broker.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Name of the embedded broker, used by {@code vm://<name>} connections.
+     */
+    private String name = "localhost";
+
+    /**
+     * Directory holding the broker data; KahaDB is stored under {@code <data-directory>/<name>/KahaDB}.
+     */
+    private String dataDirectory = "activemq-data";
+
+    /**
+     * Persistence profile of the embedded broker.
+     */
+    private Profile profile = Profile.BATCHED_SYNC;
+
+    /**
+     * Interval between journal syncs of the {@code ASYNC_JOURNAL} profile.
+     */
+    private Duration syncInterval = Duration.ofSeconds(1);
+
+    /**
+     * KahaDB settings of the {@code DURABLE_SYNC} profile.
+     */
+    private KahaDb durableSync = new KahaDb(false, DataSize.ofMegabytes(1));
+
+    /**
+     * KahaDB settings of the {@code BATCHED_SYNC} profile.
+     */
+    private KahaDb batchedSync = new KahaDb(true, DataSize.ofMegabytes(4));
+
+    /**
+     * KahaDB settings of the {@code ASYNC_JOURNAL} profile.
+     */
+    private KahaDb asyncJournal = new KahaDb(true, DataSize.ofMegabytes(4));
+
+    /**
+     * @return the KahaDB settings of the given profile, {@code null} for {@code NON_PERSISTENT}
+     */
+    public KahaDb kahaDb(Profile profile) {
+        return switch (profile) {
+            case DURABLE_SYNC -> durableSync;
+            case BATCHED_SYNC -> batchedSync;
+            case ASYNC_JOURNAL -> asyncJournal;
+            case NON_PERSISTENT -> null;
+        };
+    }
+
+    /**
+     * Persistence profiles of the embedded broker, from the most durable to the fastest.
+     */
+    public enum Profile {
+
+        /**
+         * Every journal write is synced to disk, and a message is stored before it is dispatched to consumers.
+         */
+        DURABLE_SYNC,
+
+        /**
+         * Every journal write is synced to disk, but concurrent writes are grouped into one sync and messages are
+         * dispatched while they are stored; a message acknowledged before its write completes is never written.
+         * These are the KahaDB defaults.
+         */
+        BATCHED_SYNC,
+
+        /**
+         * The journal is synced every {@code sync-interval}; a broker or host crash loses the writes of the last
+         * interval.
+         */
+        ASYNC_JOURNAL,
+
+        /**
+         * Messages are only kept in memory and lost when the broker stops.
+         */
+        NON_PERSISTENT
+    }
+
+    /**
+     * KahaDB settings of one persistence profile.
+     */
+    @Getter
+    @Setter
+    public static class KahaDb {
+
+        /**
+         * Maximum size of one journal data file.
+         */
+        private DataSize journalMaxFileLength = DataSize.ofMegabytes(32);
+
+        /**
+         * Number of index pages cached in memory.
+         */
+        private int indexCacheSize = 10000;
+
+        /**
+         * Whether queue messages are dispatched to consumers while they are being stored.
+         */
+        private boolean concurrentStoreAndDispatch;
+
+        /**
+         * Maximum number of bytes written to the journal in one batch, and therefore covered by one disk sync.
+         */
+        private DataSize writeBatchSize;
+
+        public KahaDb() {
+        }
+
+        KahaDb(boolean concurrentStoreAndDispatch, DataSize writeBatchSize) {
+            this.concurrentStoreAndDispatch = concurrentStoreAndDispatch;
+            this.writeBatchSize = writeBatchSize;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import com.eg.hospital.messaging.jms.processor.messaging.converter.CompressionCodec;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration class that binds the payload compression properties defined under the
+ * {@code spring.jms.compression} prefix in the application's configuration file.
+ *
+ * <p>
+ * Compression is applied by the producers' message converter to payloads of at least {@code threshold} bytes.
+ * Compressed messages are marked with a property, so consumers decompress them whatever their own settings are,
+ * up to {@code max-decompressed-size}.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.jms.compression")
+@Getter
+@Setter
+public class CompressionConfig {
+
+    /**
+     * Whether outgoing payloads are compressed.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Codec used for outgoing payloads.
+     */
+    private CompressionCodec codec = CompressionCodec.DEFLATE;
+
+    /**
+     * Smallest payload that is compressed; smaller payloads are sent as is.
+     */
+    private DataSize threshold = DataSize.ofBytes(1024);
+
+    /**
+     * Compression level from 1 (fastest) to 9 (smallest).
+     */
+    private int level = 1;
+
+    /**
+     * Largest payload a consumer decompresses; larger payloads are rejected as corrupt.
+     */
+    private DataSize maxDecompressedSize = DataSize.ofMegabytes(1);
+}
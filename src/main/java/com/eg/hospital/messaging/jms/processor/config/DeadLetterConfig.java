@@ -0,0 +1,123 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class that binds the dead letter properties defined under the
+ * {@code spring.jms.dead-letter} prefix in the application's configuration file.
+ *
+ * <p>
+ * Messages consumed from the dead letter queue are kept in a bounded holding store, classified by failure reason and
+ * operation, until they are replayed to the hospital management queue through {@code /actuator/deadletters}.
+ * </p>
+ * <p>
+ * With {@code per-destination} enabled the embedded broker dead-letters the messages of every queue to a queue of its
+ * own, {@code <queue-prefix><queue>}, and with {@code shard-by-operation} the CREATE and DELETE messages to
+ * {@code <queue-prefix><queue>.<operation>}, instead of the shared {@code ActiveMQ.DLQ}. The dead letter listener
+ * then only consumes the dead letter queues of the hospital management queue.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.jms.dead-letter")
+@Getter
+@Setter
+public class DeadLetterConfig {
+
+    /**
+     * Maximum number of messages held; when full, the dead letter listener stops consuming and leaves further messages
+     * on their dead letter queue until a tenth of the capacity is free again.
+     */
+    private int capacity = 100_000;
+
+    /**
+     * Interval between the checks whether a full store has room again.
+     */
+    private Duration resumeInterval = Duration.ofSeconds(5);
+
+    /**
+     * Whether the messages still held on shutdown are sent back to the dead letter queue, so that the broker keeps
+     * them until the next start.
+     */
+    private boolean returnOnShutdown = true;
+
+    /**
+     * Default replay rate in messages per second.
+     */
+    private int replayRate = 500;
+
+    /**
+     * Messages sent per replay transaction.
+     */
+    private int replayBatchSize = 100;
+
+    /**
+     * Whether every queue has its own dead letter queue instead of the shared {@code ActiveMQ.DLQ}. Applied to the
+     * embedded broker; an external broker needs the same individual dead letter strategy.
+     */
+    private boolean perDestination = true;
+
+    /**
+     * Prefix of the individual dead letter queues.
+     */
+    private String queuePrefix = "DLQ.";
+
+    /**
+     * Whether the individual dead letter queues are further split by the CREATE and DELETE operations.
+     */
+    private boolean shardByOperation = true;
+
+    /**
+     * Time after which messages expire from the individual dead letter queues; zero keeps them until consumed.
+     */
+    private Duration expiration = Duration.ofDays(7);
+
+    /**
+     * Broker memory one dead letter queue may use for the messages it pages in; beyond it the messages stay on disk.
+     */
+    private DataSize memoryLimit = DataSize.ofMegabytes(16);
+
+    /**
+     * Concurrent consumers of the dead letter listener, e.g. {@code 1-4}.
+     */
+    private String concurrency = "1-4";
+
+    /**
+     * @return the dead letter queues of a queue: the shared {@code ActiveMQ.DLQ}, or the individual queue followed
+     * by its operation shards
+     */
+    public List<String> deadLetterQueues(String queue) {
+        List<String> queues = new ArrayList<>();
+        if (!perDestination) {
+            queues.add(JmsConstants.DEAD_LETTER_QUEUE);
+            return queues;
+        }
+        queues.add(queuePrefix + queue);
+        if (shardByOperation) {
+            queues.add(queuePrefix + queue + "." + JmsConstants.CREATE_OPERATION);
+            queues.add(queuePrefix + queue + "." + JmsConstants.DELETE_OPERATION);
+        }
+        return queues;
+    }
+
+    /**
+     * @return the destination consumed by the dead letter listener for a queue; with per-destination dead letter
+     * queues a composite of the individual queue and its shards
+     */
+    public String listenerDestination(String queue) {
+        if (!perDestination) {
+            return JmsConstants.DEAD_LETTER_QUEUE;
+        }
+        return shardByOperation ? queuePrefix + queue + "," + queuePrefix + queue + ".>" : queuePrefix + queue;
+    }
+}
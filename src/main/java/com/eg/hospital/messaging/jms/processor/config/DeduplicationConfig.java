@@ -0,0 +1,47 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration class that binds the consumer deduplication properties defined under the
+ * {@code spring.jms.deduplication} prefix in the application's configuration file.
+ *
+ * <p>
+ * Producers stamp every group message with a unique operation id. When deduplication is enabled, the listeners
+ * remember the operation ids they processed for the configured window and skip a message whose id was already
+ * processed, which makes broker redeliveries of a transacted session harmless.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.jms.deduplication")
+@Getter
+@Setter
+public class DeduplicationConfig {
+
+    /**
+     * Whether listeners skip messages with an already processed operation id.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a processed operation id is remembered.
+     */
+    private Duration window = Duration.ofMinutes(10);
+
+    /**
+     * Maximum number of remembered operation ids; the oldest are forgotten first once it is reached.
+     */
+    private int maxEntries = 1_000_000;
+
+    /**
+     * Number of independently locked stripes of the cache, rounded up to a power of two.
+     */
+    private int stripes = 64;
+}
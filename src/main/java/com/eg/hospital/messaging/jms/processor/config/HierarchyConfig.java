@@ -0,0 +1,96 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration class that binds the group hierarchy index properties defined under the
+ * {@code spring.jms.hierarchy} prefix in the application's configuration file.
+ *
+ * <p>
+ * The {@code COMPACT} store interns group ids into {@code int} handles and keeps the tree in primitive arrays,
+ * which keeps millions of groups in a fraction of the heap used by the {@code MAP} store.
+ * </p>
+ * <p>
+ * With persistence enabled, applied updates are appended to a memory-mapped log and the index is periodically
+ * written to a snapshot, so a restart reloads the latest snapshot and the log tail instead of an empty index.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.jms.hierarchy")
+@Getter
+@Setter
+public class HierarchyConfig {
+
+    /**
+     * Implementation backing the group hierarchy index.
+     */
+    private Store store = Store.COMPACT;
+
+    /**
+     * Number of groups the compact store allocates room for up front; the store grows beyond it on demand.
+     */
+    private int initialCapacity = 1024;
+
+    /**
+     * Settings of the snapshot and replay log persistence.
+     */
+    private Persistence persistence = new Persistence();
+
+    /**
+     * Implementations of the group hierarchy index.
+     */
+    public enum Store {
+
+        /**
+         * Concurrent maps of group id strings.
+         */
+        MAP,
+
+        /**
+         * Interned group ids and primitive arrays.
+         */
+        COMPACT
+    }
+
+    /**
+     * Durable copy of the index as a snapshot plus an append-only log of the updates applied since.
+     */
+    @Getter
+    @Setter
+    public static class Persistence {
+
+        /**
+         * Whether the index is persisted and recovered on startup.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory holding the snapshot and the log segments.
+         */
+        private String directory = "group-state";
+
+        /**
+         * Size of one memory-mapped log segment; a full segment is closed and a new one started.
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Interval between two snapshots; a snapshot is only written if updates were applied since the last one.
+         */
+        private Duration snapshotInterval = Duration.ofMinutes(5);
+
+        /**
+         * Whether every appended record is forced to disk. Without it, records survive a process crash but may be
+         * lost if the operating system crashes before the page cache is flushed.
+         */
+        private boolean sync = false;
+    }
+}
@@ -1,17 +1,37 @@
 package com.eg.hospital.messaging.jms.processor.config;
 
+import com.eg.hospital.messaging.jms.processor.messaging.broker.DeadLetterPolicies;
+import com.eg.hospital.messaging.jms.processor.messaging.broker.EmbeddedBrokerFactory;
+import com.eg.hospital.messaging.jms.processor.messaging.broker.RedeliveryCountingTransformer;
+import com.eg.hospital.messaging.jms.processor.messaging.broker.RedeliveryPolicies;
+import com.eg.hospital.messaging.jms.processor.messaging.converter.GroupMessageConverter;
+import com.eg.hospital.messaging.jms.processor.messaging.converter.JsonMessageConverter;
+import com.eg.hospital.messaging.jms.processor.messaging.pool.InstrumentedConnectionPool;
+import com.eg.hospital.messaging.jms.processor.metrics.MessagingMetrics;
+import com.eg.hospital.messaging.jms.processor.util.JmsConnectionFactoryUtils;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.jms.ConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jms.activemq.ActiveMQConnectionFactoryCustomizer;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
 import org.springframework.jms.core.JmsTemplate;
-import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
 import org.springframework.jms.support.converter.MessageConverter;
 import org.springframework.jms.support.converter.MessageType;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+
 /**
  * Configuration class for setting up JMS (Java Message Service) related beans such as
  * {@link JmsTemplate}, {@link DefaultJmsListenerContainerFactory}, and {@link MessageConverter}.
@@ -19,9 +39,14 @@ import org.springframework.stereotype.Component;
  * <p><b>Key Features:</b></p>
  * <ul>
  *     <li>Jackson-based message converter for serializing/deserializing message payloads</li>
- *     <li>Thread-safe and concurrent JMS listener factory</li>
+ *     <li>Optional compact binary wire format for group messages, detected automatically on receipt</li>
+ *     <li>Optional payload compression above a size threshold</li>
+ *     <li>Thread-safe and concurrent JMS listener factory, optionally running on virtual threads</li>
  *     <li>Custom error handling for listener exceptions</li>
  *     <li>Transactional message processing</li>
+ *     <li>Pooled connections, sessions and producers for the sending side</li>
+ *     <li>Embedded broker with a selectable KahaDB persistence profile</li>
+ *     <li>Redelivery with exponential backoff, on the consumers or on the broker's scheduler</li>
  * </ul>
  *
  * @author Sanjay
@@ -36,48 +61,171 @@ public class JmsConfig {
      * Defines the Jackson-based message converter for JMS.
      * Converts Java objects to JSON and vice versa for message payloads.
      *
-     * @return the configured {@link MessageConverter}
+     * @return the configured {@link JsonMessageConverter}
      */
     @Bean
-    public MessageConverter jacksonJmsMessageConverter() {
-        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+    public JsonMessageConverter jacksonJmsMessageConverter() {
+        JsonMessageConverter converter = new JsonMessageConverter();
         converter.setTargetType(MessageType.TEXT);
-        converter.setTypeIdPropertyName("_type");
+        converter.setTypeIdPropertyName(JmsConstants.TYPE_ID_PROPERTY);
         return converter;
     }
 
+    /**
+     * Defines the converter used by the producers and the listeners. Writes group messages in the format selected by
+     * {@code spring.jms.wire.format}, compresses them above the {@code spring.jms.compression} threshold, and reads
+     * both the JSON and the binary format, compressed or not.
+     *
+     * @param wireFormatConfig  the wire format settings
+     * @param compressionConfig the payload compression settings
+     * @param meterRegistry     the registry for the compression metrics
+     * @return the primary {@link MessageConverter}
+     */
+    @Bean
+    @Primary
+    public MessageConverter groupMessageConverter(WireFormatConfig wireFormatConfig, CompressionConfig compressionConfig,
+                                                  MeterRegistry meterRegistry) {
+        return new GroupMessageConverter(jacksonJmsMessageConverter(), wireFormatConfig, compressionConfig, meterRegistry);
+    }
+
+    /**
+     * Creates the embedded broker that the {@code vm://} connections attach to, persisting messages according to
+     * {@code spring.jms.broker.profile}. Connection factories depend on this bean, so the broker starts before the
+     * first connection and stops after the last one is closed.
+     *
+     * In {@code BROKER} redelivery mode the broker also schedules the redeliveries of rolled back messages, and
+     * failed messages go to per-destination dead letter queues unless {@code spring.jms.dead-letter.per-destination}
+     * is disabled.
+     *
+     * @param brokerConfig     the broker settings bound from {@code spring.jms.broker}
+     * @param redeliveryConfig the redelivery settings bound from {@code spring.jms.redelivery}
+     * @param deadLetterConfig the dead letter settings bound from {@code spring.jms.dead-letter}
+     * @return the {@link BrokerService}, started by the container
+     * @throws IOException if the persistence adapter cannot be configured
+     */
+    @Bean(name = JmsConstants.BROKER_SERVICE, initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "spring.jms.broker", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public BrokerService brokerService(BrokerConfig brokerConfig, RedeliveryConfig redeliveryConfig,
+                                       DeadLetterConfig deadLetterConfig) throws IOException {
+        BrokerService broker = EmbeddedBrokerFactory.createBroker(brokerConfig);
+        RedeliveryPolicies.configure(broker, redeliveryConfig);
+        DeadLetterPolicies.configure(broker, deadLetterConfig);
+        logger.info("Embedded broker {} using persistence profile {}", brokerConfig.getName(), brokerConfig.getProfile());
+        return broker;
+    }
+
+    /**
+     * Applies the {@code spring.jms.redelivery} policies to the auto-configured ActiveMQ connection factory, so a
+     * rolled back message is redelivered after a growing delay instead of immediately, and counts the redeliveries
+     * in {@code jms.listener.redeliveries}. With per-group ordering or batch consumption the consumers redeliver
+     * blocking, so a rolled back message is not overtaken by the messages behind it.
+     *
+     * @param redeliveryConfig  the redelivery settings bound from {@code spring.jms.redelivery}
+     * @param deadLetterConfig  the dead letter settings, to leave the dead letter queues out of the count
+     * @param listenerConfig    the consumption mode
+     * @param orderingConfig    the per-group ordering settings
+     * @param messagingMetrics  the meters of the messaging pipeline
+     * @return the customizer of the ActiveMQ connection factory
+     */
+    @Bean
+    public ActiveMQConnectionFactoryCustomizer redeliveryConnectionFactoryCustomizer(RedeliveryConfig redeliveryConfig,
+                                                                                     DeadLetterConfig deadLetterConfig,
+                                                                                     ListenerConfig listenerConfig,
+                                                                                     OrderingConfig orderingConfig,
+                                                                                     MessagingMetrics messagingMetrics) {
+        boolean ordered = orderingConfig.isEnabled() || listenerConfig.getMode() == ListenerConfig.Mode.BATCH;
+        return connectionFactory -> {
+            RedeliveryPolicies.configure(connectionFactory, redeliveryConfig, ordered);
+            if (ordered && redeliveryConfig.isNonBlocking() && redeliveryConfig.getMode() == RedeliveryConfig.Mode.CLIENT) {
+                logger.info("Ignoring spring.jms.redelivery.non-blocking=true: per-group ordering and batch consumption "
+                        + "need rolled back messages redelivered before the messages behind them");
+            }
+            connectionFactory.setTransformer(new RedeliveryCountingTransformer(messagingMetrics, deadLetterConfig));
+            logger.info("Redelivery in {} mode: {} redeliveries, delay {} x {} up to {}", redeliveryConfig.getMode(),
+                    redeliveryConfig.getMaxRedeliveries(), redeliveryConfig.getInitialDelay(),
+                    redeliveryConfig.getMultiplier(), redeliveryConfig.getMaxDelay());
+        };
+    }
+
     /**
      * Configures the JMS listener container factory with concurrency,
      * message conversion, transaction support, and custom error handling.
+     * <p>
+     * When virtual threads are enabled ({@code spring.threads.virtual.enabled=true} on Java 21+), the consumers
+     * run on a virtual-thread executor. The executor has no concurrency limit, since it would block a consumer that
+     * already holds a received message; the {@code ListenerModeCoordinator} keeps the maximum consumers of the
+     * containers within {@code virtual-concurrency-limit} instead.
+     * </p>
+     * <p>
+     * The containers are not started automatically: the {@code ListenerModeCoordinator} starts the ones belonging
+     * to the configured consumption mode.
+     * </p>
      *
      * @param connectionFactory          the connection factory for the JMS provider
-     * @param jacksonJmsMessageConverter the message converter to use
+     * @param groupMessageConverter      the message converter to use
+     * @param listenerConfig             the consumer concurrency settings
+     * @param environment                the environment used to detect the virtual-thread mode
      * @return the configured {@link DefaultJmsListenerContainerFactory}
      */
     @Bean
-    public DefaultJmsListenerContainerFactory jmsListenerContainerFactory(ConnectionFactory connectionFactory, MessageConverter jacksonJmsMessageConverter) {
+    public DefaultJmsListenerContainerFactory jmsListenerContainerFactory(ConnectionFactory connectionFactory, MessageConverter groupMessageConverter,
+                                                                          ListenerConfig listenerConfig, Environment environment) {
         DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
-        factory.setMessageConverter(jacksonJmsMessageConverter);
-        factory.setConcurrency("1-5");
+        factory.setMessageConverter(groupMessageConverter);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("jms-listener-");
+            taskExecutor.setVirtualThreads(true);
+            factory.setTaskExecutor(taskExecutor);
+            factory.setConcurrency(listenerConfig.getVirtualConcurrency());
+            logger.info("JMS listeners running on virtual threads with concurrency {} and limit {}",
+                    listenerConfig.getVirtualConcurrency(), listenerConfig.getVirtualConcurrencyLimit());
+        } else {
+            factory.setConcurrency(listenerConfig.getConcurrency());
+        }
         factory.setSessionTransacted(true);
+        factory.setAutoStartup(false);
         factory.setErrorHandler(t ->
                 logger.error("Listener error{}: ", t.getMessage()));
         return factory;
     }
 
+    /**
+     * Creates the connection/session/producer pool used by the {@link JmsTemplate}.
+     * <p>
+     * The auto-configured connection factory shares a single connection and caches a single session,
+     * so concurrent sends keep creating and closing sessions. The pool is therefore built around
+     * the underlying broker connection factory instead.
+     * </p>
+     *
+     * @param connectionFactory the connection factory for the JMS provider
+     * @param jmsPoolConfig     the pool settings bound from {@code spring.jms.pool}
+     * @param meterRegistry     the registry for the pool hit, miss and wait metrics
+     * @return the started {@link InstrumentedConnectionPool}
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.jms.pool", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public InstrumentedConnectionPool jmsConnectionPool(ConnectionFactory connectionFactory, JmsPoolConfig jmsPoolConfig, MeterRegistry meterRegistry) {
+        return new InstrumentedConnectionPool(JmsConnectionFactoryUtils.targetConnectionFactory(connectionFactory),
+                jmsPoolConfig, meterRegistry);
+    }
+
     /**
      * Configures the {@link JmsTemplate} used for sending messages to the broker.
-     * Applies the Jackson message converter for JSON serialization.
+     * Applies the group message converter for serialization and sends through the
+     * connection pool when it is enabled.
      *
      * @param connectionFactory          the connection factory for the JMS provider
-     * @param jacksonJmsMessageConverter the message converter to use
+     * @param groupMessageConverter      the message converter to use
+     * @param jmsConnectionPool          the producer connection pool, if enabled
      * @return the configured {@link JmsTemplate}
      */
     @Bean
-    public JmsTemplate jmsTemplate(ConnectionFactory connectionFactory, MessageConverter jacksonJmsMessageConverter) {
-        JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
-        jmsTemplate.setMessageConverter(jacksonJmsMessageConverter);
+    public JmsTemplate jmsTemplate(ConnectionFactory connectionFactory, MessageConverter groupMessageConverter,
+                                   ObjectProvider<InstrumentedConnectionPool> jmsConnectionPool) {
+        InstrumentedConnectionPool pool = jmsConnectionPool.getIfAvailable();
+        JmsTemplate jmsTemplate = new JmsTemplate(pool != null ? pool.getConnectionFactory() : connectionFactory);
+        jmsTemplate.setMessageConverter(groupMessageConverter);
         return jmsTemplate;
     }
 }
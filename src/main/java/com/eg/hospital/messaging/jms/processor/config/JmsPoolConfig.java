@@ -0,0 +1,78 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration class that binds the producer connection pool properties defined under the
+ * {@code spring.jms.pool} prefix in the application's configuration file.
+ *
+ * <p>
+ * The pool sits behind the {@code JmsTemplate} used by the producers so that connections,
+ * sessions and message producers are reused instead of being created for every send.
+ * Listener containers keep their own connection handling and are not affected.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.jms.pool")
+@Getter
+@Setter
+public class JmsPoolConfig {
+
+    /**
+     * Whether the producer connection pool is used. When disabled the template uses the
+     * auto-configured connection factory directly.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of pooled broker connections.
+     */
+    private int maxConnections = 1;
+
+    /**
+     * Maximum number of sessions borrowed from a single pooled connection at the same time.
+     */
+    private int maxSessionsPerConnection = 500;
+
+    /**
+     * Maximum number of idle sessions kept per connection, -1 to keep as many as were created.
+     */
+    private int maxIdleSessionsPerConnection = -1;
+
+    /**
+     * Idle time after which an unused pooled connection is closed.
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Interval between idle connection eviction runs, negative to only evict when a connection is borrowed.
+     */
+    private Duration evictionInterval = Duration.ofMillis(-1);
+
+    /**
+     * Whether borrowing a session blocks when the session pool is exhausted instead of failing.
+     */
+    private boolean blockIfFull = true;
+
+    /**
+     * Maximum time to block for a session when the pool is exhausted, negative to wait indefinitely.
+     */
+    private Duration blockIfFullTimeout = Duration.ofMillis(-1);
+
+    /**
+     * Whether each pooled session caches a single anonymous producer that is reused for every destination.
+     */
+    private boolean useAnonymousProducers = true;
+
+    /**
+     * Number of destination-bound producers cached per session when anonymous producers are disabled.
+     */
+    private int producerCacheSize = 0;
+}
@@ -0,0 +1,169 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration class that binds the listener container properties defined under the
+ * {@code spring.jms.consumers} prefix in the application's configuration file.
+ *
+ * <p>
+ * When {@code spring.threads.virtual.enabled=true} and the application runs on Java 21 or later,
+ * the listener containers run their consumers on virtual threads. Consumer concurrency is then bounded
+ * by {@code virtual-concurrency-limit}, shared between the started containers by lowering their maximum
+ * consumers, instead of by a platform thread pool size.
+ * </p>
+ * <p>
+ * The {@code mode} selects how the hospital management queue is consumed: one selector-filtered consumer
+ * group per operation, a single consumer group dispatching on the {@code operation} property, or batch consumers
+ * that commit one transaction per batch of messages.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.jms.consumers")
+@Getter
+@Setter
+public class ListenerConfig {
+
+    /**
+     * Consumer range ("min-max") used with platform threads.
+     */
+    private String concurrency = "1-5";
+
+    /**
+     * Consumer range ("min-max") used when the listener containers run on virtual threads.
+     */
+    private String virtualConcurrency = "1-200";
+
+    /**
+     * Maximum number of consumers running at the same time across all containers on virtual threads; the maximum
+     * consumers of the largest containers are lowered at startup until they fit.
+     */
+    private int virtualConcurrencyLimit = 500;
+
+    /**
+     * How the hospital management queue is consumed.
+     */
+    private Mode mode = Mode.SELECTOR;
+
+    /**
+     * Settings of the adaptive consumer scaler.
+     */
+    private Adaptive adaptive = new Adaptive();
+
+    /**
+     * Settings of the batch consumers used in {@code BATCH} mode.
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * Consumption modes of the hospital management queue.
+     */
+    public enum Mode {
+
+        /**
+         * One consumer group per operation, each filtering the queue with a JMS selector on {@code operation}.
+         */
+        SELECTOR,
+
+        /**
+         * A single consumer group without selector that routes each message to the {@code GroupMessageListener}
+         * registered for its {@code operation}.
+         */
+        DISPATCHER,
+
+        /**
+         * Consumers that receive up to a batch of messages, dispatch them in order and commit the whole batch
+         * in one transaction.
+         */
+        BATCH
+    }
+
+    /**
+     * Batch consumption of the hospital management queue.
+     */
+    @Getter
+    @Setter
+    public static class Batch {
+
+        /**
+         * Number of consumers, each with its own transacted session.
+         */
+        private int consumers = 4;
+
+        /**
+         * Maximum number of messages committed in one transaction.
+         */
+        private int size = 100;
+
+        /**
+         * Maximum time to wait for more messages once the first message of a batch was received.
+         */
+        private Duration maxWait = Duration.ofMillis(50);
+
+        /**
+         * Time a consumer blocks waiting for the first message of a batch before checking whether it was stopped.
+         */
+        private Duration receiveTimeout = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Adaptive scaling of the consumers on the hospital management queue, driven by queue depth
+     * and average processing time.
+     */
+    @Getter
+    @Setter
+    public static class Adaptive {
+
+        /**
+         * Whether the consumer counts are resized at runtime.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Lower bound of consumers across all containers on the queue.
+         */
+        private int minConsumers = 2;
+
+        /**
+         * Upper bound of consumers across all containers on the queue.
+         */
+        private int maxConsumers = 20;
+
+        /**
+         * Time in which the current backlog should be drained; the target is depth x processing time / drain time.
+         */
+        private Duration targetDrainTime = Duration.ofSeconds(2);
+
+        /**
+         * Interval between two samples of queue depth and processing time.
+         */
+        private Duration sampleInterval = Duration.ofSeconds(5);
+
+        /**
+         * Consecutive samples that must ask for more consumers before scaling up.
+         */
+        private int scaleUpSamples = 2;
+
+        /**
+         * Consecutive samples that must ask for fewer consumers before scaling down.
+         */
+        private int scaleDownSamples = 6;
+
+        /**
+         * Minimum difference between the current and the desired consumer count before scaling down.
+         */
+        private int scaleDownBand = 2;
+
+        /**
+         * Minimum time between two scaling decisions.
+         */
+        private Duration cooldown = Duration.ofSeconds(15);
+    }
+}
@@ -0,0 +1,87 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Configuration class that binds the load generator properties defined under the
+ * {@code spring.jms.load-test} prefix in the application's configuration file.
+ *
+ * <p>
+ * When enabled, a run started through {@code /actuator/loadtest} sends CREATE and DELETE operations at a fixed
+ * open-loop rate, either through the REST API or straight to the {@code GroupMessageProducer}, and reports the send
+ * latency, the end-to-end latency up to the listener and the achieved throughput. The values below are the defaults
+ * of a run; the rate, duration, operation mix and target can be overridden per run.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.jms.load-test")
+@Getter
+@Setter
+public class LoadTestConfig {
+
+    /**
+     * Whether the load generator and its actuator endpoint are available.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Where the operations are sent.
+     */
+    private Target target = Target.PRODUCER;
+
+    /**
+     * Operations started per second, independent of how fast earlier operations complete.
+     */
+    private int rate = 200;
+
+    /**
+     * How long operations are started for.
+     */
+    private Duration duration = Duration.ofSeconds(30);
+
+    /**
+     * Percentage of operations that are CREATEs; the rest DELETE groups created earlier in the run.
+     */
+    private int createPercent = 80;
+
+    /**
+     * Number of threads sending the operations, bounding how many sends can be in progress at once.
+     */
+    private int senders = 8;
+
+    /**
+     * How long the run waits after the last send for the listeners to receive the sent messages.
+     */
+    private Duration drainTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Base URL of the REST API for the {@code api} target; defaults to this application on its local port.
+     */
+    private String baseUrl;
+
+    /**
+     * Client key the {@code api} target sends in the rate limit client header. While load testing is enabled, the
+     * instance does not rate limit requests carrying it, so a run measures the application instead of the limiter.
+     * Defaults to a random key per instance; set the same key on both instances when {@code base-url} points elsewhere.
+     */
+    private String apiKey = UUID.randomUUID().toString();
+
+    public enum Target {
+        /**
+         * {@code POST /groups/create} and {@code DELETE /groups/delete} over HTTP.
+         */
+        API,
+        /**
+         * {@code GroupMessageProducer.sendMessage}, skipping the web layer.
+         */
+        PRODUCER
+    }
+}
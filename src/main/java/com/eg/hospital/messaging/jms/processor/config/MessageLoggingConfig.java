@@ -0,0 +1,103 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration class that binds the per-message logging properties defined under the
+ * {@code spring.jms.logging} prefix in the application's configuration file.
+ *
+ * <p>
+ * The services, the producer and the listeners log one event per message. These events are sampled: only
+ * {@code sample-rate} of them (between 0 and 1) are logged, or the rate of the longest logger name prefix configured
+ * under {@code spring.jms.logging.sample-rates[<logger>]}. Warnings and errors are never sampled. The appenders of the
+ * root logger are wrapped in asynchronous appenders, so that the threads that log do not wait for the console.
+ * {@code method-instrumentation} selects whether the controller and service calls of the request path are logged or
+ * timed.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.jms.logging")
+@Getter
+@Setter
+public class MessageLoggingConfig {
+
+    /**
+     * Fraction of the per-message events that are logged; 1 logs every message and 0 none.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Sampling rates by logger name or package, overriding {@code sample-rate}.
+     */
+    private Map<String, Double> sampleRates = new LinkedHashMap<>();
+
+    /**
+     * Whether the logged events carry the whole message as a {@code payload} key-value pair.
+     */
+    private boolean payload = false;
+
+    /**
+     * What the logging aspect does on every controller and service method call; can be changed at runtime through
+     * {@code /actuator/methodinstrumentation}.
+     */
+    private MethodInstrumentation methodInstrumentation = MethodInstrumentation.LOG;
+
+    private Async async = new Async();
+
+    /**
+     * Instrumentation of the controller and service methods on the request path.
+     */
+    public enum MethodInstrumentation {
+
+        /**
+         * Logs the arguments of every controller call and the entry of every service call at INFO.
+         */
+        LOG,
+
+        /**
+         * Records the duration of every call in the {@code request.method} timer, by class, method and result,
+         * instead of logging it.
+         */
+        TIMING,
+
+        /**
+         * Calls the methods without instrumentation.
+         */
+        OFF
+    }
+
+    /**
+     * Asynchronous appenders in front of the appenders of the root logger.
+     */
+    @Getter
+    @Setter
+    public static class Async {
+
+        private boolean enabled = true;
+
+        /**
+         * Events buffered between the logging threads and the appenders.
+         */
+        private int queueSize = 8192;
+
+        /**
+         * Remaining capacity below which TRACE, DEBUG and INFO events are dropped; 0 never drops them, so a full
+         * queue blocks the logging thread instead of losing the per-message lines, and -1 uses Logback's default of a
+         * fifth of the queue size.
+         */
+        private int discardingThreshold = 0;
+
+        /**
+         * Whether events are dropped instead of blocking the logging thread when the queue is full.
+         */
+        private boolean neverBlock = false;
+    }
+}
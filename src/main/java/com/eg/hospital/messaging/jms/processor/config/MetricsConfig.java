@@ -0,0 +1,36 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import com.eg.hospital.messaging.jms.processor.metrics.TimedValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class wrapping the validator of {@code @Valid} request bodies in a {@link TimedValidator}, so that
+ * the validation time of every request is recorded next to the {@code http.server.requests} timer.
+ *
+ * @author Sanjay
+ */
+@Configuration
+@AllArgsConstructor
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<jakarta.validation.Validator> validator;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Validator getValidator() {
+        jakarta.validation.Validator target = validator.getIfAvailable();
+        if (target == null) {
+            return null;
+        }
+        SmartValidator delegate = target instanceof SmartValidator smartValidator
+                ? smartValidator : new SpringValidatorAdapter(target);
+        return new TimedValidator(delegate, meterRegistry);
+    }
+}
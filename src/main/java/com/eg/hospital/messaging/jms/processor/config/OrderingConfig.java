@@ -0,0 +1,54 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration class that binds the message ordering properties defined under the
+ * {@code spring.jms.ordering} prefix in the application's configuration file.
+ *
+ * <p>
+ * When enabled, every message sent to the hospital management queue carries a {@code JMSXGroupID}
+ * derived from the configured key. The broker then delivers all messages of one group to a single consumer
+ * at a time, so operations on the same key are processed in order while different keys are spread over
+ * all consumers. Ordering requires the {@code DISPATCHER} or {@code BATCH} consumer mode, because the
+ * selector-filtered listeners split the operations of one group across two consumers.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.jms.ordering")
+@Getter
+@Setter
+public class OrderingConfig {
+
+    /**
+     * Whether messages are stamped with a {@code JMSXGroupID}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Field of the message the group id is derived from.
+     */
+    private Key key = Key.GROUP_ID;
+
+    /**
+     * Keys a message group can be derived from.
+     */
+    public enum Key {
+
+        /**
+         * Orders the operations on one group.
+         */
+        GROUP_ID,
+
+        /**
+         * Orders the operations on all direct children of one parent group; falls back to the group id
+         * for messages without a parent.
+         */
+        PARENT_GROUP_ID
+    }
+}
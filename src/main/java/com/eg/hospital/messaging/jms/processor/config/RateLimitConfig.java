@@ -0,0 +1,87 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class that binds the per-client rate limiting properties defined under the
+ * {@code spring.jms.rate-limit} prefix in the application's configuration file.
+ *
+ * <p>
+ * Every {@link Route} has its own limit, applied separately to every client. A client is identified by the
+ * {@code client-header} request header when its value is one of the {@code api-keys}, and by its remote address
+ * otherwise, so a client cannot escape its limit by sending a new header value with every request.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.jms.rate-limit")
+@Getter
+@Setter
+public class RateLimitConfig {
+
+    /**
+     * Whether requests to the configured routes are rate limited.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Request header identifying the client.
+     */
+    private String clientHeader = "X-API-Key";
+
+    /**
+     * API keys accepted in the client header; any other value is ignored and the remote address is used instead.
+     */
+    private List<String> apiKeys = new ArrayList<>();
+
+    /**
+     * Maximum number of clients tracked per route; further clients share one bucket until the next sweep.
+     */
+    private int maxClients = 10_000;
+
+    /**
+     * Interval between sweeps that drop the state of clients whose bucket is full again.
+     */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    /**
+     * Rate limited routes.
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    /**
+     * A group of request paths sharing one limit per client.
+     */
+    @Getter
+    @Setter
+    public static class Route {
+
+        /**
+         * Name of the route, used in the metrics and the rejection message.
+         */
+        private String name;
+
+        /**
+         * Path patterns of the route, for example {@code /groups/create}.
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * Sustained number of requests per second allowed per client.
+         */
+        private double requestsPerSecond = 100;
+
+        /**
+         * Number of requests a client may send at once after being idle.
+         */
+        private int burst = 200;
+    }
+}
@@ -0,0 +1,112 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration class that binds the redelivery properties defined under the
+ * {@code spring.jms.redelivery} prefix in the application's configuration file.
+ *
+ * <p>
+ * A listener that throws rolls its transaction back and the message is redelivered after a delay that starts at
+ * {@code initial-delay} and is multiplied by {@code multiplier} on every further attempt, up to {@code max-delay},
+ * with up to {@code jitter-percent} percent of random variation so that messages failing together are not retried
+ * together. After {@code max-redeliveries} redeliveries the message goes to the dead letter queue. The settings can be
+ * overridden per queue (wildcards allowed) under {@code spring.jms.redelivery.destinations[<queue>].*}.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.jms.redelivery")
+@Getter
+@Setter
+public class RedeliveryConfig {
+
+    /**
+     * Where the delay between redeliveries is waited out.
+     */
+    private Mode mode = Mode.CLIENT;
+
+    /**
+     * Whether a consumer keeps receiving other messages while a rolled back message waits for its redelivery in
+     * {@code CLIENT} mode. Without it the consumer stops for the whole delay, which preserves the order of messages
+     * but lets a failing message hold up the healthy ones. Ignored when {@code spring.jms.ordering.enabled} is set or
+     * the consumers run in {@code BATCH} mode, which both need the failed message back before the ones behind it.
+     */
+    private boolean nonBlocking = true;
+
+    /**
+     * Redeliveries before a message goes to the dead letter queue; -1 redelivers forever.
+     */
+    private int maxRedeliveries = 6;
+
+    /**
+     * Delay before the first redelivery.
+     */
+    private Duration initialDelay = Duration.ofSeconds(1);
+
+    /**
+     * Factor applied to the delay on every further redelivery; 1 keeps the delay constant.
+     */
+    private double multiplier = 2.0;
+
+    /**
+     * Upper bound of the delay between redeliveries.
+     */
+    private Duration maxDelay = Duration.ofMinutes(1);
+
+    /**
+     * Random variation of every delay, in percent of the delay; 0 disables it.
+     */
+    private int jitterPercent = 20;
+
+    /**
+     * Overrides of the settings above by queue name; settings left out fall back to the settings above.
+     */
+    private Map<String, Policy> destinations = new LinkedHashMap<>();
+
+    /**
+     * Where rolled back messages wait for their redelivery.
+     */
+    public enum Mode {
+
+        /**
+         * The consumer keeps the message and redelivers it itself after the delay. Works with any broker, but the
+         * delayed messages stay in the consumer's memory and are redelivered at once if the consumer closes.
+         */
+        CLIENT,
+
+        /**
+         * The consumer hands the message back to the broker after the first failure and the broker's scheduler
+         * redelivers it after the delay, so waiting messages survive consumer restarts and leave the consumer
+         * free. Requires the embedded broker, or a broker with the redelivery plugin and scheduler support. Later
+         * messages overtake the waiting one, so it cannot be combined with per-group ordering or batch consumption.
+         */
+        BROKER
+    }
+
+    /**
+     * Redelivery settings of one queue; {@code null} settings fall back to the defaults.
+     */
+    @Getter
+    @Setter
+    public static class Policy {
+
+        private Integer maxRedeliveries;
+
+        private Duration initialDelay;
+
+        private Double multiplier;
+
+        private Duration maxDelay;
+
+        private Integer jitterPercent;
+    }
+}
@@ -0,0 +1,27 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import com.eg.hospital.messaging.jms.processor.ratelimit.ClientRateLimiters;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class registering the per-client rate limit interceptors on the paths of their routes.
+ *
+ * @author Sanjay
+ */
+@Configuration
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "spring.jms.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ClientRateLimiters clientRateLimiters;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        clientRateLimiters.interceptors().forEach((route, interceptor) ->
+                registry.addInterceptor(interceptor).addPathPatterns(route.getPaths()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.eg.hospital.messaging.jms.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration class that binds the wire format properties defined under the
+ * {@code spring.jms.wire} prefix in the application's configuration file.
+ *
+ * <p>
+ * The format only selects how outgoing {@code GroupMessageDTO}s are written. Consumers detect the format of each
+ * incoming message, so producers and consumers can be switched one at a time during a rolling migration.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.jms.wire")
+@Getter
+@Setter
+public class WireFormatConfig {
+
+    /**
+     * Format used for outgoing group messages.
+     */
+    private Format format = Format.JSON;
+
+    /**
+     * Supported wire formats.
+     */
+    public enum Format {
+
+        /**
+         * Jackson JSON {@code TextMessage} with a {@code _type} property.
+         */
+        JSON,
+
+        /**
+         * Compact, versioned binary {@code BytesMessage}.
+         */
+        BINARY
+    }
+}
@@ -0,0 +1,76 @@
+package com.eg.hospital.messaging.jms.processor.controller;
+
+import com.eg.hospital.messaging.jms.processor.dto.ApiResponseDTO;
+import com.eg.hospital.messaging.jms.processor.dto.RequestDTO;
+import com.eg.hospital.messaging.jms.processor.service.CreateGroupService;
+import com.eg.hospital.messaging.jms.processor.service.DeleteGroupService;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link GroupController}, exposed only when {@code spring.jms.async.enabled=true}.
+ * <p>
+ * The endpoints return a {@link CompletableFuture}, so the servlet thread is released as soon as the message
+ * has been handed to the async sender. The response is written once the broker acknowledges the message.
+ * </p>
+ *
+ * <ul>
+ *      <li>{@code POST /groups/async/create} - Sends a group creation message to the JMS queue.</li>
+ *      <li>{@code DELETE /groups/async/delete} - Sends a group deletion message to the JMS queue.</li>
+ * </ul>
+ *
+ * @author Sanjay Navada
+ */
+@RestController
+@RequestMapping("/groups/async")
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "spring.jms.async", name = "enabled", havingValue = "true")
+public class AsyncGroupController {
+
+    private final CreateGroupService createGroupService;
+    private final DeleteGroupService deleteGroupService;
+
+    /**
+     * Endpoint to send a group creation message to the queue without blocking the request thread.
+     *
+     * @param requestDTO The request payload containing group details.
+     * @return a future of the {@link ResponseEntity} with creation confirmation message.
+     */
+    @PostMapping("/create")
+    public CompletableFuture<ResponseEntity<ApiResponseDTO>> createGroup(@Valid @RequestBody RequestDTO requestDTO) {
+        return createGroupService.sendCreateGroupMessageAsync(requestDTO)
+                .thenApply(sent -> response(HttpStatus.CREATED, JmsConstants.CREATION_SUCCESS,
+                        "Group creation message sent to queue successfully"));
+    }
+
+    /**
+     * Endpoint to send a group deletion message to the queue without blocking the request thread.
+     *
+     * @param requestDTO The request payload containing group details.
+     * @return a future of the {@link ResponseEntity} with success message.
+     */
+    @DeleteMapping("/delete")
+    public CompletableFuture<ResponseEntity<ApiResponseDTO>> deleteGroup(@Valid @RequestBody RequestDTO requestDTO) {
+        return deleteGroupService.sendDeleteGroupMessageAsync(requestDTO)
+                .thenApply(sent -> response(HttpStatus.OK, JmsConstants.DELETION_SUCCESS,
+                        "Group deletion message sent to queue successfully"));
+    }
+
+    private static ResponseEntity<ApiResponseDTO> response(HttpStatus status, String code, String message) {
+        ApiResponseDTO apiResponseDTO = ApiResponseDTO.builder()
+                .status(status.value())
+                .timestamp(DateTimeFormatter.ISO_INSTANT.format(Instant.now()))
+                .code(code)
+                .message(message).build();
+        return new ResponseEntity<>(apiResponseDTO, status);
+    }
+}
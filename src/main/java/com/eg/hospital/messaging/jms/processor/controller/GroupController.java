@@ -1,9 +1,12 @@
 package com.eg.hospital.messaging.jms.processor.controller;
 
 import com.eg.hospital.messaging.jms.processor.dto.ApiResponseDTO;
+import com.eg.hospital.messaging.jms.processor.dto.BatchRequestDTO;
+import com.eg.hospital.messaging.jms.processor.dto.BatchResponseDTO;
 import com.eg.hospital.messaging.jms.processor.dto.RequestDTO;
 import com.eg.hospital.messaging.jms.processor.service.CreateGroupService;
 import com.eg.hospital.messaging.jms.processor.service.DeleteGroupService;
+import com.eg.hospital.messaging.jms.processor.service.GroupBatchService;
 import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -15,7 +18,7 @@ import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 
 /**
- * This is a REST controller currently containing 2 methods POST and DELETE
+ * This is a REST controller currently containing 3 methods: create, delete and batch
  * <p>
  * Provides endpoints for creating and deleting group messages
  * </p>
@@ -23,6 +26,7 @@ import java.time.format.DateTimeFormatter;
  * <ul>
  *      <li>{@code POST /groups/create} - Sends a group creation message to the JMS queue.</li>
  *      <li>{@code DELETE /groups/delete} - Sends a group deletion message to the JMS queue.</li>
+ *      <li>{@code POST /groups/batch} - Sends a list of mixed CREATE/DELETE messages to the JMS queue.</li>
  * </ul>
  *
  * @author Sanjay Navada
@@ -34,6 +38,7 @@ public class GroupController {
 
     private final CreateGroupService createGroupService;
     private final DeleteGroupService deleteGroupService;
+    private final GroupBatchService groupBatchService;
 
     /**
      * Endpoint to send a group creation message to the queue.
@@ -76,4 +81,21 @@ public class GroupController {
                 .message("Group deletion message sent to queue successfully").build();
         return new ResponseEntity<>(apiResponseDTO, HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    /**
+     * Endpoint to send a batch of mixed CREATE/DELETE group messages to the queue.
+     * <p>
+     * All operations are validated together. The messages are sent over one transacted session
+     * and committed in chunks within {@link GroupBatchService}.
+     * </p>
+     *
+     * @param batchRequestDTO The request payload containing the list of operations.
+     * @return a {@link ResponseEntity} with the per-item results; 200 when every item was sent,
+     * 207 when some items were rejected or failed.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponseDTO> processBatch(@Valid @RequestBody BatchRequestDTO batchRequestDTO) {
+        BatchResponseDTO batchResponseDTO = groupBatchService.sendGroupMessages(batchRequestDTO);
+        return new ResponseEntity<>(batchResponseDTO, HttpStatus.valueOf(batchResponseDTO.getStatus()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.eg.hospital.messaging.jms.processor.controller;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupNodeDTO;
+import com.eg.hospital.messaging.jms.processor.service.GroupQueryService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller answering queries on the group tree maintained by the queue listeners.
+ * <p>
+ * The queries live under {@code /groups/query}, so that a group id cannot shadow the {@code create}, {@code delete},
+ * {@code batch} and {@code async} endpoints of the {@link GroupController} and the {@link AsyncGroupController}.
+ * </p>
+ *
+ * <ul>
+ *      <li>{@code GET /groups/query/{groupId}} - Returns the group with its parent and child count.</li>
+ *      <li>{@code GET /groups/query/{groupId}/children} - Returns the direct children of the group.</li>
+ *      <li>{@code GET /groups/query/{groupId}/ancestors} - Returns the parents of the group, nearest first.</li>
+ * </ul>
+ *
+ * @author Sanjay
+ */
+@RestController
+@RequestMapping("/groups/query")
+@AllArgsConstructor
+public class GroupQueryController {
+
+    private final GroupQueryService groupQueryService;
+
+    /**
+     * Endpoint returning a single group.
+     *
+     * @param groupId the group id
+     * @return a {@link ResponseEntity} with the group, or 404 if it is unknown
+     */
+    @GetMapping("/{groupId}")
+    public ResponseEntity<GroupNodeDTO> getGroup(@PathVariable String groupId) {
+        return ResponseEntity.ok(groupQueryService.getGroup(groupId));
+    }
+
+    /**
+     * Endpoint returning the direct children of a group.
+     *
+     * @param groupId the parent group id
+     * @param limit   the maximum number of children returned
+     * @return a {@link ResponseEntity} with the child group ids, or 404 if the group is unknown
+     */
+    @GetMapping("/{groupId}/children")
+    public ResponseEntity<List<String>> getChildren(@PathVariable String groupId,
+                                                    @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(groupQueryService.getChildren(groupId, limit));
+    }
+
+    /**
+     * Endpoint returning the ancestors of a group.
+     *
+     * @param groupId the group id
+     * @return a {@link ResponseEntity} with the ancestor group ids nearest first, or 404 if the group is unknown
+     */
+    @GetMapping("/{groupId}/ancestors")
+    public ResponseEntity<List<String>> getAncestors(@PathVariable String groupId) {
+        return ResponseEntity.ok(groupQueryService.getAncestors(groupId));
+    }
+}
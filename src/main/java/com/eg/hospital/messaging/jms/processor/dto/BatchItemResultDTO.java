@@ -0,0 +1,32 @@
+package com.eg.hospital.messaging.jms.processor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO representing the outcome of a single operation within a batch request.
+ *
+ * @author Sanjay Navada
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResultDTO {
+
+    /** Position of the operation in the original request */
+    private int index;
+
+    private String groupId;
+
+    private String operation;
+
+    /** SENT, REJECTED or FAILED */
+    private String status;
+
+    /** Failure reason, {@code null} when the operation was sent */
+    private String message;
+
+}
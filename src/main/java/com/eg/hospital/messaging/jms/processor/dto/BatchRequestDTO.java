@@ -0,0 +1,22 @@
+package com.eg.hospital.messaging.jms.processor.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO representing a bulk request of mixed CREATE/DELETE group operations.
+ * Every operation in the list is validated together before anything is sent.
+ *
+ * @author Sanjay Navada
+ */
+@Data
+public class BatchRequestDTO {
+
+    /** Operations to send, in order */
+    @NotEmpty(message = "Operations cannot be empty")
+    private List<@Valid BatchOperationDTO> operations;
+
+}
@@ -0,0 +1,28 @@
+package com.eg.hospital.messaging.jms.processor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response returned by the batch endpoint, holding a summary and the per-item results.
+ *
+ * @author Sanjay Navada
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponseDTO {
+    private String timestamp;
+    private int status;
+    private String code;
+    private String message;
+    private int total;
+    private int sent;
+    private int failed;
+    private List<BatchItemResultDTO> results;
+}
@@ -35,4 +35,9 @@ public class GroupMessageDTO {
      */
     private String timestamp;
 
+    /**
+     * Unique identifier of this operation, stamped by the producer and used by consumers to skip redeliveries.
+     */
+    private String operationId;
+
 }
@@ -0,0 +1,30 @@
+package com.eg.hospital.messaging.jms.processor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO representing a group as known by the group hierarchy index.
+ *
+ * @author Sanjay
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupNodeDTO {
+
+    private String groupId;
+
+    /** Parent of the group, {@code null} for a root group */
+    private String parentGroupId;
+
+    /** Whether the parent group was itself created */
+    private boolean parentPresent;
+
+    /** Number of direct children */
+    private int childCount;
+
+}
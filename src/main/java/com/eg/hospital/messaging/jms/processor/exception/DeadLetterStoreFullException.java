@@ -0,0 +1,21 @@
+package com.eg.hospital.messaging.jms.processor.exception;
+
+/**
+ * Runtime exception thrown when the dead letter holding store is full and cannot take another message.
+ *
+ * The dead letter queue listener lets it roll back its transaction, so the message stays on its dead letter queue,
+ * and stops consuming until the store has room again.
+ *
+ * @author Sanjay
+ */
+public class DeadLetterStoreFullException extends RuntimeException {
+
+    /**
+     * Constructs a new DeadLetterStoreFullException with the specified detail message.
+     *
+     * @param message a description of the full store
+     */
+    public DeadLetterStoreFullException(String message) {
+        super(message);
+    }
+}
@@ -4,13 +4,16 @@ import com.eg.hospital.messaging.jms.processor.dto.ApiResponseDTO;
 import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.Comparator;
@@ -23,6 +26,10 @@ import java.util.stream.Collectors;
  *
  *     Validation errors (e.g., missing or invalid input fields)
  *     Custom JMS-related exceptions
+ *     Unknown groups in hierarchy queries
+ *     Sends rejected by admission control, with a Retry-After header
+ *     Requests over the client's rate limit, with a Retry-After header
+ *     Requests with an unsupported method, with an Allow header
  *     Generic fallback exceptions
  *
  * The responses include relevant status codes, error messages, and timestamps.
@@ -65,6 +72,70 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * Handles queries for groups that are not in the group hierarchy index.
+     *
+     * @param ex the GroupNotFoundException naming the group
+     * @return a not found response with timestamp, status, and error message
+     */
+    @ExceptionHandler(GroupNotFoundException.class)
+    public ResponseEntity<ApiResponseDTO> handleGroupNotFound(GroupNotFoundException ex) {
+        ApiResponseDTO errorResponse = new ApiResponseDTO(DateTimeFormatter.ISO_INSTANT.format(Instant.now()), HttpStatus.NOT_FOUND.value(), JmsConstants.GROUP_NOT_FOUND, ex.getMessage());
+        logger.warn("Group not found: {}", ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles sends rejected by admission control: 429 when too many sends are in flight, 503 when the broker is
+     * saturated. The {@code Retry-After} header tells the client how many seconds to wait before retrying.
+     *
+     * @param ex the SendRejectedException with the rejection reason
+     * @return a too many requests or service unavailable response with timestamp, status, and error message
+     */
+    @ExceptionHandler(SendRejectedException.class)
+    public ResponseEntity<ApiResponseDTO> handleSendRejected(SendRejectedException ex) {
+        boolean inFlight = ex.getReason() == SendRejectedException.Reason.IN_FLIGHT;
+        HttpStatus status = inFlight ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+        ApiResponseDTO errorResponse = new ApiResponseDTO(DateTimeFormatter.ISO_INSTANT.format(Instant.now()), status.value(),
+                inFlight ? JmsConstants.TOO_MANY_IN_FLIGHT : JmsConstants.BROKER_OVERLOADED, ex.getMessage());
+        logger.warn("Send rejected: {}", ex.getMessage());
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles requests rejected because the client exceeded the rate limit of the route.
+     *
+     * @param ex the RateLimitExceededException with the time until the next allowed request
+     * @return a too many requests response with timestamp, status, error message and a {@code Retry-After} header
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ApiResponseDTO> handleRateLimitExceeded(RateLimitExceededException ex) {
+        ApiResponseDTO errorResponse = new ApiResponseDTO(DateTimeFormatter.ISO_INSTANT.format(Instant.now()),
+                HttpStatus.TOO_MANY_REQUESTS.value(), JmsConstants.RATE_LIMITED, ex.getMessage());
+        logger.debug("Rate limited: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles requests whose method the endpoint does not support, such as a GET of {@code /groups/create}.
+     *
+     * @param ex the HttpRequestMethodNotSupportedException with the supported methods
+     * @return a method not allowed response with timestamp, status, error message and an {@code Allow} header
+     */
+    @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
+    public ResponseEntity<ApiResponseDTO> handleMethodNotSupported(HttpRequestMethodNotSupportedException ex) {
+        ApiResponseDTO errorResponse = new ApiResponseDTO(DateTimeFormatter.ISO_INSTANT.format(Instant.now()),
+                HttpStatus.METHOD_NOT_ALLOWED.value(), JmsConstants.METHOD_NOT_ALLOWED, ex.getMessage());
+        logger.warn("Method not allowed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED)
+                .headers(ex.getHeaders())
+                .body(errorResponse);
+    }
+
     /**
      * Illegal argument Exception when the Group Id and Parent Id are equal.
      *
@@ -91,4 +162,7 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
-}
\ No newline at end of file
+    private static String retryAfterSeconds(Duration retryAfter) {
+        return String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+}
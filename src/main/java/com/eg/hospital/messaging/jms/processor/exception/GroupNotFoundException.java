@@ -0,0 +1,21 @@
+package com.eg.hospital.messaging.jms.processor.exception;
+
+/**
+ * Runtime exception thrown when a queried group is not present in the group hierarchy index.
+ *
+ * It is caught by the {@link GlobalExceptionHandler} and returned to the client as a 404 response.
+ *
+ * @author Sanjay
+ */
+public class GroupNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new GroupNotFoundException for the given group.
+     *
+     * @param groupId the group that was not found
+     */
+    public GroupNotFoundException(String groupId) {
+        super("Group not found: " + groupId);
+    }
+
+}
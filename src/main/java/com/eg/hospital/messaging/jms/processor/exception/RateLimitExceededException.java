@@ -0,0 +1,30 @@
+package com.eg.hospital.messaging.jms.processor.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Runtime exception thrown when a client exceeds the request rate allowed on a route.
+ *
+ * It is caught by the {@link GlobalExceptionHandler} and returned to the client as a 429 response with a
+ * {@code Retry-After} header.
+ *
+ * @author Sanjay
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new RateLimitExceededException.
+     *
+     * @param route      the rate limited route
+     * @param retryAfter how long the client has to wait before its next request is allowed
+     */
+    public RateLimitExceededException(String route, Duration retryAfter) {
+        super("Rate limit of route " + route + " exceeded, retry later");
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,54 @@
+package com.eg.hospital.messaging.jms.processor.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Runtime exception thrown when admission control rejects a send instead of letting it block on the broker.
+ *
+ * It is caught by the {@link GlobalExceptionHandler} and returned to the client as a 429 response when too many
+ * sends are in flight, or as a 503 response when the broker is saturated, with a {@code Retry-After} header.
+ *
+ * @author Sanjay
+ */
+@Getter
+public class SendRejectedException extends RuntimeException {
+
+    /**
+     * Why a send was rejected.
+     */
+    public enum Reason {
+
+        /**
+         * Too many sends are in progress.
+         */
+        IN_FLIGHT,
+
+        /**
+         * The broker memory usage is above its high watermark.
+         */
+        BROKER_MEMORY,
+
+        /**
+         * The broker store usage is above its high watermark.
+         */
+        BROKER_STORE
+    }
+
+    private final Reason reason;
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new SendRejectedException.
+     *
+     * @param reason     why the send was rejected
+     * @param retryAfter how long the client should wait before retrying
+     * @param message    a user readable message back to the end user
+     */
+    public SendRejectedException(Reason reason, Duration retryAfter, String message) {
+        super(message);
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+}
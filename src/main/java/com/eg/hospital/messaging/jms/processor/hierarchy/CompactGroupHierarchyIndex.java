@@ -0,0 +1,294 @@
+package com.eg.hospital.messaging.jms.processor.hierarchy;
+
+import com.eg.hospital.messaging.jms.processor.config.HierarchyConfig;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Memory-compact {@link GroupHierarchyIndex} for millions of groups.
+ * <p>
+ * Group ids are interned into {@code int} handles by a {@link GroupIdInterner}, and the tree is kept in parallel
+ * primitive arrays indexed by handle: the parent handle, the child count, and an intrusive doubly linked list of
+ * children (first child, next and previous sibling). A group therefore costs a few dozen bytes plus one byte per id
+ * character, with no per-group objects for the garbage collector to trace.
+ * </p>
+ * <p>
+ * Updates take the write lock of a {@link StampedLock}. Reads run as optimistic reads without locking and are only
+ * retried under the read lock if an update ran concurrently, so queries stay lock-free in the common case.
+ * </p>
+ * <p>
+ * A handle is released back to the interner as soon as its group is deleted, or, for a parent id that was named but
+ * never created, as soon as its last child is deleted. Released handles are reused by later ids, so the arrays are
+ * sized by the peak number of live groups rather than by every group id ever seen.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@Qualifier(JmsConstants.HIERARCHY_STORE)
+@ConditionalOnProperty(prefix = "spring.jms.hierarchy", name = "store", havingValue = "compact", matchIfMissing = true)
+public class CompactGroupHierarchyIndex implements GroupHierarchyIndex {
+
+    private static final int NONE = -1;
+
+    private final StampedLock lock = new StampedLock();
+    private final GroupIdInterner interner;
+
+    private int[] parents;
+    private int[] childCounts;
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private int[] previousSiblings;
+    private boolean[] created;
+    private long size;
+
+    public CompactGroupHierarchyIndex(HierarchyConfig hierarchyConfig) {
+        int capacity = Math.max(16, hierarchyConfig.getInitialCapacity());
+        this.interner = new GroupIdInterner(capacity);
+        allocate(capacity);
+    }
+
+    @Override
+    public HierarchyUpdate create(String groupId, String parentGroupId) {
+        boolean hasParent = parentGroupId != null && !parentGroupId.isEmpty();
+        if (!GroupIdInterner.isValid(groupId) || (hasParent && !GroupIdInterner.isValid(parentGroupId))) {
+            return HierarchyUpdate.INVALID_ID;
+        }
+        long stamp = lock.writeLock();
+        try {
+            int group = interner.find(groupId);
+            int parent = hasParent ? interner.find(parentGroupId) : NONE;
+            if (group != GroupIdInterner.NOT_FOUND && created[group]) {
+                if (parents[group] == parent && (parent != NONE || !hasParent)) {
+                    return HierarchyUpdate.DUPLICATE;
+                }
+                return HierarchyUpdate.PARENT_CONFLICT;
+            }
+            if (hasParent && (groupId.equals(parentGroupId) || (group != GroupIdInterner.NOT_FOUND && isAncestor(group, parent)))) {
+                return HierarchyUpdate.CYCLE;
+            }
+            group = intern(groupId);
+            parent = hasParent ? intern(parentGroupId) : NONE;
+            parents[group] = parent;
+            if (parent != NONE) {
+                int first = firstChildren[parent];
+                nextSiblings[group] = first;
+                previousSiblings[group] = NONE;
+                if (first != NONE) {
+                    previousSiblings[first] = group;
+                }
+                firstChildren[parent] = group;
+                childCounts[parent]++;
+            }
+            created[group] = true;
+            size++;
+            return HierarchyUpdate.APPLIED;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public HierarchyUpdate delete(String groupId) {
+        long stamp = lock.writeLock();
+        try {
+            int group = interner.find(groupId);
+            if (group == GroupIdInterner.NOT_FOUND || !created[group]) {
+                return HierarchyUpdate.NOT_FOUND;
+            }
+            if (childCounts[group] > 0) {
+                return HierarchyUpdate.HAS_CHILDREN;
+            }
+            int parent = parents[group];
+            if (parent != NONE) {
+                int previous = previousSiblings[group];
+                int next = nextSiblings[group];
+                if (previous != NONE) {
+                    nextSiblings[previous] = next;
+                } else {
+                    firstChildren[parent] = next;
+                }
+                if (next != NONE) {
+                    previousSiblings[next] = previous;
+                }
+                childCounts[parent]--;
+                if (childCounts[parent] == 0 && !created[parent]) {
+                    interner.release(parent);
+                }
+            }
+            parents[group] = NONE;
+            nextSiblings[group] = NONE;
+            previousSiblings[group] = NONE;
+            created[group] = false;
+            interner.release(group);
+            size--;
+            return HierarchyUpdate.APPLIED;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean contains(String groupId) {
+        return read(() -> {
+            int group = interner.find(groupId);
+            return group != GroupIdInterner.NOT_FOUND && created[group];
+        });
+    }
+
+    @Override
+    public String parentOf(String groupId) {
+        return read(() -> {
+            int group = interner.find(groupId);
+            if (group == GroupIdInterner.NOT_FOUND || !created[group] || parents[group] == NONE) {
+                return null;
+            }
+            return interner.idOf(parents[group]);
+        });
+    }
+
+    @Override
+    public int childCount(String groupId) {
+        return read(() -> {
+            int group = interner.find(groupId);
+            return group == GroupIdInterner.NOT_FOUND ? 0 : childCounts[group];
+        });
+    }
+
+    @Override
+    public List<String> children(String groupId, int limit) {
+        return read(() -> {
+            int group = interner.find(groupId);
+            if (group == GroupIdInterner.NOT_FOUND) {
+                return List.of();
+            }
+            int count = Math.min(limit, childCounts[group]);
+            List<String> result = new ArrayList<>(count);
+            for (int child = firstChildren[group]; child != NONE && result.size() < count; child = nextSiblings[child]) {
+                result.add(interner.idOf(child));
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public List<String> ancestors(String groupId) {
+        return read(() -> {
+            List<String> ancestors = new ArrayList<>();
+            int group = interner.find(groupId);
+            if (group == GroupIdInterner.NOT_FOUND || !created[group]) {
+                return ancestors;
+            }
+            int limit = interner.size();
+            for (int parent = parents[group]; parent != NONE && ancestors.size() < limit;
+                 parent = created[parent] ? parents[parent] : NONE) {
+                ancestors.add(interner.idOf(parent));
+            }
+            return ancestors;
+        });
+    }
+
+    @Override
+    public long size() {
+        return read(() -> size);
+    }
+
+    /**
+     * Visits the groups under the read lock, so updates wait until the visit completes.
+     */
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        long stamp = lock.readLock();
+        try {
+            for (int group = 0, count = interner.size(); group < count; group++) {
+                if (created[group]) {
+                    action.accept(interner.idOf(group), parents[group] == NONE ? null : interner.idOf(parents[group]));
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return the approximate number of bytes held by the interner and the tree arrays
+     */
+    public long footprintBytes() {
+        return read(() -> interner.footprintBytes() + 20L * parents.length + created.length);
+    }
+
+    private int intern(String id) {
+        int handle = interner.intern(id);
+        if (handle >= parents.length) {
+            int capacity = parents.length * 2;
+            parents = grow(parents, capacity);
+            childCounts = Arrays.copyOf(childCounts, capacity);
+            firstChildren = grow(firstChildren, capacity);
+            nextSiblings = grow(nextSiblings, capacity);
+            previousSiblings = grow(previousSiblings, capacity);
+            created = Arrays.copyOf(created, capacity);
+        }
+        return handle;
+    }
+
+    private boolean isAncestor(int group, int parent) {
+        int limit = interner.size();
+        for (int current = parent, depth = 0; current != NONE && depth <= limit; depth++) {
+            if (current == group) {
+                return true;
+            }
+            current = created[current] ? parents[current] : NONE;
+        }
+        return false;
+    }
+
+    private void allocate(int capacity) {
+        parents = grow(new int[0], capacity);
+        childCounts = new int[capacity];
+        firstChildren = grow(new int[0], capacity);
+        nextSiblings = grow(new int[0], capacity);
+        previousSiblings = grow(new int[0], capacity);
+        created = new boolean[capacity];
+    }
+
+    private static int[] grow(int[] array, int capacity) {
+        int[] grown = Arrays.copyOf(array, capacity);
+        Arrays.fill(grown, array.length, capacity, NONE);
+        return grown;
+    }
+
+    /**
+     * Runs the reader as an optimistic read, falling back to the read lock if an update overlapped it. A reader that
+     * observes a half-applied update may fail or return garbage, which the stamp validation discards.
+     */
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
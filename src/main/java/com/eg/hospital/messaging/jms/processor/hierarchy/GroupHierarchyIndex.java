@@ -0,0 +1,80 @@
+package com.eg.hospital.messaging.jms.processor.hierarchy;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Index of the group tree built from the CREATE and DELETE messages consumed from the queue.
+ * <p>
+ * Every group points to its parent, and every parent id knows its children, including parents that were never
+ * created themselves (for example top-level parents, or a parent whose CREATE has not been consumed yet).
+ * Implementations must allow reads concurrently with updates without blocking them.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public interface GroupHierarchyIndex {
+
+    /**
+     * Adds a group under its parent.
+     *
+     * @param groupId       the group to add
+     * @param parentGroupId the parent group, or {@code null} for a root group
+     * @return the outcome of the update
+     */
+    HierarchyUpdate create(String groupId, String parentGroupId);
+
+    /**
+     * Removes a group that has no children.
+     *
+     * @param groupId the group to remove
+     * @return the outcome of the update
+     */
+    HierarchyUpdate delete(String groupId);
+
+    /**
+     * @return whether the group was created and not deleted
+     */
+    boolean contains(String groupId);
+
+    /**
+     * @return the parent of the group, or {@code null} if the group is unknown or a root
+     */
+    String parentOf(String groupId);
+
+    /**
+     * @return the number of direct children of the group id
+     */
+    int childCount(String groupId);
+
+    /**
+     * Returns the direct children of a group id.
+     *
+     * @param groupId the parent group id
+     * @param limit   the maximum number of children returned
+     * @return up to {@code limit} children, in no particular order
+     */
+    List<String> children(String groupId, int limit);
+
+    /**
+     * Returns the chain of parents of a group, nearest first. The chain ends with the first parent id
+     * that is not itself an indexed group.
+     *
+     * @param groupId the group id
+     * @return the ancestors, empty for an unknown or root group
+     */
+    List<String> ancestors(String groupId);
+
+    /**
+     * @return the number of indexed groups
+     */
+    long size();
+
+    /**
+     * Visits every indexed group with its parent, in no particular order. Implementations may hold back updates
+     * during the visit, so that the visited groups form one consistent tree.
+     *
+     * @param action receives the group id and its parent group id, {@code null} for a root group
+     */
+    void forEach(BiConsumer<String, String> action);
+}
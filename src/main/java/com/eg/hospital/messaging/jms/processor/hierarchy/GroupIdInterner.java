@@ -0,0 +1,259 @@
+package com.eg.hospital.messaging.jms.processor.hierarchy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Maps group ids to dense {@code int} handles and back, without keeping a {@link String} per id.
+ * <p>
+ * Group ids follow the {@code RequestDTO} rules (3 to 50 characters out of {@code [a-zA-Z0-9-]}), so every id is
+ * stored as one byte per character in a shared byte arena. An open-addressing table of handles resolves an id to its
+ * handle by hashing and comparing the characters in place, which means a lookup does not allocate.
+ * </p>
+ * <p>
+ * Handles are assigned from 0 upwards. A {@link #release(int) released} handle leaves a tombstone in the table and is
+ * handed out again by the next {@link #intern(String)}, and the arena is compacted once more than half of its bytes
+ * belong to released ids, so the memory held follows the number of live ids rather than every id ever seen.
+ * </p>
+ * <p>
+ * The interner is not thread-safe; {@link CompactGroupHierarchyIndex} guards it with its lock.
+ * </p>
+ *
+ * @author Sanjay
+ */
+final class GroupIdInterner {
+
+    static final int NOT_FOUND = -1;
+    static final int MIN_LENGTH = 3;
+    static final int MAX_LENGTH = 50;
+
+    private static final int TOMBSTONE = -1;
+
+    private byte[] arena;
+    private int arenaSize;
+    private int[] offsets;
+    private byte[] lengths;
+    private int[] hashes;
+    private int[] table;
+    private int size;
+    private int live;
+    private int tombstones;
+    private int deadBytes;
+    private int[] freeHandles = new int[16];
+    private int freeCount;
+
+    GroupIdInterner(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.arena = new byte[capacity * 8];
+        this.offsets = new int[capacity];
+        this.lengths = new byte[capacity];
+        this.hashes = new int[capacity];
+        this.table = new int[tableSizeFor(capacity)];
+    }
+
+    /**
+     * @return whether the id satisfies the group id rules and can be interned
+     */
+    static boolean isValid(String id) {
+        if (id == null || id.length() < MIN_LENGTH || id.length() > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the handle of an id, or {@link #NOT_FOUND} if it was never interned.
+     */
+    int find(String id) {
+        if (id == null || id.length() > MAX_LENGTH) {
+            return NOT_FOUND;
+        }
+        int hash = hash(id);
+        int[] slots = table;
+        int mask = slots.length - 1;
+        for (int slot = hash & mask, probes = 0; probes < slots.length; slot = (slot + 1) & mask, probes++) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return NOT_FOUND;
+            }
+            if (entry == TOMBSTONE) {
+                continue;
+            }
+            int handle = entry - 1;
+            if (hashes[handle] == hash && matches(handle, id)) {
+                return handle;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Returns the handle of an id, interning it first if needed. The id must be {@link #isValid(String) valid}.
+     */
+    int intern(String id) {
+        int existing = find(id);
+        if (existing != NOT_FOUND) {
+            return existing;
+        }
+        if ((live + 1) * 2 > table.length) {
+            rehash(table.length * 2);
+        } else if ((live + tombstones + 1) * 2 > table.length) {
+            rehash(table.length);
+        }
+        int handle;
+        if (freeCount > 0) {
+            handle = freeHandles[--freeCount];
+        } else {
+            if (size == offsets.length) {
+                grow();
+            }
+            handle = size++;
+        }
+        if (deadBytes > arenaSize / 2) {
+            compact();
+        }
+        if (arenaSize + id.length() > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arenaSize + id.length(), arena.length * 2));
+        }
+        for (int i = 0; i < id.length(); i++) {
+            arena[arenaSize + i] = (byte) id.charAt(i);
+        }
+        offsets[handle] = arenaSize;
+        lengths[handle] = (byte) id.length();
+        hashes[handle] = hash(id);
+        arenaSize += id.length();
+        insert(table, handle);
+        live++;
+        return handle;
+    }
+
+    /**
+     * Forgets the id of a handle, so that the handle and its arena bytes can be reused by later ids.
+     */
+    void release(int handle) {
+        int mask = table.length - 1;
+        int slot = hashes[handle] & mask;
+        while (table[slot] != handle + 1) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = TOMBSTONE;
+        tombstones++;
+        deadBytes += lengths[handle];
+        lengths[handle] = 0;
+        live--;
+        if (freeCount == freeHandles.length) {
+            freeHandles = Arrays.copyOf(freeHandles, freeCount * 2);
+        }
+        freeHandles[freeCount++] = handle;
+    }
+
+    /**
+     * @return the id of a handle
+     */
+    String idOf(int handle) {
+        return new String(arena, offsets[handle], lengths[handle], StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * @return the exclusive upper bound of the handles, released ones included
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of interned ids that have not been released
+     */
+    int liveCount() {
+        return live;
+    }
+
+    /**
+     * @return the approximate number of bytes held by the arena and the index arrays
+     */
+    long footprintBytes() {
+        return arena.length + 4L * offsets.length + lengths.length + 4L * hashes.length + 4L * table.length
+                + 4L * freeHandles.length;
+    }
+
+    private boolean matches(int handle, String id) {
+        if (lengths[handle] != id.length()) {
+            return false;
+        }
+        int offset = offsets[handle];
+        for (int i = 0; i < id.length(); i++) {
+            if (arena[offset + i] != (byte) id.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void grow() {
+        int capacity = offsets.length * 2;
+        offsets = Arrays.copyOf(offsets, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+    }
+
+    private void rehash(int tableSize) {
+        int[] slots = new int[tableSize];
+        for (int handle = 0; handle < size; handle++) {
+            if (lengths[handle] != 0) {
+                insert(slots, handle);
+            }
+        }
+        table = slots;
+        tombstones = 0;
+    }
+
+    /**
+     * Moves the ids of the live handles to the front of the arena, dropping the bytes of released ids.
+     */
+    private void compact() {
+        byte[] compacted = new byte[arena.length];
+        int compactedSize = 0;
+        for (int handle = 0; handle < size; handle++) {
+            int length = lengths[handle];
+            if (length != 0) {
+                System.arraycopy(arena, offsets[handle], compacted, compactedSize, length);
+                offsets[handle] = compactedSize;
+                compactedSize += length;
+            }
+        }
+        arena = compacted;
+        arenaSize = compactedSize;
+        deadBytes = 0;
+    }
+
+    private void insert(int[] slots, int handle) {
+        int mask = slots.length - 1;
+        int slot = hashes[handle] & mask;
+        while (slots[slot] != 0 && slots[slot] != TOMBSTONE) {
+            slot = (slot + 1) & mask;
+        }
+        if (slots[slot] == TOMBSTONE) {
+            tombstones--;
+        }
+        slots[slot] = handle + 1;
+    }
+
+    private static int hash(String id) {
+        int hash = 0;
+        for (int i = 0; i < id.length(); i++) {
+            hash = 31 * hash + (id.charAt(i) & 0xFF);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity * 2 - 1)) << 1;
+        return Math.max(32, size);
+    }
+}
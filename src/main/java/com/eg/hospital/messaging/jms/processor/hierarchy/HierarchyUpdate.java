@@ -0,0 +1,44 @@
+package com.eg.hospital.messaging.jms.processor.hierarchy;
+
+/**
+ * Outcome of applying a CREATE or DELETE operation to the {@link GroupHierarchyIndex}.
+ *
+ * @author Sanjay
+ */
+public enum HierarchyUpdate {
+
+    /**
+     * The index was changed.
+     */
+    APPLIED,
+
+    /**
+     * The group already exists under the same parent; the operation was ignored.
+     */
+    DUPLICATE,
+
+    /**
+     * The group already exists under a different parent.
+     */
+    PARENT_CONFLICT,
+
+    /**
+     * The parent is the group itself or one of its descendants.
+     */
+    CYCLE,
+
+    /**
+     * The group to delete is not in the index.
+     */
+    NOT_FOUND,
+
+    /**
+     * The group to delete still has children.
+     */
+    HAS_CHILDREN,
+
+    /**
+     * The group id or the parent group id does not satisfy the group id rules; the operation was ignored.
+     */
+    INVALID_ID
+}
@@ -0,0 +1,167 @@
+package com.eg.hospital.messaging.jms.processor.hierarchy;
+
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * {@link GroupHierarchyIndex} backed by two concurrent maps: group id to parent id, and parent id to its set of
+ * child ids.
+ * <p>
+ * Queries go straight to the maps and never lock, so they are not slowed down by consumers applying updates.
+ * Updates are serialized by a single lock, because a CREATE checks the whole ancestor chain for cycles and a DELETE
+ * touches both maps; the parent pointer is always written before the group becomes visible as a child. Only
+ * {@link #forEach(BiConsumer)} takes that lock as a reader, to visit one consistent tree.
+ * </p>
+ * <p>
+ * Every group costs a few map entries and strings, so this index is selected with
+ * {@code spring.jms.hierarchy.store=map} for small hierarchies; the default is the {@link CompactGroupHierarchyIndex}.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@Qualifier(JmsConstants.HIERARCHY_STORE)
+@ConditionalOnProperty(prefix = "spring.jms.hierarchy", name = "store", havingValue = "map")
+public class InMemoryGroupHierarchyIndex implements GroupHierarchyIndex {
+
+    private static final String NO_PARENT = "";
+
+    private final Map<String, String> parents = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> children = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @Override
+    public HierarchyUpdate create(String groupId, String parentGroupId) {
+        String parent = parentGroupId == null || parentGroupId.isEmpty() ? NO_PARENT : parentGroupId;
+        writeLock.lock();
+        try {
+            String existing = parents.get(groupId);
+            if (existing != null) {
+                return existing.equals(parent) ? HierarchyUpdate.DUPLICATE : HierarchyUpdate.PARENT_CONFLICT;
+            }
+            if (!NO_PARENT.equals(parent) && isSelfOrAncestor(groupId, parent)) {
+                return HierarchyUpdate.CYCLE;
+            }
+            parents.put(groupId, parent);
+            if (!NO_PARENT.equals(parent)) {
+                children.computeIfAbsent(parent, id -> ConcurrentHashMap.newKeySet()).add(groupId);
+            }
+            return HierarchyUpdate.APPLIED;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public HierarchyUpdate delete(String groupId) {
+        writeLock.lock();
+        try {
+            String parent = parents.get(groupId);
+            if (parent == null) {
+                return HierarchyUpdate.NOT_FOUND;
+            }
+            if (childCount(groupId) > 0) {
+                return HierarchyUpdate.HAS_CHILDREN;
+            }
+            Set<String> siblings = children.get(parent);
+            if (siblings != null) {
+                siblings.remove(groupId);
+                if (siblings.isEmpty()) {
+                    children.remove(parent);
+                }
+            }
+            parents.remove(groupId);
+            return HierarchyUpdate.APPLIED;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(String groupId) {
+        return parents.containsKey(groupId);
+    }
+
+    @Override
+    public String parentOf(String groupId) {
+        String parent = parents.get(groupId);
+        return parent == null || NO_PARENT.equals(parent) ? null : parent;
+    }
+
+    @Override
+    public int childCount(String groupId) {
+        Set<String> childIds = children.get(groupId);
+        return childIds == null ? 0 : childIds.size();
+    }
+
+    @Override
+    public List<String> children(String groupId, int limit) {
+        Set<String> childIds = children.get(groupId);
+        if (childIds == null) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(Math.min(limit, childIds.size()));
+        Iterator<String> iterator = childIds.iterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> ancestors(String groupId) {
+        List<String> ancestors = new ArrayList<>();
+        String current = parentOf(groupId);
+        long maxDepth = parents.size();
+        while (current != null && ancestors.size() <= maxDepth) {
+            ancestors.add(current);
+            current = parentOf(current);
+        }
+        return ancestors;
+    }
+
+    @Override
+    public long size() {
+        return parents.size();
+    }
+
+    /**
+     * Visits the groups under the writer lock, so updates wait until the visit completes and the visited groups form
+     * one consistent tree.
+     */
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        writeLock.lock();
+        try {
+            parents.forEach((groupId, parent) -> action.accept(groupId, NO_PARENT.equals(parent) ? null : parent));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Walks up from {@code parent} and reports whether {@code groupId} is found on the way.
+     */
+    private boolean isSelfOrAncestor(String groupId, String parent) {
+        String current = parent;
+        long maxDepth = parents.size() + 1L;
+        for (long depth = 0; current != null && depth <= maxDepth; depth++) {
+            if (current.equals(groupId)) {
+                return true;
+            }
+            current = parentOf(current);
+        }
+        return false;
+    }
+}
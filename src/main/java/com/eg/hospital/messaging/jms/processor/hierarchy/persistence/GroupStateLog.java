@@ -0,0 +1,236 @@
+package com.eg.hospital.messaging.jms.processor.hierarchy.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of the updates applied to the group hierarchy, written to memory-mapped segment files.
+ * <p>
+ * Each segment is a file of a fixed size named after its sequence number. A record is laid out as
+ * {@code [int length][int crc32][byte operation][byte id length][id][byte parent length][parent]}; the length is
+ * written last, so a zero length marks the end of the segment and a record torn by a crash is either not visible
+ * or fails its checksum. Appends only copy bytes into the mapped buffer; the operating system writes the pages back,
+ * and {@link #force()} flushes them explicitly.
+ * </p>
+ * <p>
+ * The log is not thread-safe; {@link PersistentGroupHierarchyIndex} appends under its write lock.
+ * </p>
+ *
+ * @author Sanjay
+ */
+final class GroupStateLog implements Closeable {
+
+    static final byte CREATE = 1;
+    static final byte DELETE = 2;
+    static final int MAX_ID_LENGTH = 255;
+
+    private static final Logger log = LoggerFactory.getLogger(GroupStateLog.class);
+
+    private static final String PREFIX = "group-state-";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = HEADER_SIZE + 3 + 2 * MAX_ID_LENGTH;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean sync;
+    private final byte[] record = new byte[MAX_RECORD_SIZE - HEADER_SIZE];
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long sequence;
+
+    /**
+     * Receives the records of the log in the order they were appended.
+     */
+    @FunctionalInterface
+    interface Entry {
+
+        void apply(byte operation, String groupId, String parentGroupId);
+    }
+
+    GroupStateLog(Path directory, long segmentSize, boolean sync) {
+        this.directory = directory;
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE, Math.max(MAX_RECORD_SIZE + 4, segmentSize));
+        this.sync = sync;
+    }
+
+    /**
+     * Starts appending to a new segment with the given sequence number.
+     */
+    void open(long sequence) throws IOException {
+        Path segment = segment(directory, sequence);
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        this.sequence = sequence;
+    }
+
+    /**
+     * Appends one record, starting a new segment if the current one is full.
+     */
+    void append(byte operation, String groupId, String parentGroupId) throws IOException {
+        int length = encode(operation, groupId, parentGroupId);
+        if (buffer.remaining() < HEADER_SIZE + length + 4) {
+            roll();
+        }
+        crc.reset();
+        crc.update(record, 0, length);
+        int position = buffer.position();
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.put(position + HEADER_SIZE, record, 0, length);
+        buffer.putInt(position, length);
+        buffer.position(position + HEADER_SIZE + length);
+        if (sync) {
+            buffer.force(position, HEADER_SIZE + length);
+        }
+    }
+
+    /**
+     * Closes the current segment and starts the next one.
+     *
+     * @return the sequence number of the new segment
+     */
+    long roll() throws IOException {
+        close();
+        open(sequence + 1);
+        return sequence;
+    }
+
+    /**
+     * Flushes the appended records of the current segment to disk.
+     */
+    void force() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Deletes the segments with a sequence number lower than the given one.
+     */
+    void deleteBefore(long firstRetained) throws IOException {
+        for (long segmentSequence : sequences(directory)) {
+            if (segmentSequence < firstRetained) {
+                Files.deleteIfExists(segment(directory, segmentSequence));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            force();
+            channel.close();
+            channel = null;
+            buffer = null;
+        }
+    }
+
+    /**
+     * Replays the segments with a sequence number of at least {@code fromSequence}, oldest first. A segment is read
+     * up to its end marker, or up to the first torn or corrupt record.
+     *
+     * @return the number of replayed records
+     */
+    static long replay(Path directory, long fromSequence, Entry entry) throws IOException {
+        long records = 0;
+        for (long segmentSequence : sequences(directory)) {
+            if (segmentSequence >= fromSequence) {
+                records += replaySegment(segment(directory, segmentSequence), entry);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * @return the sequence numbers of the segments in the directory, in ascending order
+     */
+    static List<Long> sequences(Path directory) throws IOException {
+        List<Long> sequences = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .forEach(name -> sequences.add(Long.parseLong(name, PREFIX.length(), name.length() - SUFFIX.length(), 10)));
+        }
+        sequences.sort(null);
+        return sequences;
+    }
+
+    /**
+     * @return whether the id can be written to the log, which holds non-empty ids of up to {@value #MAX_ID_LENGTH}
+     * UTF-8 bytes
+     */
+    static boolean isWritable(String id) {
+        return id != null && !id.isEmpty() && id.length() <= MAX_ID_LENGTH
+                && id.getBytes(StandardCharsets.UTF_8).length <= MAX_ID_LENGTH;
+    }
+
+    static Path segment(Path directory, long sequence) {
+        return directory.resolve(String.format("%s%019d%s", PREFIX, sequence, SUFFIX));
+    }
+
+    private static long replaySegment(Path segment, Entry entry) throws IOException {
+        long records = 0;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            byte[] record = new byte[MAX_RECORD_SIZE];
+            CRC32 crc = new CRC32();
+            while (buffer.remaining() >= HEADER_SIZE) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length == 0) {
+                    break;
+                }
+                if (length < 0 || length > buffer.remaining() || length > record.length) {
+                    log.warn("Group state log {} ends with a torn record after {} records", segment.getFileName(), records);
+                    break;
+                }
+                buffer.get(record, 0, length);
+                crc.reset();
+                crc.update(record, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("Group state log {} has a corrupt record after {} records", segment.getFileName(), records);
+                    break;
+                }
+                int groupLength = record[1] & 0xFF;
+                int parentLength = record[2 + groupLength] & 0xFF;
+                String groupId = new String(record, 2, groupLength, StandardCharsets.UTF_8);
+                String parentGroupId = parentLength == 0 ? null
+                        : new String(record, 3 + groupLength, parentLength, StandardCharsets.UTF_8);
+                entry.apply(record[0], groupId, parentGroupId);
+                records++;
+            }
+        }
+        return records;
+    }
+
+    private int encode(byte operation, String groupId, String parentGroupId) {
+        record[0] = operation;
+        int position = writeId(groupId, 1);
+        return writeId(parentGroupId, position);
+    }
+
+    private int writeId(String id, int position) {
+        byte[] bytes = id == null ? new byte[0] : id.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_ID_LENGTH) {
+            throw new IllegalArgumentException("Group id too long for the group state log: " + id);
+        }
+        record[position++] = (byte) bytes.length;
+        System.arraycopy(bytes, 0, record, position, bytes.length);
+        return position + bytes.length;
+    }
+}
@@ -0,0 +1,162 @@
+package com.eg.hospital.messaging.jms.processor.hierarchy.persistence;
+
+import com.eg.hospital.messaging.jms.processor.hierarchy.GroupHierarchyIndex;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compact snapshot of the group hierarchy, holding one {@code [id length][id][parent length][parent]} record per
+ * group between a header and a CRC32 trailer.
+ * <p>
+ * A snapshot is named after the first log segment it does not contain, so recovery loads the latest snapshot and
+ * replays the segments from that sequence number on. Snapshots are written to a temporary file, forced to disk and
+ * then atomically renamed, so a crash while writing never replaces the previous snapshot with a partial one.
+ * </p>
+ *
+ * @author Sanjay
+ */
+final class GroupStateSnapshot {
+
+    private static final int MAGIC = 0x47534E50;
+    private static final byte VERSION = 1;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".dat";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private GroupStateSnapshot() {
+    }
+
+    /**
+     * Writes the groups of the index to the snapshot covering the log segments before {@code sequence}.
+     *
+     * @return the number of written groups
+     */
+    static long write(Path directory, long sequence, GroupHierarchyIndex index) throws IOException {
+        Path target = snapshot(directory, sequence);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        long[] groups = new long[1];
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, BUFFER_SIZE), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            try {
+                index.forEach((groupId, parentGroupId) -> {
+                    try {
+                        writeId(out, groupId);
+                        writeId(out, parentGroupId);
+                        groups[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.writeByte(0);
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return groups[0];
+    }
+
+    /**
+     * Reads the groups of a snapshot as CREATE records.
+     *
+     * @return the number of read groups
+     * @throws IOException if the snapshot cannot be read or fails its checksum
+     */
+    static long read(Path directory, long sequence, GroupStateLog.Entry entry) throws IOException {
+        Path source = snapshot(directory, sequence);
+        long groups = 0;
+        try (CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(source), BUFFER_SIZE), new CRC32())) {
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException("Not a group state snapshot: " + source);
+            }
+            byte[] id = new byte[GroupStateLog.MAX_ID_LENGTH];
+            for (int length = in.readUnsignedByte(); length != 0; length = in.readUnsignedByte()) {
+                in.readFully(id, 0, length);
+                String groupId = new String(id, 0, length, StandardCharsets.UTF_8);
+                int parentLength = in.readUnsignedByte();
+                in.readFully(id, 0, parentLength);
+                String parentGroupId = parentLength == 0 ? null : new String(id, 0, parentLength, StandardCharsets.UTF_8);
+                entry.apply(GroupStateLog.CREATE, groupId, parentGroupId);
+                groups++;
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Group state snapshot failed its checksum: " + source);
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * @return the sequence number of the latest snapshot in the directory
+     */
+    static Optional<Long> latest(Path directory) throws IOException {
+        return sequences(directory).stream().reduce((first, second) -> second);
+    }
+
+    /**
+     * Deletes the snapshots older than the given sequence number, and temporary files left by an interrupted write.
+     */
+    static void deleteBefore(Path directory, long firstRetained) throws IOException {
+        for (long sequence : sequences(directory)) {
+            if (sequence < firstRetained) {
+                Files.deleteIfExists(snapshot(directory, sequence));
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(file -> file.getFileName().toString().endsWith(SUFFIX + ".tmp")).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static List<Long> sequences(Path directory) throws IOException {
+        List<Long> sequences = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .forEach(name -> sequences.add(Long.parseLong(name, PREFIX.length(), name.length() - SUFFIX.length(), 10)));
+        }
+        sequences.sort(null);
+        return sequences;
+    }
+
+    private static Path snapshot(Path directory, long sequence) {
+        return directory.resolve(String.format("%s%019d%s", PREFIX, sequence, SUFFIX));
+    }
+
+    private static void writeId(DataOutputStream out, String id) throws IOException {
+        if (id == null) {
+            out.writeByte(0);
+            return;
+        }
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(bytes.length);
+        out.write(bytes);
+    }
+}
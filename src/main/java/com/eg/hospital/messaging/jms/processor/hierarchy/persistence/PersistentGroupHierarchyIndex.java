@@ -0,0 +1,241 @@
+package com.eg.hospital.messaging.jms.processor.hierarchy.persistence;
+
+import com.eg.hospital.messaging.jms.processor.config.HierarchyConfig;
+import com.eg.hospital.messaging.jms.processor.exception.JmsMessageException;
+import com.eg.hospital.messaging.jms.processor.hierarchy.GroupHierarchyIndex;
+import com.eg.hospital.messaging.jms.processor.hierarchy.HierarchyUpdate;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * {@link GroupHierarchyIndex} that makes the configured store durable across restarts.
+ * <p>
+ * Every applied CREATE and DELETE is appended to a memory-mapped {@link GroupStateLog} before the update is
+ * acknowledged, and the whole index is periodically written to a {@link GroupStateSnapshot}. On startup the latest
+ * snapshot and the log segments written after it are loaded into the store, so a restart replays only the updates
+ * since the last snapshot instead of the whole message history. Taking a snapshot rolls the log to a new segment and
+ * deletes the segments and snapshots it supersedes.
+ * </p>
+ * <p>
+ * Updates are serialized by a lock so that the log order matches the order they were applied in. A snapshot holds
+ * the same lock while it writes, which briefly pauses updates in exchange for a snapshot that matches a log position
+ * exactly. Reads go straight to the store.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@Primary
+@ConditionalOnProperty(prefix = "spring.jms.hierarchy.persistence", name = "enabled", havingValue = "true")
+public class PersistentGroupHierarchyIndex implements GroupHierarchyIndex, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PersistentGroupHierarchyIndex.class);
+
+    private final GroupHierarchyIndex store;
+    private final Path directory;
+    private final GroupStateLog journal;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private boolean dirty;
+
+    public PersistentGroupHierarchyIndex(@Qualifier(JmsConstants.HIERARCHY_STORE) GroupHierarchyIndex store,
+                                         HierarchyConfig hierarchyConfig) throws IOException {
+        HierarchyConfig.Persistence persistence = hierarchyConfig.getPersistence();
+        this.store = store;
+        this.directory = Paths.get(persistence.getDirectory());
+        this.journal = new GroupStateLog(directory, persistence.getSegmentSize().toBytes(), persistence.isSync());
+        recover();
+    }
+
+    @Override
+    public HierarchyUpdate create(String groupId, String parentGroupId) {
+        boolean hasParent = parentGroupId != null && !parentGroupId.isEmpty();
+        if (!GroupStateLog.isWritable(groupId) || (hasParent && !GroupStateLog.isWritable(parentGroupId))) {
+            return HierarchyUpdate.INVALID_ID;
+        }
+        writeLock.lock();
+        try {
+            HierarchyUpdate update = store.create(groupId, parentGroupId);
+            if (update == HierarchyUpdate.APPLIED) {
+                try {
+                    append(GroupStateLog.CREATE, groupId, hasParent ? parentGroupId : null);
+                } catch (JmsMessageException e) {
+                    store.delete(groupId);
+                    throw e;
+                }
+            }
+            return update;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public HierarchyUpdate delete(String groupId) {
+        writeLock.lock();
+        try {
+            String parentGroupId = store.parentOf(groupId);
+            HierarchyUpdate update = store.delete(groupId);
+            if (update == HierarchyUpdate.APPLIED) {
+                try {
+                    append(GroupStateLog.DELETE, groupId, null);
+                } catch (JmsMessageException e) {
+                    store.create(groupId, parentGroupId);
+                    throw e;
+                }
+            }
+            return update;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(String groupId) {
+        return store.contains(groupId);
+    }
+
+    @Override
+    public String parentOf(String groupId) {
+        return store.parentOf(groupId);
+    }
+
+    @Override
+    public int childCount(String groupId) {
+        return store.childCount(groupId);
+    }
+
+    @Override
+    public List<String> children(String groupId, int limit) {
+        return store.children(groupId, limit);
+    }
+
+    @Override
+    public List<String> ancestors(String groupId) {
+        return store.ancestors(groupId);
+    }
+
+    @Override
+    public long size() {
+        return store.size();
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        store.forEach(action);
+    }
+
+    /**
+     * Writes a snapshot if updates were applied since the last one.
+     */
+    @Scheduled(fixedDelayString = "${spring.jms.hierarchy.persistence.snapshot-interval:5m}",
+            initialDelayString = "${spring.jms.hierarchy.persistence.snapshot-interval:5m}")
+    public void scheduledSnapshot() {
+        try {
+            snapshot();
+        } catch (IOException e) {
+            log.error("Failed to write group state snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a snapshot of the index and deletes the log segments and snapshots it supersedes. Does nothing if no
+     * update was applied since the last snapshot.
+     */
+    public void snapshot() throws IOException {
+        writeLock.lock();
+        try {
+            if (!dirty) {
+                return;
+            }
+            long start = System.nanoTime();
+            long sequence = journal.roll();
+            long groups = GroupStateSnapshot.write(directory, sequence, store);
+            GroupStateSnapshot.deleteBefore(directory, sequence);
+            journal.deleteBefore(sequence);
+            dirty = false;
+            log.info("Wrote group state snapshot {} with {} groups in {} ms", sequence, groups,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Closes the log without writing a snapshot; the next start replays the log tail.
+     */
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            journal.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Writes a final snapshot, so the next start does not have to replay the log, and closes the log.
+     */
+    @Override
+    public void destroy() throws IOException {
+        try {
+            snapshot();
+        } finally {
+            close();
+        }
+    }
+
+    private void append(byte operation, String groupId, String parentGroupId) {
+        try {
+            journal.append(operation, groupId, parentGroupId);
+            dirty = true;
+        } catch (IOException e) {
+            log.error("Failed to append {} of Group Id: {} to the group state log: {}", operation, groupId, e.getMessage());
+            throw new JmsMessageException("Failed to persist the update of Group Id: " + groupId);
+        }
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        long start = System.nanoTime();
+        Optional<Long> snapshot = GroupStateSnapshot.latest(directory);
+        long groups = 0;
+        if (snapshot.isPresent()) {
+            groups = GroupStateSnapshot.read(directory, snapshot.get(), this::replay);
+        }
+        long fromSequence = snapshot.orElse(0L);
+        long records = GroupStateLog.replay(directory, fromSequence, this::replay);
+        List<Long> segments = GroupStateLog.sequences(directory);
+        long next = segments.isEmpty() ? fromSequence : Math.max(fromSequence, segments.get(segments.size() - 1) + 1);
+        journal.open(next);
+        dirty = records > 0;
+        log.info("Recovered {} groups from the group state snapshot and {} log records in {} ms", groups, records,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void replay(byte operation, String groupId, String parentGroupId) {
+        HierarchyUpdate update = operation == GroupStateLog.DELETE
+                ? store.delete(groupId)
+                : store.create(groupId, parentGroupId);
+        if (update != HierarchyUpdate.APPLIED) {
+            log.warn("Replayed update of Group Id: {} not applied to the hierarchy: {}", groupId, update);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.eg.hospital.messaging.jms.processor.loadtest;
+
+import com.eg.hospital.messaging.jms.processor.dto.RequestDTO;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.time.Instant;
+
+/**
+ * {@link LoadTarget} that sends the operations through the REST API, {@code POST /groups/create} and
+ * {@code DELETE /groups/delete}.
+ * <p>
+ * The services stamp the message timestamp when the request is handled, so the end-to-end latency of this target
+ * starts at the controller; the send latency covers the whole HTTP round trip from the intended start.
+ * </p>
+ * <p>
+ * The {@link RestClient} sends {@code spring.jms.load-test.api-key} in the rate limit client header, which the rate
+ * limiter lets through while load testing is enabled, so the configured rate is not cut down to the per-client limits.
+ * </p>
+ *
+ * @author Sanjay
+ */
+class ApiLoadTarget implements LoadTarget {
+
+    private final RestClient restClient;
+
+    ApiLoadTarget(RestClient restClient) {
+        this.restClient = restClient;
+    }
+
+    @Override
+    public void send(String operation, String groupId, String parentGroupId, Instant intendedStart) {
+        RequestDTO request = new RequestDTO();
+        request.setGroupId(groupId);
+        request.setParentGroupId(parentGroupId);
+        boolean delete = JmsConstants.DELETE_OPERATION.equals(operation);
+        restClient.method(delete ? HttpMethod.DELETE : HttpMethod.POST)
+                .uri(delete ? "/groups/delete" : "/groups/create")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(request)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
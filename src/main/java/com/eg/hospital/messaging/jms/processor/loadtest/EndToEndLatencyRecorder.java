@@ -0,0 +1,111 @@
+package com.eg.hospital.messaging.jms.processor.loadtest;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long the messages of a load test run took from the {@code timestamp} stamped by the producer side to
+ * the moment a listener starts processing them.
+ * <p>
+ * Only messages whose group id starts with the prefix of the active run are recorded; between runs every message is
+ * skipped after a single volatile read, so the listeners pay nothing for the recorder outside of a run. CREATE and
+ * DELETE latencies are kept in separate histograms.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+public class EndToEndLatencyRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(EndToEndLatencyRecorder.class);
+
+    private final Clock clock;
+
+    private volatile Run run;
+
+    public EndToEndLatencyRecorder() {
+        this(Clock.systemUTC());
+    }
+
+    EndToEndLatencyRecorder(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Histograms and receive count of one load test run.
+     */
+    public static final class Run {
+
+        private final String groupIdPrefix;
+        private final LatencyHistogram create = new LatencyHistogram();
+        private final LatencyHistogram delete = new LatencyHistogram();
+        private final LongAdder received = new LongAdder();
+
+        private Run(String groupIdPrefix) {
+            this.groupIdPrefix = groupIdPrefix;
+        }
+
+        public LatencyHistogram getCreate() {
+            return create;
+        }
+
+        public LatencyHistogram getDelete() {
+            return delete;
+        }
+
+        public long getReceived() {
+            return received.sum();
+        }
+    }
+
+    /**
+     * Starts recording the messages whose group id starts with the given prefix, replacing any earlier run.
+     *
+     * @return the histograms the messages are recorded into
+     */
+    public Run start(String groupIdPrefix) {
+        Run started = new Run(groupIdPrefix);
+        run = started;
+        return started;
+    }
+
+    /**
+     * Stops recording; the histograms of the run keep their values.
+     */
+    public void stop() {
+        run = null;
+    }
+
+    /**
+     * Records the end-to-end latency of a message if it belongs to the active run.
+     *
+     * @param message the message a listener is about to process
+     */
+    public void record(GroupMessageDTO message) {
+        Run active = run;
+        if (active == null || message.getGroupId() == null || !message.getGroupId().startsWith(active.groupIdPrefix)) {
+            return;
+        }
+        active.received.increment();
+        if (message.getTimestamp() == null) {
+            log.warn("Load test message of Group Id: {} has no timestamp", message.getGroupId());
+            return;
+        }
+        try {
+            Instant sent = Instant.parse(message.getTimestamp());
+            long nanos = Duration.between(sent, clock.instant()).toNanos();
+            (JmsConstants.DELETE_OPERATION.equals(message.getOperation()) ? active.delete : active.create).record(nanos);
+        } catch (DateTimeParseException e) {
+            log.warn("Load test message of Group Id: {} has an invalid timestamp: {}", message.getGroupId(), message.getTimestamp());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.eg.hospital.messaging.jms.processor.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latency histogram that many threads record into without locking.
+ * <p>
+ * Values are recorded in microseconds into an HdrHistogram {@link Recorder}, which keeps three significant digits
+ * over any range and lets writers proceed while a reader swaps out the values recorded so far. A snapshot adds those
+ * values to the accumulated histogram, so snapshots can be taken while recording continues.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public class LatencyHistogram {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final Recorder recorder = new Recorder(3);
+    private final Histogram accumulated = new Histogram(3);
+
+    /**
+     * Records one latency; negative values, from clocks that moved backwards, are recorded as zero.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        recorder.recordValue(Math.max(0, nanos / 1_000));
+    }
+
+    /**
+     * @return a copy of every value recorded so far
+     */
+    public synchronized Histogram snapshot() {
+        accumulated.add(recorder.getIntervalHistogram());
+        return accumulated.copy();
+    }
+
+    /**
+     * Summarizes every value recorded so far as count, mean, percentiles and maximum, in milliseconds.
+     */
+    public Map<String, Object> summary() {
+        Histogram histogram = snapshot();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        if (histogram.getTotalCount() == 0) {
+            return summary;
+        }
+        summary.put("meanMillis", histogram.getMean() / 1_000d);
+        for (double percentile : PERCENTILES) {
+            summary.put("p" + formatPercentile(percentile) + "Millis",
+                    histogram.getValueAtPercentile(percentile) / 1_000d);
+        }
+        summary.put("maxMillis", histogram.getMaxValue() / 1_000d);
+        return summary;
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+}
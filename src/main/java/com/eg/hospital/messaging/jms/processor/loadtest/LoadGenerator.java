@@ -0,0 +1,145 @@
+package com.eg.hospital.messaging.jms.processor.loadtest;
+
+import com.eg.hospital.messaging.jms.processor.config.LoadTestConfig;
+import com.eg.hospital.messaging.jms.processor.config.RateLimitConfig;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageProducer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts open-loop load test runs against this application and keeps the report of the latest one.
+ * <p>
+ * A run sends CREATE and DELETE operations either through the REST API or straight to the
+ * {@link GroupMessageProducer}, at the configured rate and operation mix, and the {@link EndToEndLatencyRecorder}
+ * measures how long its messages take to reach the listeners. The group ids of a run share a unique prefix, so its
+ * messages can be told apart from regular traffic. One run executes at a time, on its own thread.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConditionalOnProperty(prefix = "spring.jms.load-test", name = "enabled", havingValue = "true")
+public class LoadGenerator implements DisposableBean {
+
+    private final LoadTestConfig loadTestConfig;
+    private final RateLimitConfig rateLimitConfig;
+    private final GroupMessageProducer groupMessageProducer;
+    private final EndToEndLatencyRecorder endToEndLatencyRecorder;
+    private final RestClient.Builder restClientBuilder;
+    private final Environment environment;
+
+    private LoadTestRun run;
+    private Thread runThread;
+
+    public LoadGenerator(LoadTestConfig loadTestConfig, RateLimitConfig rateLimitConfig,
+                         GroupMessageProducer groupMessageProducer, EndToEndLatencyRecorder endToEndLatencyRecorder,
+                         RestClient.Builder restClientBuilder, Environment environment) {
+        this.loadTestConfig = loadTestConfig;
+        this.rateLimitConfig = rateLimitConfig;
+        this.groupMessageProducer = groupMessageProducer;
+        this.endToEndLatencyRecorder = endToEndLatencyRecorder;
+        this.restClientBuilder = restClientBuilder;
+        this.environment = environment;
+    }
+
+    /**
+     * Starts a run; settings that are {@code null} fall back to the configured defaults.
+     *
+     * @return the initial report of the run
+     * @throws IllegalStateException    if a run is still in progress
+     * @throws IllegalArgumentException if a setting is out of range
+     */
+    public synchronized Map<String, Object> start(LoadTestConfig.Target target, Integer rate, Duration duration,
+                                                  Integer createPercent) {
+        if (run != null && !run.isFinished()) {
+            throw new IllegalStateException("Load test " + run.report().get("groupIdPrefix") + " is still running");
+        }
+        LoadTestConfig settings = settings(target, rate, duration, createPercent);
+        String groupIdPrefix = "load-" + Long.toString(System.currentTimeMillis(), 36) + "-";
+        run = new LoadTestRun(groupIdPrefix, settings, loadTarget(settings.getTarget()), endToEndLatencyRecorder);
+        runThread = new Thread(run, "load-generator");
+        runThread.setDaemon(true);
+        runThread.start();
+        return run.report();
+    }
+
+    /**
+     * Stops starting operations in the current run, which still reports the operations it already started.
+     */
+    public synchronized Map<String, Object> cancel() {
+        if (run == null) {
+            return report();
+        }
+        run.cancel();
+        return run.report();
+    }
+
+    /**
+     * @return the report of the current or latest run, or {@code state: IDLE} before the first run
+     */
+    public synchronized Map<String, Object> report() {
+        if (run == null) {
+            Map<String, Object> idle = new LinkedHashMap<>();
+            idle.put("state", "IDLE");
+            return idle;
+        }
+        return run.report();
+    }
+
+    @Override
+    public synchronized void destroy() throws InterruptedException {
+        if (run != null && !run.isFinished()) {
+            run.cancel();
+            runThread.interrupt();
+            runThread.join(loadTestConfig.getDrainTimeout().toMillis());
+        }
+    }
+
+    private LoadTestConfig settings(LoadTestConfig.Target target, Integer rate, Duration duration, Integer createPercent) {
+        LoadTestConfig settings = new LoadTestConfig();
+        settings.setTarget(target != null ? target : loadTestConfig.getTarget());
+        settings.setRate(rate != null ? rate : loadTestConfig.getRate());
+        settings.setDuration(duration != null ? duration : loadTestConfig.getDuration());
+        settings.setCreatePercent(createPercent != null ? createPercent : loadTestConfig.getCreatePercent());
+        settings.setSenders(loadTestConfig.getSenders());
+        settings.setDrainTimeout(loadTestConfig.getDrainTimeout());
+        if (settings.getRate() <= 0 || settings.getRate() > 1_000_000) {
+            throw new IllegalArgumentException("Load test rate must be between 1 and 1000000 operations per second");
+        }
+        if (settings.getDuration().isNegative() || settings.getDuration().isZero()) {
+            throw new IllegalArgumentException("Load test duration must be positive");
+        }
+        if (settings.getCreatePercent() < 0 || settings.getCreatePercent() > 100) {
+            throw new IllegalArgumentException("Load test create percent must be between 0 and 100");
+        }
+        if (settings.getSenders() <= 0) {
+            throw new IllegalArgumentException("Load test senders must be positive");
+        }
+        return settings;
+    }
+
+    private LoadTarget loadTarget(LoadTestConfig.Target target) {
+        if (target == LoadTestConfig.Target.PRODUCER) {
+            return new ProducerLoadTarget(groupMessageProducer);
+        }
+        String baseUrl = loadTestConfig.getBaseUrl();
+        if (baseUrl == null || baseUrl.isBlank()) {
+            String port = environment.getProperty("local.server.port");
+            if (port == null) {
+                throw new IllegalStateException("No local server port to send the load test to; set spring.jms.load-test.base-url");
+            }
+            baseUrl = "http://localhost:" + port;
+        }
+        return new ApiLoadTarget(restClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .defaultHeader(rateLimitConfig.getClientHeader(), loadTestConfig.getApiKey())
+                .build());
+    }
+}
@@ -0,0 +1,23 @@
+package com.eg.hospital.messaging.jms.processor.loadtest;
+
+import java.time.Instant;
+
+/**
+ * Destination of the operations sent by the {@link LoadGenerator}.
+ *
+ * @author Sanjay
+ */
+@FunctionalInterface
+public interface LoadTarget {
+
+    /**
+     * Sends one operation and returns once it was accepted, throwing if it was not.
+     *
+     * @param operation      CREATE or DELETE
+     * @param groupId        the group id
+     * @param parentGroupId  the parent group id
+     * @param intendedStart  when the open-loop schedule meant the operation to start, which may be earlier than now
+     *                       if the senders fell behind
+     */
+    void send(String operation, String groupId, String parentGroupId, Instant intendedStart);
+}
@@ -0,0 +1,237 @@
+package com.eg.hospital.messaging.jms.processor.loadtest;
+
+import com.eg.hospital.messaging.jms.processor.config.LoadTestConfig;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One open-loop load test run started by the {@link LoadGenerator}.
+ * <p>
+ * A pacing thread starts operation {@code i} at {@code start + i / rate}, whether or not the earlier operations have
+ * completed, and hands it to a fixed pool of sender threads. Latencies are measured from that intended start, so
+ * a backlog in front of slow senders shows up as latency instead of silently lowering the offered rate (the
+ * coordinated omission of closed-loop load generators). After the last operation the run waits up to the drain
+ * timeout for the listeners to receive every accepted message.
+ * </p>
+ *
+ * @author Sanjay
+ */
+class LoadTestRun implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRun.class);
+
+    private static final long DRAIN_POLL_MILLIS = 10;
+
+    enum State {
+        RUNNING, DRAINING, COMPLETED, CANCELLED
+    }
+
+    private final String groupIdPrefix;
+    private final LoadTestConfig.Target target;
+    private final int rate;
+    private final Duration duration;
+    private final int createPercent;
+    private final int senders;
+    private final Duration drainTimeout;
+    private final LoadTarget loadTarget;
+    private final EndToEndLatencyRecorder endToEndLatencyRecorder;
+
+    private final LatencyHistogram sendLatency = new LatencyHistogram();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+
+    private volatile State state = State.RUNNING;
+    private volatile Instant started;
+    private volatile long startNanos;
+    private volatile long pacingNanos = -1;
+    private volatile long sendPhaseNanos = -1;
+    private volatile long startedOperations;
+    private volatile EndToEndLatencyRecorder.Run endToEnd;
+
+    private long created;
+    private long deleted;
+
+    LoadTestRun(String groupIdPrefix, LoadTestConfig settings, LoadTarget loadTarget,
+                EndToEndLatencyRecorder endToEndLatencyRecorder) {
+        this.groupIdPrefix = groupIdPrefix;
+        this.target = settings.getTarget();
+        this.rate = settings.getRate();
+        this.duration = settings.getDuration();
+        this.createPercent = settings.getCreatePercent();
+        this.senders = settings.getSenders();
+        this.drainTimeout = settings.getDrainTimeout();
+        this.loadTarget = loadTarget;
+        this.endToEndLatencyRecorder = endToEndLatencyRecorder;
+    }
+
+    @Override
+    public void run() {
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(senders, runnable -> {
+            Thread thread = new Thread(runnable, "load-sender-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        endToEnd = endToEndLatencyRecorder.start(groupIdPrefix);
+        long operations = rate * duration.toMillis() / 1_000;
+        log.info("Starting load test {}: {} operations at {}/s to {}, {}% CREATE", groupIdPrefix, operations, rate,
+                target, createPercent);
+        started = Instant.now();
+        startNanos = System.nanoTime();
+        try {
+            for (long i = 0; i < operations && state == State.RUNNING; i++) {
+                long intendedNanos = startNanos + i * 1_000_000_000L / rate;
+                long wait;
+                while ((wait = intendedNanos - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                String[] operation = nextOperation();
+                Instant intendedStart = started.plusNanos(intendedNanos - startNanos);
+                executor.execute(() -> send(operation, intendedNanos, intendedStart));
+                startedOperations = i + 1;
+            }
+            pacingNanos = System.nanoTime() - startNanos;
+            executor.shutdown();
+            if (!executor.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Load test {} senders did not finish within {}", groupIdPrefix, drainTimeout);
+            }
+            sendPhaseNanos = System.nanoTime() - startNanos;
+            drain();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = State.CANCELLED;
+        } finally {
+            executor.shutdownNow();
+            endToEndLatencyRecorder.stop();
+            if (pacingNanos < 0) {
+                pacingNanos = System.nanoTime() - startNanos;
+            }
+            if (sendPhaseNanos < 0) {
+                sendPhaseNanos = System.nanoTime() - startNanos;
+            }
+            if (state != State.CANCELLED) {
+                state = State.COMPLETED;
+            }
+            log.info("Load test {} {}: {}", groupIdPrefix, state, report());
+        }
+    }
+
+    /**
+     * Stops starting new operations; the run still drains the operations already started.
+     */
+    void cancel() {
+        state = State.CANCELLED;
+    }
+
+    boolean isFinished() {
+        return state == State.COMPLETED || state == State.CANCELLED;
+    }
+
+    /**
+     * @return the settings, counters, achieved throughput and latency percentiles of the run so far
+     */
+    Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("groupIdPrefix", groupIdPrefix);
+        report.put("state", state);
+        report.put("target", target);
+        report.put("targetRate", rate);
+        report.put("duration", duration.toString());
+        report.put("createPercent", createPercent);
+        report.put("senders", senders);
+        if (started == null) {
+            return report;
+        }
+        report.put("started", DateTimeFormatter.ISO_INSTANT.format(started));
+        long now = System.nanoTime();
+        long pacingElapsed = pacingNanos >= 0 ? pacingNanos : now - startNanos;
+        long sendPhaseElapsed = sendPhaseNanos >= 0 ? sendPhaseNanos : now - startNanos;
+        long acceptedCount = accepted.sum();
+        long received = endToEnd == null ? 0 : endToEnd.getReceived();
+        report.put("startedOperations", startedOperations);
+        report.put("accepted", acceptedCount);
+        report.put("failed", failed.sum());
+        Map<String, Long> errorCounts = new TreeMap<>();
+        errors.forEach((error, count) -> errorCounts.put(error, count.sum()));
+        report.put("errors", errorCounts);
+        report.put("received", received);
+        report.put("sendPhaseMillis", TimeUnit.NANOSECONDS.toMillis(sendPhaseElapsed));
+        report.put("achievedRate", perSecond(startedOperations, pacingElapsed));
+        report.put("acceptedThroughput", perSecond(acceptedCount, sendPhaseElapsed));
+        report.put("sendLatency", sendLatency.summary());
+        if (endToEnd != null) {
+            Map<String, Object> endToEndLatency = new LinkedHashMap<>();
+            endToEndLatency.put("create", endToEnd.getCreate().summary());
+            endToEndLatency.put("delete", endToEnd.getDelete().summary());
+            report.put("endToEndLatency", endToEndLatency);
+        }
+        return report;
+    }
+
+    /**
+     * Picks the next operation by the configured mix. A DELETE removes the oldest group created by the run that is
+     * not deleted yet, and turns into a CREATE while there is none.
+     *
+     * @return the operation, group id and parent group id
+     */
+    private String[] nextOperation() {
+        if (random.nextInt(100) >= createPercent && deleted < created) {
+            return new String[]{JmsConstants.DELETE_OPERATION, groupIdPrefix + deleted++, groupIdPrefix + "root"};
+        }
+        return new String[]{JmsConstants.CREATE_OPERATION, groupIdPrefix + created++, groupIdPrefix + "root"};
+    }
+
+    private void send(String[] operation, long intendedNanos, Instant intendedStart) {
+        try {
+            loadTarget.send(operation[0], operation[1], operation[2], intendedStart);
+            accepted.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            errors.computeIfAbsent(errorKey(e), key -> new LongAdder()).increment();
+        } finally {
+            sendLatency.record(System.nanoTime() - intendedNanos);
+        }
+    }
+
+    private void drain() throws InterruptedException {
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        state = state == State.RUNNING ? State.DRAINING : state;
+        while (endToEnd.getReceived() < accepted.sum() && System.nanoTime() < deadline) {
+            Thread.sleep(DRAIN_POLL_MILLIS);
+        }
+        if (endToEnd.getReceived() < accepted.sum()) {
+            log.warn("Load test {} received {} of {} accepted messages within {}", groupIdPrefix,
+                    endToEnd.getReceived(), accepted.sum(), drainTimeout);
+        }
+    }
+
+    private static double perSecond(long count, long nanos) {
+        return count * 1_000_000_000d / Math.max(1, nanos);
+    }
+
+    private static String errorKey(RuntimeException e) {
+        if (e instanceof RestClientResponseException response) {
+            return "HTTP " + response.getStatusCode().value();
+        }
+        return e.getClass().getSimpleName();
+    }
+}
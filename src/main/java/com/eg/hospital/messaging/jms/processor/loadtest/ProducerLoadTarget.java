@@ -0,0 +1,37 @@
+package com.eg.hospital.messaging.jms.processor.loadtest;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageProducer;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * {@link LoadTarget} that hands the operations straight to the {@link GroupMessageProducer}, skipping the web layer.
+ * <p>
+ * The message timestamp is the intended start of the operation rather than the time it was sent, so the end-to-end
+ * latency includes the time an operation waited for a free sender and is not understated when the senders fall behind.
+ * </p>
+ *
+ * @author Sanjay
+ */
+class ProducerLoadTarget implements LoadTarget {
+
+    private final GroupMessageProducer groupMessageProducer;
+
+    ProducerLoadTarget(GroupMessageProducer groupMessageProducer) {
+        this.groupMessageProducer = groupMessageProducer;
+    }
+
+    @Override
+    public void send(String operation, String groupId, String parentGroupId, Instant intendedStart) {
+        groupMessageProducer.sendMessage(GroupMessageDTO.builder()
+                .groupId(groupId)
+                .parentGroupId(parentGroupId)
+                .operation(operation)
+                .timestamp(DateTimeFormatter.ISO_INSTANT.format(intendedStart))
+                .operationId(UUID.randomUUID().toString())
+                .build());
+    }
+}
@@ -0,0 +1,143 @@
+package com.eg.hospital.messaging.jms.processor.logging;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sampled logger of the per-message events of the messaging path.
+ * <p>
+ * A {@code MessageLog} is obtained like an SLF4J logger, with {@link #forClass(Class)}, and wraps the logger of that
+ * class. {@link #configure(double, Map, boolean)} sets the sampling rate of every message log, the rate of the longest
+ * configured prefix of its logger name or the default rate, including message logs obtained later. Until then every
+ * event is logged, as with a plain logger. The settings are shared by the whole JVM, so the
+ * {@link MessageLoggingConfigurer} {@link #reset() resets} them when its application context closes.
+ * </p>
+ * <p>
+ * An event that is not sampled costs a volatile read and a random number and allocates nothing: the message is passed
+ * by reference and only rendered, into the operation and group id arguments and the {@code operation},
+ * {@code groupId}, {@code parentGroupId} and {@code operationId} key-value pairs used by structured log formats, once
+ * the event is sampled and the logger is enabled for INFO. Warnings and errors go to the plain logger.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public final class MessageLog {
+
+    private static final Map<String, MessageLog> MESSAGE_LOGS = new HashMap<>();
+
+    private static double defaultSampleRate = 1.0;
+    private static Map<String, Double> sampleRates = Map.of();
+    private static boolean logPayload = false;
+
+    private final Logger logger;
+    private volatile double sampleRate = 1.0;
+    private volatile boolean payload;
+
+    private MessageLog(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * @return the message log of the logger named after the class
+     */
+    public static synchronized MessageLog forClass(Class<?> type) {
+        return MESSAGE_LOGS.computeIfAbsent(type.getName(), name -> {
+            MessageLog messageLog = new MessageLog(LoggerFactory.getLogger(name));
+            messageLog.apply();
+            return messageLog;
+        });
+    }
+
+    /**
+     * Sets the sampling rates and payload logging of every message log.
+     *
+     * @param defaultRate fraction of the events logged by loggers without a rate of their own
+     * @param rates       fractions of the events logged, by logger name or package
+     * @param payload     whether the events carry the whole message as a {@code payload} key-value pair
+     * @throws IllegalArgumentException if a rate is not between 0 and 1
+     */
+    public static synchronized void configure(double defaultRate, Map<String, Double> rates, boolean payload) {
+        checkRate("default", defaultRate);
+        rates.forEach(MessageLog::checkRate);
+        defaultSampleRate = defaultRate;
+        sampleRates = new LinkedHashMap<>(rates);
+        logPayload = payload;
+        MESSAGE_LOGS.values().forEach(MessageLog::apply);
+    }
+
+    /**
+     * Logs every event again, without payload, as before the first {@link #configure}.
+     */
+    public static void reset() {
+        configure(1.0, Map.of(), false);
+    }
+
+    private static void checkRate(String logger, Double rate) {
+        if (rate == null || rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Log sampling rate of " + logger + " must be between 0 and 1, was " + rate);
+        }
+    }
+
+    private void apply() {
+        String name = logger.getName();
+        String longestPrefix = null;
+        for (String prefix : sampleRates.keySet()) {
+            boolean matches = name.equals(prefix) || name.startsWith(prefix + ".");
+            if (matches && (longestPrefix == null || prefix.length() > longestPrefix.length())) {
+                longestPrefix = prefix;
+            }
+        }
+        sampleRate = longestPrefix != null ? sampleRates.get(longestPrefix) : defaultSampleRate;
+        payload = logPayload;
+    }
+
+    /**
+     * Decides whether the next INFO event is logged; every call draws a new sample.
+     */
+    public boolean isInfoEnabled() {
+        double rate = sampleRate;
+        return rate > 0 && logger.isInfoEnabled() && (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    /**
+     * Logs a sampled INFO event about a message.
+     *
+     * @param format  the event message, with placeholders for the operation and the group id of the message
+     * @param message the message the event is about
+     */
+    public void info(String format, GroupMessageDTO message) {
+        if (!isInfoEnabled()) {
+            return;
+        }
+        LoggingEventBuilder event = logger.atInfo()
+                .setMessage(format)
+                .addArgument(message.getOperation())
+                .addArgument(message.getGroupId())
+                .addKeyValue("operation", message.getOperation())
+                .addKeyValue("groupId", message.getGroupId())
+                .addKeyValue("parentGroupId", message.getParentGroupId())
+                .addKeyValue("operationId", message.getOperationId());
+        if (payload) {
+            event.addKeyValue("payload", message.toString());
+        }
+        event.log();
+    }
+
+    /**
+     * @return the fraction of the events this message log currently logs
+     */
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public Logger getLogger() {
+        return logger;
+    }
+}
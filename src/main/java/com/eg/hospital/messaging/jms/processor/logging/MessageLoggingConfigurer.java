@@ -0,0 +1,103 @@
+package com.eg.hospital.messaging.jms.processor.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import com.eg.hospital.messaging.jms.processor.config.MessageLoggingConfig;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies the {@link MessageLoggingConfig} on startup: sets the sampling rates of the {@link MessageLog}s and puts an
+ * {@link AsyncAppender} in front of every appender of the root logger, so that logging threads only enqueue their
+ * events and the console or file is written by the appender's worker thread.
+ * <p>
+ * Events are formatted on the logging thread before they are enqueued, so they do not change once logged. By default
+ * no event is dropped: a full queue blocks the logging thread until the worker catches up, and events are only
+ * discarded when {@code discarding-threshold} or {@code never-block} is configured. On
+ * shutdown the asynchronous appenders are flushed and the original appenders are put back, so the log messages of
+ * the shutdown itself are not lost, and the sampling rates are reset, so they do not carry over to another
+ * application context in the same JVM. Logging systems other than Logback only get the sampling rates.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+public class MessageLoggingConfigurer implements InitializingBean, DisposableBean {
+
+    static final String ASYNC_APPENDER_PREFIX = "ASYNC_";
+
+    private final MessageLoggingConfig messageLoggingConfig;
+    private final List<AsyncAppender> asyncAppenders = new ArrayList<>();
+    private LoggerContext loggerContext;
+
+    public MessageLoggingConfigurer(MessageLoggingConfig messageLoggingConfig) {
+        this.messageLoggingConfig = messageLoggingConfig;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        MessageLog.configure(messageLoggingConfig.getSampleRate(), messageLoggingConfig.getSampleRates(),
+                messageLoggingConfig.isPayload());
+        if (messageLoggingConfig.getAsync().isEnabled()
+                && LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            wrapRootAppenders(context);
+        }
+    }
+
+    synchronized void wrapRootAppenders(LoggerContext context) {
+        MessageLoggingConfig.Async async = messageLoggingConfig.getAsync();
+        loggerContext = context;
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+        root.iteratorForAppenders().forEachRemaining(appender -> {
+            if (!(appender instanceof AsyncAppender)) {
+                appenders.add(appender);
+            }
+        });
+        for (Appender<ILoggingEvent> appender : appenders) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setName(ASYNC_APPENDER_PREFIX + appender.getName());
+            asyncAppender.setQueueSize(async.getQueueSize());
+            if (async.getDiscardingThreshold() >= 0) {
+                asyncAppender.setDiscardingThreshold(async.getDiscardingThreshold());
+            }
+            asyncAppender.setNeverBlock(async.isNeverBlock());
+            asyncAppender.addAppender(appender);
+            asyncAppender.start();
+            root.addAppender(asyncAppender);
+            root.detachAppender(appender);
+            asyncAppenders.add(asyncAppender);
+        }
+    }
+
+    /**
+     * Resets the sampling rates, flushes the asynchronous appenders and gives the root logger back its original
+     * appenders.
+     */
+    @Override
+    public synchronized void destroy() {
+        MessageLog.reset();
+        if (asyncAppenders.isEmpty()) {
+            return;
+        }
+        Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        for (AsyncAppender asyncAppender : asyncAppenders) {
+            List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+            asyncAppender.iteratorForAppenders().forEachRemaining(appenders::add);
+            appenders.forEach(root::addAppender);
+            root.detachAppender(asyncAppender);
+            asyncAppender.stop();
+            appenders.forEach(asyncAppender::detachAppender);
+        }
+        asyncAppenders.clear();
+    }
+}
@@ -0,0 +1,243 @@
+package com.eg.hospital.messaging.jms.processor.messaging;
+
+import com.eg.hospital.messaging.jms.processor.config.AsyncSendConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.exception.JmsMessageException;
+import com.eg.hospital.messaging.jms.processor.exception.SendRejectedException;
+import com.eg.hospital.messaging.jms.processor.messaging.ordering.MessageGroupAssigner;
+import com.eg.hospital.messaging.jms.processor.util.JmsConnectionFactoryUtils;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import org.apache.activemq.ActiveMQConnection;
+import org.apache.activemq.ActiveMQMessageProducer;
+import org.apache.activemq.AsyncCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking sender backing {@link GroupMessageProducer#sendMessageAsync(GroupMessageDTO)}.
+ * <p>
+ * The sender owns one broker connection and a configurable number of "lanes". Each lane is a single
+ * thread with its own session and producer, so a session is never shared between threads. Messages are
+ * sent with ActiveMQ's {@link AsyncCallback}: the lane thread only serializes and dispatches the message,
+ * and the returned future completes once the broker has acknowledged the (persistent) send.
+ * </p>
+ * <p>
+ * A semaphore bounds the number of sends awaiting an acknowledgement. When the window is full, a new send is
+ * rejected at once with a {@link SendRejectedException}, which the caller sees as a 429 with a {@code Retry-After} of
+ * {@link AsyncSendConfig#getRetryAfter()}; the request thread never waits for room, and callers get backpressure
+ * instead of an unbounded queue.
+ * </p>
+ * <p>
+ * Lanes and the connection are only created on the first send, so nothing is opened while the async mode is disabled.
+ * A closed or failed connection is replaced on the next send, and each lane recreates its session and producer when
+ * the connection it was created on has been replaced.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+public class AsyncJmsMessageSender implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncJmsMessageSender.class);
+
+    private final ConnectionFactory connectionFactory;
+    private final MessageConverter messageConverter;
+    private final AsyncSendConfig asyncSendConfig;
+    private final MessageGroupAssigner messageGroupAssigner;
+    private final Semaphore inFlight;
+    private final AtomicInteger nextLane = new AtomicInteger();
+
+    private volatile Lane[] lanes;
+    private Connection connection;
+
+    public AsyncJmsMessageSender(ConnectionFactory connectionFactory, MessageConverter groupMessageConverter,
+                                 AsyncSendConfig asyncSendConfig, MessageGroupAssigner messageGroupAssigner,
+                                 MeterRegistry meterRegistry) {
+        this.connectionFactory = JmsConnectionFactoryUtils.targetConnectionFactory(connectionFactory);
+        this.messageConverter = groupMessageConverter;
+        this.asyncSendConfig = asyncSendConfig;
+        this.messageGroupAssigner = messageGroupAssigner;
+        this.inFlight = new Semaphore(asyncSendConfig.getMaxInFlight());
+        Gauge.builder("jms.async.inflight", inFlight, s -> asyncSendConfig.getMaxInFlight() - s.availablePermits())
+                .description("Asynchronous sends awaiting a broker acknowledgement")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends the message without blocking the caller.
+     *
+     * @param queueName    the destination queue
+     * @param queueMessage the message payload
+     * @return a future completed when the broker acknowledges the message, or completed exceptionally with a
+     * {@link SendRejectedException} if the in-flight window is full or a {@link JmsMessageException} if the send fails
+     */
+    public CompletableFuture<Void> send(String queueName, GroupMessageDTO queueMessage) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (!inFlight.tryAcquire()) {
+            future.completeExceptionally(new SendRejectedException(SendRejectedException.Reason.IN_FLIGHT,
+                    asyncSendConfig.getRetryAfter(), "Too many in-flight messages, rejected "
+                    + queueMessage.getOperation() + " operation for Group Id: " + queueMessage.getGroupId()));
+            return future;
+        }
+        future.whenComplete((result, throwable) -> inFlight.release());
+        lane().submit(queueName, queueMessage, future);
+        return future;
+    }
+
+    private Lane lane() {
+        Lane[] current = lanes;
+        if (current == null) {
+            synchronized (this) {
+                if (lanes == null) {
+                    Lane[] created = new Lane[Math.max(1, asyncSendConfig.getLanes())];
+                    for (int i = 0; i < created.length; i++) {
+                        created[i] = new Lane(i);
+                    }
+                    lanes = created;
+                }
+                current = lanes;
+            }
+        }
+        return current[Math.floorMod(nextLane.getAndIncrement(), current.length)];
+    }
+
+    private synchronized Connection connection() throws JMSException {
+        if (connection instanceof ActiveMQConnection activeMQConnection
+                && (activeMQConnection.isClosed() || activeMQConnection.isTransportFailed())) {
+            log.warn("Async send connection lost, reconnecting");
+            closeConnection();
+            connection = null;
+        }
+        if (connection == null) {
+            connection = connectionFactory.createConnection();
+            connection.start();
+        }
+        return connection;
+    }
+
+    private void closeConnection() {
+        try {
+            connection.close();
+        } catch (JMSException e) {
+            log.warn("Failed to close async send connection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the lanes and closes the connection.
+     */
+    @Override
+    public synchronized void destroy() {
+        Lane[] current = lanes;
+        if (current != null) {
+            for (Lane lane : current) {
+                lane.shutdown();
+            }
+        }
+        if (connection != null) {
+            closeConnection();
+        }
+    }
+
+    /**
+     * A single sending thread with its own session and anonymous producer, created on the current connection.
+     */
+    private final class Lane {
+
+        private final ExecutorService executor;
+        private Connection sessionConnection;
+        private Session session;
+        private ActiveMQMessageProducer producer;
+
+        private Lane(int index) {
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jms-async-send-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private void submit(String queueName, GroupMessageDTO queueMessage, CompletableFuture<Void> future) {
+            try {
+                executor.execute(() -> send(queueName, queueMessage, future));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(failure(queueMessage));
+            }
+        }
+
+        private void send(String queueName, GroupMessageDTO queueMessage, CompletableFuture<Void> future) {
+            try {
+                Connection current = connection();
+                if (session == null || sessionConnection != current) {
+                    closeSession();
+                    session = current.createSession(false, Session.AUTO_ACKNOWLEDGE);
+                    producer = (ActiveMQMessageProducer) session.createProducer(null);
+                    sessionConnection = current;
+                }
+                Message message = messageConverter.toMessage(queueMessage, session);
+                message.setStringProperty(JmsConstants.OPERATION, queueMessage.getOperation());
+                messageGroupAssigner.assign(message, queueMessage);
+                producer.send(session.createQueue(queueName), message, new AsyncCallback() {
+                    @Override
+                    public void onSuccess() {
+                        future.complete(null);
+                    }
+
+                    @Override
+                    public void onException(JMSException exception) {
+                        log.error(" Failed to send async message to queue: {}", exception.getMessage());
+                        future.completeExceptionally(failure(queueMessage));
+                    }
+                });
+            } catch (Exception e) {
+                log.error(" Failed to send async message to queue: {}", e.getMessage());
+                closeSession();
+                future.completeExceptionally(failure(queueMessage));
+            }
+        }
+
+        private void closeSession() {
+            if (session != null) {
+                try {
+                    session.close();
+                } catch (JMSException e) {
+                    log.warn("Failed to close async send session: {}", e.getMessage());
+                }
+            }
+            session = null;
+            producer = null;
+            sessionConnection = null;
+        }
+
+        private void shutdown() {
+            executor.execute(this::closeSession);
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static JmsMessageException failure(GroupMessageDTO queueMessage) {
+        return new JmsMessageException("Failed while performing " + queueMessage.getOperation() + " operation for Group Id: " + queueMessage.getGroupId());
+    }
+}
@@ -0,0 +1,25 @@
+package com.eg.hospital.messaging.jms.processor.messaging;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+
+import java.util.List;
+
+/**
+ * Batch variant of {@link GroupMessageListener}, receiving all messages consumed within one transaction.
+ *
+ * <p>
+ * Implementations must process the messages in list order, which is the order they were received in. If the call
+ * throws, the whole transaction is rolled back and the messages are redelivered one at a time.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public interface BatchGroupMessageListener {
+
+    /**
+     * Processes a batch of {@link GroupMessageDTO} messages.
+     *
+     * @param messages the messages received in one transaction, in receive order
+     */
+    void processMessages(List<GroupMessageDTO> messages);
+}
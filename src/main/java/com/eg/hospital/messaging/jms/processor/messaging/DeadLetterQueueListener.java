@@ -1,9 +1,25 @@
 package com.eg.hospital.messaging.jms.processor.messaging;
 
 import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.exception.DeadLetterStoreFullException;
+import com.eg.hospital.messaging.jms.processor.messaging.deadletter.DeadLetterClassifier;
+import com.eg.hospital.messaging.jms.processor.messaging.deadletter.DeadLetterStore;
+import com.eg.hospital.messaging.jms.processor.metrics.MessagingMetrics;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jms.annotation.JmsListener;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.listener.MessageListenerContainer;
+import org.springframework.jms.support.JmsHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 /**
@@ -13,10 +29,18 @@ import org.springframework.stereotype.Component;
  * successfully in the primary listeners, even after the configured redelivery attempts.
  * </p>
  * <p>
- * The default DLQ destination in ActiveMQ is "ActiveMQ.DLQ". Messages sent here typically
- * indicate a processing failure.
+ * The default DLQ destination in ActiveMQ is "ActiveMQ.DLQ". With {@code spring.jms.dead-letter.per-destination}
+ * the embedded broker dead-letters the hospital management queue to {@code DLQ.<queue>} and its
+ * {@code DLQ.<queue>.<operation>} shards instead, and this listener consumes all of them through one composite
+ * destination with {@code spring.jms.dead-letter.concurrency} consumers. Messages sent here typically indicate a
+ * processing failure.
  * </p>
  * <p>
+ * The listener stops as soon as the {@link DeadLetterStore} is full and starts again once the store has room, so the
+ * broker keeps the messages that do not fit. A message that still arrives while the store is full, from a concurrent
+ * consumer, is sent back to its dead letter queue in the transaction that consumes it instead of being rolled back.
+ * The copy starts with a fresh delivery count, so a full store never uses up the redelivery attempts of a message.
+ * </p>
  *
  * @author Sanjay
  */
@@ -25,17 +49,110 @@ public class DeadLetterQueueListener {
 
     private static final Logger log = LoggerFactory.getLogger(DeadLetterQueueListener.class);
 
+    private final MessagingMetrics messagingMetrics;
+    private final DeadLetterStore deadLetterStore;
+    private final JmsListenerEndpointRegistry jmsListenerEndpointRegistry;
+    private boolean paused;
+
+    public DeadLetterQueueListener(MessagingMetrics messagingMetrics, DeadLetterStore deadLetterStore,
+                                   JmsListenerEndpointRegistry jmsListenerEndpointRegistry) {
+        this.messagingMetrics = messagingMetrics;
+        this.deadLetterStore = deadLetterStore;
+        this.jmsListenerEndpointRegistry = jmsListenerEndpointRegistry;
+    }
+
     /**
      * Processes a {@link GroupMessageDTO} received when the messages are not processed by the primary listeners
      * <p>
-     * Logs the received message and its operation type.
-     * Additional business logic or RETRY operations can be added here.
+     * Logs the received message and its operation type, holds it in the {@link DeadLetterStore} for replay and counts
+     * it in {@code jms.dlq.messages} by dead letter queue and operation. The failure reason is the one recorded when
+     * the message was returned to the queue on shutdown, or else classified from the cause stamped by the broker.
      * </p>
      *
-     * @param message the message payload containing group details and operation metadata
+     * @param message     the message payload containing group details and operation metadata
+     * @param cause       the delivery failure cause stamped by the broker, if any
+     * @param reason      the failure reason of a message returned by the holding store, if any
+     * @param destination the dead letter queue the message was received from
+     * @param jmsMessage  the received message, sent back to its queue if the store is full
+     * @param session     the transacted session of the listener
+     * @throws JMSException if a message could not be sent back to its queue
+     */
+    @JmsListener(id = JmsConstants.DEAD_LETTER_LISTENER_ID,
+            destination = "#{@deadLetterConfig.listenerDestination('${spring.jms.queues.hospitalManagement}')}",
+            concurrency = "${spring.jms.dead-letter.concurrency:1-4}")
+    public void handleFailedMessage(GroupMessageDTO message,
+                                    @Header(name = JmsConstants.DLQ_DELIVERY_FAILURE_CAUSE, required = false)
+                                    String cause,
+                                    @Header(name = JmsConstants.DLQ_REASON, required = false) String reason,
+                                    @Header(name = JmsHeaders.DESTINATION, required = false) Destination destination,
+                                    Message jmsMessage, Session session) throws JMSException {
+        String failureReason = reason != null ? reason : DeadLetterClassifier.classify(cause);
+        String queue = queueName(destination);
+        log.info("Received message in Dead Letter Queue {} ({}): {}", queue, failureReason, message);
+        try {
+            deadLetterStore.add(message, failureReason, queue);
+        } catch (DeadLetterStoreFullException e) {
+            pause();
+            sendBack(jmsMessage, session, queue);
+            return;
+        }
+        messagingMetrics.recordDeadLetter(queue, message.getOperation());
+        if (deadLetterStore.isFull()) {
+            pause();
+        }
+    }
+
+    /**
+     * Starts the listener stopped by a full store again once the store has room.
+     */
+    @Scheduled(fixedDelayString = "${spring.jms.dead-letter.resume-interval:5s}")
+    public synchronized void resumeWhenStoreHasRoom() {
+        MessageListenerContainer container =
+                jmsListenerEndpointRegistry.getListenerContainer(JmsConstants.DEAD_LETTER_LISTENER_ID);
+        if (paused && container != null && deadLetterStore.hasRoom()) {
+            paused = false;
+            container.start();
+            log.info("Dead letter store holds {} messages, resumed consuming the dead letter queues",
+                    deadLetterStore.size());
+        }
+    }
+
+    /**
+     * @return whether the listener is stopped because the store is full
+     */
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+
+    private synchronized void pause() {
+        MessageListenerContainer container =
+                jmsListenerEndpointRegistry.getListenerContainer(JmsConstants.DEAD_LETTER_LISTENER_ID);
+        if (!paused && container != null) {
+            paused = true;
+            container.stop();
+            log.warn("Dead letter store is full with {} messages, stopped consuming the dead letter queues "
+                    + "until it has room", deadLetterStore.size());
+        }
+    }
+
+    /**
+     * Sends a message that does not fit in the store back to the tail of its queue within the listener transaction.
      */
-    @JmsListener(destination = "ActiveMQ.DLQ")
-    public void handleFailedMessage(GroupMessageDTO message) {
-        log.info("Received message in Dead Letter Queue: {}", message);
+    private static void sendBack(Message jmsMessage, Session session, String queue) throws JMSException {
+        Destination destination = jmsMessage.getJMSDestination() != null
+                ? jmsMessage.getJMSDestination() : session.createQueue(queue);
+        try (MessageProducer producer = session.createProducer(destination)) {
+            producer.send(jmsMessage, jmsMessage.getJMSDeliveryMode(), jmsMessage.getJMSPriority(),
+                    Message.DEFAULT_TIME_TO_LIVE);
+        }
+        log.debug("Dead letter store is full, sent message {} back to {}", jmsMessage.getJMSMessageID(), queue);
+    }
+
+    private static String queueName(Destination destination) {
+        try {
+            return destination instanceof Queue queue ? queue.getQueueName() : JmsConstants.DEAD_LETTER_QUEUE;
+        } catch (JMSException e) {
+            return JmsConstants.DEAD_LETTER_QUEUE;
+        }
     }
 }
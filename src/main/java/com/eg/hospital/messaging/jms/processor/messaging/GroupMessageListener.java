@@ -21,4 +21,12 @@ public interface GroupMessageListener {
      *                parent group ID, operation type (CREATE/DELETE), and timestamp
      */
     void processMessage(GroupMessageDTO message);
+
+    /**
+     * Returns the operation handled by this listener, used to route messages when the queue is consumed
+     * in dispatcher mode.
+     *
+     * @return the operation type, for example CREATE or DELETE
+     */
+    String getOperation();
 }
\ No newline at end of file
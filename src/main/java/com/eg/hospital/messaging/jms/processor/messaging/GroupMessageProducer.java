@@ -1,7 +1,11 @@
 package com.eg.hospital.messaging.jms.processor.messaging;
 
+import com.eg.hospital.messaging.jms.processor.dto.BatchItemResultDTO;
 import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface for sending JMS messages to the queue.
  * <p>
@@ -24,4 +28,22 @@ public interface GroupMessageProducer {
      *                details of the group operation to be sent
      */
     void sendMessage(GroupMessageDTO message);
+
+    /**
+     * Sends a list of group-related messages to the JMS destination, reusing one
+     * transacted session and committing once per configured chunk.
+     *
+     * @param messages the messages to send, in order
+     * @return one result per message, in the same order as {@code messages}
+     */
+    List<BatchItemResultDTO> sendMessages(List<GroupMessageDTO> messages);
+
+    /**
+     * Sends a group-related message to the JMS destination without blocking the caller.
+     *
+     * @param message the {@link GroupMessageDTO} containing the
+     *                details of the group operation to be sent
+     * @return a future completed once the broker has accepted the message
+     */
+    CompletableFuture<Void> sendMessageAsync(GroupMessageDTO message);
 }
@@ -1,6 +1,11 @@
 package com.eg.hospital.messaging.jms.processor.messaging;
 
 import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.hierarchy.GroupHierarchyIndex;
+import com.eg.hospital.messaging.jms.processor.hierarchy.HierarchyUpdate;
+import com.eg.hospital.messaging.jms.processor.logging.MessageLog;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jms.annotation.JmsListener;
@@ -13,7 +18,12 @@ import org.springframework.stereotype.Component;
  * sent to the configured queue with a message selector filtering by operation = 'CREATE'.
  * </p>
  * <p>
- * Upon receiving a message, it logs the operation and processes the {@link GroupMessageDTO} payload.
+ * Upon receiving a message, it logs the operation (sampled, see {@link MessageLog}) and processes the
+ * {@link GroupMessageDTO} payload.
+ * </p>
+ * <p>
+ * The selector-filtered listener only runs in {@code SELECTOR} mode; in {@code DISPATCHER} mode the same bean
+ * is invoked by the dispatching consumer for messages with operation = 'CREATE'.
  * </p>
  *
  * <p><b>Expected message metadata:</b>
@@ -28,24 +38,37 @@ import org.springframework.stereotype.Component;
  * @author Sanjay Navada
  */
 @Component
+@AllArgsConstructor
 public class JmsCreateMessageListener implements GroupMessageListener {
 
     private static final Logger log = LoggerFactory.getLogger(JmsCreateMessageListener.class);
+    private static final MessageLog messageLog = MessageLog.forClass(JmsCreateMessageListener.class);
+
+    private final GroupHierarchyIndex groupHierarchyIndex;
 
     /**
      * Processes a {@link GroupMessageDTO} received from the configured JMS queue where the
      * operation is CREATE.
      * <p>
-     * Logs the received message and its operation type.
+     * Logs the received message through the sampled {@link MessageLog}, then adds the group to
+     * the {@link GroupHierarchyIndex}.
      * Additional business logic for CREATE operations can be added here.
      * </p>
      *
      * @param message the message payload containing group details and operation metadata
      */
     @Override
-    @JmsListener(destination = "${spring.jms.queues.hospitalManagement}", selector = "operation = 'CREATE'")
+    @JmsListener(id = JmsConstants.CREATE_LISTENER_ID, destination = "${spring.jms.queues.hospitalManagement}", selector = "operation = 'CREATE'")
     public void processMessage(GroupMessageDTO message) {
-            log.info("Queue Listener for {} operation", message.getOperation());
-            log.info("Thread: {} :Processing Message from the queue: {}",Thread.currentThread().getName(), message);
+        messageLog.info("Processing {} of Group Id: {} from the queue", message);
+        HierarchyUpdate update = groupHierarchyIndex.create(message.getGroupId(), message.getParentGroupId());
+        if (update != HierarchyUpdate.APPLIED) {
+            log.warn("CREATE of Group Id: {} not applied to the hierarchy: {}", message.getGroupId(), update);
+        }
+    }
+
+    @Override
+    public String getOperation() {
+        return JmsConstants.CREATE_OPERATION;
     }
 }
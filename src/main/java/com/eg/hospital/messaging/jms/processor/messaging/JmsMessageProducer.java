@@ -1,15 +1,30 @@
 package com.eg.hospital.messaging.jms.processor.messaging;
 
+import com.eg.hospital.messaging.jms.processor.config.BatchConfig;
 import com.eg.hospital.messaging.jms.processor.config.QueueConfig;
+import com.eg.hospital.messaging.jms.processor.dto.BatchItemResultDTO;
 import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
 import com.eg.hospital.messaging.jms.processor.exception.JmsMessageException;
+import com.eg.hospital.messaging.jms.processor.logging.MessageLog;
+import com.eg.hospital.messaging.jms.processor.messaging.ordering.MessageGroupAssigner;
 import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.converter.MessageConverter;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Implementation of the {@link GroupMessageProducer} interface responsible for sending messages
  * to the JMS queue using Spring's {@link JmsTemplate}.
@@ -38,15 +53,20 @@ import org.springframework.stereotype.Component;
 public class JmsMessageProducer implements GroupMessageProducer {
 
     private static final Logger log = LoggerFactory.getLogger(JmsMessageProducer.class);
+    private static final MessageLog messageLog = MessageLog.forClass(JmsMessageProducer.class);
 
     private final JmsTemplate jmsTemplate;
     private final QueueConfig queueConfig;
-
+    private final BatchConfig batchConfig;
+    private final AsyncJmsMessageSender asyncJmsMessageSender;
+    private final MessageGroupAssigner messageGroupAssigner;
 
     /**
      * Sends the configured message from the service layer to the configured JMS queue.
      * <p>
-     * Adds the operation type as a string property to the message for filtering by listeners.
+     * Adds the operation type as a string property to the message for filtering by listeners,
+     * and the message group when ordering is enabled. Successful sends are logged through the sampled
+     * {@link MessageLog}.
      * If sending fails, logs the error and throws a custom {@link JmsMessageException}.
      * </p>
      *
@@ -58,12 +78,12 @@ public class JmsMessageProducer implements GroupMessageProducer {
         try {
             String queueName = queueConfig.getHospitalManagement();
 
-            log.info("Sending Message to the queue: {}", queueName);
             jmsTemplate.convertAndSend(queueName, queueMessage, message -> {
                 message.setStringProperty(JmsConstants.OPERATION, queueMessage.getOperation());
+                messageGroupAssigner.assign(message, queueMessage);
                 return message;
             });
-            log.info("Message: {} sent successfully to the Queue", queueMessage);
+            messageLog.info("Sent {} of Group Id: {} to the queue", queueMessage);
         } catch (Exception e) {
             log.error(" Failed to send message to queue: {}", e.getMessage());
             throw new JmsMessageException("Failed while performing " + queueMessage.getOperation() + " operation for Group Id: " + queueMessage.getGroupId());
@@ -71,4 +91,106 @@ public class JmsMessageProducer implements GroupMessageProducer {
 
     }
 
-}
\ No newline at end of file
+    /**
+     * Sends the message to the configured JMS queue without blocking the calling thread.
+     * <p>
+     * The send is handed to the {@link AsyncJmsMessageSender}, which bounds the number of
+     * in-flight messages and completes the future when the broker acknowledges the message.
+     * </p>
+     *
+     * @param queueMessage the message payload containing group ID, parent group ID, operation, and timestamp
+     * @return a future completed exceptionally with a {@link JmsMessageException} if the send fails or is rejected
+     */
+    @Override
+    public CompletableFuture<Void> sendMessageAsync(GroupMessageDTO queueMessage) {
+        messageLog.info("Sending {} of Group Id: {} asynchronously to the queue", queueMessage);
+        return asyncJmsMessageSender.send(queueConfig.getHospitalManagement(), queueMessage);
+    }
+
+    /**
+     * Sends a list of messages to the configured JMS queue over a single transacted session.
+     * <p>
+     * The messages are committed once per {@link BatchConfig#getChunkSize()} messages. If a chunk
+     * fails, that chunk is rolled back and its messages are reported as failed, while the remaining
+     * chunks are still attempted.
+     * </p>
+     *
+     * @param queueMessages the messages to send, in order
+     * @return one result per message, in the same order as {@code queueMessages}
+     * @throws JmsMessageException if the connection or session to the broker cannot be opened
+     */
+    @Override
+    public List<BatchItemResultDTO> sendMessages(List<GroupMessageDTO> queueMessages) {
+        String queueName = queueConfig.getHospitalManagement();
+        int chunkSize = Math.max(1, batchConfig.getChunkSize());
+        List<BatchItemResultDTO> results = new ArrayList<>(queueMessages.size());
+
+        ConnectionFactory connectionFactory = jmsTemplate.getConnectionFactory();
+        if (connectionFactory == null) {
+            throw new JmsMessageException("No connection factory configured for batch send");
+        }
+
+        log.info("Sending batch of {} messages to the queue: {} in chunks of {}", queueMessages.size(), queueName, chunkSize);
+        try (Connection connection = connectionFactory.createConnection();
+             Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+             MessageProducer producer = session.createProducer(session.createQueue(queueName))) {
+
+            for (int start = 0; start < queueMessages.size(); start += chunkSize) {
+                int end = Math.min(start + chunkSize, queueMessages.size());
+                sendChunk(session, producer, queueMessages, start, end, results);
+            }
+        } catch (JMSException e) {
+            log.error(" Failed to open batch session to queue: {}", e.getMessage());
+            throw new JmsMessageException("Failed while sending batch of " + queueMessages.size() + " messages");
+        }
+        return results;
+    }
+
+    /**
+     * Sends the messages between {@code start} (inclusive) and {@code end} (exclusive)
+     * and commits them as one transaction, rolling back on failure.
+     */
+    private void sendChunk(Session session, MessageProducer producer, List<GroupMessageDTO> queueMessages,
+                           int start, int end, List<BatchItemResultDTO> results) {
+        MessageConverter converter = jmsTemplate.getMessageConverter();
+        try {
+            for (int i = start; i < end; i++) {
+                GroupMessageDTO queueMessage = queueMessages.get(i);
+                Message message = converter.toMessage(queueMessage, session);
+                message.setStringProperty(JmsConstants.OPERATION, queueMessage.getOperation());
+                messageGroupAssigner.assign(message, queueMessage);
+                producer.send(message);
+            }
+            session.commit();
+            for (int i = start; i < end; i++) {
+                results.add(itemResult(i, queueMessages.get(i), JmsConstants.ITEM_SENT, null));
+            }
+        } catch (Exception e) {
+            log.error(" Failed to send batch chunk [{}, {}) to queue: {}", start, end, e.getMessage());
+            rollback(session);
+            for (int i = start; i < end; i++) {
+                results.add(itemResult(i, queueMessages.get(i), JmsConstants.ITEM_FAILED,
+                        "Failed while performing " + queueMessages.get(i).getOperation() + " operation for Group Id: " + queueMessages.get(i).getGroupId()));
+            }
+        }
+    }
+
+    private void rollback(Session session) {
+        try {
+            session.rollback();
+        } catch (JMSException e) {
+            log.error(" Failed to roll back batch chunk: {}", e.getMessage());
+        }
+    }
+
+    private BatchItemResultDTO itemResult(int index, GroupMessageDTO queueMessage, String status, String message) {
+        return BatchItemResultDTO.builder()
+                .index(index)
+                .groupId(queueMessage.getGroupId())
+                .operation(queueMessage.getOperation())
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+}
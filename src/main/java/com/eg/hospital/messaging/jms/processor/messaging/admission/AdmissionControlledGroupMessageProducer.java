@@ -0,0 +1,68 @@
+package com.eg.hospital.messaging.jms.processor.messaging.admission;
+
+import com.eg.hospital.messaging.jms.processor.dto.BatchItemResultDTO;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.exception.SendRejectedException;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageProducer;
+import com.eg.hospital.messaging.jms.processor.messaging.JmsMessageProducer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link GroupMessageProducer} that puts the {@link SendAdmissionController} in front of the
+ * {@link JmsMessageProducer}.
+ * <p>
+ * A single send and a batch each take one in-flight slot for the duration of the send. An asynchronous send is
+ * already bounded by the in-flight window of the async sender, so it is only checked against the broker usage, and a
+ * rejection completes the returned future exceptionally.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@Primary
+@ConditionalOnProperty(prefix = "spring.jms.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlledGroupMessageProducer implements GroupMessageProducer {
+
+    private final JmsMessageProducer jmsMessageProducer;
+    private final SendAdmissionController sendAdmissionController;
+
+    public AdmissionControlledGroupMessageProducer(JmsMessageProducer jmsMessageProducer,
+                                                   SendAdmissionController sendAdmissionController) {
+        this.jmsMessageProducer = jmsMessageProducer;
+        this.sendAdmissionController = sendAdmissionController;
+    }
+
+    @Override
+    public void sendMessage(GroupMessageDTO message) {
+        sendAdmissionController.acquire();
+        try {
+            jmsMessageProducer.sendMessage(message);
+        } finally {
+            sendAdmissionController.release();
+        }
+    }
+
+    @Override
+    public List<BatchItemResultDTO> sendMessages(List<GroupMessageDTO> messages) {
+        sendAdmissionController.acquire();
+        try {
+            return jmsMessageProducer.sendMessages(messages);
+        } finally {
+            sendAdmissionController.release();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> sendMessageAsync(GroupMessageDTO message) {
+        SendRejectedException rejection = sendAdmissionController.checkBroker();
+        if (rejection != null) {
+            return CompletableFuture.failedFuture(rejection);
+        }
+        return jmsMessageProducer.sendMessageAsync(message);
+    }
+}
@@ -0,0 +1,126 @@
+package com.eg.hospital.messaging.jms.processor.messaging.admission;
+
+import com.eg.hospital.messaging.jms.processor.broker.BrokerStatistics;
+import com.eg.hospital.messaging.jms.processor.config.AdmissionConfig;
+import com.eg.hospital.messaging.jms.processor.exception.SendRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides whether a send may go to the broker.
+ * <p>
+ * A blocking send is admitted while fewer than {@code spring.jms.admission.max-in-flight} sends are in progress and
+ * the embedded broker's memory and store usage are below their high watermarks. Otherwise a
+ * {@link SendRejectedException} is thrown right away, before the send could block on producer flow control. Broker
+ * usage is not checked when the broker does not run in this JVM.
+ * </p>
+ * <p>
+ * Every decision is counted in {@code jms.admission.decisions} by result and reason, and the number of sends in
+ * progress is published as {@code jms.admission.in.flight}.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+public class SendAdmissionController {
+
+    private final BrokerStatistics brokerStatistics;
+    private final AdmissionConfig admissionConfig;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter admitted;
+    private final Map<SendRejectedException.Reason, Counter> rejected = new EnumMap<>(SendRejectedException.Reason.class);
+
+    public SendAdmissionController(BrokerStatistics brokerStatistics, AdmissionConfig admissionConfig, MeterRegistry meterRegistry) {
+        this.brokerStatistics = brokerStatistics;
+        this.admissionConfig = admissionConfig;
+        this.admitted = decisions(meterRegistry, "admitted", "none");
+        for (SendRejectedException.Reason reason : SendRejectedException.Reason.values()) {
+            rejected.put(reason, decisions(meterRegistry, "rejected", reason.name().toLowerCase()));
+        }
+        Gauge.builder("jms.admission.in.flight", inFlight, AtomicInteger::get)
+                .description("Blocking sends in progress")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits a blocking send, which must be followed by {@link #release()} once the send completes.
+     *
+     * @throws SendRejectedException if too many sends are in flight or the broker is above a high watermark
+     */
+    public void acquire() {
+        SendRejectedException.Reason reason = brokerSaturation();
+        if (reason == null) {
+            if (inFlight.incrementAndGet() <= admissionConfig.getMaxInFlight()) {
+                admitted.increment();
+                return;
+            }
+            inFlight.decrementAndGet();
+            reason = SendRejectedException.Reason.IN_FLIGHT;
+        }
+        throw reject(reason);
+    }
+
+    /**
+     * Ends a send admitted by {@link #acquire()}.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Admits a send that is bounded elsewhere, such as an asynchronous send, by checking the broker usage only.
+     *
+     * @return the rejection if the broker is above a high watermark, {@code null} if the send is admitted
+     */
+    public SendRejectedException checkBroker() {
+        SendRejectedException.Reason reason = brokerSaturation();
+        if (reason == null) {
+            admitted.increment();
+            return null;
+        }
+        return reject(reason);
+    }
+
+    /**
+     * @return the number of blocking sends in progress
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private SendRejectedException.Reason brokerSaturation() {
+        if (brokerStatistics.memoryPercentUsage() >= admissionConfig.getMemoryHighWatermark()) {
+            return SendRejectedException.Reason.BROKER_MEMORY;
+        }
+        if (brokerStatistics.storePercentUsage() >= admissionConfig.getStoreHighWatermark()) {
+            return SendRejectedException.Reason.BROKER_STORE;
+        }
+        return null;
+    }
+
+    private SendRejectedException reject(SendRejectedException.Reason reason) {
+        rejected.get(reason).increment();
+        return switch (reason) {
+            case IN_FLIGHT -> new SendRejectedException(reason, admissionConfig.getRetryAfter(),
+                    "Too many messages in flight, retry later");
+            case BROKER_MEMORY -> new SendRejectedException(reason, admissionConfig.getBrokerRetryAfter(),
+                    "Broker memory usage is above " + admissionConfig.getMemoryHighWatermark() + "%, retry later");
+            case BROKER_STORE -> new SendRejectedException(reason, admissionConfig.getBrokerRetryAfter(),
+                    "Broker store usage is above " + admissionConfig.getStoreHighWatermark() + "%, retry later");
+        };
+    }
+
+    private static Counter decisions(MeterRegistry meterRegistry, String result, String reason) {
+        return Counter.builder("jms.admission.decisions")
+                .description("Admission decisions for sends to the broker")
+                .tag("result", result)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
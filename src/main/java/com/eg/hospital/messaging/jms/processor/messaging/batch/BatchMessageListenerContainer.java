@@ -0,0 +1,215 @@
+package com.eg.hospital.messaging.jms.processor.messaging.batch;
+
+import com.eg.hospital.messaging.jms.processor.config.ListenerConfig;
+import com.eg.hospital.messaging.jms.processor.config.QueueConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.messaging.BatchGroupMessageListener;
+import com.eg.hospital.messaging.jms.processor.util.JmsConnectionFactoryUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumes the hospital management queue in {@code BATCH} mode, committing one transaction per batch of messages.
+ * <p>
+ * Every consumer thread owns a connection and a transacted session. It blocks for the first message of a batch,
+ * then keeps receiving until the batch holds {@code spring.jms.consumers.batch.size} messages or
+ * {@code max-wait} has passed, hands the converted messages to the {@link BatchGroupMessageListener} and commits
+ * once. This replaces one broker commit, and on a persistent broker one journal sync, per message with one per batch.
+ * </p>
+ * <p>
+ * If a batch fails, the transaction is rolled back and the consumer receives the next messages, which are the
+ * redelivered ones, one per transaction until as many messages as the failed batch held were processed. The poison
+ * message then fails on its own and reaches the dead letter queue after the broker's redelivery attempts, while the
+ * other messages of the batch are committed. A lost connection is reopened after {@value #RECOVERY_INTERVAL_MILLIS} ms.
+ * </p>
+ * <p>
+ * The container starts on its own only when {@code spring.jms.consumers.mode=batch}. Batch sizes and committed and
+ * rolled back transactions are published as {@code jms.batch.*} metrics.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+public class BatchMessageListenerContainer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchMessageListenerContainer.class);
+
+    static final long RECOVERY_INTERVAL_MILLIS = 5000;
+
+    private final ConnectionFactory connectionFactory;
+    private final MessageConverter messageConverter;
+    private final BatchGroupMessageListener batchGroupMessageListener;
+    private final ListenerConfig listenerConfig;
+    private final QueueConfig queueConfig;
+    private final DistributionSummary batchSizes;
+    private final Counter committed;
+    private final Counter rolledBack;
+    private final List<Thread> consumers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public BatchMessageListenerContainer(ConnectionFactory connectionFactory, MessageConverter groupMessageConverter,
+                                         BatchGroupMessageListener batchGroupMessageListener, ListenerConfig listenerConfig,
+                                         QueueConfig queueConfig, MeterRegistry meterRegistry) {
+        this.connectionFactory = JmsConnectionFactoryUtils.targetConnectionFactory(connectionFactory);
+        this.messageConverter = groupMessageConverter;
+        this.batchGroupMessageListener = batchGroupMessageListener;
+        this.listenerConfig = listenerConfig;
+        this.queueConfig = queueConfig;
+        this.batchSizes = DistributionSummary.builder("jms.batch.size")
+                .description("Messages processed per committed batch transaction")
+                .register(meterRegistry);
+        this.committed = transactions(meterRegistry, "committed");
+        this.rolledBack = transactions(meterRegistry, "rolled_back");
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return listenerConfig.getMode() == ListenerConfig.Mode.BATCH;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        ListenerConfig.Batch batch = listenerConfig.getBatch();
+        for (int i = 0; i < Math.max(1, batch.getConsumers()); i++) {
+            Thread consumer = new Thread(this::consume, "jms-batch-consumer-" + i);
+            consumer.setDaemon(true);
+            consumer.start();
+            consumers.add(consumer);
+        }
+        log.info("Hospital management queue consumed by {} batch consumers with batch size {} and max wait {}",
+                consumers.size(), batch.getSize(), batch.getMaxWait());
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        long timeout = listenerConfig.getBatch().getReceiveTimeout().toMillis() + RECOVERY_INTERVAL_MILLIS;
+        for (Thread consumer : consumers) {
+            try {
+                consumer.join(timeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        consumers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consume() {
+        int isolated = 0;
+        while (running) {
+            try (Connection connection = connectionFactory.createConnection()) {
+                Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+                MessageConsumer consumer = session.createConsumer(session.createQueue(queueConfig.getHospitalManagement()));
+                connection.start();
+                while (running) {
+                    List<Message> batch = receive(consumer, isolated > 0 ? 1 : listenerConfig.getBatch().getSize());
+                    if (batch.isEmpty()) {
+                        continue;
+                    }
+                    if (process(session, batch)) {
+                        isolated = Math.max(0, isolated - 1);
+                    } else if (batch.size() > 1) {
+                        isolated = batch.size();
+                    }
+                }
+            } catch (JMSException e) {
+                if (running) {
+                    log.warn("Batch consumer lost its session, reconnecting in {} ms: {}", RECOVERY_INTERVAL_MILLIS, e.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    /**
+     * Receives the first message with the receive timeout, then further messages until the batch is full or the
+     * maximum wait is over.
+     */
+    private List<Message> receive(MessageConsumer consumer, int maxMessages) throws JMSException {
+        ListenerConfig.Batch config = listenerConfig.getBatch();
+        Message first = consumer.receive(Math.max(1, config.getReceiveTimeout().toMillis()));
+        if (first == null) {
+            return List.of();
+        }
+        List<Message> batch = new ArrayList<>(maxMessages);
+        batch.add(first);
+        long deadline = System.nanoTime() + config.getMaxWait().toNanos();
+        while (batch.size() < maxMessages) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            Message next = remainingMillis > 0 ? consumer.receive(remainingMillis) : consumer.receiveNoWait();
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    /**
+     * Processes and commits a batch, or rolls it back if it cannot be converted or processed.
+     *
+     * @return whether the batch was committed
+     */
+    private boolean process(Session session, List<Message> batch) throws JMSException {
+        try {
+            List<GroupMessageDTO> messages = new ArrayList<>(batch.size());
+            for (Message message : batch) {
+                messages.add((GroupMessageDTO) messageConverter.fromMessage(message));
+            }
+            batchGroupMessageListener.processMessages(messages);
+        } catch (Exception e) {
+            session.rollback();
+            rolledBack.increment();
+            log.error("Rolled back batch of {} messages{}: {}", batch.size(),
+                    batch.size() > 1 ? ", redelivering them one per transaction" : "", e.getMessage());
+            return false;
+        }
+        session.commit();
+        committed.increment();
+        batchSizes.record(batch.size());
+        return true;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RECOVERY_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static Counter transactions(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("jms.batch.transactions")
+                .description("Batch consumer transactions by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.eg.hospital.messaging.jms.processor.messaging.broker;
+
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import jakarta.jms.ConnectionFactory;
+import org.springframework.boot.autoconfigure.AbstractDependsOnBeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes every {@link ConnectionFactory} bean depend on the embedded broker, so the broker is started before the
+ * first {@code vm://} connection is opened and stopped only after the connection factories are closed.
+ *
+ * @author Sanjay
+ */
+@Component
+@ConditionalOnProperty(prefix = "spring.jms.broker", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConnectionFactoryBrokerDependencyPostProcessor extends AbstractDependsOnBeanFactoryPostProcessor {
+
+    public ConnectionFactoryBrokerDependencyPostProcessor() {
+        super(ConnectionFactory.class, JmsConstants.BROKER_SERVICE);
+    }
+}
@@ -0,0 +1,54 @@
+package com.eg.hospital.messaging.jms.processor.messaging.broker;
+
+import com.eg.hospital.messaging.jms.processor.config.DeadLetterConfig;
+import org.apache.activemq.broker.BrokerService;
+import org.apache.activemq.broker.region.policy.IndividualDeadLetterStrategy;
+import org.apache.activemq.broker.region.policy.PolicyEntry;
+import org.apache.activemq.broker.region.policy.PolicyMap;
+
+import java.util.List;
+
+/**
+ * Applies the per-destination dead letter settings of a {@link DeadLetterConfig} to the embedded broker.
+ * <p>
+ * Every destination gets an {@link IndividualDeadLetterStrategy}, or an {@link OperationDeadLetterStrategy} when the
+ * dead letter queues are split by operation, which stamps the configured expiration on the messages it moves. The
+ * dead letter queues themselves get their own policy with the configured memory limit, so a large backlog is paged
+ * from the store in small pieces instead of filling the broker memory shared with the live queues.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public final class DeadLetterPolicies {
+
+    private DeadLetterPolicies() {
+    }
+
+    /**
+     * Sets the dead letter strategy of every destination and the policy of the dead letter queues; does nothing when
+     * per-destination dead letter queues are disabled.
+     */
+    public static void configure(BrokerService broker, DeadLetterConfig deadLetterConfig) {
+        if (!deadLetterConfig.isPerDestination()) {
+            return;
+        }
+        IndividualDeadLetterStrategy strategy = deadLetterConfig.isShardByOperation()
+                ? new OperationDeadLetterStrategy() : new IndividualDeadLetterStrategy();
+        strategy.setQueuePrefix(deadLetterConfig.getQueuePrefix());
+        strategy.setUseQueueForQueueMessages(true);
+        strategy.setExpiration(deadLetterConfig.getExpiration().toMillis());
+
+        PolicyEntry deadLetterQueues = new PolicyEntry();
+        deadLetterQueues.setQueue(deadLetterConfig.getQueuePrefix() + ">");
+        deadLetterQueues.setDeadLetterStrategy(strategy);
+        deadLetterQueues.setMemoryLimit(deadLetterConfig.getMemoryLimit().toBytes());
+
+        PolicyEntry otherDestinations = new PolicyEntry();
+        otherDestinations.setDeadLetterStrategy(strategy);
+
+        PolicyMap policyMap = new PolicyMap();
+        policyMap.setDefaultEntry(otherDestinations);
+        policyMap.setPolicyEntries(List.of(deadLetterQueues));
+        broker.setDestinationPolicy(policyMap);
+    }
+}
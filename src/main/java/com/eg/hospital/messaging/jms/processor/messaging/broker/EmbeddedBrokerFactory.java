@@ -0,0 +1,68 @@
+package com.eg.hospital.messaging.jms.processor.messaging.broker;
+
+import com.eg.hospital.messaging.jms.processor.config.BrokerConfig;
+import org.apache.activemq.broker.BrokerService;
+import org.apache.activemq.store.kahadb.KahaDBPersistenceAdapter;
+import org.apache.activemq.store.kahadb.disk.journal.Journal;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Builds the embedded {@link BrokerService} for a {@link BrokerConfig.Profile}.
+ * <p>
+ * The KahaDB profiles differ in when the journal is synced to disk ({@code ALWAYS} or {@code PERIODIC}) and take
+ * their journal file size, index cache size, concurrent store and dispatch and write batch size from the profile's
+ * {@link BrokerConfig.KahaDb} settings. The store lives in {@code <data-directory>/<name>/KahaDB}, where the
+ * implicitly created broker kept it, so switching to the explicit broker keeps the stored messages.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public final class EmbeddedBrokerFactory {
+
+    private EmbeddedBrokerFactory() {
+    }
+
+    /**
+     * Creates a broker for the configured profile. The broker is not started.
+     *
+     * @param brokerConfig the broker settings
+     * @return the configured broker
+     * @throws IOException if the persistence adapter cannot be set
+     */
+    public static BrokerService createBroker(BrokerConfig brokerConfig) throws IOException {
+        BrokerService broker = new BrokerService();
+        broker.setBrokerName(brokerConfig.getName());
+        broker.setDataDirectory(brokerConfig.getDataDirectory());
+        broker.setUseShutdownHook(false);
+        if (brokerConfig.getProfile() == BrokerConfig.Profile.NON_PERSISTENT) {
+            broker.setPersistent(false);
+        } else {
+            broker.setPersistent(true);
+            broker.setPersistenceAdapter(kahaDb(brokerConfig));
+        }
+        return broker;
+    }
+
+    static KahaDBPersistenceAdapter kahaDb(BrokerConfig brokerConfig) {
+        BrokerConfig.KahaDb settings = brokerConfig.kahaDb(brokerConfig.getProfile());
+        KahaDBPersistenceAdapter kahaDb = new KahaDBPersistenceAdapter();
+        kahaDb.setDirectory(new File(new File(brokerConfig.getDataDirectory(), brokerConfig.getName()), "KahaDB"));
+        kahaDb.setJournalMaxFileLength(toInt(settings.getJournalMaxFileLength().toBytes()));
+        kahaDb.setIndexCacheSize(settings.getIndexCacheSize());
+        kahaDb.setConcurrentStoreAndDispatchQueues(settings.isConcurrentStoreAndDispatch());
+        kahaDb.setJournalMaxWriteBatchSize(toInt(settings.getWriteBatchSize().toBytes()));
+        if (brokerConfig.getProfile() == BrokerConfig.Profile.ASYNC_JOURNAL) {
+            kahaDb.setJournalDiskSyncStrategy(Journal.JournalDiskSyncStrategy.PERIODIC.name());
+            kahaDb.setJournalDiskSyncInterval(brokerConfig.getSyncInterval().toMillis());
+        } else {
+            kahaDb.setJournalDiskSyncStrategy(Journal.JournalDiskSyncStrategy.ALWAYS.name());
+        }
+        return kahaDb;
+    }
+
+    private static int toInt(long bytes) {
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+}
@@ -0,0 +1,52 @@
+package com.eg.hospital.messaging.jms.processor.messaging.broker;
+
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import org.apache.activemq.broker.region.Subscription;
+import org.apache.activemq.broker.region.policy.IndividualDeadLetterStrategy;
+import org.apache.activemq.command.ActiveMQDestination;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.apache.activemq.command.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * Individual dead letter strategy that also splits the dead letter queue of a queue by operation.
+ * <p>
+ * A failed queue message goes to {@code <prefix><queue>.<operation>} when its {@code operation} property is CREATE or
+ * DELETE, and to {@code <prefix><queue>} otherwise, so the number of dead letter queues stays bounded whatever the
+ * other applications on the broker send. Topic messages are handled as by {@link IndividualDeadLetterStrategy}.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public class OperationDeadLetterStrategy extends IndividualDeadLetterStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(OperationDeadLetterStrategy.class);
+
+    @Override
+    public ActiveMQDestination getDeadLetterQueueFor(Message message, Subscription subscription) {
+        ActiveMQDestination deadLetterQueue = super.getDeadLetterQueueFor(message, subscription);
+        if (deadLetterQueue == null || !deadLetterQueue.isQueue() || !message.getDestination().isQueue()) {
+            return deadLetterQueue;
+        }
+        String operation = operation(message);
+        if (!JmsConstants.CREATE_OPERATION.equals(operation) && !JmsConstants.DELETE_OPERATION.equals(operation)) {
+            return deadLetterQueue;
+        }
+        ActiveMQQueue shard = new ActiveMQQueue(deadLetterQueue.getPhysicalName() + "." + operation);
+        shard.setDLQ(true);
+        return shard;
+    }
+
+    private static String operation(Message message) {
+        try {
+            Object operation = message.getProperty(JmsConstants.OPERATION);
+            return operation == null ? null : operation.toString();
+        } catch (IOException e) {
+            log.warn("Unable to read the operation of dead-lettered message {}: {}", message.getMessageId(), e.getMessage());
+            return null;
+        }
+    }
+}
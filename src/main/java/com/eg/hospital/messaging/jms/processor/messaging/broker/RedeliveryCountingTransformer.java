@@ -0,0 +1,54 @@
+package com.eg.hospital.messaging.jms.processor.messaging.broker;
+
+import com.eg.hospital.messaging.jms.processor.config.DeadLetterConfig;
+import com.eg.hospital.messaging.jms.processor.metrics.MessagingMetrics;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import org.apache.activemq.MessageTransformer;
+import org.apache.activemq.command.ActiveMQDestination;
+import org.apache.activemq.command.ActiveMQMessage;
+
+/**
+ * Counts the redeliveries seen by the consumers of a connection factory in {@code jms.listener.redeliveries}.
+ * <p>
+ * ActiveMQ calls the transformer for every message handed to a consumer, before the listener container converts it,
+ * so every consumption mode is covered. Only messages with a redelivery counter are looked at; dead letter queues are
+ * skipped, since their messages keep the counter of their last failed delivery.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public class RedeliveryCountingTransformer implements MessageTransformer {
+
+    private final MessagingMetrics messagingMetrics;
+    private final DeadLetterConfig deadLetterConfig;
+
+    public RedeliveryCountingTransformer(MessagingMetrics messagingMetrics, DeadLetterConfig deadLetterConfig) {
+        this.messagingMetrics = messagingMetrics;
+        this.deadLetterConfig = deadLetterConfig;
+    }
+
+    @Override
+    public Message producerTransform(Session session, MessageProducer producer, Message message) {
+        return message;
+    }
+
+    @Override
+    public Message consumerTransform(Session session, MessageConsumer consumer, Message message) throws JMSException {
+        if (message instanceof ActiveMQMessage activeMQMessage && activeMQMessage.getRedeliveryCounter() > 0
+                && !isDeadLetterQueue(activeMQMessage.getDestination())) {
+            messagingMetrics.recordRedelivery(activeMQMessage.getStringProperty(JmsConstants.OPERATION));
+        }
+        return message;
+    }
+
+    private boolean isDeadLetterQueue(ActiveMQDestination destination) {
+        return destination != null && (destination.isDLQ()
+                || JmsConstants.DEAD_LETTER_QUEUE.equals(destination.getPhysicalName())
+                || destination.getPhysicalName().startsWith(deadLetterConfig.getQueuePrefix()));
+    }
+}
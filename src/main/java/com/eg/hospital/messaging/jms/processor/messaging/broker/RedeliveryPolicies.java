@@ -0,0 +1,142 @@
+package com.eg.hospital.messaging.jms.processor.messaging.broker;
+
+import com.eg.hospital.messaging.jms.processor.config.RedeliveryConfig;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.RedeliveryPolicy;
+import org.apache.activemq.broker.BrokerPlugin;
+import org.apache.activemq.broker.BrokerService;
+import org.apache.activemq.broker.region.policy.RedeliveryPolicyMap;
+import org.apache.activemq.broker.util.RedeliveryPlugin;
+import org.apache.activemq.command.ActiveMQQueue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the ActiveMQ redelivery policies of a {@link RedeliveryConfig} and applies them to the connection factory
+ * and, in {@link RedeliveryConfig.Mode#BROKER} mode, to the embedded broker.
+ * <p>
+ * In {@code CLIENT} mode the consumers redeliver with the configured policies. In {@code BROKER} mode the consumers
+ * give up on the first failure, which hands the message back to the broker, and the broker's {@link RedeliveryPlugin}
+ * schedules it again after the delay of the same policies or moves it to the dead letter queue once the redeliveries
+ * are exhausted.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public final class RedeliveryPolicies {
+
+    /**
+     * Shortest redelivery delay the broker's redelivery plugin accepts.
+     */
+    static final Duration MIN_BROKER_DELAY = Duration.ofSeconds(1);
+
+    private RedeliveryPolicies() {
+    }
+
+    /**
+     * Sets the redelivery policies of the consumers created by the connection factory, redelivering without blocking
+     * the consumer when {@code non-blocking} is set.
+     */
+    public static void configure(ActiveMQConnectionFactory connectionFactory, RedeliveryConfig redeliveryConfig) {
+        configure(connectionFactory, redeliveryConfig, false);
+    }
+
+    /**
+     * Sets the redelivery policies of the consumers created by the connection factory. When the consumers rely on the
+     * order of the messages, a rolled back message must come back before the ones behind it, so the consumer blocks
+     * for the redelivery delay whatever {@code non-blocking} says.
+     *
+     * @param ordered whether per-group ordering or batch consumption is enabled
+     */
+    public static void configure(ActiveMQConnectionFactory connectionFactory, RedeliveryConfig redeliveryConfig,
+                                 boolean ordered) {
+        if (redeliveryConfig.getMode() == RedeliveryConfig.Mode.BROKER) {
+            RedeliveryPolicy handBack = new RedeliveryPolicy();
+            handBack.setMaximumRedeliveries(0);
+            RedeliveryPolicyMap policyMap = new RedeliveryPolicyMap();
+            policyMap.setDefaultEntry(handBack);
+            connectionFactory.setRedeliveryPolicyMap(policyMap);
+        } else {
+            connectionFactory.setRedeliveryPolicyMap(policyMap(redeliveryConfig));
+            connectionFactory.setNonBlockingRedelivery(redeliveryConfig.isNonBlocking() && !ordered);
+        }
+    }
+
+    /**
+     * Installs the redelivery plugin and the scheduler on the broker in {@code BROKER} mode; does nothing otherwise.
+     *
+     * @throws IllegalArgumentException if a delay is shorter than the broker accepts
+     */
+    public static void configure(BrokerService broker, RedeliveryConfig redeliveryConfig) {
+        if (redeliveryConfig.getMode() != RedeliveryConfig.Mode.BROKER) {
+            return;
+        }
+        checkBrokerDelay("default", policy(redeliveryConfig, new RedeliveryConfig.Policy()));
+        for (Map.Entry<String, RedeliveryConfig.Policy> destination : redeliveryConfig.getDestinations().entrySet()) {
+            checkBrokerDelay(destination.getKey(), policy(redeliveryConfig, destination.getValue()));
+        }
+        RedeliveryPlugin redeliveryPlugin = new RedeliveryPlugin();
+        redeliveryPlugin.setRedeliveryPolicyMap(policyMap(redeliveryConfig));
+        redeliveryPlugin.setFallbackToDeadLetter(true);
+        redeliveryPlugin.setSendToDlqIfMaxRetriesExceeded(true);
+        List<BrokerPlugin> plugins = new ArrayList<>();
+        if (broker.getPlugins() != null) {
+            plugins.addAll(Arrays.asList(broker.getPlugins()));
+        }
+        plugins.add(redeliveryPlugin);
+        broker.setPlugins(plugins.toArray(new BrokerPlugin[0]));
+        broker.setSchedulerSupport(true);
+    }
+
+    private static void checkBrokerDelay(String destination, RedeliveryPolicy policy) {
+        if (policy.getInitialRedeliveryDelay() < MIN_BROKER_DELAY.toMillis()) {
+            throw new IllegalArgumentException("Broker redelivery delays must be at least " + MIN_BROKER_DELAY.toMillis()
+                    + "ms, the " + destination + " initial delay is " + policy.getInitialRedeliveryDelay() + "ms");
+        }
+    }
+
+    /**
+     * @return the default policy and one policy per configured queue
+     */
+    static RedeliveryPolicyMap policyMap(RedeliveryConfig redeliveryConfig) {
+        RedeliveryPolicyMap policyMap = new RedeliveryPolicyMap();
+        policyMap.setDefaultEntry(policy(redeliveryConfig, new RedeliveryConfig.Policy()));
+        List<RedeliveryPolicy> entries = new ArrayList<>();
+        for (Map.Entry<String, RedeliveryConfig.Policy> destination : redeliveryConfig.getDestinations().entrySet()) {
+            RedeliveryPolicy policy = policy(redeliveryConfig, destination.getValue());
+            policy.setDestination(new ActiveMQQueue(destination.getKey()));
+            entries.add(policy);
+        }
+        policyMap.setRedeliveryPolicyEntries(entries);
+        return policyMap;
+    }
+
+    static RedeliveryPolicy policy(RedeliveryConfig defaults, RedeliveryConfig.Policy override) {
+        int maxRedeliveries = override.getMaxRedeliveries() != null ? override.getMaxRedeliveries() : defaults.getMaxRedeliveries();
+        long initialDelay = (override.getInitialDelay() != null ? override.getInitialDelay() : defaults.getInitialDelay()).toMillis();
+        double multiplier = override.getMultiplier() != null ? override.getMultiplier() : defaults.getMultiplier();
+        long maxDelay = (override.getMaxDelay() != null ? override.getMaxDelay() : defaults.getMaxDelay()).toMillis();
+        int jitterPercent = override.getJitterPercent() != null ? override.getJitterPercent() : defaults.getJitterPercent();
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("Redelivery multiplier must be at least 1, was " + multiplier);
+        }
+        if (jitterPercent < 0 || jitterPercent > 100) {
+            throw new IllegalArgumentException("Redelivery jitter must be between 0 and 100 percent, was " + jitterPercent);
+        }
+
+        RedeliveryPolicy policy = new RedeliveryPolicy();
+        policy.setMaximumRedeliveries(maxRedeliveries);
+        policy.setInitialRedeliveryDelay(initialDelay);
+        policy.setRedeliveryDelay(initialDelay);
+        policy.setUseExponentialBackOff(multiplier > 1);
+        policy.setBackOffMultiplier(multiplier);
+        policy.setMaximumRedeliveryDelay(Math.max(maxDelay, initialDelay));
+        policy.setUseCollisionAvoidance(jitterPercent > 0);
+        policy.setCollisionAvoidancePercent((short) jitterPercent);
+        return policy;
+    }
+}
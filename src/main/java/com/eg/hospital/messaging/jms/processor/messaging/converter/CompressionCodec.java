@@ -0,0 +1,148 @@
+package com.eg.hospital.messaging.jms.processor.messaging.converter;
+
+import org.springframework.jms.support.converter.MessageConversionException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Payload compression codecs available to the {@link GroupMessageConverter}.
+ * <p>
+ * The codec name is written to the message, so a consumer decompresses with the codec the producer used.
+ * {@code DEFLATE} reuses deflaters and inflaters from a pool of one per processor and is the cheaper choice; a
+ * deflater or inflater that does not fit back in the pool is ended at once, so its native memory is not left to the
+ * garbage collector however many threads compress. {@code GZIP} adds a header and checksum for interoperability with
+ * other tools. Decompression stops with an error once the output exceeds the given maximum, so a small corrupt or
+ * malicious payload cannot expand without bound.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public enum CompressionCodec {
+
+    DEFLATE {
+        @Override
+        public byte[] compress(byte[] data, int length, int level) {
+            Deflater deflater = DEFLATERS.poll();
+            if (deflater == null) {
+                deflater = new Deflater(level, true);
+            }
+            try {
+                deflater.setLevel(level);
+                deflater.setInput(data, 0, length);
+                deflater.finish();
+                ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, length / 2));
+                byte[] chunk = CHUNKS.get();
+                while (!deflater.finished()) {
+                    out.write(chunk, 0, deflater.deflate(chunk));
+                }
+                return out.toByteArray();
+            } finally {
+                deflater.reset();
+                if (!DEFLATERS.offer(deflater)) {
+                    deflater.end();
+                }
+            }
+        }
+
+        @Override
+        public byte[] decompress(byte[] data, int length, int maxLength) {
+            Inflater inflater = INFLATERS.poll();
+            if (inflater == null) {
+                inflater = new Inflater(true);
+            }
+            try {
+                inflater.setInput(data, 0, length);
+                ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(maxLength, length * 4L));
+                byte[] chunk = CHUNKS.get();
+                while (!inflater.finished()) {
+                    int inflated = inflater.inflate(chunk);
+                    if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new MessageConversionException("Truncated deflate payload");
+                    }
+                    if (inflated > maxLength - out.size()) {
+                        throw tooLarge(maxLength);
+                    }
+                    out.write(chunk, 0, inflated);
+                }
+                return out.toByteArray();
+            } catch (DataFormatException e) {
+                throw new MessageConversionException("Invalid deflate payload", e);
+            } finally {
+                inflater.reset();
+                if (!INFLATERS.offer(inflater)) {
+                    inflater.end();
+                }
+            }
+        }
+    },
+
+    GZIP {
+        @Override
+        public byte[] compress(byte[] data, int length, int level) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, length / 2));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+                {
+                    def.setLevel(level);
+                }
+            }) {
+                gzip.write(data, 0, length);
+            } catch (IOException e) {
+                throw new MessageConversionException("Failed to gzip payload", e);
+            }
+            return out.toByteArray();
+        }
+
+        @Override
+        public byte[] decompress(byte[] data, int length, int maxLength) {
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data, 0, length))) {
+                byte[] decompressed = in.readNBytes(maxLength);
+                if (in.read() != -1) {
+                    throw tooLarge(maxLength);
+                }
+                return decompressed;
+            } catch (IOException e) {
+                throw new MessageConversionException("Invalid gzip payload", e);
+            }
+        }
+    };
+
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private static final BlockingQueue<Deflater> DEFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final BlockingQueue<Inflater> INFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final ThreadLocal<byte[]> CHUNKS = ThreadLocal.withInitial(() -> new byte[8192]);
+
+    /**
+     * Compresses the first {@code length} bytes of {@code data}.
+     *
+     * @param data   the payload
+     * @param length the number of bytes to compress
+     * @param level  the compression level, 1 to 9
+     * @return the compressed bytes
+     */
+    public abstract byte[] compress(byte[] data, int length, int level);
+
+    /**
+     * Decompresses the first {@code length} bytes of {@code data}.
+     *
+     * @param data      the compressed payload
+     * @param length    the number of compressed bytes
+     * @param maxLength the largest accepted decompressed size
+     * @return the original bytes
+     * @throws MessageConversionException if the payload is corrupt or decompresses to more than {@code maxLength}
+     */
+    public abstract byte[] decompress(byte[] data, int length, int maxLength);
+
+    private static MessageConversionException tooLarge(int maxLength) {
+        return new MessageConversionException("Decompressed payload exceeds " + maxLength + " bytes");
+    }
+}
@@ -0,0 +1,385 @@
+package com.eg.hospital.messaging.jms.processor.messaging.converter;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import org.springframework.jms.support.converter.MessageConversionException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of a {@link GroupMessageDTO}.
+ * <p>
+ * Layout: a magic byte, a version byte, then a sequence of tagged fields. Each field is written as
+ * {@code tag (1 byte) | length (varint) | value}, and absent ({@code null}) fields are omitted. Decoders skip tags
+ * they do not know, so new fields can be added without a version change; the version byte is only raised for an
+ * incompatible layout, which older decoders reject.
+ * </p>
+ * <p>
+ * The known operations are written as a one-byte code, an ISO-8601 instant timestamp as epoch seconds and nanos
+ * and a canonical UUID operation id as its 16 bytes, with string fallbacks for any other value. Strings are UTF-8
+ * encoded directly into the caller's {@link Buffer}, so no intermediate byte arrays are created; checking that the
+ * timestamp and operation id round-trip losslessly still parses and formats them, which allocates a few short-lived
+ * objects per message.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public final class GroupMessageBinaryCodec {
+
+    public static final byte MAGIC = (byte) 0xC7;
+    public static final byte VERSION = 1;
+
+    static final int TAG_GROUP_ID = 1;
+    static final int TAG_PARENT_GROUP_ID = 2;
+    static final int TAG_OPERATION_CODE = 3;
+    static final int TAG_OPERATION = 4;
+    static final int TAG_TIMESTAMP_EPOCH = 5;
+    static final int TAG_TIMESTAMP = 6;
+    static final int TAG_OPERATION_ID = 7;
+    static final int TAG_OPERATION_UUID = 8;
+
+    private static final int OPERATION_CREATE = 1;
+    private static final int OPERATION_DELETE = 2;
+
+    private GroupMessageBinaryCodec() {
+    }
+
+    /**
+     * Encodes the message into the buffer, replacing its previous content.
+     *
+     * @param message the message to encode
+     * @param buffer  the reusable target buffer
+     */
+    public static void encode(GroupMessageDTO message, Buffer buffer) {
+        buffer.reset();
+        buffer.writeByte(MAGIC);
+        buffer.writeByte(VERSION);
+        writeString(buffer, TAG_GROUP_ID, message.getGroupId());
+        writeString(buffer, TAG_PARENT_GROUP_ID, message.getParentGroupId());
+        writeOperation(buffer, message.getOperation());
+        writeTimestamp(buffer, message.getTimestamp());
+        writeOperationId(buffer, message.getOperationId());
+    }
+
+    /**
+     * @return whether the data starts with the binary format's magic byte
+     */
+    public static boolean isBinary(byte[] data, int length) {
+        return length >= 2 && data[0] == MAGIC;
+    }
+
+    /**
+     * Decodes a message previously written by {@link #encode(GroupMessageDTO, Buffer)}.
+     *
+     * @param data   the encoded bytes
+     * @param length the number of valid bytes in {@code data}
+     * @return the decoded message
+     * @throws MessageConversionException if the data is not in the binary format or uses an unsupported version
+     */
+    public static GroupMessageDTO decode(byte[] data, int length) {
+        if (!isBinary(data, length)) {
+            throw new MessageConversionException("Not a binary group message");
+        }
+        if (data[1] > VERSION || data[1] < 1) {
+            throw new MessageConversionException("Unsupported binary group message version " + data[1]);
+        }
+        GroupMessageDTO.GroupMessageDTOBuilder builder = GroupMessageDTO.builder();
+        int[] position = {2};
+        while (position[0] < length) {
+            int tag = data[position[0]++] & 0xFF;
+            int fieldLength = readVarInt(data, length, position);
+            int start = position[0];
+            if (fieldLength < 0 || fieldLength > length - start) {
+                throw new MessageConversionException("Truncated binary group message");
+            }
+            switch (tag) {
+                case TAG_GROUP_ID -> builder.groupId(readString(data, start, fieldLength));
+                case TAG_PARENT_GROUP_ID -> builder.parentGroupId(readString(data, start, fieldLength));
+                case TAG_OPERATION_CODE -> builder.operation(readOperation(data, start, fieldLength));
+                case TAG_OPERATION -> builder.operation(readString(data, start, fieldLength));
+                case TAG_TIMESTAMP_EPOCH -> builder.timestamp(readTimestamp(data, start, start + fieldLength));
+                case TAG_TIMESTAMP -> builder.timestamp(readString(data, start, fieldLength));
+                case TAG_OPERATION_ID -> builder.operationId(readString(data, start, fieldLength));
+                case TAG_OPERATION_UUID -> builder.operationId(readUuid(data, start, fieldLength));
+                default -> {
+                    // unknown field written by a newer producer
+                }
+            }
+            position[0] = start + fieldLength;
+        }
+        return builder.build();
+    }
+
+    private static void writeString(Buffer buffer, int tag, String value) {
+        if (value == null) {
+            return;
+        }
+        buffer.writeByte(tag);
+        buffer.writeVarInt(utf8Length(value));
+        buffer.writeUtf8(value);
+    }
+
+    private static void writeOperation(Buffer buffer, String operation) {
+        if (JmsConstants.CREATE_OPERATION.equals(operation) || JmsConstants.DELETE_OPERATION.equals(operation)) {
+            buffer.writeByte(TAG_OPERATION_CODE);
+            buffer.writeVarInt(1);
+            buffer.writeByte(JmsConstants.CREATE_OPERATION.equals(operation) ? OPERATION_CREATE : OPERATION_DELETE);
+        } else {
+            writeString(buffer, TAG_OPERATION, operation);
+        }
+    }
+
+    private static void writeTimestamp(Buffer buffer, String timestamp) {
+        if (timestamp == null) {
+            return;
+        }
+        Instant instant = parseInstant(timestamp);
+        if (instant == null) {
+            writeString(buffer, TAG_TIMESTAMP, timestamp);
+            return;
+        }
+        buffer.writeByte(TAG_TIMESTAMP_EPOCH);
+        buffer.writeVarInt(varLongSize(zigZag(instant.getEpochSecond())) + varLongSize(instant.getNano()));
+        buffer.writeVarLong(zigZag(instant.getEpochSecond()));
+        buffer.writeVarLong(instant.getNano());
+    }
+
+    private static void writeOperationId(Buffer buffer, String operationId) {
+        if (operationId == null) {
+            return;
+        }
+        UUID uuid = parseUuid(operationId);
+        if (uuid == null) {
+            writeString(buffer, TAG_OPERATION_ID, operationId);
+            return;
+        }
+        buffer.writeByte(TAG_OPERATION_UUID);
+        buffer.writeVarInt(16);
+        buffer.writeLong(uuid.getMostSignificantBits());
+        buffer.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Parses the operation id only if it is a UUID in canonical form, so decoding is lossless.
+     */
+    private static UUID parseUuid(String operationId) {
+        if (operationId.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(operationId);
+            return uuid.toString().equals(operationId) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses the timestamp only if formatting it back yields the same string, so decoding is lossless.
+     */
+    private static Instant parseInstant(String timestamp) {
+        try {
+            Instant instant = Instant.parse(timestamp);
+            return DateTimeFormatter.ISO_INSTANT.format(instant).equals(timestamp) ? instant : null;
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static String readOperation(byte[] data, int start, int length) {
+        if (length != 1) {
+            throw new MessageConversionException("Invalid operation code in binary group message");
+        }
+        byte code = data[start];
+        return switch (code) {
+            case OPERATION_CREATE -> JmsConstants.CREATE_OPERATION;
+            case OPERATION_DELETE -> JmsConstants.DELETE_OPERATION;
+            default -> throw new MessageConversionException("Unknown operation code " + code);
+        };
+    }
+
+    private static String readString(byte[] data, int start, int length) {
+        return new String(data, start, length, StandardCharsets.UTF_8);
+    }
+
+    private static String readTimestamp(byte[] data, int start, int end) {
+        int[] position = {start};
+        long seconds = unZigZag(readVarLong(data, end, position));
+        long nanos = readVarLong(data, end, position);
+        return DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochSecond(seconds, nanos));
+    }
+
+    private static String readUuid(byte[] data, int start, int length) {
+        if (length != 16) {
+            throw new MessageConversionException("Invalid operation id in binary group message");
+        }
+        return new UUID(readLong(data, start), readLong(data, start + 8)).toString();
+    }
+
+    private static long readLong(byte[] data, int start) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (data[start + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static int readVarInt(byte[] data, int length, int[] position) {
+        long value = readVarLong(data, length, position);
+        if (value > Integer.MAX_VALUE) {
+            throw new MessageConversionException("Invalid field length in binary group message");
+        }
+        return (int) value;
+    }
+
+    private static long readVarLong(byte[] data, int length, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= length) {
+                throw new MessageConversionException("Truncated binary group message");
+            }
+            byte b = data[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new MessageConversionException("Malformed varint in binary group message");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Growable byte buffer reused across encodings, typically one per thread.
+     */
+    public static final class Buffer {
+
+        private byte[] bytes;
+        private int size;
+
+        public Buffer(int initialCapacity) {
+            this.bytes = new byte[Math.max(16, initialCapacity)];
+        }
+
+        public byte[] bytes() {
+            return bytes;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public void reset() {
+            size = 0;
+        }
+
+        /**
+         * Makes room for at least {@code capacity} bytes, discarding the content.
+         *
+         * @return the backing array
+         */
+        public byte[] clear(int capacity) {
+            size = 0;
+            if (bytes.length < capacity) {
+                bytes = new byte[Math.max(capacity, bytes.length * 2)];
+            }
+            return bytes;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeUtf8(String value) {
+            ensure(value.length() * 3);
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    bytes[size++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[size++] = (byte) (0xC0 | (c >> 6));
+                    bytes[size++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    bytes[size++] = (byte) (0xE0 | (c >> 12));
+                    bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[size++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private void ensure(int additional) {
+            if (size + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(size + additional, bytes.length * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.eg.hospital.messaging.jms.processor.messaging.converter;
+
+import com.eg.hospital.messaging.jms.processor.config.CompressionConfig;
+import com.eg.hospital.messaging.jms.processor.config.WireFormatConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.jms.support.converter.MessageConverter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MessageConverter} that writes {@link GroupMessageDTO}s in the configured wire format and reads both formats.
+ * <p>
+ * With the {@code BINARY} format, group messages are written as a {@link BytesMessage} encoded by the
+ * {@link GroupMessageBinaryCodec}; every other payload, and every message in the {@code JSON} format, is handled by
+ * the Jackson delegate. On the receiving side a {@link BytesMessage} starting with the codec's magic byte is decoded
+ * as binary and anything else goes to the delegate, so a consumer accepts messages from producers on either format.
+ * </p>
+ * <p>
+ * When compression is enabled, payloads of at least the configured threshold are compressed into a
+ * {@link BytesMessage} carrying the codec name in the {@code _compression} property. Consumers decompress any message
+ * with that property, up to {@code max-decompressed-size}, and then decode the original binary or JSON payload. The
+ * compression ratio, the number of compressed and skipped messages and the CPU time spent per message are recorded as
+ * metrics.
+ * </p>
+ * <p>
+ * The encode and decode buffers are kept per thread, which keeps the steady-state path free of buffer allocations.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public class GroupMessageConverter implements MessageConverter {
+
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    private static final ThreadLocal<GroupMessageBinaryCodec.Buffer> BUFFERS =
+            ThreadLocal.withInitial(() -> new GroupMessageBinaryCodec.Buffer(INITIAL_BUFFER_SIZE));
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final JsonMessageConverter delegate;
+    private final WireFormatConfig wireFormatConfig;
+    private final CompressionConfig compressionConfig;
+    private final boolean threadCpuTime;
+    private final Map<CompressionCodec, CodecMetrics> metrics;
+
+    public GroupMessageConverter(JsonMessageConverter delegate, WireFormatConfig wireFormatConfig,
+                                 CompressionConfig compressionConfig, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.wireFormatConfig = wireFormatConfig;
+        this.compressionConfig = compressionConfig;
+        this.threadCpuTime = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+        Map<CompressionCodec, CodecMetrics> codecMetrics = new EnumMap<>(CompressionCodec.class);
+        for (CompressionCodec codec : CompressionCodec.values()) {
+            codecMetrics.put(codec, new CodecMetrics(codec, meterRegistry));
+        }
+        this.metrics = Collections.unmodifiableMap(codecMetrics);
+    }
+
+    @Override
+    public Message toMessage(Object object, Session session) throws JMSException, MessageConversionException {
+        if (wireFormatConfig.getFormat() != WireFormatConfig.Format.BINARY || !(object instanceof GroupMessageDTO groupMessage)) {
+            Message message = delegate.toMessage(object, session);
+            if (compressionConfig.isEnabled() && message instanceof TextMessage textMessage && textMessage.getText() != null) {
+                byte[] body = textMessage.getText().getBytes(StandardCharsets.UTF_8);
+                if (aboveThreshold(body.length)) {
+                    BytesMessage compressed = compressedMessage(session, body, body.length);
+                    copyProperties(message, compressed);
+                    return compressed;
+                }
+            }
+            return message;
+        }
+        GroupMessageBinaryCodec.Buffer buffer = BUFFERS.get();
+        GroupMessageBinaryCodec.encode(groupMessage, buffer);
+        if (compressionConfig.isEnabled() && aboveThreshold(buffer.size())) {
+            return compressedMessage(session, buffer.bytes(), buffer.size());
+        }
+        BytesMessage message = session.createBytesMessage();
+        message.writeBytes(buffer.bytes(), 0, buffer.size());
+        return message;
+    }
+
+    @Override
+    public Object fromMessage(Message message) throws JMSException, MessageConversionException {
+        if (!(message instanceof BytesMessage bytesMessage)) {
+            return delegate.fromMessage(message);
+        }
+        GroupMessageBinaryCodec.Buffer buffer = BUFFERS.get();
+        int length = readBody(bytesMessage, buffer);
+        String compression = message.getStringProperty(JmsConstants.COMPRESSION);
+        if (compression != null) {
+            byte[] body = decompress(compression, buffer.bytes(), length);
+            if (GroupMessageBinaryCodec.isBinary(body, body.length)) {
+                return GroupMessageBinaryCodec.decode(body, body.length);
+            }
+            return delegate.fromJson(message, body, body.length);
+        }
+        if (!GroupMessageBinaryCodec.isBinary(buffer.bytes(), length)) {
+            bytesMessage.reset();
+            return delegate.fromMessage(message);
+        }
+        return GroupMessageBinaryCodec.decode(buffer.bytes(), length);
+    }
+
+    private boolean aboveThreshold(int length) {
+        long threshold = compressionConfig.getThreshold().toBytes();
+        if (length < threshold) {
+            metrics.get(compressionConfig.getCodec()).skipped.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private BytesMessage compressedMessage(Session session, byte[] body, int length) throws JMSException {
+        CompressionCodec codec = compressionConfig.getCodec();
+        CodecMetrics codecMetrics = metrics.get(codec);
+        long start = cpuTime();
+        byte[] compressed = codec.compress(body, length, compressionConfig.getLevel());
+        codecMetrics.compressTime.record(cpuTime() - start, TimeUnit.NANOSECONDS);
+        codecMetrics.compressed.increment();
+        codecMetrics.ratio.record((double) compressed.length / length);
+
+        BytesMessage message = session.createBytesMessage();
+        message.writeBytes(compressed);
+        message.setStringProperty(JmsConstants.COMPRESSION, codec.name());
+        return message;
+    }
+
+    private byte[] decompress(String compression, byte[] body, int length) {
+        CompressionCodec codec;
+        try {
+            codec = CompressionCodec.valueOf(compression);
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException("Unsupported compression codec: " + compression);
+        }
+        long maxLength = Math.min(Integer.MAX_VALUE - 8, compressionConfig.getMaxDecompressedSize().toBytes());
+        long start = cpuTime();
+        byte[] decompressed = codec.decompress(body, length, (int) maxLength);
+        metrics.get(codec).decompressTime.record(cpuTime() - start, TimeUnit.NANOSECONDS);
+        return decompressed;
+    }
+
+    private static void copyProperties(Message source, Message target) throws JMSException {
+        Enumeration<?> names = source.getPropertyNames();
+        while (names.hasMoreElements()) {
+            String name = (String) names.nextElement();
+            target.setObjectProperty(name, source.getObjectProperty(name));
+        }
+    }
+
+    private long cpuTime() {
+        return threadCpuTime ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    private static int readBody(BytesMessage message, GroupMessageBinaryCodec.Buffer buffer) throws JMSException {
+        long bodyLength = message.getBodyLength();
+        if (bodyLength > Integer.MAX_VALUE) {
+            throw new MessageConversionException("Message body too large: " + bodyLength);
+        }
+        byte[] bytes = buffer.clear((int) bodyLength);
+        int length = Math.max(0, message.readBytes(bytes, (int) bodyLength));
+        buffer.setSize(length);
+        return length;
+    }
+
+    /**
+     * Meters of one compression codec.
+     */
+    private static final class CodecMetrics {
+
+        private final DistributionSummary ratio;
+        private final Counter compressed;
+        private final Counter skipped;
+        private final Timer compressTime;
+        private final Timer decompressTime;
+
+        private CodecMetrics(CompressionCodec codec, MeterRegistry meterRegistry) {
+            String codecName = codec.name().toLowerCase();
+            this.ratio = DistributionSummary.builder("jms.compression.ratio")
+                    .description("Compressed size divided by original size")
+                    .tag("codec", codecName)
+                    .register(meterRegistry);
+            this.compressed = Counter.builder("jms.compression.messages")
+                    .description("Outgoing messages by compression result")
+                    .tags("codec", codecName, "result", "compressed")
+                    .register(meterRegistry);
+            this.skipped = Counter.builder("jms.compression.messages")
+                    .description("Outgoing messages by compression result")
+                    .tags("codec", codecName, "result", "below_threshold")
+                    .register(meterRegistry);
+            this.compressTime = cpuTimer(meterRegistry, codecName, "compress");
+            this.decompressTime = cpuTimer(meterRegistry, codecName, "decompress");
+        }
+
+        private static Timer cpuTimer(MeterRegistry meterRegistry, String codecName, String direction) {
+            return Timer.builder("jms.compression.cpu")
+                    .description("CPU time spent compressing or decompressing one message")
+                    .tags("codec", codecName, "direction", direction)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.eg.hospital.messaging.jms.processor.messaging.converter;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
+import org.springframework.jms.support.converter.MessageConversionException;
+
+import java.io.IOException;
+
+/**
+ * Jackson {@link MappingJackson2MessageConverter} that can also read a JSON payload that is not the body of a message.
+ * <p>
+ * The {@link GroupMessageConverter} decompresses JSON payloads itself and hands the bytes to
+ * {@link #fromJson(Message, byte[], int)} together with the compressed message, whose properties carry the type id.
+ * This keeps the consumer side free of provider-specific message classes.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public class JsonMessageConverter extends MappingJackson2MessageConverter {
+
+    private final ObjectMapper objectMapper;
+
+    public JsonMessageConverter() {
+        this(JsonMapper.builder()
+                .disable(MapperFeature.DEFAULT_VIEW_INCLUSION)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build());
+    }
+
+    public JsonMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the first {@code length} bytes of {@code json} as the type named by the type id property of the message.
+     *
+     * @param message the message carrying the type id property
+     * @param json    the UTF-8 encoded JSON payload
+     * @param length  the number of payload bytes
+     * @return the payload object
+     * @throws MessageConversionException if the payload cannot be read as that type
+     */
+    public Object fromJson(Message message, byte[] json, int length) throws JMSException {
+        try {
+            return objectMapper.readValue(json, 0, length, getJavaTypeForMessage(message));
+        } catch (IOException e) {
+            throw new MessageConversionException("Failed to convert JSON message content", e);
+        }
+    }
+}
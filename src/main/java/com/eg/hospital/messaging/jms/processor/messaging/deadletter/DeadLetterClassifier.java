@@ -0,0 +1,61 @@
+package com.eg.hospital.messaging.jms.processor.messaging.deadletter;
+
+/**
+ * Classifies the {@code dlqDeliveryFailureCause} the broker stamps on dead-lettered messages into a short reason.
+ * <p>
+ * The cause reads like {@code java.lang.Throwable: Delivery[7] exceeds redelivery policy limit:RedeliveryPolicy {...},
+ * cause:com.example.SomeException: message}. The reason is the simple class name of the innermost cause when the
+ * consumer reported one, {@code REDELIVERY_EXCEEDED} when it did not, {@code EXPIRED} for expired messages and
+ * {@code UNKNOWN} without a cause, which keeps the number of distinct reasons small.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public final class DeadLetterClassifier {
+
+    public static final String UNKNOWN = "UNKNOWN";
+    public static final String EXPIRED = "EXPIRED";
+    public static final String REDELIVERY_EXCEEDED = "REDELIVERY_EXCEEDED";
+
+    private static final String CAUSE = "cause:";
+
+    private DeadLetterClassifier() {
+    }
+
+    /**
+     * @param cause the failure cause stamped by the broker, may be {@code null}
+     * @return the failure reason
+     */
+    public static String classify(String cause) {
+        if (cause == null || cause.isBlank()) {
+            return UNKNOWN;
+        }
+        if (cause.contains("Message Expired")) {
+            return EXPIRED;
+        }
+        int innermost = cause.lastIndexOf(CAUSE);
+        if (innermost >= 0) {
+            String inner = cause.substring(innermost + CAUSE.length()).trim();
+            if (!inner.isEmpty() && !inner.startsWith("null")) {
+                return simpleClassName(inner);
+            }
+        }
+        if (cause.contains("exceeds redelivery policy limit")) {
+            return REDELIVERY_EXCEEDED;
+        }
+        return simpleClassName(cause.trim());
+    }
+
+    /**
+     * @return the simple name of the class name that starts the text, up to the first colon or whitespace
+     */
+    private static String simpleClassName(String text) {
+        int end = 0;
+        while (end < text.length() && text.charAt(end) != ':' && !Character.isWhitespace(text.charAt(end))) {
+            end++;
+        }
+        String className = text.substring(0, end);
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        return simpleName.isEmpty() ? UNKNOWN : simpleName;
+    }
+}
@@ -0,0 +1,39 @@
+package com.eg.hospital.messaging.jms.processor.messaging.deadletter;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A dead-lettered message held by the {@link DeadLetterStore}.
+ *
+ * @author Sanjay
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DeadLetterEntry {
+
+    /**
+     * Arrival sequence number; a lower id arrived earlier.
+     */
+    private final long id;
+
+    private final GroupMessageDTO message;
+
+    /**
+     * Failure reason classified by {@link DeadLetterClassifier}.
+     */
+    private final String reason;
+
+    /**
+     * Dead letter queue the message was taken from.
+     */
+    private final String queue;
+
+    /**
+     * Epoch millisecond the message was taken from the dead letter queue.
+     */
+    private final long arrivedMillis;
+}
@@ -0,0 +1,216 @@
+package com.eg.hospital.messaging.jms.processor.messaging.deadletter;
+
+import com.eg.hospital.messaging.jms.processor.dto.BatchItemResultDTO;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.exception.SendRejectedException;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageProducer;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One bulk replay of held dead letters to the hospital management queue, started by the {@link DeadLetterReplayer}.
+ * <p>
+ * The replay takes the oldest matching entries from the {@link DeadLetterStore} one batch at a time and sends each
+ * batch in a single transaction through {@link GroupMessageProducer#sendMessages(List)}. Batches are started
+ * {@code batchSize / rate} seconds apart, which caps the replay at {@code rate} messages per second no matter how fast
+ * the broker accepts them. A batch rejected by admission control is put back and retried after the advised delay.
+ * </p>
+ * <p>
+ * Messages that fail to send are counted as failed once and set aside for the rest of the replay, so that later
+ * batches move on to the next selected entries instead of retrying the same ones. The set-aside messages are put back
+ * in the store when the replay completes, is cancelled or fails, so nothing is dropped.
+ * </p>
+ *
+ * @author Sanjay
+ */
+class DeadLetterReplay implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterReplay.class);
+
+    enum State {
+        RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    private final long id;
+    private final String reason;
+    private final String operation;
+    private final long selected;
+    private final int rate;
+    private final int batchSize;
+    private final DeadLetterStore store;
+    private final GroupMessageProducer groupMessageProducer;
+    private final Counter replayedCounter;
+    private final Counter failedCounter;
+    private final List<DeadLetterEntry> setAside = new ArrayList<>();
+
+    private volatile State state = State.RUNNING;
+    private volatile Instant started;
+    private volatile long startNanos;
+    private volatile long elapsedNanos = -1;
+    private volatile long replayed;
+    private volatile long failed;
+    private volatile long rejections;
+    private volatile String error;
+
+    DeadLetterReplay(long id, String reason, String operation, long selected, int rate, int batchSize,
+                     DeadLetterStore store, GroupMessageProducer groupMessageProducer, Counter replayedCounter,
+                     Counter failedCounter) {
+        this.id = id;
+        this.reason = reason;
+        this.operation = operation;
+        this.selected = selected;
+        this.rate = rate;
+        this.batchSize = batchSize;
+        this.store = store;
+        this.groupMessageProducer = groupMessageProducer;
+        this.replayedCounter = replayedCounter;
+        this.failedCounter = failedCounter;
+    }
+
+    @Override
+    public void run() {
+        started = Instant.now();
+        startNanos = System.nanoTime();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(batchSize) / rate;
+        long next = startNanos;
+        long remaining = selected;
+        log.info("Replaying {} dead letters (reason: {}, operation: {}) at {}/s", selected, filter(reason),
+                filter(operation), rate);
+        boolean failure = false;
+        try {
+            while (remaining > 0 && state == State.RUNNING) {
+                long wait;
+                while ((wait = next - System.nanoTime()) > 0 && state == State.RUNNING) {
+                    LockSupport.parkNanos(wait);
+                }
+                List<DeadLetterEntry> batch = store.take(reason, operation, (int) Math.min(batchSize, remaining));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                Long retryAfterNanos = send(batch);
+                if (retryAfterNanos != null) {
+                    next = System.nanoTime() + retryAfterNanos;
+                    continue;
+                }
+                remaining -= batch.size();
+                next += intervalNanos;
+            }
+        } catch (RuntimeException e) {
+            failure = true;
+            error = e.getMessage();
+            log.error("Dead letter replay {} failed: {}", id, e.getMessage());
+        } finally {
+            store.restore(setAside);
+            elapsedNanos = System.nanoTime() - startNanos;
+            if (failure) {
+                state = State.FAILED;
+            } else if (state == State.RUNNING) {
+                state = State.COMPLETED;
+            }
+            log.info("Dead letter replay {} {}: {}", id, state, progress());
+        }
+    }
+
+    /**
+     * Stops the replay after the batch in progress.
+     */
+    void cancel() {
+        if (state == State.RUNNING) {
+            state = State.CANCELLED;
+        }
+    }
+
+    boolean isFinished() {
+        return state != State.RUNNING;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    /**
+     * @return the filters, counters, throughput and estimated time to completion of the replay
+     */
+    Map<String, Object> progress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("id", id);
+        progress.put("state", state);
+        progress.put("reason", filter(reason));
+        progress.put("operation", filter(operation));
+        progress.put("rate", rate);
+        progress.put("batchSize", batchSize);
+        progress.put("selected", selected);
+        progress.put("replayed", replayed);
+        progress.put("failed", failed);
+        progress.put("rejections", rejections);
+        long done = replayed + failed;
+        progress.put("percentComplete", selected == 0 ? 100.0 : Math.min(100.0, 100.0 * done / selected));
+        if (started != null) {
+            long elapsed = elapsedNanos >= 0 ? elapsedNanos : System.nanoTime() - startNanos;
+            double throughput = replayed * 1_000_000_000d / Math.max(1, elapsed);
+            progress.put("started", DateTimeFormatter.ISO_INSTANT.format(started));
+            progress.put("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(elapsed));
+            progress.put("throughput", throughput);
+            if (state == State.RUNNING && throughput > 0) {
+                progress.put("etaSeconds", Math.max(0, selected - done) / throughput);
+            }
+        }
+        if (error != null) {
+            progress.put("error", error);
+        }
+        return progress;
+    }
+
+    /**
+     * Sends one batch, setting aside whatever was not sent.
+     *
+     * @return the delay before retrying if admission control rejected the batch, otherwise {@code null}
+     */
+    private Long send(List<DeadLetterEntry> batch) {
+        List<GroupMessageDTO> messages = new ArrayList<>(batch.size());
+        for (DeadLetterEntry entry : batch) {
+            messages.add(entry.getMessage());
+        }
+        List<BatchItemResultDTO> results;
+        try {
+            results = groupMessageProducer.sendMessages(messages);
+        } catch (SendRejectedException e) {
+            store.restore(batch);
+            rejections++;
+            return e.getRetryAfter().toNanos();
+        } catch (RuntimeException e) {
+            store.restore(batch);
+            throw e;
+        }
+        List<DeadLetterEntry> unsent = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (i < results.size() && JmsConstants.ITEM_SENT.equals(results.get(i).getStatus())) {
+                replayed++;
+                replayedCounter.increment();
+            } else {
+                unsent.add(batch.get(i));
+            }
+        }
+        if (!unsent.isEmpty()) {
+            setAside.addAll(unsent);
+            failed += unsent.size();
+            failedCounter.increment(unsent.size());
+        }
+        return null;
+    }
+
+    private static String filter(String value) {
+        return value == null ? "ANY" : value;
+    }
+}
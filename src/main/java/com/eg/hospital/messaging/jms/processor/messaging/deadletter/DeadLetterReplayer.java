@@ -0,0 +1,122 @@
+package com.eg.hospital.messaging.jms.processor.messaging.deadletter;
+
+import com.eg.hospital.messaging.jms.processor.config.DeadLetterConfig;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageProducer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Starts bulk replays of the messages held in the {@link DeadLetterStore} and keeps the progress of the latest one.
+ * <p>
+ * A replay selects the held messages matching an optional failure reason and operation, up to an optional limit, and
+ * sends them back to the hospital management queue at a capped rate through the {@link GroupMessageProducer}, so it
+ * goes through the same admission control as regular traffic. One replay executes at a time, on its own thread. The
+ * {@code jms.dlq.replayed} counter, tagged with the result, counts the messages sent and the messages put back.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+public class DeadLetterReplayer implements DisposableBean {
+
+    private final DeadLetterConfig deadLetterConfig;
+    private final DeadLetterStore deadLetterStore;
+    private final GroupMessageProducer groupMessageProducer;
+    private final Counter replayedCounter;
+    private final Counter failedCounter;
+
+    private long nextId = 1;
+    private DeadLetterReplay replay;
+    private Thread replayThread;
+
+    public DeadLetterReplayer(DeadLetterConfig deadLetterConfig, DeadLetterStore deadLetterStore,
+                              GroupMessageProducer groupMessageProducer, MeterRegistry meterRegistry) {
+        this.deadLetterConfig = deadLetterConfig;
+        this.deadLetterStore = deadLetterStore;
+        this.groupMessageProducer = groupMessageProducer;
+        this.replayedCounter = counter(meterRegistry, "success");
+        this.failedCounter = counter(meterRegistry, "failure");
+    }
+
+    /**
+     * Starts a replay; a {@code null} reason or operation matches any, a {@code null} limit selects every matching
+     * message and a {@code null} rate falls back to the configured replay rate.
+     *
+     * @return the initial progress of the replay
+     * @throws IllegalStateException    if a replay is still in progress
+     * @throws IllegalArgumentException if the limit or rate is out of range
+     */
+    public synchronized Map<String, Object> start(String reason, String operation, Long limit, Integer rate) {
+        if (replay != null && !replay.isFinished()) {
+            throw new IllegalStateException("Dead letter replay " + replay.getId() + " is still running");
+        }
+        int replayRate = rate != null ? rate : deadLetterConfig.getReplayRate();
+        if (replayRate <= 0 || replayRate > 1_000_000) {
+            throw new IllegalArgumentException("Replay rate must be between 1 and 1000000 messages per second");
+        }
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("Replay limit must be positive");
+        }
+        if (deadLetterConfig.getReplayBatchSize() <= 0) {
+            throw new IllegalArgumentException("Replay batch size must be positive");
+        }
+        String operationFilter = operation == null ? null : operation.toUpperCase(Locale.ROOT);
+        long matching = deadLetterStore.count(reason, operationFilter);
+        replay = new DeadLetterReplay(nextId++, reason, operationFilter, limit == null ? matching : Math.min(limit, matching),
+                replayRate, Math.min(deadLetterConfig.getReplayBatchSize(), replayRate), deadLetterStore,
+                groupMessageProducer, replayedCounter, failedCounter);
+        replayThread = new Thread(replay, "dead-letter-replay-" + replay.getId());
+        replayThread.setDaemon(true);
+        replayThread.start();
+        return replay.progress();
+    }
+
+    /**
+     * Stops the current replay after the batch in progress; the messages not yet sent stay in the store.
+     */
+    public synchronized Map<String, Object> cancel() {
+        if (replay == null) {
+            return progress();
+        }
+        replay.cancel();
+        return replay.progress();
+    }
+
+    /**
+     * @return the progress of the current or latest replay, or {@code state: IDLE} before the first replay
+     */
+    public synchronized Map<String, Object> progress() {
+        if (replay == null) {
+            Map<String, Object> idle = new LinkedHashMap<>();
+            idle.put("state", "IDLE");
+            return idle;
+        }
+        return replay.progress();
+    }
+
+    /**
+     * Stops the current replay and waits for its batch in progress, so the store holds every unsent message before
+     * it returns them to the dead letter queue.
+     */
+    @Override
+    public synchronized void destroy() throws InterruptedException {
+        if (replay != null && !replay.isFinished()) {
+            replay.cancel();
+            replayThread.interrupt();
+            replayThread.join(10_000);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("jms.dlq.replayed")
+                .description("Dead-lettered messages replayed to the hospital management queue")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
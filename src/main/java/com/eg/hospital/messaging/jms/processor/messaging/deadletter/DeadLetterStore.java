@@ -0,0 +1,261 @@
+package com.eg.hospital.messaging.jms.processor.messaging.deadletter;
+
+import com.eg.hospital.messaging.jms.processor.config.DeadLetterConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.exception.DeadLetterStoreFullException;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Bounded holding store of the messages consumed from the dead letter queue, indexed by failure reason and operation.
+ * <p>
+ * Entries are kept in one queue per (reason, operation) pair, in arrival order. Because ids increase with arrival,
+ * the oldest entry overall is at the head of one of these queues, so taking the oldest matching entries for a
+ * replay only compares the heads of the (few) queues instead of scanning the entries. Entries that could not be
+ * replayed are put back at the head of their queue.
+ * </p>
+ * <p>
+ * A full store refuses new messages instead of dropping held ones, so that the dead letter queue listener leaves
+ * them on their dead letter queue. The store lives in memory. On shutdown the entries still held are sent back to
+ * the dead letter queue they came from, with their reason in the {@code dlqReason} property, so the broker keeps
+ * them until the next start; entries held when the JVM crashes are lost. The {@code jms.dlq.held} gauge and the
+ * {@code jms.dlq.rejections} counter report the size of the store and the messages refused because it was full.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+public class DeadLetterStore implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterStore.class);
+
+    private final DeadLetterConfig deadLetterConfig;
+    private final JmsTemplate jmsTemplate;
+    private final Counter rejections;
+    private final Map<Key, ArrayDeque<DeadLetterEntry>> index = new LinkedHashMap<>();
+    private final Map<String, Long> queueCounts = new HashMap<>();
+
+    private long nextId;
+    private int size;
+
+    public DeadLetterStore(DeadLetterConfig deadLetterConfig, JmsTemplate jmsTemplate, MeterRegistry meterRegistry) {
+        this.deadLetterConfig = deadLetterConfig;
+        this.jmsTemplate = jmsTemplate;
+        this.rejections = Counter.builder("jms.dlq.rejections")
+                .description("Dead-lettered messages left on their dead letter queue because the store was full")
+                .register(meterRegistry);
+        Gauge.builder("jms.dlq.held", this, DeadLetterStore::size)
+                .description("Dead-lettered messages held for replay")
+                .register(meterRegistry);
+    }
+
+    private record Key(String reason, String operation) {
+    }
+
+    /**
+     * Holds a dead-lettered message.
+     *
+     * @param message the dead-lettered message
+     * @param reason  the failure reason
+     * @param queue   the dead letter queue the message was taken from
+     * @return the entry holding the message
+     * @throws DeadLetterStoreFullException if the store already holds {@code capacity} messages
+     */
+    public synchronized DeadLetterEntry add(GroupMessageDTO message, String reason, String queue) {
+        if (isFull()) {
+            rejections.increment();
+            throw new DeadLetterStoreFullException("Dead letter store is full with " + size + " messages");
+        }
+        DeadLetterEntry entry = new DeadLetterEntry(nextId++, message, reason, queue, System.currentTimeMillis());
+        index.computeIfAbsent(new Key(reason, operation(message)), key -> new ArrayDeque<>()).addLast(entry);
+        size++;
+        countQueue(entry, 1);
+        return entry;
+    }
+
+    /**
+     * Removes and returns the oldest entries matching the filters.
+     *
+     * @param reason    the failure reason, or {@code null} for any
+     * @param operation the operation, or {@code null} for any
+     * @param limit     the maximum number of entries
+     * @return up to {@code limit} entries, oldest first
+     */
+    public synchronized List<DeadLetterEntry> take(String reason, String operation, int limit) {
+        List<DeadLetterEntry> taken = new ArrayList<>(Math.min(limit, size));
+        while (taken.size() < limit) {
+            DeadLetterEntry entry = pollOldest(reason, operation);
+            if (entry == null) {
+                break;
+            }
+            taken.add(entry);
+        }
+        return taken;
+    }
+
+    /**
+     * Puts entries returned by {@link #take} back in front of the newer entries of their queue.
+     */
+    public synchronized void restore(List<DeadLetterEntry> entries) {
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            DeadLetterEntry entry = entries.get(i);
+            index.computeIfAbsent(new Key(entry.getReason(), operation(entry.getMessage())), key -> new ArrayDeque<>())
+                    .addFirst(entry);
+            size++;
+            countQueue(entry, 1);
+        }
+    }
+
+    /**
+     * @return the number of entries matching the filters, {@code null} matching any
+     */
+    public synchronized long count(String reason, String operation) {
+        long count = 0;
+        for (Map.Entry<Key, ArrayDeque<DeadLetterEntry>> queue : index.entrySet()) {
+            if (matches(queue.getKey(), reason, operation)) {
+                count += queue.getValue().size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return up to {@code limit} of the oldest entries matching the filters, without removing them
+     */
+    public synchronized List<DeadLetterEntry> peek(String reason, String operation, int limit) {
+        List<DeadLetterEntry> entries = new ArrayList<>();
+        for (Map.Entry<Key, ArrayDeque<DeadLetterEntry>> queue : index.entrySet()) {
+            if (matches(queue.getKey(), reason, operation)) {
+                queue.getValue().stream().limit(limit).forEach(entries::add);
+            }
+        }
+        entries.sort((left, right) -> Long.compare(left.getId(), right.getId()));
+        return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
+
+    /**
+     * @return the number of held entries by reason and operation and by dead letter queue, with the arrival time of
+     * the oldest entry
+     */
+    public synchronized Map<String, Object> summary() {
+        Map<String, Map<String, Long>> counts = new TreeMap<>();
+        long oldest = Long.MAX_VALUE;
+        for (Map.Entry<Key, ArrayDeque<DeadLetterEntry>> queue : index.entrySet()) {
+            if (!queue.getValue().isEmpty()) {
+                counts.computeIfAbsent(queue.getKey().reason(), reason -> new TreeMap<>())
+                        .put(queue.getKey().operation(), (long) queue.getValue().size());
+                oldest = Math.min(oldest, queue.getValue().peekFirst().getArrivedMillis());
+            }
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("held", size);
+        summary.put("capacity", deadLetterConfig.getCapacity());
+        summary.put("rejected", (long) rejections.count());
+        if (oldest != Long.MAX_VALUE) {
+            summary.put("oldestArrival", DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(oldest)));
+        }
+        summary.put("reasons", counts);
+        summary.put("queues", new TreeMap<>(queueCounts));
+        return summary;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return whether the store holds {@code capacity} messages or more
+     */
+    public synchronized boolean isFull() {
+        return size >= Math.max(1, deadLetterConfig.getCapacity());
+    }
+
+    /**
+     * @return whether at least a tenth of the capacity is free, so that consumption can resume without filling the
+     * store again at once
+     */
+    public synchronized boolean hasRoom() {
+        int capacity = Math.max(1, deadLetterConfig.getCapacity());
+        return size <= capacity - Math.max(1, capacity / 10);
+    }
+
+    /**
+     * Sends the entries still held back to their dead letter queues, unless disabled.
+     */
+    @Override
+    public synchronized void destroy() {
+        if (!deadLetterConfig.isReturnOnShutdown() || size == 0) {
+            return;
+        }
+        int returned = 0;
+        try {
+            for (DeadLetterEntry entry = pollOldest(null, null); entry != null; entry = pollOldest(null, null)) {
+                String reason = entry.getReason();
+                GroupMessageDTO message = entry.getMessage();
+                String queue = entry.getQueue() != null ? entry.getQueue() : JmsConstants.DEAD_LETTER_QUEUE;
+                jmsTemplate.convertAndSend(queue, message, jmsMessage -> {
+                    jmsMessage.setStringProperty(JmsConstants.OPERATION, message.getOperation());
+                    jmsMessage.setStringProperty(JmsConstants.DLQ_REASON, reason);
+                    return jmsMessage;
+                });
+                returned++;
+            }
+            log.info("Returned {} held messages to their dead letter queues", returned);
+        } catch (RuntimeException e) {
+            log.error("Failed to return held messages to their dead letter queues after {}, {} messages are lost: {}",
+                    returned, size + 1, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the oldest entry matching the filters, comparing the heads of the matching queues.
+     */
+    private DeadLetterEntry pollOldest(String reason, String operation) {
+        ArrayDeque<DeadLetterEntry> oldest = null;
+        for (Map.Entry<Key, ArrayDeque<DeadLetterEntry>> queue : index.entrySet()) {
+            DeadLetterEntry head = queue.getValue().peekFirst();
+            if (head != null && matches(queue.getKey(), reason, operation)
+                    && (oldest == null || head.getId() < oldest.peekFirst().getId())) {
+                oldest = queue.getValue();
+            }
+        }
+        if (oldest == null) {
+            return null;
+        }
+        size--;
+        DeadLetterEntry entry = oldest.pollFirst();
+        countQueue(entry, -1);
+        return entry;
+    }
+
+    private void countQueue(DeadLetterEntry entry, long delta) {
+        queueCounts.merge(String.valueOf(entry.getQueue()), delta,
+                (count, change) -> count + change == 0 ? null : count + change);
+    }
+
+    private static boolean matches(Key key, String reason, String operation) {
+        return (reason == null || reason.equals(key.reason()))
+                && (operation == null || operation.equals(key.operation()));
+    }
+
+    private static String operation(GroupMessageDTO message) {
+        return message.getOperation() == null ? DeadLetterClassifier.UNKNOWN : message.getOperation();
+    }
+}
@@ -0,0 +1,211 @@
+package com.eg.hospital.messaging.jms.processor.messaging.dedup;
+
+import com.eg.hospital.messaging.jms.processor.config.DeduplicationConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of the operation ids processed by the listeners, used to skip redelivered messages.
+ * <p>
+ * The cache is split into stripes selected by the hash of the id, each guarded by its own lock, so concurrent
+ * consumers rarely contend. Every stripe keeps its ids in insertion order, which is also expiry order: ids older than
+ * the window are dropped from the head on every access, and the oldest ids are dropped once a stripe holds its share
+ * of the maximum size. Both evictions are O(1) per removed id.
+ * </p>
+ * <p>
+ * Lookups, the hit ratio, evictions, the number of ids and an estimate of the heap they use are published as
+ * {@code jms.dedup.*} metrics.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+public class OperationDeduplicationCache {
+
+    /**
+     * Approximate heap cost of one id besides its characters: the map entry, the string and its array headers,
+     * the boxed timestamp and the table slot.
+     */
+    static final long ENTRY_OVERHEAD_BYTES = 104;
+
+    private final Stripe[] stripes;
+    private final long windowNanos;
+    private final int maxEntriesPerStripe;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter expired;
+    private final Counter evicted;
+
+    public OperationDeduplicationCache(DeduplicationConfig deduplicationConfig, MeterRegistry meterRegistry) {
+        int stripeCount = deduplicationConfig.getStripes() <= 1 ? 1 : Integer.highestOneBit(deduplicationConfig.getStripes() - 1) << 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.windowNanos = deduplicationConfig.getWindow().toNanos();
+        this.maxEntriesPerStripe = Math.max(1, deduplicationConfig.getMaxEntries() / stripes.length);
+        this.hits = lookups(meterRegistry, "hit");
+        this.misses = lookups(meterRegistry, "miss");
+        this.expired = evictions(meterRegistry, "expired");
+        this.evicted = evictions(meterRegistry, "size");
+        Gauge.builder("jms.dedup.hit.ratio", this, OperationDeduplicationCache::hitRatio)
+                .description("Share of deduplication lookups that found an already processed operation id")
+                .register(meterRegistry);
+        Gauge.builder("jms.dedup.entries", this, OperationDeduplicationCache::size)
+                .description("Operation ids held by the deduplication cache")
+                .register(meterRegistry);
+        Gauge.builder("jms.dedup.memory", this, OperationDeduplicationCache::estimatedBytes)
+                .description("Estimated heap used by the deduplication cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the operation id unless it is already known.
+     *
+     * @param operationId the operation id of a received message
+     * @return {@code true} if the id was not seen within the window and the message must be processed,
+     * {@code false} if it is a duplicate
+     */
+    public boolean markIfAbsent(String operationId) {
+        Stripe stripe = stripe(operationId);
+        long now = nanoTime();
+        stripe.lock.lock();
+        try {
+            expire(stripe, now);
+            if (stripe.entries.containsKey(operationId)) {
+                hits.increment();
+                return false;
+            }
+            stripe.entries.put(operationId, now);
+            stripe.keyBytes += operationId.length();
+            while (stripe.entries.size() > maxEntriesPerStripe) {
+                removeEldest(stripe);
+                evicted.increment();
+            }
+            misses.increment();
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Forgets an operation id, so that a redelivery of a message whose processing failed is processed again.
+     */
+    public void forget(String operationId) {
+        Stripe stripe = stripe(operationId);
+        stripe.lock.lock();
+        try {
+            if (stripe.entries.remove(operationId) != null) {
+                stripe.keyBytes -= operationId.length();
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of remembered operation ids, including expired ids not yet evicted
+     */
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.entries.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return the estimated heap used by the remembered operation ids, in bytes
+     */
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                bytes += stripe.entries.size() * ENTRY_OVERHEAD_BYTES + stripe.keyBytes;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the share of lookups that found a duplicate, or {@code 0} before the first lookup
+     */
+    public double hitRatio() {
+        double hitCount = hits.count();
+        double total = hitCount + misses.count();
+        return total == 0 ? 0 : hitCount / total;
+    }
+
+    /**
+     * @return the current time in nanoseconds; only differences between two values are used
+     */
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+
+    private void expire(Stripe stripe, long now) {
+        Iterator<Map.Entry<String, Long>> iterator = stripe.entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            if (now - eldest.getValue() < windowNanos) {
+                return;
+            }
+            iterator.remove();
+            stripe.keyBytes -= eldest.getKey().length();
+            expired.increment();
+        }
+    }
+
+    private static void removeEldest(Stripe stripe) {
+        Iterator<Map.Entry<String, Long>> iterator = stripe.entries.entrySet().iterator();
+        Map.Entry<String, Long> eldest = iterator.next();
+        iterator.remove();
+        stripe.keyBytes -= eldest.getKey().length();
+    }
+
+    private Stripe stripe(String operationId) {
+        int hash = operationId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("jms.dedup.lookups")
+                .description("Deduplication lookups by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter evictions(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("jms.dedup.evictions")
+                .description("Operation ids dropped from the deduplication cache by cause")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    /**
+     * One independently locked part of the cache, holding ids in insertion order.
+     */
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>();
+        private long keyBytes;
+    }
+}
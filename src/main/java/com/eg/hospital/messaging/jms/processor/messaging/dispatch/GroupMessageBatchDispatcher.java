@@ -0,0 +1,31 @@
+package com.eg.hospital.messaging.jms.processor.messaging.dispatch;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.messaging.BatchGroupMessageListener;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@link BatchGroupMessageListener} used in {@code BATCH} mode.
+ * <p>
+ * Routes every message of a batch, in order, to the listener registered for its operation through the
+ * {@link GroupMessageHandlerRegistry}, so the per-message listener advice (deduplication, timing) still applies.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@AllArgsConstructor
+public class GroupMessageBatchDispatcher implements BatchGroupMessageListener {
+
+    private final GroupMessageHandlerRegistry groupMessageHandlerRegistry;
+
+    @Override
+    public void processMessages(List<GroupMessageDTO> messages) {
+        for (GroupMessageDTO message : messages) {
+            groupMessageHandlerRegistry.handlerFor(message.getOperation()).processMessage(message);
+        }
+    }
+}
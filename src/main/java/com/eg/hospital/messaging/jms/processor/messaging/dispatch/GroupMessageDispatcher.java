@@ -0,0 +1,37 @@
+package com.eg.hospital.messaging.jms.processor.messaging.dispatch;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import lombok.AllArgsConstructor;
+import org.springframework.jms.annotation.JmsListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single consumer group on the hospital management queue used in {@code DISPATCHER} mode.
+ * <p>
+ * The consumer registers without a message selector, so the broker dispatches messages in queue order without
+ * evaluating a selector per consumer. The {@code operation} property is read on the consumer side and the message
+ * is routed to the matching listener through the {@link GroupMessageHandlerRegistry}. A message with an unknown
+ * operation fails the transaction and ends up in the dead letter queue after the redelivery attempts.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@AllArgsConstructor
+public class GroupMessageDispatcher {
+
+    private final GroupMessageHandlerRegistry groupMessageHandlerRegistry;
+
+    /**
+     * Routes a message to the listener registered for its operation.
+     *
+     * @param message   the message payload
+     * @param operation the {@code operation} message property; the payload operation is used when it is absent
+     */
+    @JmsListener(id = JmsConstants.DISPATCH_LISTENER_ID, destination = "${spring.jms.queues.hospitalManagement}")
+    public void dispatch(GroupMessageDTO message, @Header(name = JmsConstants.OPERATION, required = false) String operation) {
+        groupMessageHandlerRegistry.handlerFor(operation != null ? operation : message.getOperation()).processMessage(message);
+    }
+}
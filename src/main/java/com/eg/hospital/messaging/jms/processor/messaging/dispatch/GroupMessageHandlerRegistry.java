@@ -0,0 +1,58 @@
+package com.eg.hospital.messaging.jms.processor.messaging.dispatch;
+
+import com.eg.hospital.messaging.jms.processor.exception.JmsMessageException;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-process registry of the {@link GroupMessageListener} beans, keyed by the operation each of them handles.
+ * <p>
+ * The registry is built once at startup from all listener beans and is read-only afterwards, so lookups from
+ * concurrent consumers need no synchronization. Two listeners registering the same operation fail the startup.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+public class GroupMessageHandlerRegistry {
+
+    private final Map<String, GroupMessageListener> handlers;
+
+    public GroupMessageHandlerRegistry(List<GroupMessageListener> groupMessageListeners) {
+        Map<String, GroupMessageListener> byOperation = new HashMap<>();
+        for (GroupMessageListener listener : groupMessageListeners) {
+            GroupMessageListener previous = byOperation.putIfAbsent(listener.getOperation(), listener);
+            if (previous != null) {
+                throw new IllegalStateException("More than one GroupMessageListener registered for operation " + listener.getOperation());
+            }
+        }
+        this.handlers = Map.copyOf(byOperation);
+    }
+
+    /**
+     * Returns the listener registered for the given operation.
+     *
+     * @param operation the value of the {@code operation} message property
+     * @return the matching {@link GroupMessageListener}
+     * @throws JmsMessageException if no listener handles the operation
+     */
+    public GroupMessageListener handlerFor(String operation) {
+        GroupMessageListener handler = operation != null ? handlers.get(operation) : null;
+        if (handler == null) {
+            throw new JmsMessageException("No listener registered for operation: " + operation);
+        }
+        return handler;
+    }
+
+    /**
+     * @return the operations that have a registered listener
+     */
+    public Set<String> operations() {
+        return handlers.keySet();
+    }
+}
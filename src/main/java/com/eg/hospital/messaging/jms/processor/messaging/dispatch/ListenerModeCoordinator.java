@@ -0,0 +1,172 @@
+package com.eg.hospital.messaging.jms.processor.messaging.dispatch;
+
+import com.eg.hospital.messaging.jms.processor.config.ListenerConfig;
+import com.eg.hospital.messaging.jms.processor.config.OrderingConfig;
+import com.eg.hospital.messaging.jms.processor.config.RedeliveryConfig;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Starts the JMS listener containers that belong to the configured consumption mode.
+ * <p>
+ * The listener container factory creates its containers with auto-startup disabled, so both the selector-filtered
+ * listeners and the dispatching listener are registered but idle. On startup this coordinator starts the queue
+ * listeners of the active {@link ListenerConfig.Mode} together with every container that is not tied to a mode,
+ * such as the dead letter queue listener. In {@code BATCH} mode no queue listener container is started; the queue
+ * is consumed by the {@code BatchMessageListenerContainer} instead.
+ * </p>
+ * <p>
+ * Per-group ordering relies on the broker pinning each {@code JMSXGroupID} to one consumer of the queue, which
+ * only holds when a single consumer group receives every operation. Enabling ordering with the selector mode
+ * therefore fails the startup.
+ * </p>
+ * <p>
+ * Per-group ordering and the isolation of a failing message in {@code BATCH} mode both need a rolled back message
+ * to come back before the messages behind it. The broker's scheduler lets later messages through while a failed one
+ * waits, so {@code BROKER} redelivery with either of them fails the startup as well; in {@code CLIENT} mode the
+ * consumers redeliver blocking.
+ * </p>
+ * <p>
+ * On virtual threads the containers share one executor without a permit limit, because a container that waits for
+ * a permit does so after its consumer received a message. Instead {@code virtual-concurrency-limit} is shared between
+ * the started containers: the maximum consumers of the largest ones are lowered until they fit together.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+public class ListenerModeCoordinator implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ListenerModeCoordinator.class);
+
+    private static final Set<String> MODE_LISTENER_IDS = Set.of(
+            JmsConstants.CREATE_LISTENER_ID, JmsConstants.DELETE_LISTENER_ID, JmsConstants.DISPATCH_LISTENER_ID);
+
+    private final JmsListenerEndpointRegistry jmsListenerEndpointRegistry;
+    private final ListenerConfig listenerConfig;
+    private final int consumerLimit;
+    private volatile int queueConsumerLimit = Integer.MAX_VALUE;
+    private volatile boolean running;
+
+    public ListenerModeCoordinator(JmsListenerEndpointRegistry jmsListenerEndpointRegistry, ListenerConfig listenerConfig,
+                                   OrderingConfig orderingConfig, RedeliveryConfig redeliveryConfig, Environment environment) {
+        if (orderingConfig.isEnabled() && listenerConfig.getMode() == ListenerConfig.Mode.SELECTOR) {
+            throw new IllegalStateException("spring.jms.ordering.enabled=true requires spring.jms.consumers.mode=dispatcher or batch");
+        }
+        if (redeliveryConfig.getMode() == RedeliveryConfig.Mode.BROKER
+                && (orderingConfig.isEnabled() || listenerConfig.getMode() == ListenerConfig.Mode.BATCH)) {
+            throw new IllegalStateException("spring.jms.redelivery.mode=broker cannot be combined with "
+                    + "spring.jms.ordering.enabled=true or spring.jms.consumers.mode=batch");
+        }
+        this.jmsListenerEndpointRegistry = jmsListenerEndpointRegistry;
+        this.listenerConfig = listenerConfig;
+        this.consumerLimit = Threading.VIRTUAL.isActive(environment) ? listenerConfig.getVirtualConcurrencyLimit() : 0;
+    }
+
+    /**
+     * @return the ids of the hospital management queue listeners active in the configured mode
+     */
+    public List<String> getActiveQueueListenerIds() {
+        return switch (listenerConfig.getMode()) {
+            case SELECTOR -> List.of(JmsConstants.CREATE_LISTENER_ID, JmsConstants.DELETE_LISTENER_ID);
+            case DISPATCHER -> List.of(JmsConstants.DISPATCH_LISTENER_ID);
+            case BATCH -> List.of();
+        };
+    }
+
+    /**
+     * @return the number of consumers the queue listeners may run together, {@link Integer#MAX_VALUE} if unbounded
+     */
+    public int getQueueConsumerLimit() {
+        return queueConsumerLimit;
+    }
+
+    @Override
+    public void start() {
+        Map<String, MessageListenerContainer> containers = activeContainers();
+        if (consumerLimit > 0) {
+            limitConsumers(containers, consumerLimit);
+        }
+        for (MessageListenerContainer container : containers.values()) {
+            container.start();
+        }
+        running = true;
+        log.info("Hospital management queue consumed in {} mode by listeners {}", listenerConfig.getMode(), getActiveQueueListenerIds());
+    }
+
+    @Override
+    public void stop() {
+        for (MessageListenerContainer container : activeContainers().values()) {
+            container.stop();
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Shares {@code limit} consumers between the containers, smallest first, lowering the maximum consumers of every
+     * container above its share.
+     *
+     * @throws IllegalStateException if the limit is below one consumer per container
+     */
+    void limitConsumers(Map<String, MessageListenerContainer> containers, int limit) {
+        List<Map.Entry<String, DefaultMessageListenerContainer>> listeners = new ArrayList<>();
+        for (Map.Entry<String, MessageListenerContainer> container : containers.entrySet()) {
+            if (container.getValue() instanceof DefaultMessageListenerContainer dmlc) {
+                listeners.add(Map.entry(container.getKey(), dmlc));
+            }
+        }
+        if (limit < listeners.size()) {
+            throw new IllegalStateException("spring.jms.consumers.virtual-concurrency-limit=" + limit
+                    + " is below one consumer for each of the " + listeners.size() + " listener containers");
+        }
+        listeners.sort(Comparator.comparingInt(listener -> listener.getValue().getMaxConcurrentConsumers()));
+        int remaining = limit;
+        int otherConsumers = 0;
+        for (int i = 0; i < listeners.size(); i++) {
+            DefaultMessageListenerContainer container = listeners.get(i).getValue();
+            int share = remaining / (listeners.size() - i);
+            if (container.getMaxConcurrentConsumers() > share) {
+                log.warn("Lowering the consumers of listener {} from {} to {} to stay within {} virtual-thread consumers",
+                        listeners.get(i).getKey(), container.getMaxConcurrentConsumers(), share, limit);
+                container.setConcurrentConsumers(Math.min(container.getConcurrentConsumers(), share));
+                container.setMaxConcurrentConsumers(share);
+            }
+            remaining -= container.getMaxConcurrentConsumers();
+            if (!MODE_LISTENER_IDS.contains(listeners.get(i).getKey())) {
+                otherConsumers += container.getMaxConcurrentConsumers();
+            }
+        }
+        queueConsumerLimit = limit - otherConsumers;
+    }
+
+    private Map<String, MessageListenerContainer> activeContainers() {
+        List<String> activeIds = getActiveQueueListenerIds();
+        Map<String, MessageListenerContainer> containers = new LinkedHashMap<>();
+        for (String id : jmsListenerEndpointRegistry.getListenerContainerIds()) {
+            if (!MODE_LISTENER_IDS.contains(id) || activeIds.contains(id)) {
+                containers.put(id, jmsListenerEndpointRegistry.getListenerContainer(id));
+            }
+        }
+        return containers;
+    }
+}
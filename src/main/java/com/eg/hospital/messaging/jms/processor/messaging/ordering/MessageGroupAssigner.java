@@ -0,0 +1,56 @@
+package com.eg.hospital.messaging.jms.processor.messaging.ordering;
+
+import com.eg.hospital.messaging.jms.processor.config.OrderingConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stamps outgoing messages with a {@code JMSXGroupID} when ordering is enabled.
+ * <p>
+ * All producers (synchronous, asynchronous and batch) call this assigner, so a given key always maps to the same
+ * message group regardless of the endpoint that sent the operation.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@AllArgsConstructor
+public class MessageGroupAssigner {
+
+    private final OrderingConfig orderingConfig;
+
+    /**
+     * Sets the {@code JMSXGroupID} property of the message if ordering is enabled.
+     *
+     * @param message      the outgoing JMS message
+     * @param queueMessage the payload the message was created from
+     * @throws JMSException if the property cannot be set
+     */
+    public void assign(Message message, GroupMessageDTO queueMessage) throws JMSException {
+        String groupKey = groupKey(queueMessage);
+        if (groupKey != null) {
+            message.setStringProperty(JmsConstants.JMSX_GROUP_ID, groupKey);
+        }
+    }
+
+    /**
+     * Returns the message group of the payload.
+     *
+     * @param queueMessage the message payload
+     * @return the group key, or {@code null} if ordering is disabled
+     */
+    public String groupKey(GroupMessageDTO queueMessage) {
+        if (!orderingConfig.isEnabled()) {
+            return null;
+        }
+        if (orderingConfig.getKey() == OrderingConfig.Key.PARENT_GROUP_ID
+                && queueMessage.getParentGroupId() != null && !queueMessage.getParentGroupId().isBlank()) {
+            return queueMessage.getParentGroupId();
+        }
+        return queueMessage.getGroupId();
+    }
+}
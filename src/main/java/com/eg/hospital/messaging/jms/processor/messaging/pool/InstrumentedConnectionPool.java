@@ -0,0 +1,196 @@
+package com.eg.hospital.messaging.jms.processor.messaging.pool;
+
+import com.eg.hospital.messaging.jms.processor.config.JmsPoolConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Session;
+import org.messaginghub.pooled.jms.JmsPoolConnection;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import org.messaginghub.pooled.jms.pool.PooledConnection;
+import org.messaginghub.pooled.jms.pool.PooledConnectionKey;
+import org.messaginghub.pooled.jms.pool.PooledSessionKey;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pooled, cached connection/session/producer layer used by the producer side {@code JmsTemplate}.
+ * <p>
+ * Wraps a {@link JmsPoolConnectionFactory} around the broker connection factory and records:
+ * </p>
+ * <ul>
+ *     <li>{@code jms.pool.requests} - connections and sessions borrowed from the pool</li>
+ *     <li>{@code jms.pool.misses} - borrows that had to create a physical connection or session</li>
+ *     <li>{@code jms.pool.hits} - borrows served from an already pooled connection or session</li>
+ *     <li>{@code jms.pool.wait} - time spent waiting for a connection or session</li>
+ * </ul>
+ * Every meter is tagged with {@code resource=connection} or {@code resource=session}. The counts come from
+ * subclasses of the pooled-jms classes that override the hooks where a connection or session is borrowed or physically
+ * created, so a send pays for a counter increment and a timer sample rather than a reflective call.
+ *
+ * @author Sanjay
+ */
+public class InstrumentedConnectionPool implements DisposableBean {
+
+    static final String CONNECTION = "connection";
+    static final String SESSION = "session";
+
+    private final JmsPoolConnectionFactory pool;
+
+    private final LongAdder connectionRequests = new LongAdder();
+    private final LongAdder connectionMisses = new LongAdder();
+    private final LongAdder sessionRequests = new LongAdder();
+    private final LongAdder sessionMisses = new LongAdder();
+    private final Timer connectionWait;
+    private final Timer sessionWait;
+
+    /**
+     * Creates and starts the pool.
+     *
+     * @param targetConnectionFactory the broker connection factory creating the physical connections
+     * @param config                  the pool sizing and eviction settings
+     * @param meterRegistry           the registry the pool metrics are published to
+     */
+    public InstrumentedConnectionPool(ConnectionFactory targetConnectionFactory, JmsPoolConfig config, MeterRegistry meterRegistry) {
+        this.pool = new MeteredPoolConnectionFactory();
+        pool.setConnectionFactory(targetConnectionFactory);
+        pool.setMaxConnections(config.getMaxConnections());
+        pool.setMaxSessionsPerConnection(config.getMaxSessionsPerConnection());
+        pool.setMaxIdleSessionsPerConnection(config.getMaxIdleSessionsPerConnection());
+        pool.setConnectionIdleTimeout((int) config.getIdleTimeout().toMillis());
+        pool.setConnectionCheckInterval(config.getEvictionInterval().toMillis());
+        pool.setBlockIfSessionPoolIsFull(config.isBlockIfFull());
+        pool.setBlockIfSessionPoolIsFullTimeout(config.getBlockIfFullTimeout().toMillis());
+        pool.setUseAnonymousProducers(config.isUseAnonymousProducers());
+        pool.setExplicitProducerCacheSize(config.getProducerCacheSize());
+        pool.start();
+
+        registerCounters(meterRegistry, CONNECTION, connectionRequests, connectionMisses);
+        registerCounters(meterRegistry, SESSION, sessionRequests, sessionMisses);
+        this.connectionWait = waitTimer(meterRegistry, CONNECTION);
+        this.sessionWait = waitTimer(meterRegistry, SESSION);
+        Gauge.builder("jms.pool.connections", pool, JmsPoolConnectionFactory::getNumConnections)
+                .description("Physical connections currently held by the producer pool")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the pooled connection factory to hand to the {@code JmsTemplate}
+     */
+    public ConnectionFactory getConnectionFactory() {
+        return pool;
+    }
+
+    /**
+     * Closes every pooled connection.
+     */
+    @Override
+    public void destroy() {
+        pool.stop();
+    }
+
+    private static void registerCounters(MeterRegistry meterRegistry, String resource, LongAdder requests, LongAdder misses) {
+        FunctionCounter.builder("jms.pool.requests", requests, LongAdder::sum)
+                .tag("resource", resource)
+                .description("Borrows from the producer pool")
+                .register(meterRegistry);
+        FunctionCounter.builder("jms.pool.misses", misses, LongAdder::sum)
+                .tag("resource", resource)
+                .description("Borrows that created a new physical resource")
+                .register(meterRegistry);
+        FunctionCounter.builder("jms.pool.hits", requests, r -> Math.max(0, r.sum() - misses.sum()))
+                .tag("resource", resource)
+                .description("Borrows served by an already pooled resource")
+                .register(meterRegistry);
+    }
+
+    private static Timer waitTimer(MeterRegistry meterRegistry, String resource) {
+        return Timer.builder("jms.pool.wait")
+                .tag("resource", resource)
+                .description("Time spent acquiring a resource from the producer pool")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Borrow side: times each connection request made by the template and hands out connections whose session
+     * borrows are timed as well. Physical side: every connection created through the broker connection factory is a
+     * pool miss.
+     */
+    private final class MeteredPoolConnectionFactory extends JmsPoolConnectionFactory {
+
+        @Override
+        public Connection createConnection() throws JMSException {
+            return createConnection(null, null);
+        }
+
+        @Override
+        public Connection createConnection(String userName, String password) throws JMSException {
+            connectionRequests.increment();
+            long start = System.nanoTime();
+            try {
+                return super.createConnection(userName, password);
+            } finally {
+                connectionWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        protected Connection createProviderConnection(PooledConnectionKey key) throws JMSException {
+            connectionMisses.increment();
+            return super.createProviderConnection(key);
+        }
+
+        @Override
+        protected PooledConnection createPooledConnection(Connection connection) {
+            return new MeteredPooledConnection(connection);
+        }
+
+        @Override
+        protected JmsPoolConnection newPooledConnectionWrapper(PooledConnection connection) {
+            return new MeteredPoolConnection(connection);
+        }
+    }
+
+    /**
+     * Physical connection: every session it creates for the session pool is a pool miss.
+     */
+    private final class MeteredPooledConnection extends PooledConnection {
+
+        MeteredPooledConnection(Connection connection) {
+            super(connection);
+        }
+
+        @Override
+        protected Session makeSession(PooledSessionKey key) throws JMSException {
+            sessionMisses.increment();
+            return super.makeSession(key);
+        }
+    }
+
+    /**
+     * Borrowed connection: times every session borrow; the other {@code createSession} variants delegate here.
+     */
+    private final class MeteredPoolConnection extends JmsPoolConnection {
+
+        MeteredPoolConnection(PooledConnection connection) {
+            super(connection);
+        }
+
+        @Override
+        public Session createSession(boolean transacted, int acknowledgeMode) throws JMSException {
+            sessionRequests.increment();
+            long start = System.nanoTime();
+            try {
+                return super.createSession(transacted, acknowledgeMode);
+            } finally {
+                sessionWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
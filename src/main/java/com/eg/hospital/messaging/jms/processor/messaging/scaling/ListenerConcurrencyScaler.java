@@ -0,0 +1,216 @@
+package com.eg.hospital.messaging.jms.processor.messaging.scaling;
+
+import com.eg.hospital.messaging.jms.processor.broker.BrokerStatistics;
+import com.eg.hospital.messaging.jms.processor.config.ListenerConfig;
+import com.eg.hospital.messaging.jms.processor.config.QueueConfig;
+import com.eg.hospital.messaging.jms.processor.messaging.dispatch.ListenerModeCoordinator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Resizes the listener containers consuming the hospital management queue at runtime.
+ * <p>
+ * On every sample the scaler reads the queue depth from the embedded broker and the average processing time
+ * from the {@link ProcessingTimeTracker}, and computes the number of consumers needed to drain the backlog
+ * within {@code target-drain-time}:
+ * </p>
+ * <pre>
+ *     desired = clamp(ceil(depth x processingTime / targetDrainTime), minConsumers, maxConsumers)
+ * </pre>
+ * <p>
+ * To avoid flapping, scaling up requires {@code scale-up-samples} consecutive samples above the current count,
+ * scaling down requires {@code scale-down-samples} consecutive samples at least {@code scale-down-band} below it,
+ * and two decisions are always separated by {@code cooldown}. The consumers are split evenly across the
+ * containers listening on the queue in the active consumption mode, and on virtual threads never exceed the share of
+ * {@code virtual-concurrency-limit} left to them by the {@link ListenerModeCoordinator}.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+@ConditionalOnProperty(prefix = "spring.jms.consumers.adaptive", name = "enabled", havingValue = "true")
+public class ListenerConcurrencyScaler {
+
+    private static final Logger log = LoggerFactory.getLogger(ListenerConcurrencyScaler.class);
+
+    private static final int DECISION_HISTORY = 20;
+    private static final double DEFAULT_PROCESSING_TIME_MILLIS = 1.0;
+
+    private final JmsListenerEndpointRegistry jmsListenerEndpointRegistry;
+    private final ListenerModeCoordinator listenerModeCoordinator;
+    private final BrokerStatistics brokerStatistics;
+    private final ProcessingTimeTracker processingTimeTracker;
+    private final QueueConfig queueConfig;
+    private final ListenerConfig.Adaptive config;
+    private final Counter scaleUps;
+    private final Counter scaleDowns;
+    private final Deque<ScalingDecision> decisions = new ArrayDeque<>();
+
+    private volatile int currentConsumers;
+    private volatile long lastQueueDepth = -1;
+    private volatile double lastProcessingTimeMillis;
+    private int scaleUpStreak;
+    private int scaleDownStreak;
+    private long lastDecisionNanos;
+
+    public ListenerConcurrencyScaler(JmsListenerEndpointRegistry jmsListenerEndpointRegistry, ListenerModeCoordinator listenerModeCoordinator,
+                                     BrokerStatistics brokerStatistics,
+                                     ProcessingTimeTracker processingTimeTracker, QueueConfig queueConfig,
+                                     ListenerConfig listenerConfig, MeterRegistry meterRegistry) {
+        this.jmsListenerEndpointRegistry = jmsListenerEndpointRegistry;
+        this.listenerModeCoordinator = listenerModeCoordinator;
+        this.brokerStatistics = brokerStatistics;
+        this.processingTimeTracker = processingTimeTracker;
+        this.queueConfig = queueConfig;
+        this.config = listenerConfig.getAdaptive();
+        this.lastDecisionNanos = System.nanoTime() - config.getCooldown().toNanos();
+        this.scaleUps = decisionCounter(meterRegistry, "up");
+        this.scaleDowns = decisionCounter(meterRegistry, "down");
+        Gauge.builder("jms.listener.consumers.target", this, ListenerConcurrencyScaler::getCurrentConsumers)
+                .description("Consumers currently configured on the hospital management queue")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Samples queue depth and processing time and resizes the containers when the hysteresis rules allow it.
+     */
+    @Scheduled(fixedDelayString = "${spring.jms.consumers.adaptive.sample-interval:5s}")
+    public synchronized void sample() {
+        List<DefaultMessageListenerContainer> containers = queueContainers();
+        long depth = brokerStatistics.queueDepth(queueConfig.getHospitalManagement());
+        if (containers.isEmpty() || depth < 0) {
+            return;
+        }
+        double processingTimeMillis = processingTimeTracker.averageMillis();
+        lastQueueDepth = depth;
+        lastProcessingTimeMillis = processingTimeMillis;
+
+        int current = containers.stream().mapToInt(DefaultMessageListenerContainer::getConcurrentConsumers).sum();
+        currentConsumers = current;
+        int desired = desiredConsumers(depth, processingTimeMillis, containers.size());
+
+        if (desired > current) {
+            scaleUpStreak++;
+            scaleDownStreak = 0;
+            if (scaleUpStreak >= config.getScaleUpSamples() && cooledDown()) {
+                resize(containers, current, desired, depth, processingTimeMillis);
+                scaleUps.increment();
+            }
+        } else if (desired <= current - config.getScaleDownBand() || (desired < current && current > config.getMaxConsumers())) {
+            scaleDownStreak++;
+            scaleUpStreak = 0;
+            if (scaleDownStreak >= config.getScaleDownSamples() && cooledDown()) {
+                resize(containers, current, desired, depth, processingTimeMillis);
+                scaleDowns.increment();
+            }
+        } else {
+            scaleUpStreak = 0;
+            scaleDownStreak = 0;
+        }
+    }
+
+    /**
+     * Computes the consumer count needed to drain {@code depth} messages within the target drain time,
+     * rounded up to a multiple of the container count and clamped to the configured bounds.
+     */
+    int desiredConsumers(long depth, double processingTimeMillis, int containerCount) {
+        double perMessageMillis = processingTimeMillis > 0 ? processingTimeMillis : DEFAULT_PROCESSING_TIME_MILLIS;
+        double drainMillis = Math.max(1, config.getTargetDrainTime().toMillis());
+        long desired = (long) Math.ceil(depth * perMessageMillis / drainMillis);
+        desired = Math.max(config.getMinConsumers(), Math.min(config.getMaxConsumers(), desired));
+        int perContainer = (int) Math.max(1, (desired + containerCount - 1) / containerCount);
+        perContainer = Math.min(perContainer, Math.max(1, listenerModeCoordinator.getQueueConsumerLimit() / containerCount));
+        return perContainer * containerCount;
+    }
+
+    private boolean cooledDown() {
+        return System.nanoTime() - lastDecisionNanos >= config.getCooldown().toNanos();
+    }
+
+    private void resize(List<DefaultMessageListenerContainer> containers, int current, int desired,
+                        long depth, double processingTimeMillis) {
+        int perContainer = Math.max(1, desired / containers.size());
+        for (DefaultMessageListenerContainer container : containers) {
+            if (perContainer > container.getMaxConcurrentConsumers()) {
+                container.setMaxConcurrentConsumers(perContainer);
+                container.setConcurrentConsumers(perContainer);
+            } else {
+                container.setConcurrentConsumers(perContainer);
+                container.setMaxConcurrentConsumers(perContainer);
+            }
+        }
+        currentConsumers = perContainer * containers.size();
+        lastDecisionNanos = System.nanoTime();
+        scaleUpStreak = 0;
+        scaleDownStreak = 0;
+
+        ScalingDecision decision = new ScalingDecision(DateTimeFormatter.ISO_INSTANT.format(Instant.now()),
+                current, currentConsumers, depth, processingTimeMillis);
+        synchronized (decisions) {
+            if (decisions.size() == DECISION_HISTORY) {
+                decisions.removeFirst();
+            }
+            decisions.addLast(decision);
+        }
+        log.info("Resized listener consumers on {}: {}", queueConfig.getHospitalManagement(), decision);
+    }
+
+    private List<DefaultMessageListenerContainer> queueContainers() {
+        List<DefaultMessageListenerContainer> containers = new ArrayList<>();
+        for (String id : listenerModeCoordinator.getActiveQueueListenerIds()) {
+            MessageListenerContainer container = jmsListenerEndpointRegistry.getListenerContainer(id);
+            if (container instanceof DefaultMessageListenerContainer dmlc) {
+                containers.add(dmlc);
+            }
+        }
+        return containers;
+    }
+
+    private static Counter decisionCounter(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("jms.listener.scaling.decisions")
+                .tag("direction", direction)
+                .description("Resizes of the listener consumers")
+                .register(meterRegistry);
+    }
+
+    public int getCurrentConsumers() {
+        return currentConsumers;
+    }
+
+    public long getLastQueueDepth() {
+        return lastQueueDepth;
+    }
+
+    public double getLastProcessingTimeMillis() {
+        return lastProcessingTimeMillis;
+    }
+
+    public ListenerConfig.Adaptive getConfig() {
+        return config;
+    }
+
+    /**
+     * @return the most recent scaling decisions, oldest first
+     */
+    public List<ScalingDecision> getDecisions() {
+        synchronized (decisions) {
+            return new ArrayList<>(decisions);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.eg.hospital.messaging.jms.processor.messaging.scaling;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free exponentially weighted moving average of the time the listeners spend per message.
+ * <p>
+ * Updated for every processed message by {@code ListenerTimingAspect} and read by the
+ * {@link ListenerConcurrencyScaler} on every sample.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+public class ProcessingTimeTracker {
+
+    private static final double ALPHA = 0.2;
+
+    private final AtomicLong averageNanosBits = new AtomicLong(Double.doubleToRawLongBits(Double.NaN));
+
+    /**
+     * Records the processing time of one message.
+     *
+     * @param nanos the processing time in nanoseconds
+     */
+    public void record(long nanos) {
+        long currentBits;
+        long updatedBits;
+        do {
+            currentBits = averageNanosBits.get();
+            double current = Double.longBitsToDouble(currentBits);
+            double updated = Double.isNaN(current) ? nanos : current + ALPHA * (nanos - current);
+            updatedBits = Double.doubleToRawLongBits(updated);
+        } while (!averageNanosBits.compareAndSet(currentBits, updatedBits));
+    }
+
+    /**
+     * @return the average processing time in milliseconds, or {@code 0} before the first message
+     */
+    public double averageMillis() {
+        double average = Double.longBitsToDouble(averageNanosBits.get());
+        return Double.isNaN(average) ? 0 : average / 1_000_000d;
+    }
+}
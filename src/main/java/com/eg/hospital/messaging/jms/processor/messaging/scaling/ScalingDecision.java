@@ -0,0 +1,35 @@
+package com.eg.hospital.messaging.jms.processor.messaging.scaling;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A resize of the listener consumers taken by the {@link ListenerConcurrencyScaler}.
+ *
+ * @author Sanjay
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ScalingDecision {
+
+    /**
+     * ISO-8601 formatted timestamp of the decision.
+     */
+    private String timestamp;
+
+    private int fromConsumers;
+
+    private int toConsumers;
+
+    /**
+     * Queue depth sampled when the decision was taken.
+     */
+    private long queueDepth;
+
+    /**
+     * Average processing time in milliseconds sampled when the decision was taken.
+     */
+    private double processingTimeMillis;
+}
@@ -0,0 +1,127 @@
+package com.eg.hospital.messaging.jms.processor.metrics;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the group message pipeline, from the producer to the listeners and the dead letter queue.
+ * <p>
+ * Every meter is tagged with the operation (CREATE, DELETE, or UNKNOWN for anything else) and, except for the dead
+ * letter counters whose queues are only known on arrival, registered up front, so recording is an array lookup
+ * instead of a registry lookup per message:
+ * <ul>
+ *     <li>{@code jms.producer.send} - time of a blocking send, tagged with its result</li>
+ *     <li>{@code jms.listener.process} - time a listener spent processing a message, tagged with its result</li>
+ *     <li>{@code jms.message.dwell} - time from the message timestamp to the start of processing</li>
+ *     <li>{@code jms.listener.redeliveries} - deliveries of messages that were rolled back before</li>
+ *     <li>{@code jms.dlq.messages} - messages that arrived in a dead letter queue, also tagged with the queue</li>
+ * </ul>
+ * </p>
+ *
+ * @author Sanjay
+ */
+@Component
+public class MessagingMetrics {
+
+    private static final String[] OPERATIONS = {JmsConstants.CREATE_OPERATION, JmsConstants.DELETE_OPERATION, "UNKNOWN"};
+
+    private final Timer[] sendSuccess = new Timer[OPERATIONS.length];
+    private final Timer[] sendFailure = new Timer[OPERATIONS.length];
+    private final Timer[] processSuccess = new Timer[OPERATIONS.length];
+    private final Timer[] processFailure = new Timer[OPERATIONS.length];
+    private final Timer[] dwell = new Timer[OPERATIONS.length];
+    private final Counter[] redeliveries = new Counter[OPERATIONS.length];
+    private final MeterRegistry meterRegistry;
+
+    public MessagingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            String operation = OPERATIONS[i];
+            sendSuccess[i] = timer(meterRegistry, "jms.producer.send", "Time of a blocking send to the queue", operation, "success");
+            sendFailure[i] = timer(meterRegistry, "jms.producer.send", "Time of a blocking send to the queue", operation, "failure");
+            processSuccess[i] = timer(meterRegistry, "jms.listener.process", "Time a listener spent processing a message", operation, "success");
+            processFailure[i] = timer(meterRegistry, "jms.listener.process", "Time a listener spent processing a message", operation, "failure");
+            dwell[i] = Timer.builder("jms.message.dwell")
+                    .description("Time from the message timestamp to the start of processing")
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+            redeliveries[i] = Counter.builder("jms.listener.redeliveries")
+                    .description("Deliveries of messages that were rolled back before")
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Records the time of a blocking send.
+     */
+    public void recordSend(String operation, long nanos, boolean success) {
+        (success ? sendSuccess : sendFailure)[index(operation)].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time a listener spent processing a message.
+     */
+    public void recordProcess(String operation, long nanos, boolean success) {
+        (success ? processSuccess : processFailure)[index(operation)].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records how long a message waited between its timestamp and the start of processing. Messages without a
+     * valid timestamp are skipped, and a timestamp ahead of this clock is recorded as zero.
+     */
+    public void recordDwell(GroupMessageDTO message) {
+        if (message.getTimestamp() == null) {
+            return;
+        }
+        try {
+            Duration waited = Duration.between(Instant.parse(message.getTimestamp()), Instant.now());
+            dwell[index(message.getOperation())].record(waited.isNegative() ? Duration.ZERO : waited);
+        } catch (DateTimeParseException e) {
+            // not a timestamp stamped by our producers; nothing to measure
+        }
+    }
+
+    /**
+     * Counts the redelivery of a message that was rolled back before.
+     */
+    public void recordRedelivery(String operation) {
+        redeliveries[index(operation)].increment();
+    }
+
+    /**
+     * Counts a message received from a dead letter queue.
+     */
+    public void recordDeadLetter(String queue, String operation) {
+        Counter.builder("jms.dlq.messages")
+                .description("Messages received from a dead letter queue")
+                .tag("queue", queue)
+                .tag("operation", OPERATIONS[index(operation)])
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static int index(String operation) {
+        if (JmsConstants.CREATE_OPERATION.equals(operation)) {
+            return 0;
+        }
+        return JmsConstants.DELETE_OPERATION.equals(operation) ? 1 : 2;
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String name, String description, String operation, String result) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
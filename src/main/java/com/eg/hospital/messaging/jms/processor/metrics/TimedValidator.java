@@ -0,0 +1,66 @@
+package com.eg.hospital.messaging.jms.processor.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SmartValidator} that times the validation of request bodies as {@code http.request.validation}, tagged
+ * with {@code result=valid} or {@code result=invalid}, and otherwise delegates to the application validator.
+ *
+ * @author Sanjay
+ */
+public class TimedValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+    private final Timer valid;
+    private final Timer invalid;
+
+    public TimedValidator(SmartValidator delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.valid = timer(meterRegistry, "valid");
+        this.invalid = timer(meterRegistry, "invalid");
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, new Object[0]);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        int errorsBefore = errors.getErrorCount();
+        long start = System.nanoTime();
+        try {
+            delegate.validate(target, errors, validationHints);
+        } finally {
+            (errors.getErrorCount() > errorsBefore ? invalid : valid).record(System.nanoTime() - start,
+                    TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors, Object... validationHints) {
+        delegate.validateValue(targetType, fieldName, value, errors, validationHints);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) {
+        return delegate.unwrap(type);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("http.request.validation")
+                .description("Time spent validating request bodies")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,67 @@
+package com.eg.hospital.messaging.jms.processor.ratelimit;
+
+import com.eg.hospital.messaging.jms.processor.config.LoadTestConfig;
+import com.eg.hospital.messaging.jms.processor.config.RateLimitConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds one {@link RateLimitInterceptor} per route configured under {@code spring.jms.rate-limit.routes} and
+ * periodically drops the state of idle clients, so the number of tracked clients stays bounded by the clients seen
+ * within one sweep interval and by {@code max-clients}. While load testing is enabled, requests carrying the load test
+ * API key are not limited.
+ *
+ * @author Sanjay
+ */
+@Component
+@ConditionalOnProperty(prefix = "spring.jms.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ClientRateLimiters {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientRateLimiters.class);
+
+    private final Map<RateLimitConfig.Route, RateLimitInterceptor> interceptors = new LinkedHashMap<>();
+
+    public ClientRateLimiters(RateLimitConfig rateLimitConfig, LoadTestConfig loadTestConfig, MeterRegistry meterRegistry) {
+        Set<String> apiKeys = Set.copyOf(rateLimitConfig.getApiKeys());
+        Set<String> exemptKeys = loadTestConfig.isEnabled() ? Set.of(loadTestConfig.getApiKey()) : Set.of();
+        for (RateLimitConfig.Route route : rateLimitConfig.getRoutes()) {
+            GcraRateLimiter rateLimiter = new GcraRateLimiter(route.getRequestsPerSecond(), route.getBurst(),
+                    rateLimitConfig.getMaxClients());
+            interceptors.put(route, new RateLimitInterceptor(route.getName(), rateLimitConfig.getClientHeader(), apiKeys,
+                    exemptKeys, rateLimiter, meterRegistry));
+            log.info("Rate limiting route {} {} to {} requests per second with a burst of {} per client",
+                    route.getName(), route.getPaths(), route.getRequestsPerSecond(), route.getBurst());
+        }
+    }
+
+    /**
+     * @return the interceptor of every configured route
+     */
+    public Map<RateLimitConfig.Route, RateLimitInterceptor> interceptors() {
+        return Collections.unmodifiableMap(interceptors);
+    }
+
+    /**
+     * Drops the state of the clients whose bucket is full again.
+     */
+    @Scheduled(fixedDelayString = "${spring.jms.rate-limit.sweep-interval:1m}",
+            initialDelayString = "${spring.jms.rate-limit.sweep-interval:1m}")
+    public void sweep() {
+        List<Integer> evicted = new ArrayList<>(interceptors.size());
+        for (RateLimitInterceptor interceptor : interceptors.values()) {
+            evicted.add(interceptor.getRateLimiter().evictIdle());
+        }
+        log.debug("Dropped idle rate limit clients per route: {}", evicted);
+    }
+}
@@ -0,0 +1,97 @@
+package com.eg.hospital.messaging.jms.processor.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free per-client token bucket, implemented as the generic cell rate algorithm (GCRA).
+ * <p>
+ * Instead of a token count and a refill timestamp, every client has a single theoretical arrival time: the time at
+ * which its bucket would be full again. A request is allowed if advancing that time by one emission interval
+ * ({@code 1 / rate}) keeps it within {@code burst} intervals of now, and the new time is published with a
+ * compare-and-set. A request therefore costs one map lookup, one {@link System#nanoTime()} and usually one CAS, with
+ * no lock and no background refill.
+ * </p>
+ * <p>
+ * A client whose arrival time has passed has a full bucket, which is the same as having no state, so
+ * {@link #evictIdle()} can drop such clients; at most a request racing with the sweep is forgotten. Once
+ * {@code maxClients} clients have state, further clients share one overflow bucket until a sweep makes room, so the
+ * memory held stays bounded however many identities are seen.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public class GcraRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxClients;
+    private final ConcurrentMap<String, AtomicLong> arrivalTimes = new ConcurrentHashMap<>();
+    private final AtomicLong overflowArrivalTime;
+
+    /**
+     * @param requestsPerSecond sustained rate allowed per client
+     * @param burst             number of requests allowed at once from a full bucket
+     * @param maxClients        number of clients with their own bucket
+     */
+    public GcraRateLimiter(double requestsPerSecond, int burst, int maxClients) {
+        if (requestsPerSecond <= 0 || burst < 1 || maxClients < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive rate and a burst and client limit of at least 1");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / requestsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.maxClients = maxClients;
+        this.overflowArrivalTime = new AtomicLong(nanoTime());
+    }
+
+    /**
+     * Takes one token from the client's bucket if one is available.
+     *
+     * @param client the client identity
+     * @return {@code 0} if the request is allowed, otherwise the nanoseconds until the client may retry
+     */
+    public long tryAcquire(String client) {
+        long now = nanoTime();
+        AtomicLong arrivalTime = arrivalTimes.get(client);
+        if (arrivalTime == null) {
+            arrivalTime = arrivalTimes.size() < maxClients
+                    ? arrivalTimes.computeIfAbsent(client, key -> new AtomicLong(now))
+                    : overflowArrivalTime;
+        }
+        while (true) {
+            long current = arrivalTime.get();
+            long next = (current - now > 0 ? current : now) + emissionIntervalNanos;
+            long wait = next - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrivalTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the state of the clients whose bucket is full again.
+     *
+     * @return the number of dropped clients
+     */
+    public int evictIdle() {
+        long now = nanoTime();
+        int before = arrivalTimes.size();
+        arrivalTimes.values().removeIf(arrivalTime -> arrivalTime.get() - now <= 0);
+        return before - arrivalTimes.size();
+    }
+
+    /**
+     * @return the number of clients with state
+     */
+    public int clients() {
+        return arrivalTimes.size();
+    }
+
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+}
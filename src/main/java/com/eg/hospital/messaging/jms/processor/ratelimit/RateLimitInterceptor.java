@@ -0,0 +1,84 @@
+package com.eg.hospital.messaging.jms.processor.ratelimit;
+
+import com.eg.hospital.messaging.jms.processor.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Applies the rate limit of one route to every request matching the route's paths.
+ * <p>
+ * The client is identified by the configured header when it carries one of the known API keys, and by the remote
+ * address otherwise; an unknown or missing key is never used as the identity, so made-up keys neither bypass the
+ * limit nor add tracked clients. Requests carrying one of the exempt keys, such as the load generator's, are not
+ * limited or counted. A request over the client's limit is rejected with a {@link RateLimitExceededException} before
+ * it reaches the controller. Decisions are counted in {@code http.rate.limit.decisions} by route and result, and the
+ * number of tracked clients is published as {@code http.rate.limit.clients}.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final String route;
+    private final String clientHeader;
+    private final Set<String> apiKeys;
+    private final Set<String> exemptKeys;
+    private final GcraRateLimiter rateLimiter;
+    private final Counter allowed;
+    private final Counter rejected;
+
+    public RateLimitInterceptor(String route, String clientHeader, Set<String> apiKeys, Set<String> exemptKeys,
+                                GcraRateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.route = route;
+        this.clientHeader = clientHeader;
+        this.apiKeys = apiKeys;
+        this.exemptKeys = exemptKeys;
+        this.rateLimiter = rateLimiter;
+        this.allowed = decisions(meterRegistry, route, "allowed");
+        this.rejected = decisions(meterRegistry, route, "rejected");
+        Gauge.builder("http.rate.limit.clients", rateLimiter, GcraRateLimiter::clients)
+                .description("Clients with rate limit state")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String client = request.getHeader(clientHeader);
+        if (client != null && exemptKeys.contains(client)) {
+            return true;
+        }
+        if (client == null || !apiKeys.contains(client)) {
+            client = request.getRemoteAddr();
+        }
+        long waitNanos = rateLimiter.tryAcquire(client);
+        if (waitNanos > 0) {
+            rejected.increment();
+            throw new RateLimitExceededException(route, Duration.ofNanos(waitNanos));
+        }
+        allowed.increment();
+        return true;
+    }
+
+    /**
+     * @return the rate limiter of the route
+     */
+    public GcraRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    private static Counter decisions(MeterRegistry meterRegistry, String route, String result) {
+        return Counter.builder("http.rate.limit.decisions")
+                .description("Rate limit decisions per route")
+                .tag("route", route)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -2,6 +2,8 @@ package com.eg.hospital.messaging.jms.processor.service;
 
 import com.eg.hospital.messaging.jms.processor.dto.RequestDTO;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Service interface for handling group creation
  * <p>
@@ -17,4 +19,13 @@ public interface CreateGroupService {
      * @param requestDTO The input data containing group ID and parent group ID.
      */
     void sendCreateGroupMessage(RequestDTO requestDTO);
-}
\ No newline at end of file
+
+    /**
+     * Asynchronous variant of {@link #sendCreateGroupMessage(RequestDTO)} that does not block the caller
+     * while the message is handed to the broker.
+     *
+     * @param requestDTO the incoming request containing group ID and parent group ID
+     * @return a future completed once the message has been accepted by the broker
+     */
+    CompletableFuture<Void> sendCreateGroupMessageAsync(RequestDTO requestDTO);
+}
@@ -2,15 +2,16 @@ package com.eg.hospital.messaging.jms.processor.service;
 
 import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
 import com.eg.hospital.messaging.jms.processor.dto.RequestDTO;
+import com.eg.hospital.messaging.jms.processor.logging.MessageLog;
 import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageProducer;
 import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
 import lombok.AllArgsConstructor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -32,7 +33,7 @@ import java.time.format.DateTimeFormatter;
 @AllArgsConstructor
 public class CreateGroupServiceImpl implements CreateGroupService {
 
-    private static final Logger log = LoggerFactory.getLogger(CreateGroupServiceImpl.class);
+    private static final MessageLog messageLog = MessageLog.forClass(CreateGroupServiceImpl.class);
 
     private final GroupMessageProducer groupMessageProducer;
 
@@ -52,6 +53,24 @@ public class CreateGroupServiceImpl implements CreateGroupService {
      */
     public void sendCreateGroupMessage(RequestDTO requestDTO) {
 
+        GroupMessageDTO message = buildCreateMessage(requestDTO);
+
+        groupMessageProducer.sendMessage(message);
+
+    }
+
+    /**
+     * Constructs a group creation message and sends it to the queue without blocking the caller.
+     *
+     * @param requestDTO the incoming group creation request
+     * @return a future completed once the message has been accepted by the broker
+     */
+    public CompletableFuture<Void> sendCreateGroupMessageAsync(RequestDTO requestDTO) {
+        return groupMessageProducer.sendMessageAsync(buildCreateMessage(requestDTO));
+    }
+
+    private GroupMessageDTO buildCreateMessage(RequestDTO requestDTO) {
+
         if (requestDTO.getGroupId().equalsIgnoreCase(requestDTO.getParentGroupId())) {
             throw new IllegalArgumentException("Group ID and Parent Group ID cannot be the same.");
         }
@@ -61,12 +80,11 @@ public class CreateGroupServiceImpl implements CreateGroupService {
                 parentGroupId(requestDTO.getParentGroupId()).
                 operation(JmsConstants.CREATE_OPERATION).
                 timestamp(DateTimeFormatter.ISO_INSTANT.format(Instant.now())).
+                operationId(UUID.randomUUID().toString()).
                 build();
 
-        log.info("Sending Create Group message to Producer: {}", message);
-
-        groupMessageProducer.sendMessage(message);
-
+        messageLog.info("Sending {} of Group Id: {} to the producer", message);
 
+        return message;
     }
 }
\ No newline at end of file
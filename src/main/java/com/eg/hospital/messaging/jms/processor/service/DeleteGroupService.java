@@ -2,6 +2,8 @@ package com.eg.hospital.messaging.jms.processor.service;
 
 import com.eg.hospital.messaging.jms.processor.dto.RequestDTO;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Service interface for handling group deletion logic.
  * <p>
@@ -27,4 +29,13 @@ public interface DeleteGroupService {
      * @param requestDTO the incoming request containing group details
      */
     void sendDeleteGroupMessage(RequestDTO requestDTO);
+
+    /**
+     * Asynchronous variant of {@link #sendDeleteGroupMessage(RequestDTO)} that does not block the caller
+     * while the message is handed to the broker.
+     *
+     * @param requestDTO the incoming request containing group ID and parent group ID
+     * @return a future completed once the message has been accepted by the broker
+     */
+    CompletableFuture<Void> sendDeleteGroupMessageAsync(RequestDTO requestDTO);
 }
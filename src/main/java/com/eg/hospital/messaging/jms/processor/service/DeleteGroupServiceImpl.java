@@ -2,15 +2,16 @@ package com.eg.hospital.messaging.jms.processor.service;
 
 import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
 import com.eg.hospital.messaging.jms.processor.dto.RequestDTO;
+import com.eg.hospital.messaging.jms.processor.logging.MessageLog;
 import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageProducer;
 import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
 import lombok.AllArgsConstructor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service implementation for handling group deletion.
@@ -31,7 +32,7 @@ import java.time.format.DateTimeFormatter;
 @AllArgsConstructor
 public class DeleteGroupServiceImpl implements DeleteGroupService {
 
-    private static final Logger log = LoggerFactory.getLogger(DeleteGroupServiceImpl.class);
+    private static final MessageLog messageLog = MessageLog.forClass(DeleteGroupServiceImpl.class);
 
     private final GroupMessageProducer groupMessageProducer;
     /**
@@ -50,6 +51,24 @@ public class DeleteGroupServiceImpl implements DeleteGroupService {
      */
     public void sendDeleteGroupMessage(RequestDTO requestDTO) {
 
+        GroupMessageDTO message = buildDeleteMessage(requestDTO);
+
+        groupMessageProducer.sendMessage(message);
+
+    }
+
+    /**
+     * Constructs a group deletion message and sends it to the queue without blocking the caller.
+     *
+     * @param requestDTO the incoming group deletion request
+     * @return a future completed once the message has been accepted by the broker
+     */
+    public CompletableFuture<Void> sendDeleteGroupMessageAsync(RequestDTO requestDTO) {
+        return groupMessageProducer.sendMessageAsync(buildDeleteMessage(requestDTO));
+    }
+
+    private GroupMessageDTO buildDeleteMessage(RequestDTO requestDTO) {
+
         if (requestDTO.getGroupId().equalsIgnoreCase(requestDTO.getParentGroupId())) {
             throw new IllegalArgumentException("Group ID and Parent Group ID cannot be the same.");
         }
@@ -59,12 +78,12 @@ public class DeleteGroupServiceImpl implements DeleteGroupService {
                 parentGroupId(requestDTO.getParentGroupId()).
                 operation(JmsConstants.DELETE_OPERATION).
                 timestamp(DateTimeFormatter.ISO_INSTANT.format(Instant.now())).
+                operationId(UUID.randomUUID().toString()).
                 build();
 
-        log.info("Sending Delete Group message to Producer: {}", message );
-
-        groupMessageProducer.sendMessage(message);
+        messageLog.info("Sending {} of Group Id: {} to the producer", message);
 
+        return message;
     }
 
 }
\ No newline at end of file
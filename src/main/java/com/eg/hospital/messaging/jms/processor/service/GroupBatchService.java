@@ -0,0 +1,23 @@
+package com.eg.hospital.messaging.jms.processor.service;
+
+import com.eg.hospital.messaging.jms.processor.dto.BatchRequestDTO;
+import com.eg.hospital.messaging.jms.processor.dto.BatchResponseDTO;
+
+/**
+ * Service interface for handling bulk group operations.
+ * <p>
+ * Implementations transform a batch of mixed CREATE/DELETE operations into message
+ * payloads and hand them to the producer in one batched call.
+ * </p>
+ *
+ * @author Sanjay Navada
+ */
+public interface GroupBatchService {
+    /**
+     * Sends every operation of the batch to the queue.
+     *
+     * @param batchRequestDTO the operations to send
+     * @return a summary together with one result per operation, in request order
+     */
+    BatchResponseDTO sendGroupMessages(BatchRequestDTO batchRequestDTO);
+}
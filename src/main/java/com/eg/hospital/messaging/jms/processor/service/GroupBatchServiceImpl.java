@@ -0,0 +1,113 @@
+package com.eg.hospital.messaging.jms.processor.service;
+
+import com.eg.hospital.messaging.jms.processor.config.BatchConfig;
+import com.eg.hospital.messaging.jms.processor.dto.BatchItemResultDTO;
+import com.eg.hospital.messaging.jms.processor.dto.BatchOperationDTO;
+import com.eg.hospital.messaging.jms.processor.dto.BatchRequestDTO;
+import com.eg.hospital.messaging.jms.processor.dto.BatchResponseDTO;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageProducer;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service implementation for handling bulk group operations.
+ * <p>
+ * Each operation of the {@link BatchRequestDTO} is checked with the same business rule as the single
+ * CREATE/DELETE services (group ID and parent group ID must differ). Rejected operations are reported
+ * without being sent, the remaining ones are converted into {@link GroupMessageDTO}s and handed to
+ * {@link GroupMessageProducer#sendMessages} in a single call.
+ * </p>
+ *
+ * @author Sanjay Navada
+ */
+@Service
+@AllArgsConstructor
+public class GroupBatchServiceImpl implements GroupBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupBatchServiceImpl.class);
+
+    private final GroupMessageProducer groupMessageProducer;
+    private final BatchConfig batchConfig;
+
+    /**
+     * Validates, converts and sends the batch.
+     *
+     * @param batchRequestDTO the operations to send
+     * @return the batch summary with one result per operation, in request order
+     * @throws IllegalArgumentException if the batch exceeds the configured maximum size
+     */
+    @Override
+    public BatchResponseDTO sendGroupMessages(BatchRequestDTO batchRequestDTO) {
+        List<BatchOperationDTO> operations = batchRequestDTO.getOperations();
+        if (operations.size() > batchConfig.getMaxOperations()) {
+            throw new IllegalArgumentException("Batch cannot contain more than " + batchConfig.getMaxOperations() + " operations.");
+        }
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[operations.size()];
+        List<GroupMessageDTO> messages = new ArrayList<>(operations.size());
+        List<Integer> messageIndexes = new ArrayList<>(operations.size());
+        String timestamp = DateTimeFormatter.ISO_INSTANT.format(Instant.now());
+
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperationDTO operation = operations.get(i);
+            if (operation.getGroupId().equalsIgnoreCase(operation.getParentGroupId())) {
+                results[i] = BatchItemResultDTO.builder()
+                        .index(i)
+                        .groupId(operation.getGroupId())
+                        .operation(operation.getOperation())
+                        .status(JmsConstants.ITEM_REJECTED)
+                        .message("Group ID and Parent Group ID cannot be the same.")
+                        .build();
+                continue;
+            }
+            messages.add(GroupMessageDTO.builder().
+                    groupId(operation.getGroupId()).
+                    parentGroupId(operation.getParentGroupId()).
+                    operation(operation.getOperation()).
+                    timestamp(timestamp).
+                    operationId(UUID.randomUUID().toString()).
+                    build());
+            messageIndexes.add(i);
+        }
+
+        log.info("Sending batch of {} group messages to Producer ({} rejected)", messages.size(), operations.size() - messages.size());
+
+        if (!messages.isEmpty()) {
+            List<BatchItemResultDTO> sent = groupMessageProducer.sendMessages(messages);
+            for (int i = 0; i < sent.size(); i++) {
+                BatchItemResultDTO result = sent.get(i);
+                result.setIndex(messageIndexes.get(i));
+                results[result.getIndex()] = result;
+            }
+        }
+
+        int sentCount = (int) Arrays.stream(results)
+                .filter(result -> JmsConstants.ITEM_SENT.equals(result.getStatus()))
+                .count();
+        boolean allSent = sentCount == results.length;
+        HttpStatus status = allSent ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+
+        return BatchResponseDTO.builder()
+                .timestamp(DateTimeFormatter.ISO_INSTANT.format(Instant.now()))
+                .status(status.value())
+                .code(allSent ? JmsConstants.BATCH_SUCCESS : JmsConstants.BATCH_PARTIAL_FAILURE)
+                .message(sentCount + " of " + results.length + " group messages sent to queue successfully")
+                .total(results.length)
+                .sent(sentCount)
+                .failed(results.length - sentCount)
+                .results(Arrays.asList(results))
+                .build();
+    }
+}
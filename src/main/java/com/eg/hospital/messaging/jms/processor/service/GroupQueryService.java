@@ -0,0 +1,46 @@
+package com.eg.hospital.messaging.jms.processor.service;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupNodeDTO;
+import com.eg.hospital.messaging.jms.processor.exception.GroupNotFoundException;
+
+import java.util.List;
+
+/**
+ * Service interface for querying the group tree maintained by the queue listeners.
+ * <p>
+ * The answers reflect the CREATE and DELETE messages consumed so far, so a group becomes visible
+ * only once its message has been processed.
+ * </p>
+ *
+ * @author Sanjay
+ */
+public interface GroupQueryService {
+
+    /**
+     * Returns a group with its parent and child count.
+     *
+     * @param groupId the group id
+     * @return the group
+     * @throws GroupNotFoundException if the group is not indexed
+     */
+    GroupNodeDTO getGroup(String groupId);
+
+    /**
+     * Returns the direct children of a group or of a parent id referenced by indexed groups.
+     *
+     * @param groupId the parent group id
+     * @param limit   the maximum number of children returned
+     * @return the child group ids
+     * @throws GroupNotFoundException if the id is neither indexed nor a parent of an indexed group
+     */
+    List<String> getChildren(String groupId, int limit);
+
+    /**
+     * Returns the parents of a group, nearest first.
+     *
+     * @param groupId the group id
+     * @return the ancestor group ids
+     * @throws GroupNotFoundException if the group is not indexed
+     */
+    List<String> getAncestors(String groupId);
+}
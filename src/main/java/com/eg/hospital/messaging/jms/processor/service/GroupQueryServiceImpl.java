@@ -0,0 +1,54 @@
+package com.eg.hospital.messaging.jms.processor.service;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupNodeDTO;
+import com.eg.hospital.messaging.jms.processor.exception.GroupNotFoundException;
+import com.eg.hospital.messaging.jms.processor.hierarchy.GroupHierarchyIndex;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Implementation of the {@link GroupQueryService} interface that answers from the {@link GroupHierarchyIndex}.
+ *
+ * @author Sanjay
+ */
+@Service
+@AllArgsConstructor
+public class GroupQueryServiceImpl implements GroupQueryService {
+
+    private final GroupHierarchyIndex groupHierarchyIndex;
+
+    @Override
+    public GroupNodeDTO getGroup(String groupId) {
+        if (!groupHierarchyIndex.contains(groupId)) {
+            throw new GroupNotFoundException(groupId);
+        }
+        String parentGroupId = groupHierarchyIndex.parentOf(groupId);
+        return GroupNodeDTO.builder()
+                .groupId(groupId)
+                .parentGroupId(parentGroupId)
+                .parentPresent(parentGroupId != null && groupHierarchyIndex.contains(parentGroupId))
+                .childCount(groupHierarchyIndex.childCount(groupId))
+                .build();
+    }
+
+    @Override
+    public List<String> getChildren(String groupId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        if (!groupHierarchyIndex.contains(groupId) && groupHierarchyIndex.childCount(groupId) == 0) {
+            throw new GroupNotFoundException(groupId);
+        }
+        return groupHierarchyIndex.children(groupId, limit);
+    }
+
+    @Override
+    public List<String> getAncestors(String groupId) {
+        if (!groupHierarchyIndex.contains(groupId)) {
+            throw new GroupNotFoundException(groupId);
+        }
+        return groupHierarchyIndex.ancestors(groupId);
+    }
+}
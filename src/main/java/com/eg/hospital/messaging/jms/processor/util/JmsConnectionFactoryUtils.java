@@ -0,0 +1,29 @@
+package com.eg.hospital.messaging.jms.processor.util;
+
+import jakarta.jms.ConnectionFactory;
+import org.springframework.jms.connection.SingleConnectionFactory;
+
+/**
+ * Utility methods for working with the auto-configured {@link ConnectionFactory}.
+ *
+ * @author Sanjay
+ */
+public class JmsConnectionFactoryUtils {
+
+    private JmsConnectionFactoryUtils() {
+    }
+
+    /**
+     * Returns the broker connection factory behind Spring's caching/single connection wrappers.
+     *
+     * @param connectionFactory the injected connection factory
+     * @return the underlying provider connection factory, or {@code connectionFactory} if it is not wrapped
+     */
+    public static ConnectionFactory targetConnectionFactory(ConnectionFactory connectionFactory) {
+        if (connectionFactory instanceof SingleConnectionFactory singleConnectionFactory
+                && singleConnectionFactory.getTargetConnectionFactory() != null) {
+            return singleConnectionFactory.getTargetConnectionFactory();
+        }
+        return connectionFactory;
+    }
+}
@@ -28,4 +28,26 @@ public class JmsConstants {
     public static final String ILLEGAL_ARGUMENT = "ILLEGAL_ARGUMENT";
     public static final String UNEXPECTED_ERROR = "UNEXPECTED_ERROR";
     public static final String LISTENER_ERROR = "LISTENER_ERROR";
+    public static final String GROUP_NOT_FOUND = "GROUP_NOT_FOUND";
+    public static final String TOO_MANY_IN_FLIGHT = "TOO_MANY_IN_FLIGHT";
+    public static final String BROKER_OVERLOADED = "BROKER_OVERLOADED";
+    public static final String RATE_LIMITED = "RATE_LIMITED";
+    public static final String METHOD_NOT_ALLOWED = "METHOD_NOT_ALLOWED";
+    public static final String BATCH_SUCCESS = "GROUP_BATCH_SUCCESS";
+    public static final String BATCH_PARTIAL_FAILURE = "GROUP_BATCH_PARTIAL_FAILURE";
+    public static final String ITEM_SENT = "SENT";
+    public static final String ITEM_REJECTED = "REJECTED";
+    public static final String ITEM_FAILED = "FAILED";
+    public static final String TYPE_ID_PROPERTY = "_type";
+    public static final String COMPRESSION = "_compression";
+    public static final String JMSX_GROUP_ID = "JMSXGroupID";
+    public static final String CREATE_LISTENER_ID = "createGroupListener";
+    public static final String DELETE_LISTENER_ID = "deleteGroupListener";
+    public static final String DISPATCH_LISTENER_ID = "groupDispatchListener";
+    public static final String DEAD_LETTER_LISTENER_ID = "deadLetterListener";
+    public static final String HIERARCHY_STORE = "groupHierarchyStore";
+    public static final String BROKER_SERVICE = "brokerService";
+    public static final String DEAD_LETTER_QUEUE = "ActiveMQ.DLQ";
+    public static final String DLQ_DELIVERY_FAILURE_CAUSE = "dlqDeliveryFailureCause";
+    public static final String DLQ_REASON = "dlqReason";
 }
@@ -0,0 +1,64 @@
+package com.eg.hospital.messaging.jms.processor.aspect;
+
+import com.eg.hospital.messaging.jms.processor.config.DeduplicationConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.messaging.dedup.OperationDeduplicationCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DeduplicationAspectTest {
+
+    private final DeduplicationConfig deduplicationConfig = new DeduplicationConfig();
+    private final OperationDeduplicationCache cache = new OperationDeduplicationCache(deduplicationConfig, new SimpleMeterRegistry());
+    private final DeduplicationAspect aspect = new DeduplicationAspect(cache, deduplicationConfig);
+
+    private ProceedingJoinPoint joinPoint;
+
+    @BeforeEach
+    void setUp() {
+        joinPoint = mock(ProceedingJoinPoint.class);
+    }
+
+    @Test
+    void testSkipsRedeliveredOperation() throws Throwable {
+        GroupMessageDTO message = message("op-1");
+
+        aspect.skipDuplicates(joinPoint, message);
+        aspect.skipDuplicates(joinPoint, message);
+
+        verify(joinPoint, times(1)).proceed();
+    }
+
+    @Test
+    void testFailedProcessingIsRetried() throws Throwable {
+        GroupMessageDTO message = message("op-1");
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom")).thenReturn(null);
+
+        assertThrows(IllegalStateException.class, () -> aspect.skipDuplicates(joinPoint, message));
+        aspect.skipDuplicates(joinPoint, message);
+        aspect.skipDuplicates(joinPoint, message);
+
+        verify(joinPoint, times(2)).proceed();
+    }
+
+    @Test
+    void testMessagesWithoutOperationIdOrWhenDisabledAreAlwaysProcessed() throws Throwable {
+        aspect.skipDuplicates(joinPoint, message(null));
+        aspect.skipDuplicates(joinPoint, message(null));
+        deduplicationConfig.setEnabled(false);
+        aspect.skipDuplicates(joinPoint, message("op-1"));
+        aspect.skipDuplicates(joinPoint, message("op-1"));
+
+        verify(joinPoint, times(4)).proceed();
+        assertEquals(0, cache.size());
+    }
+
+    private static GroupMessageDTO message(String operationId) {
+        return GroupMessageDTO.builder().groupId("G123").operation("CREATE").operationId(operationId).build();
+    }
+}
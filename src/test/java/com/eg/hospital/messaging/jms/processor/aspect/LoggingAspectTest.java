@@ -1,8 +1,12 @@
 package com.eg.hospital.messaging.jms.processor.aspect;
 
+import com.eg.hospital.messaging.jms.processor.config.MessageLoggingConfig.MethodInstrumentation;
 import com.eg.hospital.messaging.jms.processor.dto.RequestDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import nl.altindag.log.LogCaptor;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +30,12 @@ class LoggingAspectTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private LoggingAspect loggingAspect;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private LogCaptor logCaptor;
 
     @BeforeEach
@@ -34,6 +44,11 @@ class LoggingAspectTest {
         logCaptor.clearLogs();
     }
 
+    @AfterEach
+    void tearDown() {
+        loggingAspect.setMode(MethodInstrumentation.LOG);
+    }
+
     @Test
     void testServiceLoggingAspectLogsInput() throws Exception {
         RequestDTO request = new RequestDTO();
@@ -78,4 +93,47 @@ class LoggingAspectTest {
         assertThat(logCaptor.getInfoLogs())
                 .anyMatch(log -> log.contains("G999") || log.contains("called with request body"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTimingModeRecordsCallsInsteadOfLogging() throws Exception {
+        loggingAspect.setMode(MethodInstrumentation.TIMING);
+        long controllerCalls = count("GroupController", "createGroup");
+        long serviceCalls = count("CreateGroupServiceImpl", "sendCreateGroupMessage");
+        RequestDTO request = new RequestDTO();
+        request.setGroupId("G-400");
+        request.setParentGroupId("P-400");
+
+        mockMvc.perform(post("/groups/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        assertThat(logCaptor.getInfoLogs()).noneMatch(log -> log.contains("G-400") || log.contains("Entering"));
+        assertThat(count("GroupController", "createGroup")).isEqualTo(controllerCalls + 1);
+        assertThat(count("CreateGroupServiceImpl", "sendCreateGroupMessage")).isEqualTo(serviceCalls + 1);
+    }
+
+    @Test
+    void testOffModeNeitherLogsNorTimes() throws Exception {
+        loggingAspect.setMode(MethodInstrumentation.OFF);
+        long controllerCalls = count("GroupController", "deleteGroup");
+        RequestDTO request = new RequestDTO();
+        request.setGroupId("G-500");
+        request.setParentGroupId("P-500");
+
+        mockMvc.perform(delete("/groups/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        assertThat(logCaptor.getInfoLogs()).noneMatch(log -> log.contains("G-500") || log.contains("Entering"));
+        assertThat(count("GroupController", "deleteGroup")).isEqualTo(controllerCalls);
+    }
+
+    private long count(String className, String methodName) {
+        Timer timer = meterRegistry.find("request.method")
+                .tags("class", className, "method", methodName, "result", "success")
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
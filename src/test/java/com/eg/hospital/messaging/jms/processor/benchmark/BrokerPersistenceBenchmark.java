@@ -0,0 +1,138 @@
+package com.eg.hospital.messaging.jms.processor.benchmark;
+
+import com.eg.hospital.messaging.jms.processor.config.BrokerConfig;
+import com.eg.hospital.messaging.jms.processor.config.JmsConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.messaging.broker.EmbeddedBrokerFactory;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import jakarta.jms.Connection;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the send throughput and latency of persistent group messages for every
+ * {@link BrokerConfig.Profile} of the embedded broker.
+ * <p>
+ * {@value #PRODUCERS} producer threads each send persistent messages on their own session, as the REST threads do,
+ * while one consumer drains the queue, so the broker stores and dispatches at the same time. The throughput mode
+ * shows how well a profile groups concurrent writes into one disk sync; the sample time mode shows the latency a
+ * caller waits for the broker to acknowledge one send. Each trial uses a fresh KahaDB directory with the profile's
+ * default settings.
+ * </p>
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Djmh.includes=BrokerPersistenceBenchmark}. Results depend
+ * heavily on the disk, so compare the profiles on the machine the broker runs on.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(BrokerPersistenceBenchmark.PRODUCERS)
+@Fork(1)
+public class BrokerPersistenceBenchmark {
+
+    static final int PRODUCERS = 4;
+    private static final String BROKER_NAME = "persistence-benchmark";
+    private static final String QUEUE = "hospital.management.benchmark";
+
+    @Param({"DURABLE_SYNC", "BATCHED_SYNC", "ASYNC_JOURNAL", "NON_PERSISTENT"})
+    public BrokerConfig.Profile profile;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private Path dataDirectory;
+    private BrokerService broker;
+    private Connection connection;
+    private Session consumerSession;
+    private MessageConverter messageConverter;
+
+    @Setup(Level.Trial)
+    public void startBroker() throws Exception {
+        dataDirectory = Files.createTempDirectory("broker-benchmark");
+        BrokerConfig brokerConfig = new BrokerConfig();
+        brokerConfig.setName(BROKER_NAME);
+        brokerConfig.setDataDirectory(dataDirectory.toString());
+        brokerConfig.setProfile(profile);
+        broker = EmbeddedBrokerFactory.createBroker(brokerConfig);
+        broker.setUseJmx(false);
+        broker.start();
+        broker.waitUntilStarted();
+
+        connection = new ActiveMQConnectionFactory("vm://" + BROKER_NAME + "?create=false").createConnection();
+        connection.start();
+        consumerSession = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        consumerSession.createConsumer(consumerSession.createQueue(QUEUE)).setMessageListener(message -> {
+        });
+        messageConverter = new JmsConfig().jacksonJmsMessageConverter();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopBroker() throws Exception {
+        connection.close();
+        broker.stop();
+        broker.waitUntilStopped();
+        FileSystemUtils.deleteRecursively(dataDirectory);
+    }
+
+    /**
+     * The session and producer of one producer thread.
+     */
+    @State(Scope.Thread)
+    public static class Producer {
+
+        Session session;
+        MessageProducer producer;
+
+        @Setup(Level.Trial)
+        public void open(BrokerPersistenceBenchmark benchmark) throws JMSException {
+            session = benchmark.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            producer = session.createProducer(session.createQueue(QUEUE));
+            producer.setDeliveryMode(DeliveryMode.PERSISTENT);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws JMSException {
+            session.close();
+        }
+    }
+
+    @Benchmark
+    public void send(Producer producer) throws JMSException, IOException {
+        long id = sequence.incrementAndGet();
+        GroupMessageDTO dto = GroupMessageDTO.builder()
+                .groupId("GRP-" + id).parentGroupId("PARENT-" + (id % 64)).operation(JmsConstants.CREATE_OPERATION).build();
+        Message message = messageConverter.toMessage(dto, producer.session);
+        producer.producer.send(message);
+    }
+}
@@ -0,0 +1,187 @@
+package com.eg.hospital.messaging.jms.processor.benchmark;
+
+import com.eg.hospital.messaging.jms.processor.config.JmsConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageListener;
+import com.eg.hospital.messaging.jms.processor.messaging.dispatch.GroupMessageHandlerRegistry;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import jakarta.jms.Connection;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jms.support.converter.MessageConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the drain throughput of the hospital management queue in {@code SELECTOR} mode (one selector-filtered
+ * consumer per operation) with {@code DISPATCHER} mode (one consumer without selector routing through the
+ * {@link GroupMessageHandlerRegistry}).
+ * <p>
+ * Each invocation fills an embedded non-persistent broker with {@value #MESSAGES} messages in the given
+ * CREATE/DELETE mix and measures the time for the consumers to drain them. The handlers only count, so the
+ * result isolates broker dispatch, selector evaluation and payload conversion.
+ * </p>
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Djmh.includes=ConsumerDispatchBenchmark}.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConsumerDispatchBenchmark {
+
+    static final int MESSAGES = 10_000;
+    private static final String QUEUE = "hospital.management.benchmark";
+
+    @Param({"SELECTOR", "DISPATCHER"})
+    public String mode;
+
+    @Param({"50", "90"})
+    public int createPercent;
+
+    private BrokerService broker;
+    private Connection connection;
+    private MessageConverter messageConverter;
+    private GroupMessageHandlerRegistry handlerRegistry;
+    private volatile CountDownLatch drained;
+
+    @Setup(Level.Trial)
+    public void startBroker() throws Exception {
+        broker = new BrokerService();
+        broker.setBrokerName("dispatch-benchmark");
+        broker.setPersistent(false);
+        broker.setUseJmx(false);
+        broker.start();
+        broker.waitUntilStarted();
+
+        connection = new ActiveMQConnectionFactory("vm://dispatch-benchmark?create=false").createConnection();
+        connection.start();
+        messageConverter = new JmsConfig().jacksonJmsMessageConverter();
+        handlerRegistry = new GroupMessageHandlerRegistry(List.of(
+                new CountingListener(JmsConstants.CREATE_OPERATION), new CountingListener(JmsConstants.DELETE_OPERATION)));
+    }
+
+    @Setup(Level.Invocation)
+    public void fillQueue() throws JMSException {
+        drained = new CountDownLatch(MESSAGES);
+        Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        try {
+            MessageProducer producer = session.createProducer(session.createQueue(QUEUE));
+            producer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+            for (int i = 0; i < MESSAGES; i++) {
+                String operation = i % 100 < createPercent ? JmsConstants.CREATE_OPERATION : JmsConstants.DELETE_OPERATION;
+                GroupMessageDTO dto = GroupMessageDTO.builder()
+                        .groupId("G" + i).parentGroupId("P" + (i % 64)).operation(operation).build();
+                Message message = messageConverter.toMessage(dto, session);
+                message.setStringProperty(JmsConstants.OPERATION, operation);
+                producer.send(message);
+            }
+        } finally {
+            session.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void drain() throws Exception {
+        List<Session> sessions = new ArrayList<>();
+        try {
+            if ("SELECTOR".equals(mode)) {
+                for (String operation : handlerRegistry.operations()) {
+                    Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+                    sessions.add(session);
+                    GroupMessageListener handler = handlerRegistry.handlerFor(operation);
+                    MessageConsumer consumer = session.createConsumer(queue(session), "operation = '" + operation + "'");
+                    consumer.setMessageListener(message -> handler.processMessage(fromMessage(message)));
+                }
+            } else {
+                Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+                sessions.add(session);
+                MessageConsumer consumer = session.createConsumer(queue(session));
+                consumer.setMessageListener(message -> dispatch(message));
+            }
+            if (!drained.await(60, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Queue not drained, " + drained.getCount() + " messages left");
+            }
+        } finally {
+            for (Session session : sessions) {
+                session.close();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopBroker() throws Exception {
+        connection.close();
+        broker.stop();
+        broker.waitUntilStopped();
+    }
+
+    private void dispatch(Message message) {
+        try {
+            handlerRegistry.handlerFor(message.getStringProperty(JmsConstants.OPERATION)).processMessage(fromMessage(message));
+        } catch (JMSException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private GroupMessageDTO fromMessage(Message message) {
+        try {
+            return (GroupMessageDTO) messageConverter.fromMessage(message);
+        } catch (JMSException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Queue queue(Session session) throws JMSException {
+        return session.createQueue(QUEUE);
+    }
+
+    private final class CountingListener implements GroupMessageListener {
+
+        private final String operation;
+
+        private CountingListener(String operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public void processMessage(GroupMessageDTO message) {
+            drained.countDown();
+        }
+
+        @Override
+        public String getOperation() {
+            return operation;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.eg.hospital.messaging.jms.processor.benchmark;
+
+import com.eg.hospital.messaging.jms.processor.config.DeadLetterConfig;
+import com.eg.hospital.messaging.jms.processor.dto.BatchItemResultDTO;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageProducer;
+import com.eg.hospital.messaging.jms.processor.messaging.deadletter.DeadLetterReplayer;
+import com.eg.hospital.messaging.jms.processor.messaging.deadletter.DeadLetterStore;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long a replay takes to drain {@value #ENTRIES} held dead letters from the {@link DeadLetterStore}.
+ * <p>
+ * Each invocation fills the store with messages spread over {@value #REASONS} failure reasons and both operations,
+ * then replays them at the highest accepted rate to a producer that accepts every batch without a broker, so the
+ * result is the cost of the store, the pacing and the bookkeeping of the {@link DeadLetterReplayer} alone. With
+ * {@code reason=ANY} every entry is replayed; with a single reason a quarter of them are, which shows that a filtered
+ * replay only pays for the entries it selects. The highest rate is one million messages per second, so a result
+ * close to one second per million replayed entries means the store keeps up with the pacing. Against the broker the
+ * replay is bounded by the send path measured by {@link GroupSendBenchmark} and by the configured rate.
+ * </p>
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Djmh.includes=DeadLetterReplayBenchmark}.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DeadLetterReplayBenchmark {
+
+    static final int ENTRIES = 1_000_000;
+    static final int REASONS = 4;
+    static final String QUEUE = "DLQ.hospital.management.benchmark";
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    @Param({"ANY", "REASON_0"})
+    public String reason;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DeadLetterStore store;
+    private DeadLetterReplayer replayer;
+
+    @Setup(Level.Invocation)
+    public void fill() {
+        DeadLetterConfig deadLetterConfig = new DeadLetterConfig();
+        deadLetterConfig.setCapacity(ENTRIES);
+        deadLetterConfig.setReturnOnShutdown(false);
+        deadLetterConfig.setReplayBatchSize(batchSize);
+        store = new DeadLetterStore(deadLetterConfig, null, meterRegistry);
+        replayer = new DeadLetterReplayer(deadLetterConfig, store, new AcceptingProducer(), meterRegistry);
+        for (int i = 0; i < ENTRIES; i++) {
+            GroupMessageDTO message = GroupMessageDTO.builder()
+                    .groupId("G" + i)
+                    .parentGroupId("P" + (i % 1000))
+                    .operation(i % 2 == 0 ? JmsConstants.CREATE_OPERATION : JmsConstants.DELETE_OPERATION)
+                    .build();
+            store.add(message, "REASON_" + (i % REASONS), QUEUE);
+        }
+    }
+
+    @Benchmark
+    public Object drain() throws InterruptedException {
+        replayer.start("ANY".equals(reason) ? null : reason, null, null, 1_000_000);
+        Map<String, Object> progress = replayer.progress();
+        while ("RUNNING".equals(progress.get("state").toString())) {
+            TimeUnit.MICROSECONDS.sleep(200);
+            progress = replayer.progress();
+        }
+        return progress.get("replayed");
+    }
+
+    /**
+     * Accepts every batch as sent.
+     */
+    private static class AcceptingProducer implements GroupMessageProducer {
+
+        @Override
+        public void sendMessage(GroupMessageDTO message) {
+        }
+
+        @Override
+        public List<BatchItemResultDTO> sendMessages(List<GroupMessageDTO> messages) {
+            List<BatchItemResultDTO> results = new ArrayList<>(messages.size());
+            for (int i = 0; i < messages.size(); i++) {
+                results.add(BatchItemResultDTO.builder().index(i).status(JmsConstants.ITEM_SENT).build());
+            }
+            return results;
+        }
+
+        @Override
+        public CompletableFuture<Void> sendMessageAsync(GroupMessageDTO message) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
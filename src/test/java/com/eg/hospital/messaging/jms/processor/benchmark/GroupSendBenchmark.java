@@ -0,0 +1,146 @@
+package com.eg.hospital.messaging.jms.processor.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.eg.hospital.messaging.jms.processor.config.BatchConfig;
+import com.eg.hospital.messaging.jms.processor.config.BrokerConfig;
+import com.eg.hospital.messaging.jms.processor.config.CompressionConfig;
+import com.eg.hospital.messaging.jms.processor.config.JmsConfig;
+import com.eg.hospital.messaging.jms.processor.config.JmsPoolConfig;
+import com.eg.hospital.messaging.jms.processor.config.OrderingConfig;
+import com.eg.hospital.messaging.jms.processor.config.QueueConfig;
+import com.eg.hospital.messaging.jms.processor.config.WireFormatConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.dto.RequestDTO;
+import com.eg.hospital.messaging.jms.processor.messaging.JmsMessageProducer;
+import com.eg.hospital.messaging.jms.processor.messaging.broker.EmbeddedBrokerFactory;
+import com.eg.hospital.messaging.jms.processor.messaging.ordering.MessageGroupAssigner;
+import com.eg.hospital.messaging.jms.processor.messaging.pool.InstrumentedConnectionPool;
+import com.eg.hospital.messaging.jms.processor.service.CreateGroupServiceImpl;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.Connection;
+import jakarta.jms.Session;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the blocking send path from the service layer to the embedded {@code vm://localhost} broker.
+ * <p>
+ * {@code producerSend} calls {@link JmsMessageProducer#sendMessage(GroupMessageDTO)} with a prebuilt message, and
+ * {@code serviceSend} calls {@link CreateGroupServiceImpl#sendCreateGroupMessage(RequestDTO)}, which also builds the
+ * message with its timestamp and operation id. Both send through a {@link JmsTemplate} over the
+ * {@link InstrumentedConnectionPool} built by {@link JmsConfig#jmsConnectionPool}, with the default pool settings and
+ * the application's message converter, as the application does, while a consumer drains the queue. Logging is raised
+ * to {@code WARN} so that the result does not include console output.
+ * </p>
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Djmh.includes=GroupSendBenchmark}; the benchmark profile adds the
+ * GC profiler, so the allocation rate per send is reported next to the throughput.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class GroupSendBenchmark {
+
+    private static final String QUEUE = "hospital.management.benchmark";
+
+    @Param({"NON_PERSISTENT", "BATCHED_SYNC"})
+    public BrokerConfig.Profile profile;
+
+    private Path dataDirectory;
+    private BrokerService broker;
+    private Connection consumerConnection;
+    private InstrumentedConnectionPool connectionPool;
+    private JmsMessageProducer producer;
+    private CreateGroupServiceImpl createGroupService;
+    private GroupMessageDTO message;
+    private RequestDTO request;
+
+    @Setup
+    public void setUp() throws Exception {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        dataDirectory = Files.createTempDirectory("send-benchmark");
+        BrokerConfig brokerConfig = new BrokerConfig();
+        brokerConfig.setDataDirectory(dataDirectory.toString());
+        brokerConfig.setProfile(profile);
+        broker = EmbeddedBrokerFactory.createBroker(brokerConfig);
+        broker.setUseJmx(false);
+        broker.start();
+        broker.waitUntilStarted();
+
+        ActiveMQConnectionFactory activeMQConnectionFactory = new ActiveMQConnectionFactory("vm://localhost?create=false");
+        consumerConnection = activeMQConnectionFactory.createConnection();
+        consumerConnection.start();
+        Session consumerSession = consumerConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        consumerSession.createConsumer(consumerSession.createQueue(QUEUE)).setMessageListener(received -> {
+        });
+
+        JmsConfig jmsConfig = new JmsConfig();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        connectionPool = jmsConfig.jmsConnectionPool(activeMQConnectionFactory, new JmsPoolConfig(), meterRegistry);
+        JmsTemplate jmsTemplate = new JmsTemplate(connectionPool.getConnectionFactory());
+        jmsTemplate.setMessageConverter(jmsConfig.groupMessageConverter(new WireFormatConfig(), new CompressionConfig(),
+                meterRegistry));
+        QueueConfig queueConfig = new QueueConfig();
+        queueConfig.setHospitalManagement(QUEUE);
+        producer = new JmsMessageProducer(jmsTemplate, queueConfig, new BatchConfig(), null,
+                new MessageGroupAssigner(new OrderingConfig()));
+        createGroupService = new CreateGroupServiceImpl(producer);
+
+        message = GroupMessageDTO.builder()
+                .groupId("GRP-1001").parentGroupId("PARENT-1").operation(JmsConstants.CREATE_OPERATION)
+                .timestamp(DateTimeFormatter.ISO_INSTANT.format(Instant.now()))
+                .operationId(UUID.randomUUID().toString())
+                .build();
+        request = new RequestDTO();
+        request.setGroupId("GRP-1001");
+        request.setParentGroupId("PARENT-1");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connectionPool.destroy();
+        consumerConnection.close();
+        broker.stop();
+        broker.waitUntilStopped();
+        FileSystemUtils.deleteRecursively(dataDirectory);
+    }
+
+    @Benchmark
+    public void producerSend() {
+        producer.sendMessage(message);
+    }
+
+    @Benchmark
+    public void serviceSend() {
+        createGroupService.sendCreateGroupMessage(request);
+    }
+}
@@ -0,0 +1,114 @@
+package com.eg.hospital.messaging.jms.processor.benchmark;
+
+import com.eg.hospital.messaging.jms.processor.config.HierarchyConfig;
+import com.eg.hospital.messaging.jms.processor.hierarchy.CompactGroupHierarchyIndex;
+import com.eg.hospital.messaging.jms.processor.hierarchy.GroupHierarchyIndex;
+import com.eg.hospital.messaging.jms.processor.hierarchy.InMemoryGroupHierarchyIndex;
+import com.eg.hospital.messaging.jms.processor.hierarchy.persistence.PersistentGroupHierarchyIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the startup recovery of the persisted group hierarchy: loading the latest snapshot and replaying the log
+ * tail written after it.
+ * <p>
+ * The trial setup persists a tree of {@code groups} groups with a fan-out of {@value #FAN_OUT}, takes a snapshot and
+ * then applies {@code tailRecords} more updates that are only in the log, as after a crash. Each invocation recovers
+ * the directory into a fresh store.
+ * </p>
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Djmh.includes=GroupStateRecoveryBenchmark}.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class GroupStateRecoveryBenchmark {
+
+    private static final int FAN_OUT = 8;
+
+    @Param({"COMPACT", "MAP"})
+    public HierarchyConfig.Store store;
+
+    @Param({"5000000"})
+    public int groups;
+
+    @Param({"500000"})
+    public int tailRecords;
+
+    private Path directory;
+    private PersistentGroupHierarchyIndex recovered;
+
+    @Setup(Level.Trial)
+    public void persistGroups() throws IOException {
+        directory = Files.createTempDirectory("group-state-benchmark");
+        PersistentGroupHierarchyIndex index = new PersistentGroupHierarchyIndex(newStore(), config());
+        index.create("GRP-0", null);
+        for (int i = 1; i < groups; i++) {
+            index.create("GRP-" + i, "GRP-" + (i - 1) / FAN_OUT);
+        }
+        index.snapshot();
+        for (int i = 0; i < tailRecords; i++) {
+            index.create("TAIL-" + i, "GRP-" + i);
+        }
+        index.close();
+    }
+
+    @Benchmark
+    public GroupHierarchyIndex recover() throws IOException {
+        recovered = new PersistentGroupHierarchyIndex(newStore(), config());
+        return recovered;
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeRecovered() throws IOException {
+        if (recovered != null) {
+            recovered.close();
+            recovered = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private GroupHierarchyIndex newStore() {
+        return store == HierarchyConfig.Store.MAP ? new InMemoryGroupHierarchyIndex() : new CompactGroupHierarchyIndex(config());
+    }
+
+    private HierarchyConfig config() {
+        HierarchyConfig hierarchyConfig = new HierarchyConfig();
+        hierarchyConfig.setInitialCapacity(groups + tailRecords);
+        hierarchyConfig.getPersistence().setEnabled(true);
+        hierarchyConfig.getPersistence().setDirectory(directory.toString());
+        return hierarchyConfig;
+    }
+}
@@ -0,0 +1,102 @@
+package com.eg.hospital.messaging.jms.processor.benchmark;
+
+import com.eg.hospital.messaging.jms.processor.config.HierarchyConfig;
+import com.eg.hospital.messaging.jms.processor.hierarchy.CompactGroupHierarchyIndex;
+import com.eg.hospital.messaging.jms.processor.hierarchy.GroupHierarchyIndex;
+import com.eg.hospital.messaging.jms.processor.hierarchy.InMemoryGroupHierarchyIndex;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the retained heap of the {@code MAP} and {@code COMPACT} group hierarchy stores.
+ * <p>
+ * Each invocation loads a tree of {@code groups} groups with a fan-out of {@value #FAN_OUT} into a fresh index and
+ * reports, next to the load time, the heap still used after a full GC divided by the number of groups as the
+ * {@code bytesPerGroup} secondary result. Ids are copied for every update, as they would be when deserialized from
+ * messages, so the map store retains its own strings.
+ * </p>
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Djmh.includes=HierarchyFootprintBenchmark}.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class HierarchyFootprintBenchmark {
+
+    private static final int FAN_OUT = 8;
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    @Param({"MAP", "COMPACT"})
+    public HierarchyConfig.Store store;
+
+    @Param({"1000000"})
+    public int groups;
+
+    private String[] groupIds;
+
+    @Setup(Level.Trial)
+    public void createGroupIds() {
+        groupIds = new String[groups];
+        for (int i = 0; i < groups; i++) {
+            groupIds[i] = "GRP-" + i;
+        }
+    }
+
+    @Benchmark
+    public GroupHierarchyIndex load(Footprint footprint) {
+        long baseline = usedHeapAfterGc();
+        GroupHierarchyIndex index = newIndex();
+        index.create(new String(groupIds[0]), null);
+        for (int i = 1; i < groups; i++) {
+            index.create(new String(groupIds[i]), new String(groupIds[(i - 1) / FAN_OUT]));
+        }
+        footprint.bytesPerGroup = (double) (usedHeapAfterGc() - baseline) / groups;
+        return index;
+    }
+
+    private GroupHierarchyIndex newIndex() {
+        if (store == HierarchyConfig.Store.MAP) {
+            return new InMemoryGroupHierarchyIndex();
+        }
+        HierarchyConfig hierarchyConfig = new HierarchyConfig();
+        return new CompactGroupHierarchyIndex(hierarchyConfig);
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Secondary result holding the retained heap per group of the last invocation.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public double bytesPerGroup;
+    }
+}
@@ -0,0 +1,91 @@
+package com.eg.hospital.messaging.jms.processor.benchmark;
+
+import com.eg.hospital.messaging.jms.processor.config.JmsConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import jakarta.jms.Connection;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jms.support.converter.MessageConverter;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@code jacksonJmsMessageConverter} turning a group message into a JMS text message and back.
+ * <p>
+ * The session only creates the message objects, so no message is sent; the broker is started because ActiveMQ
+ * sessions need a connection. Run with
+ * {@code mvn -Pbenchmark verify -DskipTests -Djmh.includes=MessageConversionBenchmark}.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class MessageConversionBenchmark {
+
+    private BrokerService broker;
+    private Connection connection;
+    private Session session;
+    private MessageConverter converter;
+    private GroupMessageDTO dto;
+    private Message message;
+
+    @Setup
+    public void setUp() throws Exception {
+        broker = new BrokerService();
+        broker.setBrokerName("conversion-benchmark");
+        broker.setPersistent(false);
+        broker.setUseJmx(false);
+        broker.start();
+        broker.waitUntilStarted();
+        connection = new ActiveMQConnectionFactory("vm://conversion-benchmark?create=false").createConnection();
+        session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+
+        converter = new JmsConfig().jacksonJmsMessageConverter();
+        dto = GroupMessageDTO.builder()
+                .groupId("GRP-1001").parentGroupId("PARENT-1").operation(JmsConstants.CREATE_OPERATION)
+                .timestamp(DateTimeFormatter.ISO_INSTANT.format(Instant.now()))
+                .operationId(UUID.randomUUID().toString())
+                .build();
+        message = converter.toMessage(dto, session);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connection.close();
+        broker.stop();
+        broker.waitUntilStopped();
+    }
+
+    @Benchmark
+    public Message serialize() throws JMSException {
+        return converter.toMessage(dto, session);
+    }
+
+    @Benchmark
+    public Object deserialize() throws JMSException {
+        return converter.fromMessage(message);
+    }
+}
@@ -0,0 +1,167 @@
+package com.eg.hospital.messaging.jms.processor.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.hierarchy.GroupHierarchyIndex;
+import com.eg.hospital.messaging.jms.processor.hierarchy.HierarchyUpdate;
+import com.eg.hospital.messaging.jms.processor.logging.MessageLog;
+import com.eg.hospital.messaging.jms.processor.messaging.JmsCreateMessageListener;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Measures the cost per message of the INFO logging in
+ * {@link JmsCreateMessageListener#processMessage(GroupMessageDTO)}.
+ * <p>
+ * {@code LEGACY} runs the two INFO statements the listener had before sampling, with the thread name and the
+ * {@code toString()} of the whole message, {@code EVERY} the {@link MessageLog} event with every message logged and
+ * {@code SAMPLED} the same event with one message in a hundred logged, the application's default. The events are
+ * encoded with a pattern like Spring Boot's file pattern into a discarding stream on the calling thread, and the
+ * hierarchy index does nothing, so the result is the logging alone; the {@code gc.alloc.rate.norm} of the GC profiler
+ * is the number of bytes allocated per message.
+ * </p>
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Djmh.includes=MessageLoggingBenchmark}.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MessageLoggingBenchmark {
+
+    private static final Logger legacyLog = LoggerFactory.getLogger(JmsCreateMessageListener.class);
+
+    @Param({"LEGACY", "EVERY", "SAMPLED"})
+    public String logging;
+
+    private boolean legacy;
+    private ch.qos.logback.classic.Logger root;
+    private OutputStreamAppender<ILoggingEvent> appender;
+    private JmsCreateMessageListener listener;
+    private GroupMessageDTO message;
+
+    @Setup
+    public void setUp() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(Level.INFO);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        appender = new OutputStreamAppender<>();
+        appender.setContext(loggerContext);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        root.addAppender(appender);
+
+        legacy = "LEGACY".equals(logging);
+        MessageLog.configure("SAMPLED".equals(logging) ? 0.01 : 1.0, Map.of(), false);
+        listener = new JmsCreateMessageListener(new NoOpGroupHierarchyIndex());
+        message = GroupMessageDTO.builder()
+                .groupId("GRP-1001").parentGroupId("PARENT-1").operation(JmsConstants.CREATE_OPERATION)
+                .timestamp(DateTimeFormatter.ISO_INSTANT.format(Instant.now()))
+                .operationId(UUID.randomUUID().toString())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        root.detachAppender(appender);
+        appender.stop();
+    }
+
+    @Benchmark
+    public void processMessage() {
+        if (legacy) {
+            legacyLog.info("Queue Listener for {} operation", message.getOperation());
+            legacyLog.info("Thread: {} :Processing Message from the queue: {}", Thread.currentThread().getName(), message);
+        } else {
+            listener.processMessage(message);
+        }
+    }
+
+    /**
+     * Applies every update without keeping anything.
+     */
+    private static class NoOpGroupHierarchyIndex implements GroupHierarchyIndex {
+
+        @Override
+        public HierarchyUpdate create(String groupId, String parentGroupId) {
+            return HierarchyUpdate.APPLIED;
+        }
+
+        @Override
+        public HierarchyUpdate delete(String groupId) {
+            return HierarchyUpdate.APPLIED;
+        }
+
+        @Override
+        public boolean contains(String groupId) {
+            return false;
+        }
+
+        @Override
+        public String parentOf(String groupId) {
+            return null;
+        }
+
+        @Override
+        public int childCount(String groupId) {
+            return 0;
+        }
+
+        @Override
+        public List<String> children(String groupId, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public List<String> ancestors(String groupId) {
+            return List.of();
+        }
+
+        @Override
+        public long size() {
+            return 0;
+        }
+
+        @Override
+        public void forEach(BiConsumer<String, String> action) {
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.eg.hospital.messaging.jms.processor.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.eg.hospital.messaging.jms.processor.aspect.LoggingAspect;
+import com.eg.hospital.messaging.jms.processor.config.MessageLoggingConfig;
+import com.eg.hospital.messaging.jms.processor.dto.BatchItemResultDTO;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.dto.RequestDTO;
+import com.eg.hospital.messaging.jms.processor.logging.MessageLog;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageProducer;
+import com.eg.hospital.messaging.jms.processor.service.CreateGroupService;
+import com.eg.hospital.messaging.jms.processor.service.CreateGroupServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost per call of the advice around the service methods of the request path.
+ * <p>
+ * Each invocation calls {@link CreateGroupServiceImpl#sendCreateGroupMessage(RequestDTO)}, which builds the message
+ * and hands it to a producer that discards it, through a Spring AOP proxy with the given advice: {@code LEGACY} is the
+ * previous {@code @Before} advice with its reflective name lookups and log line, {@code LOG}, {@code TIMING} and
+ * {@code OFF} are the {@link LoggingAspect} modes, and {@code NONE} calls the service without a proxy. Log events are
+ * encoded into a discarding stream on the calling thread and the per-message logs of the service are switched off, so
+ * the differences are the advice alone. The GC profiler reports the bytes allocated per call.
+ * </p>
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Djmh.includes=MethodInstrumentationBenchmark}.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MethodInstrumentationBenchmark {
+
+    @Param({"LEGACY", "LOG", "TIMING", "OFF", "NONE"})
+    public String advice;
+
+    private ch.qos.logback.classic.Logger root;
+    private OutputStreamAppender<ILoggingEvent> appender;
+    private CreateGroupService createGroupService;
+    private RequestDTO request;
+
+    @Setup
+    public void setUp() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(Level.INFO);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        appender = new OutputStreamAppender<>();
+        appender.setContext(loggerContext);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        root.addAppender(appender);
+        MessageLog.configure(0.0, Map.of(), false);
+
+        CreateGroupService target = new CreateGroupServiceImpl(new DiscardingProducer());
+        if ("NONE".equals(advice)) {
+            createGroupService = target;
+        } else {
+            AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+            if ("LEGACY".equals(advice)) {
+                proxyFactory.addAspect(new LegacyLoggingAspect());
+            } else {
+                MessageLoggingConfig messageLoggingConfig = new MessageLoggingConfig();
+                messageLoggingConfig.setMethodInstrumentation(MessageLoggingConfig.MethodInstrumentation.valueOf(advice));
+                proxyFactory.addAspect(new LoggingAspect(messageLoggingConfig, new SimpleMeterRegistry()));
+            }
+            createGroupService = proxyFactory.getProxy();
+        }
+        request = new RequestDTO();
+        request.setGroupId("GRP-1001");
+        request.setParentGroupId("PARENT-1");
+    }
+
+    @TearDown
+    public void tearDown() {
+        root.detachAppender(appender);
+        appender.stop();
+        MessageLog.reset();
+    }
+
+    @Benchmark
+    public void sendCreateGroupMessage() {
+        createGroupService.sendCreateGroupMessage(request);
+    }
+
+    /**
+     * The service advice of the logging aspect before it cached its join point metadata.
+     */
+    @Aspect
+    public static class LegacyLoggingAspect {
+
+        private static final Logger log = LoggerFactory.getLogger(LoggingAspect.class);
+
+        @Before("execution(* com.eg.hospital.messaging.jms.processor.service..*(..))")
+        public void logServiceInputs(JoinPoint joinPoint) {
+            String className = joinPoint.getTarget().getClass().getSimpleName();
+            String methodName = joinPoint.getSignature().getName();
+
+            log.info("Entering {}.{}", className, methodName);
+        }
+    }
+
+    /**
+     * Accepts every message without sending it.
+     */
+    private static class DiscardingProducer implements GroupMessageProducer {
+
+        @Override
+        public void sendMessage(GroupMessageDTO message) {
+        }
+
+        @Override
+        public List<BatchItemResultDTO> sendMessages(List<GroupMessageDTO> messages) {
+            return List.of();
+        }
+
+        @Override
+        public CompletableFuture<Void> sendMessageAsync(GroupMessageDTO message) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
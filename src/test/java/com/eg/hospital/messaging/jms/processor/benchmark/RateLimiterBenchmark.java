@@ -0,0 +1,90 @@
+package com.eg.hospital.messaging.jms.processor.benchmark;
+
+import com.eg.hospital.messaging.jms.processor.ratelimit.GcraRateLimiter;
+import com.eg.hospital.messaging.jms.processor.ratelimit.RateLimitInterceptor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost the per-client rate limiter adds to a request that is allowed.
+ * <p>
+ * {@value #THREADS} request threads call the limiter for either one shared client, where every request contends on
+ * the same arrival time, or for many clients spread over the map. {@code tryAcquire} measures the token bucket alone,
+ * {@code preHandle} the full interceptor with the client header lookup and the decision counter, and
+ * {@code headerLookup} only reads the client header, as the baseline for {@code preHandle}. The limit is set so high
+ * that every request is allowed, which is the hot path.
+ * </p>
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Djmh.includes=RateLimiterBenchmark}.
+ * </p>
+ *
+ * @author Sanjay
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(RateLimiterBenchmark.THREADS)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    static final int THREADS = 4;
+
+    @Param({"1", "10000"})
+    public int clients;
+
+    private GcraRateLimiter rateLimiter;
+    private RateLimitInterceptor interceptor;
+    private String[] clientIds;
+    private MockHttpServletRequest[] requests;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final Object handler = new Object();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rateLimiter = new GcraRateLimiter(1e12, Integer.MAX_VALUE / 2, clients);
+        clientIds = new String[clients];
+        requests = new MockHttpServletRequest[clients];
+        for (int i = 0; i < clients; i++) {
+            clientIds[i] = "tenant-" + i;
+            requests[i] = new MockHttpServletRequest("POST", "/groups/create");
+            requests[i].addHeader("X-API-Key", clientIds[i]);
+        }
+        interceptor = new RateLimitInterceptor("benchmark", "X-API-Key", Set.of(clientIds), Set.of(),
+                new GcraRateLimiter(1e12, Integer.MAX_VALUE / 2, clients), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        return rateLimiter.tryAcquire(clientIds[ThreadLocalRandom.current().nextInt(clients)]);
+    }
+
+    @Benchmark
+    public String headerLookup() {
+        return requests[ThreadLocalRandom.current().nextInt(clients)].getHeader("X-API-Key");
+    }
+
+    @Benchmark
+    public boolean preHandle() {
+        return interceptor.preHandle(requests[ThreadLocalRandom.current().nextInt(clients)], response, handler);
+    }
+}
@@ -0,0 +1,45 @@
+package com.eg.hospital.messaging.jms.processor.broker;
+
+import com.eg.hospital.messaging.jms.processor.config.DeadLetterConfig;
+import com.eg.hospital.messaging.jms.processor.config.QueueConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BrokerMetricsTest {
+
+    @Test
+    void testReportsQueueDepthsAndNaNWithoutBroker() {
+        BrokerStatistics brokerStatistics = mock(BrokerStatistics.class);
+        QueueConfig queueConfig = new QueueConfig();
+        queueConfig.setHospitalManagement("hospital.management.queue");
+        DeadLetterConfig deadLetterConfig = new DeadLetterConfig();
+        deadLetterConfig.setPerDestination(false);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new BrokerMetrics(brokerStatistics, queueConfig, deadLetterConfig).bindTo(meterRegistry);
+
+        when(brokerStatistics.queueDepth("hospital.management.queue")).thenReturn(42L);
+        when(brokerStatistics.queueDepth("ActiveMQ.DLQ")).thenReturn(-1L);
+
+        assertEquals(42, meterRegistry.get("jms.queue.depth").tag("queue", "hospital.management.queue").gauge().value());
+        assertTrue(Double.isNaN(meterRegistry.get("jms.queue.depth").tag("queue", "ActiveMQ.DLQ").gauge().value()));
+    }
+
+    @Test
+    void testReportsDepthOfEveryDeadLetterQueueShard() {
+        BrokerStatistics brokerStatistics = mock(BrokerStatistics.class);
+        QueueConfig queueConfig = new QueueConfig();
+        queueConfig.setHospitalManagement("hospital.management.queue");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new BrokerMetrics(brokerStatistics, queueConfig, new DeadLetterConfig()).bindTo(meterRegistry);
+
+        when(brokerStatistics.queueDepth("DLQ.hospital.management.queue.CREATE")).thenReturn(3L);
+
+        assertEquals(3, meterRegistry.get("jms.queue.depth").tag("queue", "DLQ.hospital.management.queue.CREATE").gauge().value());
+        assertEquals(4, meterRegistry.get("jms.queue.depth").gauges().size());
+    }
+}
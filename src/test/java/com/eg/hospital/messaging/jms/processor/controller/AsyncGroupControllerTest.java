@@ -0,0 +1,69 @@
+package com.eg.hospital.messaging.jms.processor.controller;
+
+import com.eg.hospital.messaging.jms.processor.dto.ApiResponseDTO;
+import com.eg.hospital.messaging.jms.processor.dto.RequestDTO;
+import com.eg.hospital.messaging.jms.processor.exception.JmsMessageException;
+import com.eg.hospital.messaging.jms.processor.service.CreateGroupService;
+import com.eg.hospital.messaging.jms.processor.service.DeleteGroupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class AsyncGroupControllerTest {
+
+    @InjectMocks
+    private AsyncGroupController asyncGroupController;
+
+    @Mock
+    private CreateGroupService createGroupService;
+
+    @Mock
+    private DeleteGroupService deleteGroupService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testCreateGroup_completesWhenMessageIsSent() {
+
+        RequestDTO requestDTO = new RequestDTO();
+        requestDTO.setGroupId("GROUP-123");
+        requestDTO.setParentGroupId("PARENT-456");
+
+        CompletableFuture<Void> sent = new CompletableFuture<>();
+        when(createGroupService.sendCreateGroupMessageAsync(requestDTO)).thenReturn(sent);
+
+        CompletableFuture<ResponseEntity<ApiResponseDTO>> response = asyncGroupController.createGroup(requestDTO);
+        assertThat(response).isNotDone();
+
+        sent.complete(null);
+
+        assertThat(response.join().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.join().getBody().getMessage()).isEqualTo("Group creation message sent to queue successfully");
+    }
+
+    @Test
+    void testDeleteGroup_propagatesSendFailure() {
+
+        RequestDTO requestDTO = new RequestDTO();
+        requestDTO.setGroupId("GROUP-789");
+        requestDTO.setParentGroupId("PARENT-999");
+
+        when(deleteGroupService.sendDeleteGroupMessageAsync(requestDTO))
+                .thenReturn(CompletableFuture.failedFuture(new JmsMessageException("JMS failure")));
+
+        CompletableFuture<ResponseEntity<ApiResponseDTO>> response = asyncGroupController.deleteGroup(requestDTO);
+
+        assertThat(response).isCompletedExceptionally();
+        verify(deleteGroupService, times(1)).sendDeleteGroupMessageAsync(requestDTO);
+    }
+}
@@ -1,9 +1,12 @@
 package com.eg.hospital.messaging.jms.processor.controller;
 
 import com.eg.hospital.messaging.jms.processor.dto.ApiResponseDTO;
+import com.eg.hospital.messaging.jms.processor.dto.BatchRequestDTO;
+import com.eg.hospital.messaging.jms.processor.dto.BatchResponseDTO;
 import com.eg.hospital.messaging.jms.processor.dto.RequestDTO;
 import com.eg.hospital.messaging.jms.processor.service.CreateGroupService;
 import com.eg.hospital.messaging.jms.processor.service.DeleteGroupService;
+import com.eg.hospital.messaging.jms.processor.service.GroupBatchService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -24,6 +27,9 @@ class GroupControllerTest {
     @Mock
     private DeleteGroupService deleteGroupService;
 
+    @Mock
+    private GroupBatchService groupBatchService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -67,4 +73,25 @@ class GroupControllerTest {
         verify(deleteGroupService, times(1)).sendDeleteGroupMessage(requestDTO);
     }
 
-}
\ No newline at end of file
+    @Test
+    void testProcessBatch_partialFailure() {
+
+        BatchRequestDTO batchRequestDTO = new BatchRequestDTO();
+        BatchResponseDTO batchResponseDTO = BatchResponseDTO.builder()
+                .status(HttpStatus.MULTI_STATUS.value())
+                .total(2)
+                .sent(1)
+                .failed(1)
+                .build();
+
+        when(groupBatchService.sendGroupMessages(batchRequestDTO)).thenReturn(batchResponseDTO);
+
+        ResponseEntity<BatchResponseDTO> response = groupController.processBatch(batchRequestDTO);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.MULTI_STATUS);
+        assertThat(response.getBody()).isSameAs(batchResponseDTO);
+
+        verify(groupBatchService, times(1)).sendGroupMessages(batchRequestDTO);
+    }
+
+}
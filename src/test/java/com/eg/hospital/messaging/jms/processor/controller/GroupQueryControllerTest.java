@@ -0,0 +1,61 @@
+package com.eg.hospital.messaging.jms.processor.controller;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupNodeDTO;
+import com.eg.hospital.messaging.jms.processor.service.GroupQueryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class GroupQueryControllerTest {
+
+    @InjectMocks
+    private GroupQueryController groupQueryController;
+
+    @Mock
+    private GroupQueryService groupQueryService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testGetGroup() {
+        GroupNodeDTO group = GroupNodeDTO.builder().groupId("G1").parentGroupId("P1").parentPresent(true).childCount(2).build();
+        when(groupQueryService.getGroup("G1")).thenReturn(group);
+
+        ResponseEntity<GroupNodeDTO> response = groupQueryController.getGroup("G1");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(group);
+    }
+
+    @Test
+    void testGetChildren() {
+        when(groupQueryService.getChildren("G1", 1000)).thenReturn(List.of("C1", "C2"));
+
+        ResponseEntity<List<String>> response = groupQueryController.getChildren("G1", 1000);
+
+        assertThat(response.getBody()).containsExactly("C1", "C2");
+        verify(groupQueryService, times(1)).getChildren("G1", 1000);
+    }
+
+    @Test
+    void testGetAncestors() {
+        when(groupQueryService.getAncestors("C1")).thenReturn(List.of("G1", "P1"));
+
+        ResponseEntity<List<String>> response = groupQueryController.getAncestors("C1");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsExactly("G1", "P1");
+    }
+}
@@ -1,9 +1,11 @@
 package com.eg.hospital.messaging.jms.processor.exception;
 
 import com.eg.hospital.messaging.jms.processor.controller.GroupController;
+import com.eg.hospital.messaging.jms.processor.controller.GroupQueryController;
 import com.eg.hospital.messaging.jms.processor.dto.RequestDTO;
 import com.eg.hospital.messaging.jms.processor.service.CreateGroupService;
 import com.eg.hospital.messaging.jms.processor.service.DeleteGroupService;
+import com.eg.hospital.messaging.jms.processor.service.GroupQueryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,9 +16,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
+
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -30,6 +35,9 @@ class GlobalExceptionHandlerTest {
     @Mock
     private DeleteGroupService deleteGroupService;
 
+    @Mock
+    private GroupQueryService groupQueryService;
+
     @InjectMocks
     private GroupController groupController;
 
@@ -39,7 +47,7 @@ class GlobalExceptionHandlerTest {
     void setup() {
         MockitoAnnotations.openMocks(this);
 
-        mockMvc = MockMvcBuilders.standaloneSetup(groupController)
+        mockMvc = MockMvcBuilders.standaloneSetup(groupController, new GroupQueryController(groupQueryService))
                 .setControllerAdvice(new GlobalExceptionHandler())
                 .build();
     }
@@ -104,4 +112,76 @@ class GlobalExceptionHandlerTest {
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.message", containsString("Unexpected error")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGroupNotFoundException() throws Exception {
+        doThrow(new GroupNotFoundException("G404")).when(groupQueryService).getGroup("G404");
+
+        mockMvc.perform(get("/groups/query/G404"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code", containsString("GROUP_NOT_FOUND")))
+                .andExpect(jsonPath("$.message", containsString("G404")));
+    }
+
+    @Test
+    void testGetOnUpdateEndpointIsNotAGroupQuery() throws Exception {
+        for (String endpoint : new String[]{"/groups/create", "/groups/delete", "/groups/batch"}) {
+            mockMvc.perform(get(endpoint))
+                    .andExpect(status().isMethodNotAllowed())
+                    .andExpect(header().exists("Allow"))
+                    .andExpect(jsonPath("$.code", containsString("METHOD_NOT_ALLOWED")));
+        }
+        verifyNoInteractions(groupQueryService);
+    }
+
+    @Test
+    void testSendRejectedInFlightReturnsTooManyRequests() throws Exception {
+        RequestDTO request = new RequestDTO();
+        request.setGroupId("GROUP");
+        request.setParentGroupId("PARENT");
+
+        doThrow(new SendRejectedException(SendRejectedException.Reason.IN_FLIGHT, Duration.ofMillis(1500), "Too many messages in flight"))
+                .when(createGroupService).sendCreateGroupMessage(any());
+
+        mockMvc.perform(post("/groups/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.code", containsString("TOO_MANY_IN_FLIGHT")));
+    }
+
+    @Test
+    void testSendRejectedByBrokerReturnsServiceUnavailable() throws Exception {
+        RequestDTO request = new RequestDTO();
+        request.setGroupId("GROUP");
+        request.setParentGroupId("PARENT");
+
+        doThrow(new SendRejectedException(SendRejectedException.Reason.BROKER_STORE, Duration.ofSeconds(5), "Broker store usage is above 90%"))
+                .when(deleteGroupService).sendDeleteGroupMessage(any());
+
+        mockMvc.perform(delete("/groups/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.code", containsString("BROKER_OVERLOADED")));
+    }
+
+    @Test
+    void testRateLimitExceededReturnsTooManyRequests() throws Exception {
+        RequestDTO request = new RequestDTO();
+        request.setGroupId("GROUP");
+        request.setParentGroupId("PARENT");
+
+        doThrow(new RateLimitExceededException("create", Duration.ofMillis(200)))
+                .when(createGroupService).sendCreateGroupMessage(any());
+
+        mockMvc.perform(post("/groups/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.code", containsString("RATE_LIMITED")));
+    }
+}
@@ -0,0 +1,171 @@
+package com.eg.hospital.messaging.jms.processor.hierarchy;
+
+import com.eg.hospital.messaging.jms.processor.config.HierarchyConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactGroupHierarchyIndexTest {
+
+    private final CompactGroupHierarchyIndex index = new CompactGroupHierarchyIndex(hierarchyConfig(16));
+
+    @Test
+    void testCreateAndQuery() {
+        assertEquals(HierarchyUpdate.APPLIED, index.create("GRP-A", "ROOT"));
+        assertEquals(HierarchyUpdate.APPLIED, index.create("GRP-B", "GRP-A"));
+        assertEquals(HierarchyUpdate.APPLIED, index.create("GRP-C", "GRP-B"));
+        assertEquals(HierarchyUpdate.APPLIED, index.create("GRP-D", "GRP-B"));
+        assertEquals(HierarchyUpdate.APPLIED, index.create("TOP", null));
+
+        assertTrue(index.contains("GRP-A"));
+        assertFalse(index.contains("ROOT"));
+        assertFalse(index.contains("UNKNOWN"));
+        assertEquals("GRP-B", index.parentOf("GRP-C"));
+        assertNull(index.parentOf("TOP"));
+        assertEquals(2, index.childCount("GRP-B"));
+        assertEquals(Set.of("GRP-C", "GRP-D"), Set.copyOf(index.children("GRP-B", 10)));
+        assertEquals(1, index.children("GRP-B", 1).size());
+        assertEquals(List.of("GRP-B", "GRP-A", "ROOT"), index.ancestors("GRP-C"));
+        assertEquals(List.of("GRP-A"), index.children("ROOT", 10));
+        assertEquals(List.of(), index.children("UNKNOWN", 10));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void testDuplicateConflictAndCycle() {
+        index.create("GRP-A", "ROOT");
+        index.create("GRP-B", "GRP-A");
+        index.create("TOP", null);
+
+        assertEquals(HierarchyUpdate.DUPLICATE, index.create("GRP-B", "GRP-A"));
+        assertEquals(HierarchyUpdate.DUPLICATE, index.create("TOP", ""));
+        assertEquals(HierarchyUpdate.PARENT_CONFLICT, index.create("GRP-B", "ROOT"));
+        assertEquals(HierarchyUpdate.PARENT_CONFLICT, index.create("TOP", "OTHER"));
+        assertEquals(HierarchyUpdate.CYCLE, index.create("GRP-X", "GRP-X"));
+
+        index.create("GRP-Y", "GRP-Z");
+        assertEquals(HierarchyUpdate.CYCLE, index.create("GRP-Z", "GRP-Y"));
+        assertFalse(index.contains("GRP-Z"));
+    }
+
+    @Test
+    void testInvalidIds() {
+        assertEquals(HierarchyUpdate.INVALID_ID, index.create("AB", "ROOT"));
+        assertEquals(HierarchyUpdate.INVALID_ID, index.create("GRP_A", "ROOT"));
+        assertEquals(HierarchyUpdate.INVALID_ID, index.create("GRP-A", "RO OT"));
+        assertEquals(HierarchyUpdate.INVALID_ID, index.create("G".repeat(51), null));
+        assertEquals(HierarchyUpdate.INVALID_ID, index.create(null, "ROOT"));
+        assertEquals(HierarchyUpdate.APPLIED, index.create("G".repeat(50), null));
+
+        assertEquals(HierarchyUpdate.NOT_FOUND, index.delete("AB"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testDelete() {
+        index.create("GRP-A", "ROOT");
+        index.create("GRP-B", "GRP-A");
+        index.create("GRP-C", "GRP-A");
+        index.create("GRP-D", "GRP-A");
+
+        assertEquals(HierarchyUpdate.HAS_CHILDREN, index.delete("GRP-A"));
+        assertEquals(HierarchyUpdate.APPLIED, index.delete("GRP-C"));
+        assertEquals(Set.of("GRP-B", "GRP-D"), Set.copyOf(index.children("GRP-A", 10)));
+        assertEquals(HierarchyUpdate.APPLIED, index.delete("GRP-D"));
+        assertEquals(HierarchyUpdate.APPLIED, index.delete("GRP-B"));
+        assertEquals(HierarchyUpdate.NOT_FOUND, index.delete("GRP-B"));
+        assertEquals(0, index.childCount("GRP-A"));
+        assertEquals(HierarchyUpdate.APPLIED, index.delete("GRP-A"));
+        assertEquals(List.of(), index.children("ROOT", 10));
+        assertEquals(0, index.size());
+        assertEquals(List.of(), index.ancestors("GRP-A"));
+
+        assertEquals(HierarchyUpdate.APPLIED, index.create("GRP-B", "ROOT"));
+        assertEquals(List.of("ROOT"), index.ancestors("GRP-B"));
+        assertEquals(List.of("GRP-B"), index.children("ROOT", 10));
+    }
+
+    @Test
+    void testGrowsBeyondInitialCapacity() {
+        for (int i = 0; i < 5_000; i++) {
+            assertEquals(HierarchyUpdate.APPLIED, index.create("GRP-" + i, i == 0 ? null : "GRP-" + (i - 1) / 4));
+        }
+
+        assertEquals(5_000, index.size());
+        assertEquals("GRP-1249", index.parentOf("GRP-4999"));
+        assertEquals(4, index.childCount("GRP-10"));
+        assertEquals(List.of("GRP-1249", "GRP-312", "GRP-77", "GRP-19", "GRP-4", "GRP-0"), index.ancestors("GRP-4999"));
+        assertTrue(index.footprintBytes() > 0);
+    }
+
+    @Test
+    void testFootprintStaysBoundedUnderCreateDeleteChurn() {
+        long footprint = 0;
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 1_000; i++) {
+                String parent = "PARENT-" + round + "-" + i % 10;
+                assertEquals(HierarchyUpdate.APPLIED, index.create("GRP-" + round + "-" + i, parent));
+            }
+            assertEquals(1_000, index.size());
+            assertEquals(100, index.childCount("PARENT-" + round + "-3"));
+            for (int i = 0; i < 1_000; i++) {
+                assertEquals(HierarchyUpdate.APPLIED, index.delete("GRP-" + round + "-" + i));
+            }
+            assertEquals(0, index.size());
+            assertEquals(0, index.childCount("PARENT-" + round + "-3"));
+            if (round == 0) {
+                footprint = index.footprintBytes();
+            }
+            assertEquals(footprint, index.footprintBytes(), "round " + round);
+        }
+
+        assertEquals(HierarchyUpdate.APPLIED, index.create("GRP-0-1", "PARENT-0-1"));
+        assertEquals(List.of("PARENT-0-1"), index.ancestors("GRP-0-1"));
+        assertEquals(List.of("GRP-0-1"), index.children("PARENT-0-1", 10));
+    }
+
+    @Test
+    void testConcurrentUpdatesAndReads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] writers = new Future<?>[4];
+            for (int w = 0; w < writers.length; w++) {
+                int writer = w;
+                writers[w] = executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        index.create("GRP" + writer + "-" + i, "PARENT-" + (i % 100));
+                    }
+                });
+            }
+            Future<?> reader = executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    index.children("PARENT-" + (i % 100), 50);
+                    index.ancestors("GRP0-" + i);
+                }
+            });
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            reader.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(40_000, index.size());
+        assertEquals(400, index.childCount("PARENT-7"));
+        assertEquals(400, index.children("PARENT-7", 1000).size());
+    }
+
+    private static HierarchyConfig hierarchyConfig(int initialCapacity) {
+        HierarchyConfig hierarchyConfig = new HierarchyConfig();
+        hierarchyConfig.setInitialCapacity(initialCapacity);
+        return hierarchyConfig;
+    }
+}
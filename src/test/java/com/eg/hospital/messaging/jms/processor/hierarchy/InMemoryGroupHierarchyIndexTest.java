@@ -0,0 +1,95 @@
+package com.eg.hospital.messaging.jms.processor.hierarchy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryGroupHierarchyIndexTest {
+
+    private final GroupHierarchyIndex index = new InMemoryGroupHierarchyIndex();
+
+    @Test
+    void testCreateAndQuery() {
+        assertEquals(HierarchyUpdate.APPLIED, index.create("A", "ROOT"));
+        assertEquals(HierarchyUpdate.APPLIED, index.create("B", "A"));
+        assertEquals(HierarchyUpdate.APPLIED, index.create("C", "B"));
+        assertEquals(HierarchyUpdate.APPLIED, index.create("D", "B"));
+
+        assertTrue(index.contains("A"));
+        assertFalse(index.contains("ROOT"));
+        assertEquals("B", index.parentOf("C"));
+        assertEquals(2, index.childCount("B"));
+        assertEquals(Set.of("C", "D"), Set.copyOf(index.children("B", 10)));
+        assertEquals(1, index.children("B", 1).size());
+        assertEquals(List.of("B", "A", "ROOT"), index.ancestors("C"));
+        assertEquals(List.of("A"), index.children("ROOT", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testDuplicateConflictAndCycle() {
+        index.create("A", "ROOT");
+        index.create("B", "A");
+
+        assertEquals(HierarchyUpdate.DUPLICATE, index.create("B", "A"));
+        assertEquals(HierarchyUpdate.PARENT_CONFLICT, index.create("B", "ROOT"));
+        assertEquals(HierarchyUpdate.CYCLE, index.create("X", "X"));
+
+        index.create("Y", "Z");
+        assertEquals(HierarchyUpdate.CYCLE, index.create("Z", "Y"));
+        assertFalse(index.contains("Z"));
+    }
+
+    @Test
+    void testDelete() {
+        index.create("A", "ROOT");
+        index.create("B", "A");
+
+        assertEquals(HierarchyUpdate.HAS_CHILDREN, index.delete("A"));
+        assertEquals(HierarchyUpdate.APPLIED, index.delete("B"));
+        assertEquals(HierarchyUpdate.NOT_FOUND, index.delete("B"));
+        assertEquals(0, index.childCount("A"));
+        assertEquals(HierarchyUpdate.APPLIED, index.delete("A"));
+        assertEquals(List.of(), index.children("ROOT", 10));
+        assertEquals(0, index.size());
+        assertEquals(List.of(), index.ancestors("A"));
+    }
+
+    @Test
+    void testConcurrentUpdatesAndReads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] writers = new Future<?>[4];
+            for (int w = 0; w < writers.length; w++) {
+                int writer = w;
+                writers[w] = executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        index.create("G" + writer + "-" + i, "P" + (i % 100));
+                    }
+                });
+            }
+            Future<?> reader = executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    index.children("P" + (i % 100), 50);
+                    index.ancestors("G0-" + i);
+                }
+            });
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            reader.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(40_000, index.size());
+        assertEquals(400, index.childCount("P7"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.eg.hospital.messaging.jms.processor.hierarchy.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupStateLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testAppendAndReplay() throws IOException {
+        try (GroupStateLog log = new GroupStateLog(directory, 1024, false)) {
+            log.open(0);
+            log.append(GroupStateLog.CREATE, "GRP-A", null);
+            log.append(GroupStateLog.CREATE, "GRP-B", "GRP-A");
+            log.append(GroupStateLog.DELETE, "GRP-B", null);
+        }
+
+        List<String> records = new ArrayList<>();
+        long replayed = GroupStateLog.replay(directory, 0, (operation, groupId, parentGroupId) ->
+                records.add(operation + ":" + groupId + ":" + parentGroupId));
+
+        assertEquals(3, replayed);
+        assertEquals(List.of("1:GRP-A:null", "1:GRP-B:GRP-A", "2:GRP-B:null"), records);
+    }
+
+    @Test
+    void testRollsToNewSegmentWhenFull() throws IOException {
+        try (GroupStateLog log = new GroupStateLog(directory, 1024, true)) {
+            log.open(3);
+            for (int i = 0; i < 100; i++) {
+                log.append(GroupStateLog.CREATE, "GROUP-" + i, "PARENT-" + i);
+            }
+            assertTrue(GroupStateLog.sequences(directory).size() > 1);
+            assertEquals(3L, GroupStateLog.sequences(directory).get(0));
+
+            long second = GroupStateLog.sequences(directory).get(1);
+            List<String> tail = new ArrayList<>();
+            GroupStateLog.replay(directory, second, (operation, groupId, parentGroupId) -> tail.add(groupId));
+            assertFalse(tail.isEmpty());
+            assertFalse(tail.contains("GROUP-0"));
+
+            log.deleteBefore(second);
+            assertEquals(second, GroupStateLog.sequences(directory).get(0));
+        }
+
+        List<String> all = new ArrayList<>();
+        GroupStateLog.replay(directory, 0, (operation, groupId, parentGroupId) -> all.add(groupId));
+        assertEquals("GROUP-99", all.get(all.size() - 1));
+    }
+
+    @Test
+    void testReplayStopsAtCorruptRecord() throws IOException {
+        try (GroupStateLog log = new GroupStateLog(directory, 1024, false)) {
+            log.open(0);
+            log.append(GroupStateLog.CREATE, "GRP-A", null);
+            log.append(GroupStateLog.CREATE, "GRP-B", "GRP-A");
+        }
+        try (FileChannel channel = FileChannel.open(GroupStateLog.segment(directory, 0), StandardOpenOption.WRITE)) {
+            // Second record starts after the 8 byte header and the 8 byte payload of the first one.
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), 16 + 8 + 2);
+        }
+
+        List<String> records = new ArrayList<>();
+        long replayed = GroupStateLog.replay(directory, 0, (operation, groupId, parentGroupId) -> records.add(groupId));
+
+        assertEquals(1, replayed);
+        assertEquals(List.of("GRP-A"), records);
+    }
+
+    @Test
+    void testIsWritable() {
+        assertTrue(GroupStateLog.isWritable("GRP-A"));
+        assertFalse(GroupStateLog.isWritable(null));
+        assertFalse(GroupStateLog.isWritable(""));
+        assertFalse(GroupStateLog.isWritable("G".repeat(256)));
+    }
+}
@@ -0,0 +1,126 @@
+package com.eg.hospital.messaging.jms.processor.hierarchy.persistence;
+
+import com.eg.hospital.messaging.jms.processor.config.HierarchyConfig;
+import com.eg.hospital.messaging.jms.processor.hierarchy.CompactGroupHierarchyIndex;
+import com.eg.hospital.messaging.jms.processor.hierarchy.HierarchyUpdate;
+import com.eg.hospital.messaging.jms.processor.hierarchy.InMemoryGroupHierarchyIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentGroupHierarchyIndexTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecoversLogTailWithoutSnapshot() throws IOException {
+        PersistentGroupHierarchyIndex index = open();
+        assertEquals(HierarchyUpdate.APPLIED, index.create("GRP-A", "ROOT"));
+        assertEquals(HierarchyUpdate.APPLIED, index.create("GRP-B", "GRP-A"));
+        assertEquals(HierarchyUpdate.APPLIED, index.create("GRP-C", "GRP-A"));
+        assertEquals(HierarchyUpdate.DUPLICATE, index.create("GRP-C", "GRP-A"));
+        assertEquals(HierarchyUpdate.APPLIED, index.delete("GRP-C"));
+        index.close();
+
+        PersistentGroupHierarchyIndex recovered = open();
+
+        assertEquals(2, recovered.size());
+        assertEquals(List.of("GRP-A", "ROOT"), recovered.ancestors("GRP-B"));
+        assertEquals(List.of("GRP-B"), recovered.children("GRP-A", 10));
+        assertFalse(recovered.contains("GRP-C"));
+        recovered.close();
+    }
+
+    @Test
+    void testRecoversSnapshotAndLogTail() throws IOException {
+        PersistentGroupHierarchyIndex index = open();
+        for (int i = 0; i < 1_000; i++) {
+            index.create("GRP-" + i, i == 0 ? null : "GRP-" + (i - 1) / 8);
+        }
+        index.snapshot();
+        index.create("TAIL-A", "GRP-0");
+        index.delete("GRP-999");
+        index.close();
+
+        PersistentGroupHierarchyIndex recovered = open();
+
+        assertEquals(1_000, recovered.size());
+        assertTrue(recovered.contains("TAIL-A"));
+        assertFalse(recovered.contains("GRP-999"));
+        assertNull(recovered.parentOf("GRP-0"));
+        assertEquals(List.of("GRP-15", "GRP-1", "GRP-0"), recovered.ancestors("GRP-128"));
+        assertEquals(Set.of("GRP-1", "GRP-2", "GRP-3", "GRP-4", "GRP-5", "GRP-6", "GRP-7", "GRP-8", "TAIL-A"),
+                Set.copyOf(recovered.children("GRP-0", 100)));
+        recovered.close();
+    }
+
+    @Test
+    void testSnapshotDeletesSupersededFiles() throws IOException {
+        PersistentGroupHierarchyIndex index = open();
+        index.create("GRP-A", null);
+        index.snapshot();
+        index.create("GRP-B", "GRP-A");
+        index.snapshot();
+        index.snapshot();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            List<String> names = files.map(file -> file.getFileName().toString()).sorted().toList();
+            assertEquals(List.of("group-state-0000000000000000002.log", "snapshot-0000000000000000002.dat"), names);
+        }
+        index.destroy();
+
+        PersistentGroupHierarchyIndex recovered = open();
+        assertEquals("GRP-A", recovered.parentOf("GRP-B"));
+        recovered.close();
+    }
+
+    @Test
+    void testDestroyWritesFinalSnapshot() throws IOException {
+        PersistentGroupHierarchyIndex index = new PersistentGroupHierarchyIndex(new InMemoryGroupHierarchyIndex(), config());
+        index.create("GRP-A", null);
+        index.create("GRP-B", "GRP-A");
+        index.destroy();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.anyMatch(file -> file.getFileName().toString().startsWith("snapshot-")));
+        }
+        PersistentGroupHierarchyIndex recovered = new PersistentGroupHierarchyIndex(new InMemoryGroupHierarchyIndex(), config());
+        assertEquals(2, recovered.size());
+        assertEquals(1, recovered.childCount("GRP-A"));
+        recovered.close();
+    }
+
+    @Test
+    void testRejectsIdsTheLogCannotHold() throws IOException {
+        PersistentGroupHierarchyIndex index = new PersistentGroupHierarchyIndex(new InMemoryGroupHierarchyIndex(), config());
+
+        assertEquals(HierarchyUpdate.INVALID_ID, index.create("", null));
+        assertEquals(HierarchyUpdate.INVALID_ID, index.create("GRP-A", "P".repeat(300)));
+        assertEquals(0, index.size());
+        index.close();
+    }
+
+    private PersistentGroupHierarchyIndex open() throws IOException {
+        HierarchyConfig hierarchyConfig = config();
+        return new PersistentGroupHierarchyIndex(new CompactGroupHierarchyIndex(hierarchyConfig), hierarchyConfig);
+    }
+
+    private HierarchyConfig config() {
+        HierarchyConfig hierarchyConfig = new HierarchyConfig();
+        hierarchyConfig.setInitialCapacity(16);
+        hierarchyConfig.getPersistence().setEnabled(true);
+        hierarchyConfig.getPersistence().setDirectory(directory.toString());
+        hierarchyConfig.getPersistence().setSegmentSize(DataSize.ofKilobytes(4));
+        return hierarchyConfig;
+    }
+}
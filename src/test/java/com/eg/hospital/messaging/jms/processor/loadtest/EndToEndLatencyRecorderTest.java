@@ -0,0 +1,65 @@
+package com.eg.hospital.messaging.jms.processor.loadtest;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EndToEndLatencyRecorderTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00.020Z");
+
+    private final EndToEndLatencyRecorder recorder = new EndToEndLatencyRecorder(Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void testRecordsMessagesOfTheActiveRunByOperation() {
+        EndToEndLatencyRecorder.Run run = recorder.start("load-a-");
+
+        recorder.record(message("load-a-1", JmsConstants.CREATE_OPERATION, "2026-01-01T00:00:00.015Z"));
+        recorder.record(message("load-a-2", JmsConstants.CREATE_OPERATION, "2026-01-01T00:00:00.010Z"));
+        recorder.record(message("load-a-1", JmsConstants.DELETE_OPERATION, "2026-01-01T00:00:00.000Z"));
+        recorder.record(message("group-1", JmsConstants.CREATE_OPERATION, "2026-01-01T00:00:00.000Z"));
+
+        assertEquals(3, run.getReceived());
+        Map<String, Object> create = run.getCreate().summary();
+        assertEquals(2L, create.get("count"));
+        assertEquals(10.0, (double) create.get("maxMillis"), 0.05);
+        assertEquals(5.0, (double) create.get("p50Millis"), 0.05);
+        Map<String, Object> delete = run.getDelete().summary();
+        assertEquals(1L, delete.get("count"));
+        assertEquals(20.0, (double) delete.get("p99Millis"), 0.05);
+    }
+
+    @Test
+    void testIgnoresMessagesOutsideOfARun() {
+        EndToEndLatencyRecorder.Run run = recorder.start("load-a-");
+        recorder.stop();
+
+        recorder.record(message("load-a-1", JmsConstants.CREATE_OPERATION, "2026-01-01T00:00:00.015Z"));
+
+        assertEquals(0, run.getReceived());
+        assertEquals(0L, run.getCreate().summary().get("count"));
+    }
+
+    @Test
+    void testCountsButDoesNotRecordMessagesWithoutValidTimestamp() {
+        EndToEndLatencyRecorder.Run run = recorder.start("load-a-");
+
+        recorder.record(message("load-a-1", JmsConstants.CREATE_OPERATION, "yesterday"));
+        recorder.record(message("load-a-2", JmsConstants.CREATE_OPERATION, null));
+
+        assertEquals(2, run.getReceived());
+        assertEquals(0L, run.getCreate().summary().get("count"));
+    }
+
+    private static GroupMessageDTO message(String groupId, String operation, String timestamp) {
+        return GroupMessageDTO.builder().groupId(groupId).parentGroupId("load-a-root").operation(operation)
+                .timestamp(timestamp).build();
+    }
+}
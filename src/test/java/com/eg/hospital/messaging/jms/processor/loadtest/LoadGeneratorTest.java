@@ -0,0 +1,96 @@
+package com.eg.hospital.messaging.jms.processor.loadtest;
+
+import com.eg.hospital.messaging.jms.processor.config.LoadTestConfig;
+import com.eg.hospital.messaging.jms.processor.config.RateLimitConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.exception.JmsMessageException;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageProducer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.Environment;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class LoadGeneratorTest {
+
+    private final GroupMessageProducer producer = mock(GroupMessageProducer.class);
+    private final EndToEndLatencyRecorder recorder = new EndToEndLatencyRecorder();
+    private final LoadTestConfig loadTestConfig = new LoadTestConfig();
+    private final LoadGenerator loadGenerator = new LoadGenerator(loadTestConfig, new RateLimitConfig(),
+            producer, recorder, RestClient.builder(), mock(Environment.class));
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        loadGenerator.destroy();
+    }
+
+    @Test
+    void testSendsTheOperationMixAtTheConfiguredRate() throws InterruptedException {
+        doAnswer(invocation -> {
+            recorder.record(invocation.getArgument(0, GroupMessageDTO.class));
+            return null;
+        }).when(producer).sendMessage(any());
+
+        loadGenerator.start(LoadTestConfig.Target.PRODUCER, 500, Duration.ofMillis(200), 50);
+        Map<String, Object> report = awaitCompletion();
+
+        assertEquals(100L, report.get("startedOperations"));
+        assertEquals(100L, report.get("accepted"));
+        assertEquals(0L, report.get("failed"));
+        assertEquals(100L, report.get("received"));
+        Map<?, ?> endToEnd = (Map<?, ?>) report.get("endToEndLatency");
+        long creates = (long) ((Map<?, ?>) endToEnd.get("create")).get("count");
+        long deletes = (long) ((Map<?, ?>) endToEnd.get("delete")).get("count");
+        assertEquals(100, creates + deletes);
+        assertTrue(deletes > 0 && deletes <= creates, "deletes only remove groups created earlier");
+        assertEquals(100L, ((Map<?, ?>) report.get("sendLatency")).get("count"));
+    }
+
+    @Test
+    void testCountsFailedSendsByError() throws InterruptedException {
+        doThrow(new JmsMessageException("broker down")).when(producer).sendMessage(any());
+
+        loadGenerator.start(LoadTestConfig.Target.PRODUCER, 100, Duration.ofMillis(100), 100);
+        Map<String, Object> report = awaitCompletion();
+
+        assertEquals(10L, report.get("failed"));
+        assertEquals(0L, report.get("accepted"));
+        assertEquals(Map.of("JmsMessageException", 10L), report.get("errors"));
+    }
+
+    @Test
+    void testRejectsInvalidSettingsAndOverlappingRuns() {
+        assertThrows(IllegalArgumentException.class,
+                () -> loadGenerator.start(LoadTestConfig.Target.PRODUCER, 0, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> loadGenerator.start(null, null, null, 101));
+        assertThrows(IllegalStateException.class,
+                () -> loadGenerator.start(LoadTestConfig.Target.API, null, null, null));
+        assertEquals("IDLE", loadGenerator.report().get("state"));
+
+        loadGenerator.start(null, 10, Duration.ofMinutes(1), null);
+        assertThrows(IllegalStateException.class, () -> loadGenerator.start(null, null, null, null));
+        assertEquals("CANCELLED", loadGenerator.cancel().get("state").toString());
+    }
+
+    private Map<String, Object> awaitCompletion() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        Map<String, Object> report = loadGenerator.report();
+        while (!"COMPLETED".equals(report.get("state").toString()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            report = loadGenerator.report();
+        }
+        assertEquals("COMPLETED", report.get("state").toString());
+        return report;
+    }
+}
@@ -0,0 +1,102 @@
+package com.eg.hospital.messaging.jms.processor.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageLogTest {
+
+    private static final GroupMessageDTO MESSAGE = GroupMessageDTO.builder()
+            .groupId("G123").parentGroupId("PG123").operation("CREATE").operationId("op-1").build();
+
+    private final MessageLog messageLog = MessageLog.forClass(MessageLogTest.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        ((Logger) LoggerFactory.getLogger(MessageLogTest.class)).addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((Logger) LoggerFactory.getLogger(MessageLogTest.class)).detachAppender(appender);
+        MessageLog.reset();
+    }
+
+    @Test
+    void testInfo_logsEveryMessageByDefault() {
+        messageLog.info("Processing {} of Group Id: {}", MESSAGE);
+
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals("Processing CREATE of Group Id: G123", event.getFormattedMessage());
+        assertEquals(Map.of("operation", "CREATE", "groupId", "G123", "parentGroupId", "PG123", "operationId", "op-1"),
+                keyValues(event));
+    }
+
+    @Test
+    void testInfo_addsPayloadWhenEnabled() {
+        MessageLog.configure(1.0, Map.of(), true);
+
+        messageLog.info("Processing {} of Group Id: {}", MESSAGE);
+
+        assertEquals(MESSAGE.toString(), keyValues(appender.list.get(0)).get("payload"));
+    }
+
+    @Test
+    void testInfo_samplesAtTheConfiguredRate() {
+        MessageLog.configure(0.1, Map.of(), false);
+
+        for (int i = 0; i < 10_000; i++) {
+            messageLog.info("Processing {} of Group Id: {}", MESSAGE);
+        }
+
+        assertTrue(appender.list.size() > 700 && appender.list.size() < 1300, "logged " + appender.list.size());
+    }
+
+    @Test
+    void testConfigure_longestPrefixWins() {
+        MessageLog.configure(1.0, Map.of("com.eg.hospital", 0.5, "com.eg.hospital.messaging.jms.processor.logging", 0.0,
+                "com.eg.hospital.messaging.jms.processor.log", 0.25), false);
+
+        assertEquals(0.0, messageLog.getSampleRate());
+        assertFalse(messageLog.isInfoEnabled());
+        messageLog.info("Processing {} of Group Id: {}", MESSAGE);
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void testConfigure_appliesToMessageLogsObtainedLater() {
+        MessageLog.configure(1.0, Map.of(Nested.class.getName(), 0.5), false);
+
+        assertEquals(0.5, MessageLog.forClass(Nested.class).getSampleRate());
+        assertEquals(1.0, messageLog.getSampleRate());
+    }
+
+    @Test
+    void testConfigure_rejectsRatesOutsideZeroToOne() {
+        assertThrows(IllegalArgumentException.class, () -> MessageLog.configure(1.5, Map.of(), false));
+        assertThrows(IllegalArgumentException.class, () -> MessageLog.configure(1.0, Map.of("com.eg", -0.1), false));
+    }
+
+    private static Map<String, Object> keyValues(ILoggingEvent event) {
+        return event.getKeyValuePairs().stream().collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+    }
+
+    private static class Nested {
+    }
+}
@@ -0,0 +1,124 @@
+package com.eg.hospital.messaging.jms.processor.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.read.ListAppender;
+import com.eg.hospital.messaging.jms.processor.config.MessageLoggingConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MessageLoggingConfigurerTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+    private final ListAppender<ILoggingEvent> console = new ListAppender<>();
+    private final MessageLoggingConfig config = new MessageLoggingConfig();
+
+    @BeforeEach
+    void setUp() {
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        console.setContext(loggerContext);
+        console.setName("CONSOLE");
+        console.start();
+        root.addAppender(console);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MessageLog.reset();
+        loggerContext.stop();
+    }
+
+    @Test
+    void testWrapRootAppenders_putsAsyncAppenderInFrontOfRootAppenders() {
+        config.getAsync().setQueueSize(64);
+        MessageLoggingConfigurer configurer = new MessageLoggingConfigurer(config);
+
+        configurer.wrapRootAppenders(loggerContext);
+
+        assertNull(root.getAppender("CONSOLE"));
+        AsyncAppender async = assertInstanceOf(AsyncAppender.class, root.getAppender("ASYNC_CONSOLE"));
+        assertEquals(64, async.getQueueSize());
+        assertSame(console, async.getAppender("CONSOLE"));
+
+        loggerContext.getLogger("test").info("queued");
+        configurer.destroy();
+
+        assertEquals(1, console.list.size());
+        assertSame(console, root.getAppender("CONSOLE"));
+        assertNull(root.getAppender("ASYNC_CONSOLE"));
+    }
+
+    @Test
+    void testFullQueueBlocksInsteadOfDroppingInfoEvents() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ListAppender<ILoggingEvent> slowConsole = new ListAppender<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.append(event);
+            }
+        };
+        root.detachAppender(console);
+        slowConsole.setContext(loggerContext);
+        slowConsole.setName("CONSOLE");
+        slowConsole.start();
+        root.addAppender(slowConsole);
+        config.getAsync().setQueueSize(16);
+        MessageLoggingConfigurer configurer = new MessageLoggingConfigurer(config);
+        configurer.wrapRootAppenders(loggerContext);
+        AsyncAppender async = (AsyncAppender) root.getAppender("ASYNC_CONSOLE");
+
+        Thread logging = new Thread(() -> {
+            for (int i = 0; i < 100; i++) {
+                loggerContext.getLogger("test").info("message {}", i);
+            }
+        });
+        logging.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (async.getRemainingCapacity() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, async.getRemainingCapacity());
+        release.countDown();
+        logging.join(5000);
+        configurer.destroy();
+
+        assertEquals(100, slowConsole.list.size());
+    }
+
+    @Test
+    void testAfterPropertiesSet_setsSamplingRatesWithoutAsyncAppendersUntilDestroyed() {
+        config.getAsync().setEnabled(false);
+        config.setSampleRate(0.5);
+        config.setSampleRates(Map.of(MessageLoggingConfigurerTest.class.getName(), 0.2));
+
+        new MessageLoggingConfigurer(config).afterPropertiesSet();
+
+        assertNotNull(root.getAppender("CONSOLE"));
+        assertEquals(0.2, MessageLog.forClass(MessageLoggingConfigurerTest.class).getSampleRate());
+        assertEquals(0.5, MessageLog.forClass(MessageLoggingConfigurer.class).getSampleRate());
+
+        new MessageLoggingConfigurer(config).destroy();
+
+        assertEquals(1.0, MessageLog.forClass(MessageLoggingConfigurerTest.class).getSampleRate());
+    }
+}
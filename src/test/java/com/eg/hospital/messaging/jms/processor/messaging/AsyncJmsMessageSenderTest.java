@@ -0,0 +1,131 @@
+package com.eg.hospital.messaging.jms.processor.messaging;
+
+import com.eg.hospital.messaging.jms.processor.config.AsyncSendConfig;
+import com.eg.hospital.messaging.jms.processor.config.OrderingConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.exception.SendRejectedException;
+import com.eg.hospital.messaging.jms.processor.messaging.ordering.MessageGroupAssigner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.Connection;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerRegistry;
+import org.apache.activemq.broker.BrokerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
+import org.springframework.jms.support.converter.MessageType;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncJmsMessageSenderTest {
+
+    private static final String QUEUE = "async.test.queue";
+
+    private final ActiveMQConnectionFactory connectionFactory =
+            new ActiveMQConnectionFactory("vm://async-test?broker.persistent=false&broker.useJmx=false");
+
+    private final OrderingConfig orderingConfig = new OrderingConfig();
+
+    private AsyncJmsMessageSender sender;
+
+    @AfterEach
+    void tearDown() {
+        sender.destroy();
+    }
+
+    @Test
+    void testSend_completesWhenBrokerAcknowledges() throws Exception {
+        sender = sender(10);
+
+        CompletableFuture<Void> future = sender.send(QUEUE, message("G123"));
+        future.get(5, TimeUnit.SECONDS);
+
+        try (Connection connection = connectionFactory.createConnection();
+             Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+             MessageConsumer consumer = session.createConsumer(session.createQueue(QUEUE))) {
+            connection.start();
+            Message received = consumer.receive(5000);
+            assertNotNull(received);
+            assertEquals("CREATE", received.getStringProperty("operation"));
+        }
+    }
+
+    @Test
+    void testSend_stampsMessageGroupWhenOrderingEnabled() throws Exception {
+        orderingConfig.setEnabled(true);
+        sender = sender(10);
+
+        sender.send(QUEUE, message("G789")).get(5, TimeUnit.SECONDS);
+
+        try (Connection connection = connectionFactory.createConnection();
+             Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+             MessageConsumer consumer = session.createConsumer(session.createQueue(QUEUE))) {
+            connection.start();
+            Message received = consumer.receive(5000);
+            assertNotNull(received);
+            assertEquals("G789", received.getStringProperty("JMSXGroupID"));
+        }
+    }
+
+    @Test
+    void testSend_rejectedWhenInFlightWindowIsFull() {
+        sender = sender(0);
+
+        CompletableFuture<Void> future = sender.send(QUEUE, message("G456"));
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        SendRejectedException rejection = assertInstanceOf(SendRejectedException.class, thrown.getCause());
+        assertEquals(SendRejectedException.Reason.IN_FLIGHT, rejection.getReason());
+        assertTrue(rejection.getMessage().contains("Too many in-flight messages"));
+    }
+
+    @Test
+    void testSend_reconnectsAfterConnectionLoss() throws Exception {
+        sender = sender(10);
+        sender.send(QUEUE, message("G100")).get(5, TimeUnit.SECONDS);
+
+        BrokerService broker = BrokerRegistry.getInstance().lookup("async-test");
+        broker.stop();
+        broker.waitUntilStopped();
+
+        sender.send(QUEUE, message("G200")).get(5, TimeUnit.SECONDS);
+
+        try (Connection connection = connectionFactory.createConnection();
+             Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+             MessageConsumer consumer = session.createConsumer(session.createQueue(QUEUE))) {
+            connection.start();
+            Message received = consumer.receive(5000);
+            assertNotNull(received);
+            assertTrue(((TextMessage) received).getText().contains("G200"));
+        }
+    }
+
+    private AsyncJmsMessageSender sender(int maxInFlight) {
+        AsyncSendConfig config = new AsyncSendConfig();
+        config.setMaxInFlight(maxInFlight);
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setTargetType(MessageType.TEXT);
+        converter.setTypeIdPropertyName("_type");
+        return new AsyncJmsMessageSender(connectionFactory, converter, config, new MessageGroupAssigner(orderingConfig),
+                new SimpleMeterRegistry());
+    }
+
+    private static GroupMessageDTO message(String groupId) {
+        return GroupMessageDTO.builder()
+                .groupId(groupId)
+                .parentGroupId("PG123")
+                .operation("CREATE")
+                .timestamp(DateTimeFormatter.ISO_INSTANT.format(Instant.now()))
+                .build();
+    }
+}
@@ -1,21 +1,48 @@
 package com.eg.hospital.messaging.jms.processor.messaging;
 
+import com.eg.hospital.messaging.jms.processor.config.DeadLetterConfig;
 import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.messaging.deadletter.DeadLetterEntry;
+import com.eg.hospital.messaging.jms.processor.messaging.deadletter.DeadLetterStore;
+import com.eg.hospital.messaging.jms.processor.metrics.MessagingMetrics;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.apache.activemq.command.ActiveMQTextMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.listener.MessageListenerContainer;
 
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
 
 class DeadLetterQueueListenerTest {
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DeadLetterConfig deadLetterConfig = new DeadLetterConfig();
+    private final JmsListenerEndpointRegistry registry = mock(JmsListenerEndpointRegistry.class);
+    private final MessageListenerContainer container = mock(MessageListenerContainer.class);
+    private DeadLetterStore store;
     private DeadLetterQueueListener listener;
 
     @BeforeEach
     void setUp() {
-        listener = new DeadLetterQueueListener();
+        when(registry.getListenerContainer(JmsConstants.DEAD_LETTER_LISTENER_ID)).thenReturn(container);
+        store = new DeadLetterStore(deadLetterConfig, mock(JmsTemplate.class), meterRegistry);
+        listener = new DeadLetterQueueListener(new MessagingMetrics(meterRegistry), store, registry);
     }
 
     @Test
@@ -27,6 +54,79 @@ class DeadLetterQueueListenerTest {
                 .timestamp(DateTimeFormatter.ISO_INSTANT.format(Instant.now()))
                 .build();
 
-        assertDoesNotThrow(() -> listener.handleFailedMessage(message));
+        assertDoesNotThrow(() -> listener.handleFailedMessage(message, null, null, null, null, null));
+        assertEquals(1, meterRegistry.get("jms.dlq.messages").tag("operation", "CREATE").counter().count());
+    }
+
+    @Test
+    void testProcessMessage_holdsMessageWithClassifiedReason() throws Exception {
+        GroupMessageDTO message = GroupMessageDTO.builder().groupId("G1").operation("DELETE").build();
+
+        listener.handleFailedMessage(message,
+                "java.lang.Throwable: Delivery[7] exceeds redelivery policy limit:RedeliveryPolicy {}, "
+                        + "cause:java.lang.IllegalStateException: boom", null,
+                new ActiveMQQueue("DLQ.hospital.management.queue.DELETE"), null, null);
+
+        List<DeadLetterEntry> held = store.peek(null, null, 10);
+        assertEquals(1, held.size());
+        assertEquals("IllegalStateException", held.get(0).getReason());
+        assertEquals(message, held.get(0).getMessage());
+        assertEquals("DLQ.hospital.management.queue.DELETE", held.get(0).getQueue());
+        assertEquals(1, meterRegistry.get("jms.dlq.messages")
+                .tags("queue", "DLQ.hospital.management.queue.DELETE", "operation", "DELETE").counter().count());
+    }
+
+    @Test
+    void testProcessMessage_keepsReasonOfReturnedMessage() throws Exception {
+        GroupMessageDTO message = GroupMessageDTO.builder().groupId("G1").operation("CREATE").build();
+
+        listener.handleFailedMessage(message, null, "TimeoutException", null, null, null);
+
+        assertEquals(1, store.count("TimeoutException", "CREATE"));
+    }
+
+    @Test
+    void testFullStoreStopsListenerUntilItHasRoom() throws Exception {
+        deadLetterConfig.setCapacity(1);
+        listener.handleFailedMessage(GroupMessageDTO.builder().groupId("G1").operation("CREATE").build(), null, null,
+                null, null, null);
+
+        assertTrue(listener.isPaused());
+        verify(container).stop();
+        assertEquals(1, meterRegistry.get("jms.dlq.messages").counter().count());
+
+        listener.resumeWhenStoreHasRoom();
+        verify(container, never()).start();
+
+        store.take(null, null, 1);
+        listener.resumeWhenStoreHasRoom();
+        verify(container).start();
+        assertFalse(listener.isPaused());
+    }
+
+    @Test
+    void testMessageArrivingAtFullStoreIsSentBackWithoutRollback() throws Exception {
+        deadLetterConfig.setCapacity(1);
+        ActiveMQQueue queue = new ActiveMQQueue("DLQ.hospital.management.queue.CREATE");
+        store.add(GroupMessageDTO.builder().groupId("G1").operation("CREATE").build(), "A", queue.getQueueName());
+        ActiveMQTextMessage jmsMessage = new ActiveMQTextMessage();
+        jmsMessage.setJMSDestination(queue);
+        jmsMessage.setJMSDeliveryMode(DeliveryMode.PERSISTENT);
+        jmsMessage.setJMSPriority(4);
+        Session session = mock(Session.class);
+        MessageProducer producer = mock(MessageProducer.class);
+        when(session.createProducer(queue)).thenReturn(producer);
+        GroupMessageDTO rejected = GroupMessageDTO.builder().groupId("G2").operation("CREATE").build();
+
+        assertDoesNotThrow(() -> listener.handleFailedMessage(rejected, null, null, queue, jmsMessage, session));
+
+        verify(producer).send(jmsMessage, DeliveryMode.PERSISTENT, 4, Message.DEFAULT_TIME_TO_LIVE);
+        verify(producer).close();
+        verify(session, never()).rollback();
+        verify(session, never()).recover();
+        assertTrue(listener.isPaused());
+        verify(container).stop();
+        assertEquals(1, store.size());
+        assertEquals(0, meterRegistry.find("jms.dlq.messages").counters().size());
     }
 }
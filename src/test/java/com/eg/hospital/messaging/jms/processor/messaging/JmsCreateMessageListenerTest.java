@@ -1,6 +1,7 @@
 package com.eg.hospital.messaging.jms.processor.messaging;
 
 import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.hierarchy.InMemoryGroupHierarchyIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -8,14 +9,17 @@ import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class JmsCreateMessageListenerTest {
 
+    private InMemoryGroupHierarchyIndex index;
     private JmsCreateMessageListener listener;
 
     @BeforeEach
     void setUp() {
-        listener = new JmsCreateMessageListener();
+        index = new InMemoryGroupHierarchyIndex();
+        listener = new JmsCreateMessageListener(index);
     }
 
     @Test
@@ -29,4 +33,17 @@ class JmsCreateMessageListenerTest {
 
         assertDoesNotThrow(() -> listener.processMessage(message));
     }
+
+    @Test
+    void testGetOperation() {
+        assertEquals("CREATE", listener.getOperation());
+    }
+
+    @Test
+    void testProcessMessage_addsGroupToHierarchy() {
+        listener.processMessage(GroupMessageDTO.builder().groupId("G123").parentGroupId("PG123").operation("CREATE").build());
+
+        assertEquals("PG123", index.parentOf("G123"));
+        assertEquals(1, index.childCount("PG123"));
+    }
 }
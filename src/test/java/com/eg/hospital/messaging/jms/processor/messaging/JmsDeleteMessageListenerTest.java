@@ -1,6 +1,7 @@
 package com.eg.hospital.messaging.jms.processor.messaging;
 
 import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.hierarchy.InMemoryGroupHierarchyIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -8,14 +9,18 @@ import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 class JmsDeleteMessageListenerTest {
 
+    private InMemoryGroupHierarchyIndex index;
     private JmsDeleteMessageListener listener;
 
     @BeforeEach
     void setUp() {
-        listener = new JmsDeleteMessageListener();
+        index = new InMemoryGroupHierarchyIndex();
+        listener = new JmsDeleteMessageListener(index);
     }
 
     @Test
@@ -29,4 +34,19 @@ class JmsDeleteMessageListenerTest {
 
         assertDoesNotThrow(() -> listener.processMessage(message));
     }
+
+    @Test
+    void testGetOperation() {
+        assertEquals("DELETE", listener.getOperation());
+    }
+
+    @Test
+    void testProcessMessage_removesGroupFromHierarchy() {
+        index.create("H1234", "H123");
+
+        listener.processMessage(GroupMessageDTO.builder().groupId("H1234").parentGroupId("H123").operation("DELETE").build());
+
+        assertFalse(index.contains("H1234"));
+        assertEquals(0, index.childCount("H123"));
+    }
 }
@@ -1,18 +1,32 @@
 package com.eg.hospital.messaging.jms.processor.messaging;
 
+import com.eg.hospital.messaging.jms.processor.config.BatchConfig;
 import com.eg.hospital.messaging.jms.processor.config.QueueConfig;
+import com.eg.hospital.messaging.jms.processor.dto.BatchItemResultDTO;
 import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
 import com.eg.hospital.messaging.jms.processor.exception.JmsMessageException;
+import com.eg.hospital.messaging.jms.processor.messaging.ordering.MessageGroupAssigner;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.converter.MessageConverter;
 
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
@@ -25,6 +39,15 @@ class JmsMessageProducerTest {
     @Mock
     private QueueConfig queueConfig;
 
+    @Mock
+    private BatchConfig batchConfig;
+
+    @Mock
+    private AsyncJmsMessageSender asyncJmsMessageSender;
+
+    @Mock
+    private MessageGroupAssigner messageGroupAssigner;
+
     @InjectMocks
     private JmsMessageProducer jmsMessageProducer;
 
@@ -77,4 +100,78 @@ class JmsMessageProducerTest {
         assertTrue(thrown.getMessage().contains("Failed while performing CREATE operation"));
     }
 
+    @Test
+    void testSendMessageAsync_delegatesToAsyncSender()
+    {
+        GroupMessageDTO queueMessage = message("G1", "CREATE");
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        when(queueConfig.getHospitalManagement()).thenReturn("hospital.management.queue");
+        when(asyncJmsMessageSender.send("hospital.management.queue", queueMessage)).thenReturn(future);
+
+        assertSame(future, jmsMessageProducer.sendMessageAsync(queueMessage));
+    }
+
+    @Test
+    void testSendMessages_commitsOncePerChunk() throws Exception
+    {
+        Session session = mockBatchSession();
+        when(batchConfig.getChunkSize()).thenReturn(2);
+
+        List<BatchItemResultDTO> results = jmsMessageProducer.sendMessages(List.of(
+                message("G1", "CREATE"), message("G2", "DELETE"), message("G3", "CREATE")));
+
+        verify(session, times(2)).commit();
+        verify(session, never()).rollback();
+        verify(messageGroupAssigner, times(3)).assign(any(), any());
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(result -> "SENT".equals(result.getStatus())));
+        assertEquals(2, results.get(2).getIndex());
+    }
+
+    @Test
+    void testSendMessages_failedChunkIsRolledBack() throws Exception
+    {
+        Session session = mockBatchSession();
+        when(batchConfig.getChunkSize()).thenReturn(2);
+        doNothing().doThrow(new RuntimeException("commit failed")).when(session).commit();
+
+        List<BatchItemResultDTO> results = jmsMessageProducer.sendMessages(List.of(
+                message("G1", "CREATE"), message("G2", "DELETE"), message("G3", "CREATE")));
+
+        verify(session, times(1)).rollback();
+        assertEquals("SENT", results.get(0).getStatus());
+        assertEquals("SENT", results.get(1).getStatus());
+        assertEquals("FAILED", results.get(2).getStatus());
+        assertTrue(results.get(2).getMessage().contains("Group Id: G3"));
+    }
+
+    private Session mockBatchSession() throws Exception
+    {
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        Connection connection = mock(Connection.class);
+        Session session = mock(Session.class);
+        MessageProducer producer = mock(MessageProducer.class);
+        MessageConverter converter = mock(MessageConverter.class);
+
+        when(queueConfig.getHospitalManagement()).thenReturn("hospital.management.queue");
+        when(jmsTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(jmsTemplate.getMessageConverter()).thenReturn(converter);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(true, Session.SESSION_TRANSACTED)).thenReturn(session);
+        when(session.createQueue(anyString())).thenReturn(mock(Queue.class));
+        when(session.createProducer(any())).thenReturn(producer);
+        when(converter.toMessage(any(), eq(session))).thenAnswer(invocation -> mock(TextMessage.class));
+        return session;
+    }
+
+    private static GroupMessageDTO message(String groupId, String operation)
+    {
+        return GroupMessageDTO.builder()
+                .groupId(groupId)
+                .parentGroupId("PG123")
+                .operation(operation)
+                .timestamp(DateTimeFormatter.ISO_INSTANT.format(Instant.now()))
+                .build();
+    }
+
 }
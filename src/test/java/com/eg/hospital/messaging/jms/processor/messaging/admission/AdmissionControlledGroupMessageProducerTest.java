@@ -0,0 +1,56 @@
+package com.eg.hospital.messaging.jms.processor.messaging.admission;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.exception.JmsMessageException;
+import com.eg.hospital.messaging.jms.processor.exception.SendRejectedException;
+import com.eg.hospital.messaging.jms.processor.messaging.JmsMessageProducer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class AdmissionControlledGroupMessageProducerTest {
+
+    private final JmsMessageProducer jmsMessageProducer = mock(JmsMessageProducer.class);
+    private final SendAdmissionController sendAdmissionController = mock(SendAdmissionController.class);
+    private final AdmissionControlledGroupMessageProducer producer =
+            new AdmissionControlledGroupMessageProducer(jmsMessageProducer, sendAdmissionController);
+    private final GroupMessageDTO message = GroupMessageDTO.builder().groupId("G1").parentGroupId("P1").operation("CREATE").build();
+
+    @Test
+    void testSendReleasesSlotEvenWhenSendFails() {
+        doThrow(new JmsMessageException("failed")).when(jmsMessageProducer).sendMessage(message);
+
+        assertThrows(JmsMessageException.class, () -> producer.sendMessage(message));
+
+        verify(sendAdmissionController).acquire();
+        verify(sendAdmissionController).release();
+    }
+
+    @Test
+    void testRejectedSendNeverReachesBroker() {
+        doThrow(new SendRejectedException(SendRejectedException.Reason.IN_FLIGHT, Duration.ofSeconds(1), "busy"))
+                .when(sendAdmissionController).acquire();
+
+        assertThrows(SendRejectedException.class, () -> producer.sendMessages(List.of(message)));
+
+        verifyNoInteractions(jmsMessageProducer);
+        verify(sendAdmissionController, never()).release();
+    }
+
+    @Test
+    void testAsyncSendRejectedByBrokerCompletesExceptionally() {
+        when(sendAdmissionController.checkBroker())
+                .thenReturn(new SendRejectedException(SendRejectedException.Reason.BROKER_MEMORY, Duration.ofSeconds(5), "full"));
+
+        CompletableFuture<Void> future = producer.sendMessageAsync(message);
+
+        assertTrue(future.isCompletedExceptionally());
+        verify(jmsMessageProducer, never()).sendMessageAsync(any());
+    }
+}
@@ -0,0 +1,80 @@
+package com.eg.hospital.messaging.jms.processor.messaging.admission;
+
+import com.eg.hospital.messaging.jms.processor.broker.BrokerStatistics;
+import com.eg.hospital.messaging.jms.processor.config.AdmissionConfig;
+import com.eg.hospital.messaging.jms.processor.exception.SendRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class SendAdmissionControllerTest {
+
+    private final BrokerStatistics brokerStatistics = mock(BrokerStatistics.class);
+    private final AdmissionConfig admissionConfig = new AdmissionConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SendAdmissionController controller;
+
+    @BeforeEach
+    void setUp() {
+        admissionConfig.setMaxInFlight(2);
+        when(brokerStatistics.memoryPercentUsage()).thenReturn(10);
+        when(brokerStatistics.storePercentUsage()).thenReturn(10);
+        controller = new SendAdmissionController(brokerStatistics, admissionConfig, meterRegistry);
+    }
+
+    @Test
+    void testRejectsSendsAboveMaxInFlight() {
+        controller.acquire();
+        controller.acquire();
+
+        SendRejectedException rejection = assertThrows(SendRejectedException.class, controller::acquire);
+        assertEquals(SendRejectedException.Reason.IN_FLIGHT, rejection.getReason());
+        assertEquals(Duration.ofSeconds(1), rejection.getRetryAfter());
+        assertEquals(2, controller.inFlight());
+
+        controller.release();
+        controller.acquire();
+        assertEquals(3, decisions("admitted", "none"));
+        assertEquals(1, decisions("rejected", "in_flight"));
+    }
+
+    @Test
+    void testRejectsSendsAboveBrokerWatermarks() {
+        when(brokerStatistics.memoryPercentUsage()).thenReturn(95);
+
+        SendRejectedException rejection = assertThrows(SendRejectedException.class, controller::acquire);
+        assertEquals(SendRejectedException.Reason.BROKER_MEMORY, rejection.getReason());
+        assertEquals(Duration.ofSeconds(5), rejection.getRetryAfter());
+
+        when(brokerStatistics.memoryPercentUsage()).thenReturn(10);
+        when(brokerStatistics.storePercentUsage()).thenReturn(90);
+        assertEquals(SendRejectedException.Reason.BROKER_STORE, assertThrows(SendRejectedException.class, controller::acquire).getReason());
+        assertEquals(0, controller.inFlight());
+        assertEquals(1, decisions("rejected", "broker_store"));
+    }
+
+    @Test
+    void testCheckBrokerIgnoresInFlightAndUnavailableBroker() {
+        controller.acquire();
+        controller.acquire();
+        when(brokerStatistics.memoryPercentUsage()).thenReturn(-1);
+        when(brokerStatistics.storePercentUsage()).thenReturn(-1);
+
+        assertNull(controller.checkBroker());
+
+        when(brokerStatistics.storePercentUsage()).thenReturn(100);
+        assertNotNull(controller.checkBroker());
+    }
+
+    private double decisions(String result, String reason) {
+        return meterRegistry.get("jms.admission.decisions").tag("result", result).tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,134 @@
+package com.eg.hospital.messaging.jms.processor.messaging.batch;
+
+import com.eg.hospital.messaging.jms.processor.config.JmsConfig;
+import com.eg.hospital.messaging.jms.processor.config.ListenerConfig;
+import com.eg.hospital.messaging.jms.processor.config.QueueConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.converter.MessageConverter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchMessageListenerContainerTest {
+
+    private static final String QUEUE = "hospital.management.batch";
+    private static final String POISON = "GRP-POISON";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final Set<String> committedGroups = ConcurrentHashMap.newKeySet();
+
+    private BrokerService broker;
+    private ActiveMQConnectionFactory connectionFactory;
+    private MessageConverter converter;
+    private BatchMessageListenerContainer container;
+
+    @BeforeEach
+    void startBroker() throws Exception {
+        broker = new BrokerService();
+        broker.setBrokerName("batch-consumer");
+        broker.setPersistent(false);
+        broker.setUseJmx(false);
+        broker.start();
+        broker.waitUntilStarted();
+        connectionFactory = new ActiveMQConnectionFactory("vm://batch-consumer?create=false");
+        connectionFactory.getRedeliveryPolicy().setMaximumRedeliveries(1);
+        connectionFactory.getRedeliveryPolicy().setInitialRedeliveryDelay(0);
+        connectionFactory.getRedeliveryPolicy().setRedeliveryDelay(0);
+        converter = new JmsConfig().jacksonJmsMessageConverter();
+    }
+
+    @AfterEach
+    void stopBroker() throws Exception {
+        if (container != null) {
+            container.stop();
+        }
+        broker.stop();
+        broker.waitUntilStopped();
+    }
+
+    @Test
+    void testMessagesAreCommittedInBatches() throws Exception {
+        send(500, -1);
+        startContainer();
+
+        awaitCommitted(500);
+        container.stop();
+        assertEquals(500, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().anyMatch(size -> size > 1), "No batch held more than one message: " + batchSizes);
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 100));
+        assertEquals(batchSizes.size(), meterRegistry.get("jms.batch.transactions").tag("result", "committed").counter().count());
+    }
+
+    @Test
+    void testPoisonMessageIsIsolatedAndDeadLettered() throws Exception {
+        send(50, 20);
+        startContainer();
+
+        awaitCommitted(49);
+        assertFalse(committedGroups.contains(POISON));
+        JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
+        jmsTemplate.setMessageConverter(converter);
+        jmsTemplate.setReceiveTimeout(10_000);
+        GroupMessageDTO deadLetter = (GroupMessageDTO) jmsTemplate.receiveAndConvert("ActiveMQ.DLQ");
+        assertNotNull(deadLetter);
+        assertEquals(POISON, deadLetter.getGroupId());
+        assertTrue(meterRegistry.get("jms.batch.transactions").tag("result", "rolled_back").counter().count() >= 1);
+    }
+
+    private void send(int count, int poisonIndex) {
+        JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
+        jmsTemplate.setMessageConverter(converter);
+        for (int i = 0; i < count; i++) {
+            jmsTemplate.convertAndSend(QUEUE, GroupMessageDTO.builder()
+                    .groupId(i == poisonIndex ? POISON : "GRP-" + i)
+                    .parentGroupId("PARENT-1")
+                    .operation(JmsConstants.CREATE_OPERATION)
+                    .build());
+        }
+    }
+
+    private void startContainer() {
+        ListenerConfig listenerConfig = new ListenerConfig();
+        listenerConfig.setMode(ListenerConfig.Mode.BATCH);
+        listenerConfig.getBatch().setConsumers(1);
+        listenerConfig.getBatch().setMaxWait(Duration.ofMillis(200));
+        listenerConfig.getBatch().setReceiveTimeout(Duration.ofMillis(200));
+        QueueConfig queueConfig = new QueueConfig();
+        queueConfig.setHospitalManagement(QUEUE);
+        container = new BatchMessageListenerContainer(connectionFactory, converter, messages -> {
+            if (messages.stream().anyMatch(message -> POISON.equals(message.getGroupId()))) {
+                throw new IllegalStateException("Poison message in batch");
+            }
+            batchSizes.add(messages.size());
+            messages.forEach(message -> committedGroups.add(message.getGroupId()));
+        }, listenerConfig, queueConfig, meterRegistry);
+        assertTrue(container.isAutoStartup());
+        container.start();
+    }
+
+    private void awaitCommitted(int groups) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (committedGroups.size() < groups && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(groups, committedGroups.size());
+    }
+}
@@ -0,0 +1,130 @@
+package com.eg.hospital.messaging.jms.processor.messaging.broker;
+
+import com.eg.hospital.messaging.jms.processor.config.DeadLetterConfig;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import jakarta.jms.Connection;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.RedeliveryPolicy;
+import org.apache.activemq.broker.BrokerService;
+import org.apache.activemq.broker.region.policy.PolicyEntry;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadLetterPoliciesTest {
+
+    private static final String QUEUE = "dead.letter.test";
+
+    @Test
+    void testDeadLetterQueuesGetTheirOwnMemoryLimit() {
+        DeadLetterConfig deadLetterConfig = new DeadLetterConfig();
+        deadLetterConfig.setMemoryLimit(DataSize.ofMegabytes(2));
+        BrokerService broker = new BrokerService();
+
+        DeadLetterPolicies.configure(broker, deadLetterConfig);
+
+        PolicyEntry deadLetterQueues = broker.getDestinationPolicy().getEntryFor(new ActiveMQQueue("DLQ." + QUEUE + ".CREATE"));
+        assertEquals(DataSize.ofMegabytes(2).toBytes(), deadLetterQueues.getMemoryLimit());
+        PolicyEntry liveQueues = broker.getDestinationPolicy().getEntryFor(new ActiveMQQueue(QUEUE));
+        assertTrue(liveQueues.getDeadLetterStrategy() instanceof OperationDeadLetterStrategy);
+    }
+
+    @Test
+    void testFailedMessagesAreShardedByOperation() throws Exception {
+        DeadLetterConfig deadLetterConfig = new DeadLetterConfig();
+        deadLetterConfig.setExpiration(Duration.ofHours(1));
+        runBroker(deadLetterConfig, session -> {
+            Queue queue = session.createQueue(QUEUE);
+            sendAndFail(session, queue, JmsConstants.CREATE_OPERATION);
+            sendAndFail(session, queue, "UPDATE");
+
+            Message create = receive(session, "DLQ." + QUEUE + ".CREATE");
+            assertNotNull(create);
+            long expiresIn = create.getJMSExpiration() - System.currentTimeMillis();
+            assertTrue(expiresIn > Duration.ofMinutes(59).toMillis() && expiresIn <= Duration.ofHours(1).toMillis());
+            assertNotNull(receive(session, "DLQ." + QUEUE));
+            assertNull(receive(session, JmsConstants.DEAD_LETTER_QUEUE));
+        });
+    }
+
+    @Test
+    void testListenerDestinationConsumesEveryShard() throws Exception {
+        DeadLetterConfig deadLetterConfig = new DeadLetterConfig();
+        runBroker(deadLetterConfig, session -> {
+            Queue queue = session.createQueue(QUEUE);
+            sendAndFail(session, queue, JmsConstants.CREATE_OPERATION);
+            sendAndFail(session, queue, JmsConstants.DELETE_OPERATION);
+            sendAndFail(session, queue, null);
+
+            MessageConsumer consumer = session.createConsumer(session.createQueue(deadLetterConfig.listenerDestination(QUEUE)));
+            Set<String> queues = new HashSet<>();
+            for (Message message = consumer.receive(2000); message != null; message = consumer.receive(500)) {
+                queues.add(((Queue) message.getJMSDestination()).getQueueName());
+            }
+            session.commit();
+            assertEquals(Set.copyOf(deadLetterConfig.deadLetterQueues(QUEUE)), queues);
+        });
+    }
+
+    private static void sendAndFail(Session session, Queue queue, String operation) throws Exception {
+        Message message = session.createTextMessage("poison");
+        if (operation != null) {
+            message.setStringProperty(JmsConstants.OPERATION, operation);
+        }
+        session.createProducer(queue).send(message);
+        session.commit();
+        MessageConsumer consumer = session.createConsumer(queue);
+        assertNotNull(consumer.receive(5000));
+        session.rollback();
+        consumer.close();
+    }
+
+    private static Message receive(Session session, String queue) throws Exception {
+        MessageConsumer consumer = session.createConsumer(session.createQueue(queue));
+        Message message = consumer.receive(1000);
+        session.commit();
+        consumer.close();
+        return message;
+    }
+
+    private void runBroker(DeadLetterConfig deadLetterConfig, SessionCallback callback) throws Exception {
+        BrokerService broker = new BrokerService();
+        broker.setBrokerName("dead-letter-test");
+        broker.setPersistent(false);
+        broker.setUseJmx(false);
+        broker.setUseShutdownHook(false);
+        DeadLetterPolicies.configure(broker, deadLetterConfig);
+        broker.start();
+        broker.waitUntilStarted();
+        ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory("vm://dead-letter-test?create=false");
+        RedeliveryPolicy noRedelivery = new RedeliveryPolicy();
+        noRedelivery.setMaximumRedeliveries(0);
+        connectionFactory.setRedeliveryPolicy(noRedelivery);
+        try (Connection connection = connectionFactory.createConnection()) {
+            connection.start();
+            callback.run(connection.createSession(true, Session.SESSION_TRANSACTED));
+        } finally {
+            broker.stop();
+            broker.waitUntilStopped();
+        }
+    }
+
+    @FunctionalInterface
+    private interface SessionCallback {
+
+        void run(Session session) throws Exception;
+    }
+}
@@ -0,0 +1,109 @@
+package com.eg.hospital.messaging.jms.processor.messaging.broker;
+
+import com.eg.hospital.messaging.jms.processor.config.BrokerConfig;
+import jakarta.jms.Connection;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
+import org.apache.activemq.store.kahadb.KahaDBPersistenceAdapter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmbeddedBrokerFactoryTest {
+
+    @TempDir
+    Path dataDirectory;
+
+    @Test
+    void testDurableSyncProfileSyncsAndStoresBeforeDispatch() {
+        BrokerConfig brokerConfig = brokerConfig(BrokerConfig.Profile.DURABLE_SYNC);
+        brokerConfig.getDurableSync().setIndexCacheSize(500);
+
+        KahaDBPersistenceAdapter kahaDb = EmbeddedBrokerFactory.kahaDb(brokerConfig);
+
+        assertEquals("ALWAYS", kahaDb.getJournalDiskSyncStrategy());
+        assertFalse(kahaDb.isConcurrentStoreAndDispatchQueues());
+        assertEquals(500, kahaDb.getIndexCacheSize());
+        assertEquals((int) DataSize.ofMegabytes(1).toBytes(), kahaDb.getJournalMaxWriteBatchSize());
+        assertEquals(new File(dataDirectory.toFile(), "test-broker" + File.separator + "KahaDB"), kahaDb.getDirectory());
+    }
+
+    @Test
+    void testAsyncJournalProfileSyncsPeriodically() {
+        BrokerConfig brokerConfig = brokerConfig(BrokerConfig.Profile.ASYNC_JOURNAL);
+        brokerConfig.setSyncInterval(Duration.ofMillis(250));
+        brokerConfig.getAsyncJournal().setJournalMaxFileLength(DataSize.ofMegabytes(8));
+
+        KahaDBPersistenceAdapter kahaDb = EmbeddedBrokerFactory.kahaDb(brokerConfig);
+
+        assertEquals("PERIODIC", kahaDb.getJournalDiskSyncStrategy());
+        assertEquals(250, kahaDb.getJournalDiskSyncInterval());
+        assertEquals((int) DataSize.ofMegabytes(8).toBytes(), kahaDb.getJournalMaxFileLength());
+        assertTrue(kahaDb.isConcurrentStoreAndDispatchQueues());
+    }
+
+    @Test
+    void testNonPersistentProfileKeepsMessagesInMemory() throws Exception {
+        BrokerService broker = EmbeddedBrokerFactory.createBroker(brokerConfig(BrokerConfig.Profile.NON_PERSISTENT));
+
+        assertFalse(broker.isPersistent());
+    }
+
+    @Test
+    void testBatchedSyncBrokerStoresMessagesAcrossRestart() throws Exception {
+        BrokerConfig brokerConfig = brokerConfig(BrokerConfig.Profile.BATCHED_SYNC);
+        runBroker(brokerConfig, session -> {
+            MessageProducer producer = session.createProducer(session.createQueue("profile.test"));
+            producer.send(session.createTextMessage("stored"));
+        });
+        assertTrue(new File(dataDirectory.toFile(), "test-broker/KahaDB/db.data").exists());
+
+        runBroker(brokerConfig, session -> {
+            MessageConsumer consumer = session.createConsumer(session.createQueue("profile.test"));
+            TextMessage message = (TextMessage) consumer.receive(5000);
+            assertNotNull(message);
+            assertEquals("stored", message.getText());
+        });
+    }
+
+    private BrokerConfig brokerConfig(BrokerConfig.Profile profile) {
+        BrokerConfig brokerConfig = new BrokerConfig();
+        brokerConfig.setName("test-broker");
+        brokerConfig.setDataDirectory(dataDirectory.toString());
+        brokerConfig.setProfile(profile);
+        return brokerConfig;
+    }
+
+    private void runBroker(BrokerConfig brokerConfig, SessionCallback callback) throws Exception {
+        BrokerService broker = EmbeddedBrokerFactory.createBroker(brokerConfig);
+        broker.setUseJmx(false);
+        broker.start();
+        broker.waitUntilStarted();
+        try (Connection connection = new ActiveMQConnectionFactory("vm://test-broker?create=false").createConnection()) {
+            connection.start();
+            callback.run(connection.createSession(false, Session.AUTO_ACKNOWLEDGE));
+        } finally {
+            broker.stop();
+            broker.waitUntilStopped();
+        }
+    }
+
+    @FunctionalInterface
+    private interface SessionCallback {
+
+        void run(Session session) throws Exception;
+    }
+}
@@ -0,0 +1,46 @@
+package com.eg.hospital.messaging.jms.processor.messaging.broker;
+
+import com.eg.hospital.messaging.jms.processor.config.DeadLetterConfig;
+import com.eg.hospital.messaging.jms.processor.metrics.MessagingMetrics;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.apache.activemq.command.ActiveMQTextMessage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RedeliveryCountingTransformerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RedeliveryCountingTransformer transformer =
+            new RedeliveryCountingTransformer(new MessagingMetrics(meterRegistry), new DeadLetterConfig());
+
+    @Test
+    void testCountsRedeliveriesByOperation() throws Exception {
+        ActiveMQTextMessage first = message("hospital.management.queue", 0);
+        ActiveMQTextMessage redelivered = message("hospital.management.queue", 3);
+
+        assertSame(first, transformer.consumerTransform(null, null, first));
+        assertSame(redelivered, transformer.consumerTransform(null, null, redelivered));
+
+        assertEquals(1, meterRegistry.get("jms.listener.redeliveries").tag("operation", "CREATE").counter().count());
+    }
+
+    @Test
+    void testSkipsDeadLetterQueues() throws Exception {
+        transformer.consumerTransform(null, null, message(JmsConstants.DEAD_LETTER_QUEUE, 7));
+        transformer.consumerTransform(null, null, message("DLQ.hospital.management.queue.CREATE", 7));
+
+        assertEquals(0, meterRegistry.get("jms.listener.redeliveries").tag("operation", "CREATE").counter().count());
+    }
+
+    private static ActiveMQTextMessage message(String queue, int redeliveryCounter) throws Exception {
+        ActiveMQTextMessage message = new ActiveMQTextMessage();
+        message.setDestination(new ActiveMQQueue(queue));
+        message.setRedeliveryCounter(redeliveryCounter);
+        message.setStringProperty(JmsConstants.OPERATION, JmsConstants.CREATE_OPERATION);
+        return message;
+    }
+}
@@ -0,0 +1,174 @@
+package com.eg.hospital.messaging.jms.processor.messaging.broker;
+
+import com.eg.hospital.messaging.jms.processor.config.RedeliveryConfig;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import jakarta.jms.Connection;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.RedeliveryPolicy;
+import org.apache.activemq.broker.BrokerService;
+import org.apache.activemq.broker.region.policy.RedeliveryPolicyMap;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedeliveryPoliciesTest {
+
+    @Test
+    void testDelayGrowsExponentiallyUpToMaximum() {
+        RedeliveryConfig redeliveryConfig = new RedeliveryConfig();
+        redeliveryConfig.setInitialDelay(Duration.ofMillis(100));
+        redeliveryConfig.setMultiplier(3);
+        redeliveryConfig.setMaxDelay(Duration.ofMillis(500));
+        redeliveryConfig.setJitterPercent(0);
+
+        RedeliveryPolicy policy = RedeliveryPolicies.policy(redeliveryConfig, new RedeliveryConfig.Policy());
+
+        assertEquals(100, policy.getInitialRedeliveryDelay());
+        assertEquals(300, policy.getNextRedeliveryDelay(100));
+        assertEquals(500, policy.getNextRedeliveryDelay(300));
+        assertEquals(6, policy.getMaximumRedeliveries());
+    }
+
+    @Test
+    void testJitterVariesDelayWithinPercent() {
+        RedeliveryConfig redeliveryConfig = new RedeliveryConfig();
+        redeliveryConfig.setMultiplier(1);
+        redeliveryConfig.setJitterPercent(20);
+
+        RedeliveryPolicy policy = RedeliveryPolicies.policy(redeliveryConfig, new RedeliveryConfig.Policy());
+
+        for (int i = 0; i < 100; i++) {
+            long delay = policy.getNextRedeliveryDelay(1000);
+            assertTrue(delay >= 800 && delay <= 1200, "delay " + delay);
+        }
+    }
+
+    @Test
+    void testDestinationOverridesFallBackToDefaults() {
+        RedeliveryConfig redeliveryConfig = new RedeliveryConfig();
+        RedeliveryConfig.Policy override = new RedeliveryConfig.Policy();
+        override.setMaxRedeliveries(2);
+        redeliveryConfig.getDestinations().put("hospital.>", override);
+
+        RedeliveryPolicyMap policyMap = RedeliveryPolicies.policyMap(redeliveryConfig);
+
+        RedeliveryPolicy hospital = policyMap.getEntryFor(new ActiveMQQueue("hospital.management.queue"));
+        assertEquals(2, hospital.getMaximumRedeliveries());
+        assertEquals(1000, hospital.getInitialRedeliveryDelay());
+        assertEquals(6, policyMap.getEntryFor(new ActiveMQQueue("other.queue")).getMaximumRedeliveries());
+    }
+
+    @Test
+    void testInvalidSettingsAreRejected() {
+        RedeliveryConfig redeliveryConfig = new RedeliveryConfig();
+        redeliveryConfig.setMultiplier(0.5);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> RedeliveryPolicies.policy(redeliveryConfig, new RedeliveryConfig.Policy()));
+    }
+
+    @Test
+    void testClientModeDelaysRedeliveryThenDeadLetters() throws Exception {
+        RedeliveryConfig redeliveryConfig = redeliveryConfig(RedeliveryConfig.Mode.CLIENT, 2, Duration.ofMillis(200));
+        runBroker(redeliveryConfig, (session, queue) -> assertDelayedRedeliveries(session, queue, 2, Duration.ofMillis(200)));
+    }
+
+    @Test
+    void testBrokerModeSchedulesRedeliveryThenDeadLetters() throws Exception {
+        RedeliveryConfig redeliveryConfig = redeliveryConfig(RedeliveryConfig.Mode.BROKER, 1, Duration.ofSeconds(1));
+        runBroker(redeliveryConfig, (session, queue) -> assertDelayedRedeliveries(session, queue, 1, Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void testBrokerModeRejectsDelaysBelowSchedulerMinimum() {
+        RedeliveryConfig redeliveryConfig = redeliveryConfig(RedeliveryConfig.Mode.BROKER, 1, Duration.ofMillis(200));
+
+        assertThrows(IllegalArgumentException.class, () -> RedeliveryPolicies.configure(new BrokerService(), redeliveryConfig));
+    }
+
+    @Test
+    void testOrderedConsumptionRedeliversBlocking() {
+        RedeliveryConfig redeliveryConfig = new RedeliveryConfig();
+        ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory("vm://unused");
+
+        RedeliveryPolicies.configure(connectionFactory, redeliveryConfig);
+        assertTrue(connectionFactory.isNonBlockingRedelivery());
+
+        RedeliveryPolicies.configure(connectionFactory, redeliveryConfig, true);
+        assertFalse(connectionFactory.isNonBlockingRedelivery());
+    }
+
+    private static void assertDelayedRedeliveries(Session session, Queue queue, int maxRedeliveries, Duration delay)
+            throws Exception {
+        session.createProducer(queue).send(session.createTextMessage("poison"));
+        session.commit();
+        MessageConsumer consumer = session.createConsumer(queue);
+        assertNotNull(consumer.receive(5000));
+        for (int redelivery = 1; redelivery <= maxRedeliveries; redelivery++) {
+            long rolledBack = System.nanoTime();
+            session.rollback();
+            Message message = consumer.receive(delay.toMillis() * 5);
+            assertNotNull(message, "redelivery " + redelivery);
+            assertTrue(Duration.ofNanos(System.nanoTime() - rolledBack).toMillis() >= delay.toMillis() * 3 / 4,
+                    "redelivered too early");
+            assertTrue(message.getJMSRedelivered());
+        }
+        session.rollback();
+        assertNull(consumer.receive(delay.toMillis() * 3));
+        consumer.close();
+
+        MessageConsumer deadLetters = session.createConsumer(session.createQueue(JmsConstants.DEAD_LETTER_QUEUE));
+        assertNotNull(deadLetters.receive(5000));
+        session.commit();
+    }
+
+    private static RedeliveryConfig redeliveryConfig(RedeliveryConfig.Mode mode, int maxRedeliveries, Duration delay) {
+        RedeliveryConfig redeliveryConfig = new RedeliveryConfig();
+        redeliveryConfig.setMode(mode);
+        redeliveryConfig.setMaxRedeliveries(maxRedeliveries);
+        redeliveryConfig.setInitialDelay(delay);
+        redeliveryConfig.setJitterPercent(0);
+        return redeliveryConfig;
+    }
+
+    private void runBroker(RedeliveryConfig redeliveryConfig, SessionCallback callback) throws Exception {
+        BrokerService broker = new BrokerService();
+        broker.setBrokerName("redelivery-test");
+        broker.setPersistent(false);
+        broker.setUseJmx(false);
+        broker.setUseShutdownHook(false);
+        RedeliveryPolicies.configure(broker, redeliveryConfig);
+        assertEquals(redeliveryConfig.getMode() == RedeliveryConfig.Mode.BROKER, broker.isSchedulerSupport());
+        broker.start();
+        broker.waitUntilStarted();
+        ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory("vm://redelivery-test?create=false");
+        RedeliveryPolicies.configure(connectionFactory, redeliveryConfig);
+        try (Connection connection = connectionFactory.createConnection()) {
+            connection.start();
+            Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+            callback.run(session, session.createQueue("redelivery.test"));
+        } finally {
+            broker.stop();
+            broker.waitUntilStopped();
+        }
+        assertFalse(broker.isStarted());
+    }
+
+    @FunctionalInterface
+    private interface SessionCallback {
+
+        void run(Session session, Queue queue) throws Exception;
+    }
+}
@@ -0,0 +1,124 @@
+package com.eg.hospital.messaging.jms.processor.messaging.converter;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.support.converter.MessageConversionException;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupMessageBinaryCodecTest {
+
+    private final GroupMessageBinaryCodec.Buffer buffer = new GroupMessageBinaryCodec.Buffer(16);
+
+    @Test
+    void testRoundTrip() {
+        GroupMessageDTO message = message("G123", "PG456", "CREATE", DateTimeFormatter.ISO_INSTANT.format(Instant.now()));
+
+        GroupMessageDTO decoded = roundTrip(message);
+
+        assertEquals(message.toString(), decoded.toString());
+        assertEquals(GroupMessageBinaryCodec.MAGIC, buffer.bytes()[0]);
+    }
+
+    @Test
+    void testRoundTripNonAsciiAndFallbackFields() {
+        GroupMessageDTO message = message("Grüppe-漢字-😀", null, "UPDATE", "yesterday");
+
+        GroupMessageDTO decoded = roundTrip(message);
+
+        assertEquals("Grüppe-漢字-😀", decoded.getGroupId());
+        assertNull(decoded.getParentGroupId());
+        assertEquals("UPDATE", decoded.getOperation());
+        assertEquals("yesterday", decoded.getTimestamp());
+    }
+
+    @Test
+    void testTimestampWithoutFractionIsPreserved() {
+        GroupMessageDTO decoded = roundTrip(message("G1", "P1", "DELETE", "1969-12-31T23:59:59Z"));
+
+        assertEquals("1969-12-31T23:59:59Z", decoded.getTimestamp());
+        assertEquals("DELETE", decoded.getOperation());
+    }
+
+    @Test
+    void testBinaryIsSmallerThanJson() {
+        GroupMessageBinaryCodec.encode(message("G123", "PG456", "CREATE", "2025-04-20T10:15:30.123456789Z"), buffer);
+
+        assertTrue(buffer.size() < 40, "Encoded size " + buffer.size());
+    }
+
+    @Test
+    void testUnknownFieldsAreSkipped() {
+        GroupMessageBinaryCodec.encode(message("G1", "P1", "CREATE", null), buffer);
+        byte[] extended = Arrays.copyOf(buffer.bytes(), buffer.size() + 4);
+        extended[buffer.size()] = 42;
+        extended[buffer.size() + 1] = 2;
+        extended[buffer.size() + 2] = 7;
+        extended[buffer.size() + 3] = 7;
+
+        GroupMessageDTO decoded = GroupMessageBinaryCodec.decode(extended, extended.length);
+
+        assertEquals("G1", decoded.getGroupId());
+        assertEquals("P1", decoded.getParentGroupId());
+    }
+
+    @Test
+    void testRejectsForeignDataAndNewerVersions() {
+        byte[] json = "{\"groupId\":\"G1\"}".getBytes();
+        assertFalse(GroupMessageBinaryCodec.isBinary(json, json.length));
+        assertThrows(MessageConversionException.class, () -> GroupMessageBinaryCodec.decode(json, json.length));
+
+        byte[] newer = {GroupMessageBinaryCodec.MAGIC, GroupMessageBinaryCodec.VERSION + 1};
+        assertThrows(MessageConversionException.class, () -> GroupMessageBinaryCodec.decode(newer, newer.length));
+
+        GroupMessageBinaryCodec.encode(message("G123", "P1", "CREATE", null), buffer);
+        assertThrows(MessageConversionException.class, () -> GroupMessageBinaryCodec.decode(buffer.bytes(), buffer.size() - 2));
+    }
+
+    @Test
+    void testRejectsFieldLengthBeyondData() {
+        byte[] data = {GroupMessageBinaryCodec.MAGIC, GroupMessageBinaryCodec.VERSION, GroupMessageBinaryCodec.TAG_GROUP_ID,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 'G'};
+
+        assertThrows(MessageConversionException.class, () -> GroupMessageBinaryCodec.decode(data, data.length));
+    }
+
+    @Test
+    void testRejectsEmptyOperationCode() {
+        byte[] data = {GroupMessageBinaryCodec.MAGIC, GroupMessageBinaryCodec.VERSION,
+                GroupMessageBinaryCodec.TAG_OPERATION_CODE, 0x00};
+
+        assertThrows(MessageConversionException.class, () -> GroupMessageBinaryCodec.decode(data, data.length));
+    }
+
+    @Test
+    void testOperationIdRoundTrip() {
+        String uuid = UUID.randomUUID().toString();
+        GroupMessageDTO withUuid = GroupMessageDTO.builder().groupId("G1").operation("CREATE").operationId(uuid).build();
+        GroupMessageBinaryCodec.encode(withUuid, buffer);
+        int uuidSize = buffer.size();
+
+        assertEquals(uuid, GroupMessageBinaryCodec.decode(buffer.bytes(), buffer.size()).getOperationId());
+
+        String upperCase = uuid.toUpperCase();
+        GroupMessageDTO withString = GroupMessageDTO.builder().groupId("G1").operation("CREATE").operationId(upperCase).build();
+        GroupMessageDTO decoded = roundTrip(withString);
+
+        assertEquals(upperCase, decoded.getOperationId());
+        assertTrue(uuidSize < buffer.size());
+    }
+
+    private GroupMessageDTO roundTrip(GroupMessageDTO message) {
+        GroupMessageBinaryCodec.encode(message, buffer);
+        return GroupMessageBinaryCodec.decode(buffer.bytes(), buffer.size());
+    }
+
+    private static GroupMessageDTO message(String groupId, String parentGroupId, String operation, String timestamp) {
+        return GroupMessageDTO.builder().groupId(groupId).parentGroupId(parentGroupId).operation(operation).timestamp(timestamp).build();
+    }
+}
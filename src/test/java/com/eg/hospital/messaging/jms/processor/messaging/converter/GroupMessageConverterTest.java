@@ -0,0 +1,145 @@
+package com.eg.hospital.messaging.jms.processor.messaging.converter;
+
+import com.eg.hospital.messaging.jms.processor.config.CompressionConfig;
+import com.eg.hospital.messaging.jms.processor.config.JmsConfig;
+import com.eg.hospital.messaging.jms.processor.config.WireFormatConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import org.apache.activemq.command.ActiveMQBytesMessage;
+import org.apache.activemq.command.ActiveMQTextMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GroupMessageConverterTest {
+
+    private final WireFormatConfig wireFormatConfig = new WireFormatConfig();
+    private final CompressionConfig compressionConfig = new CompressionConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GroupMessageConverter converter = new GroupMessageConverter(new JmsConfig().jacksonJmsMessageConverter(),
+            wireFormatConfig, compressionConfig, meterRegistry);
+    private final Session session = mock(Session.class);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(session.createBytesMessage()).thenAnswer(invocation -> new ActiveMQBytesMessage());
+        when(session.createTextMessage(anyString()))
+                .thenAnswer(invocation -> {
+                    ActiveMQTextMessage message = new ActiveMQTextMessage();
+                    message.setText(invocation.getArgument(0));
+                    return message;
+                });
+    }
+
+    @Test
+    void testJsonFormatWritesTextMessage() throws Exception {
+        Message message = converter.toMessage(dto(), session);
+
+        assertInstanceOf(ActiveMQTextMessage.class, message);
+        assertEquals(dto().toString(), converter.fromMessage(message).toString());
+    }
+
+    @Test
+    void testBinaryFormatWritesBytesMessage() throws Exception {
+        wireFormatConfig.setFormat(WireFormatConfig.Format.BINARY);
+
+        Message message = converter.toMessage(dto(), session);
+        ((ActiveMQBytesMessage) message).reset();
+
+        assertInstanceOf(ActiveMQBytesMessage.class, message);
+        assertEquals(dto().toString(), converter.fromMessage(message).toString());
+    }
+
+    @Test
+    void testConsumerReadsBothFormatsRegardlessOfSetting() throws Exception {
+        Message json = converter.toMessage(dto(), session);
+        wireFormatConfig.setFormat(WireFormatConfig.Format.BINARY);
+        Message binary = converter.toMessage(dto(), session);
+        ((ActiveMQBytesMessage) binary).reset();
+
+        assertEquals(dto().toString(), converter.fromMessage(json).toString());
+        assertEquals(dto().toString(), converter.fromMessage(binary).toString());
+        wireFormatConfig.setFormat(WireFormatConfig.Format.JSON);
+        ((ActiveMQBytesMessage) binary).reset();
+        assertEquals(dto().toString(), converter.fromMessage(binary).toString());
+    }
+
+    @Test
+    void testOtherPayloadsUseDelegate() throws Exception {
+        wireFormatConfig.setFormat(WireFormatConfig.Format.BINARY);
+
+        Message message = converter.toMessage("plain text", session);
+
+        assertInstanceOf(ActiveMQTextMessage.class, message);
+        assertEquals("plain text", converter.fromMessage(message));
+    }
+
+    @ParameterizedTest
+    @EnumSource(CompressionCodec.class)
+    void testCompressesPayloadsAboveThreshold(CompressionCodec codec) throws Exception {
+        compressionConfig.setEnabled(true);
+        compressionConfig.setCodec(codec);
+        compressionConfig.setThreshold(DataSize.ofBytes(64));
+        GroupMessageDTO large = GroupMessageDTO.builder()
+                .groupId("G".repeat(500)).parentGroupId("PG456").operation("CREATE").timestamp("2025-04-20T10:15:30.123Z").build();
+
+        for (WireFormatConfig.Format format : WireFormatConfig.Format.values()) {
+            wireFormatConfig.setFormat(format);
+            Message message = converter.toMessage(large, session);
+            ((ActiveMQBytesMessage) message).reset();
+
+            assertEquals(codec.name(), message.getStringProperty("_compression"));
+            assertTrue(((ActiveMQBytesMessage) message).getBodyLength() < 150);
+            assertEquals(large.toString(), converter.fromMessage(message).toString());
+        }
+        String codecTag = codec.name().toLowerCase();
+        assertEquals(2.0, meterRegistry.get("jms.compression.messages").tags("codec", codecTag, "result", "compressed").counter().count());
+        assertTrue(meterRegistry.get("jms.compression.ratio").tag("codec", codecTag).summary().mean() < 0.5);
+        assertEquals(2, meterRegistry.get("jms.compression.cpu").tags("codec", codecTag, "direction", "decompress").timer().count());
+    }
+
+    @ParameterizedTest
+    @EnumSource(CompressionCodec.class)
+    void testRejectsPayloadsAboveDecompressedSizeLimit(CompressionCodec codec) throws Exception {
+        compressionConfig.setEnabled(true);
+        compressionConfig.setCodec(codec);
+        compressionConfig.setThreshold(DataSize.ofBytes(64));
+        Message message = converter.toMessage(GroupMessageDTO.builder()
+                .groupId("G".repeat(5000)).parentGroupId("PG456").operation("CREATE").timestamp("2025-04-20T10:15:30.123Z").build(), session);
+        ((ActiveMQBytesMessage) message).reset();
+
+        compressionConfig.setMaxDecompressedSize(DataSize.ofBytes(1024));
+
+        assertThrows(MessageConversionException.class, () -> converter.fromMessage(message));
+    }
+
+    @Test
+    void testPayloadsBelowThresholdAreNotCompressed() throws Exception {
+        compressionConfig.setEnabled(true);
+        wireFormatConfig.setFormat(WireFormatConfig.Format.BINARY);
+
+        Message message = converter.toMessage(dto(), session);
+
+        assertNull(message.getStringProperty("_compression"));
+        assertEquals(1.0, meterRegistry.get("jms.compression.messages").tags("codec", "deflate", "result", "below_threshold").counter().count());
+    }
+
+    private static GroupMessageDTO dto() {
+        return GroupMessageDTO.builder()
+                .groupId("G123")
+                .parentGroupId("PG456")
+                .operation("CREATE")
+                .timestamp("2025-04-20T10:15:30.123Z")
+                .build();
+    }
+}
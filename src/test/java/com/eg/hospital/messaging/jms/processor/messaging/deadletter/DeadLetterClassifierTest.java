@@ -0,0 +1,32 @@
+package com.eg.hospital.messaging.jms.processor.messaging.deadletter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DeadLetterClassifierTest {
+
+    @Test
+    void testInnermostCauseIsTheReason() {
+        String cause = "java.lang.Throwable: Delivery[7] exceeds redelivery policy limit:RedeliveryPolicy {id: 1}, "
+                + "cause:org.springframework.jms.listener.adapter.ListenerExecutionFailedException: failed, "
+                + "cause:java.lang.IllegalStateException: hierarchy is inconsistent";
+
+        assertEquals("IllegalStateException", DeadLetterClassifier.classify(cause));
+    }
+
+    @Test
+    void testRedeliveryExceededWithoutCause() {
+        String cause = "java.lang.Throwable: Delivery[7] exceeds redelivery policy limit:RedeliveryPolicy {id: 1}, cause:null";
+
+        assertEquals(DeadLetterClassifier.REDELIVERY_EXCEEDED, DeadLetterClassifier.classify(cause));
+    }
+
+    @Test
+    void testExpiredAndMissingCauses() {
+        assertEquals(DeadLetterClassifier.EXPIRED, DeadLetterClassifier.classify("java.lang.Throwable: Message Expired"));
+        assertEquals(DeadLetterClassifier.UNKNOWN, DeadLetterClassifier.classify(null));
+        assertEquals(DeadLetterClassifier.UNKNOWN, DeadLetterClassifier.classify("  "));
+        assertEquals("TimeoutException", DeadLetterClassifier.classify("java.util.concurrent.TimeoutException: slow"));
+    }
+}
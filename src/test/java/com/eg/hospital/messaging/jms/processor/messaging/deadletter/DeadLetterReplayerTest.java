@@ -0,0 +1,142 @@
+package com.eg.hospital.messaging.jms.processor.messaging.deadletter;
+
+import com.eg.hospital.messaging.jms.processor.config.DeadLetterConfig;
+import com.eg.hospital.messaging.jms.processor.dto.BatchItemResultDTO;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.exception.SendRejectedException;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageProducer;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.core.JmsTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.eg.hospital.messaging.jms.processor.messaging.deadletter.DeadLetterStoreTest.QUEUE;
+import static com.eg.hospital.messaging.jms.processor.messaging.deadletter.DeadLetterStoreTest.message;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class DeadLetterReplayerTest {
+
+    private final DeadLetterConfig deadLetterConfig = new DeadLetterConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DeadLetterStore store = new DeadLetterStore(deadLetterConfig, mock(JmsTemplate.class), meterRegistry);
+    private final GroupMessageProducer groupMessageProducer = mock(GroupMessageProducer.class);
+    private final DeadLetterReplayer replayer =
+            new DeadLetterReplayer(deadLetterConfig, store, groupMessageProducer, meterRegistry);
+
+    @Test
+    void testReplaySendsMatchingEntriesInBatches() throws Exception {
+        deadLetterConfig.setReplayBatchSize(2);
+        for (int i = 0; i < 5; i++) {
+            store.add(message("G" + i, "CREATE"), "A", QUEUE);
+        }
+        store.add(message("D1", "DELETE"), "A", QUEUE);
+        List<String> sent = new ArrayList<>();
+        when(groupMessageProducer.sendMessages(anyList())).thenAnswer(invocation -> {
+            List<GroupMessageDTO> messages = invocation.getArgument(0);
+            messages.forEach(message -> sent.add(message.getGroupId()));
+            return results(messages, JmsConstants.ITEM_SENT);
+        });
+
+        replayer.start("A", "create", null, 1000);
+        Map<String, Object> progress = awaitFinished();
+
+        assertEquals("COMPLETED", progress.get("state").toString());
+        assertEquals(5L, progress.get("replayed"));
+        assertEquals(List.of("G0", "G1", "G2", "G3", "G4"), sent);
+        verify(groupMessageProducer, times(3)).sendMessages(anyList());
+        assertEquals(1, store.size());
+        assertEquals(5, meterRegistry.get("jms.dlq.replayed").tag("result", "success").counter().count());
+    }
+
+    @Test
+    void testUnsentEntriesStayInStore() throws Exception {
+        store.add(message("G1", "CREATE"), "A", QUEUE);
+        store.add(message("G2", "CREATE"), "A", QUEUE);
+        when(groupMessageProducer.sendMessages(anyList())).thenAnswer(invocation ->
+                results(invocation.getArgument(0), JmsConstants.ITEM_FAILED));
+
+        replayer.start(null, null, null, 1000);
+        Map<String, Object> progress = awaitFinished();
+
+        assertEquals(2L, progress.get("failed"));
+        assertEquals(2, store.size());
+        assertEquals(List.of("G1", "G2"), DeadLetterStoreTest.groupIds(store.peek(null, null, 10)));
+    }
+
+    @Test
+    void testFailingEntryIsSetAsideUntilReplayFinishes() throws Exception {
+        deadLetterConfig.setReplayBatchSize(2);
+        for (int i = 0; i < 5; i++) {
+            store.add(message("G" + i, "CREATE"), "A", QUEUE);
+        }
+        List<String> attempted = new ArrayList<>();
+        when(groupMessageProducer.sendMessages(anyList())).thenAnswer(invocation -> {
+            List<GroupMessageDTO> messages = invocation.getArgument(0);
+            List<BatchItemResultDTO> results = new ArrayList<>();
+            for (int i = 0; i < messages.size(); i++) {
+                String groupId = messages.get(i).getGroupId();
+                attempted.add(groupId);
+                String status = "G1".equals(groupId) ? JmsConstants.ITEM_FAILED : JmsConstants.ITEM_SENT;
+                results.add(BatchItemResultDTO.builder().index(i).groupId(groupId).status(status).build());
+            }
+            return results;
+        });
+
+        replayer.start(null, null, null, 1000);
+        Map<String, Object> progress = awaitFinished();
+
+        assertEquals("COMPLETED", progress.get("state").toString());
+        assertEquals(List.of("G0", "G1", "G2", "G3", "G4"), attempted);
+        assertEquals(4L, progress.get("replayed"));
+        assertEquals(1L, progress.get("failed"));
+        assertEquals(100.0, progress.get("percentComplete"));
+        assertEquals(List.of("G1"), DeadLetterStoreTest.groupIds(store.peek(null, null, 10)));
+        assertEquals(1, meterRegistry.get("jms.dlq.replayed").tag("result", "failure").counter().count());
+    }
+
+    @Test
+    void testRejectedBatchIsRetried() throws Exception {
+        store.add(message("G1", "CREATE"), "A", QUEUE);
+        when(groupMessageProducer.sendMessages(anyList()))
+                .thenThrow(new SendRejectedException(SendRejectedException.Reason.IN_FLIGHT, Duration.ofMillis(10), "busy"))
+                .thenAnswer(invocation -> results(invocation.getArgument(0), JmsConstants.ITEM_SENT));
+
+        replayer.start(null, null, null, 1000);
+        Map<String, Object> progress = awaitFinished();
+
+        assertEquals(1L, progress.get("rejections"));
+        assertEquals(1L, progress.get("replayed"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testInvalidSettingsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> replayer.start(null, null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> replayer.start(null, null, 0L, null));
+        assertEquals("IDLE", replayer.progress().get("state"));
+    }
+
+    private Map<String, Object> awaitFinished() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ("RUNNING".equals(replayer.progress().get("state").toString()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return replayer.progress();
+    }
+
+    private static List<BatchItemResultDTO> results(List<GroupMessageDTO> messages, String status) {
+        List<BatchItemResultDTO> results = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            results.add(BatchItemResultDTO.builder().index(i).groupId(messages.get(i).getGroupId()).status(status).build());
+        }
+        return results;
+    }
+}
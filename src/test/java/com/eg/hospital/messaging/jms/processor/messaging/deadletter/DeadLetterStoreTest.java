@@ -0,0 +1,122 @@
+package com.eg.hospital.messaging.jms.processor.messaging.deadletter;
+
+import com.eg.hospital.messaging.jms.processor.config.DeadLetterConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.exception.DeadLetterStoreFullException;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessagePostProcessor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DeadLetterStoreTest {
+
+    static final String QUEUE = "DLQ.hospital.management.queue.CREATE";
+
+    private final DeadLetterConfig deadLetterConfig = new DeadLetterConfig();
+    private final JmsTemplate jmsTemplate = mock(JmsTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DeadLetterStore store = new DeadLetterStore(deadLetterConfig, jmsTemplate, meterRegistry);
+
+    @Test
+    void testTakeReturnsOldestMatchingEntriesAcrossReasons() {
+        store.add(message("G1", "CREATE"), "A", QUEUE);
+        store.add(message("G2", "DELETE"), "B", QUEUE);
+        store.add(message("G3", "CREATE"), "B", QUEUE);
+        store.add(message("G4", "CREATE"), "A", QUEUE);
+
+        assertEquals(List.of("G1", "G3"), groupIds(store.take(null, "CREATE", 2)));
+        assertEquals(List.of("G2"), groupIds(store.take("B", null, 5)));
+        assertEquals(1, store.size());
+        assertEquals(1, store.count("A", "CREATE"));
+    }
+
+    @Test
+    void testFullStoreRejectsNewEntries() {
+        deadLetterConfig.setCapacity(2);
+        store.add(message("G1", "CREATE"), "A", QUEUE);
+        store.add(message("G2", "DELETE"), "B", QUEUE);
+
+        assertTrue(store.isFull());
+        assertThrows(DeadLetterStoreFullException.class, () -> store.add(message("G3", "CREATE"), "A", QUEUE));
+        assertEquals(List.of("G1", "G2"), groupIds(store.peek(null, null, 10)));
+        assertEquals(1, meterRegistry.get("jms.dlq.rejections").counter().count());
+        assertEquals(2, meterRegistry.get("jms.dlq.held").gauge().value());
+
+        assertFalse(store.hasRoom());
+        store.take(null, null, 1);
+        assertTrue(store.hasRoom());
+    }
+
+    @Test
+    void testRestoredEntriesAreTakenFirst() {
+        store.add(message("G1", "CREATE"), "A", QUEUE);
+        store.add(message("G2", "CREATE"), "A", QUEUE);
+        store.add(message("G3", "CREATE"), "A", QUEUE);
+
+        List<DeadLetterEntry> taken = store.take(null, null, 2);
+        store.restore(taken);
+
+        assertEquals(List.of("G1", "G2", "G3"), groupIds(store.take(null, null, 3)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSummaryCountsByReasonOperationAndQueue() {
+        store.add(message("G1", "CREATE"), "A", QUEUE);
+        store.add(message("G2", null), "A", "DLQ.hospital.management.queue");
+        store.add(message("G3", "DELETE"), "B", "DLQ.hospital.management.queue.DELETE");
+        store.take("B", null, 1);
+
+        Map<String, Object> summary = store.summary();
+
+        assertEquals(2, summary.get("held"));
+        assertTrue(summary.containsKey("oldestArrival"));
+        Map<String, Map<String, Long>> reasons = (Map<String, Map<String, Long>>) summary.get("reasons");
+        assertEquals(Map.of("CREATE", 1L, DeadLetterClassifier.UNKNOWN, 1L), reasons.get("A"));
+        assertFalse(reasons.containsKey("B"));
+        assertEquals(Map.of(QUEUE, 1L, "DLQ.hospital.management.queue", 1L), summary.get("queues"));
+    }
+
+    @Test
+    void testHeldEntriesReturnToTheirQueueOnShutdown() {
+        store.add(message("G1", "CREATE"), "A", QUEUE);
+        store.add(message("G2", "DELETE"), "B", JmsConstants.DEAD_LETTER_QUEUE);
+
+        store.destroy();
+
+        verify(jmsTemplate).convertAndSend(eq(QUEUE), any(GroupMessageDTO.class), any(MessagePostProcessor.class));
+        verify(jmsTemplate).convertAndSend(eq(JmsConstants.DEAD_LETTER_QUEUE), any(GroupMessageDTO.class),
+                any(MessagePostProcessor.class));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testHeldEntriesStayWhenReturnDisabled() {
+        deadLetterConfig.setReturnOnShutdown(false);
+        store.add(message("G1", "CREATE"), "A", QUEUE);
+
+        store.destroy();
+
+        verifyNoInteractions(jmsTemplate);
+    }
+
+    static GroupMessageDTO message(String groupId, String operation) {
+        return GroupMessageDTO.builder().groupId(groupId).parentGroupId("P1").operation(operation).build();
+    }
+
+    static List<String> groupIds(List<DeadLetterEntry> entries) {
+        return entries.stream().map(entry -> entry.getMessage().getGroupId()).toList();
+    }
+}
@@ -0,0 +1,125 @@
+package com.eg.hospital.messaging.jms.processor.messaging.dedup;
+
+import com.eg.hospital.messaging.jms.processor.config.DeduplicationConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationDeduplicationCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testDetectsDuplicatesAndReportsHitRatio() {
+        OperationDeduplicationCache cache = new OperationDeduplicationCache(config(Duration.ofMinutes(1), 100, 4), meterRegistry);
+
+        assertTrue(cache.markIfAbsent("op-1"));
+        assertFalse(cache.markIfAbsent("op-1"));
+        assertTrue(cache.markIfAbsent("op-2"));
+        assertFalse(cache.markIfAbsent("op-1"));
+
+        assertEquals(2, cache.size());
+        assertEquals(0.5, cache.hitRatio());
+        assertEquals(2, meterRegistry.get("jms.dedup.lookups").tag("result", "hit").counter().count());
+        assertEquals(0.5, meterRegistry.get("jms.dedup.hit.ratio").gauge().value());
+        assertEquals(2 * OperationDeduplicationCache.ENTRY_OVERHEAD_BYTES + 8, meterRegistry.get("jms.dedup.memory").gauge().value());
+    }
+
+    @Test
+    void testForgetAllowsReprocessing() {
+        OperationDeduplicationCache cache = new OperationDeduplicationCache(config(Duration.ofMinutes(1), 100, 4), meterRegistry);
+
+        assertTrue(cache.markIfAbsent("op-1"));
+        cache.forget("op-1");
+        cache.forget("op-unknown");
+
+        assertTrue(cache.markIfAbsent("op-1"));
+        assertEquals(1, cache.size());
+        assertEquals(OperationDeduplicationCache.ENTRY_OVERHEAD_BYTES + 4, cache.estimatedBytes());
+    }
+
+    @Test
+    void testExpiresIdsAfterWindow() {
+        long[] now = {0};
+        OperationDeduplicationCache cache = new OperationDeduplicationCache(config(Duration.ofSeconds(10), 100, 1), meterRegistry) {
+            @Override
+            protected long nanoTime() {
+                return now[0];
+            }
+        };
+
+        assertTrue(cache.markIfAbsent("op-1"));
+        now[0] = TimeUnit.SECONDS.toNanos(5);
+        assertTrue(cache.markIfAbsent("op-2"));
+        now[0] = TimeUnit.SECONDS.toNanos(9);
+        assertFalse(cache.markIfAbsent("op-1"));
+
+        now[0] = TimeUnit.SECONDS.toNanos(12);
+        assertTrue(cache.markIfAbsent("op-1"));
+        assertFalse(cache.markIfAbsent("op-2"));
+        assertEquals(1, meterRegistry.get("jms.dedup.evictions").tag("cause", "expired").counter().count());
+    }
+
+    @Test
+    void testEvictsOldestIdsBeyondMaxEntries() {
+        OperationDeduplicationCache cache = new OperationDeduplicationCache(config(Duration.ofMinutes(1), 3, 1), meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(cache.markIfAbsent("op-" + i));
+        }
+
+        assertEquals(3, cache.size());
+        assertTrue(cache.markIfAbsent("op-0"));
+        assertFalse(cache.markIfAbsent("op-4"));
+        assertEquals(3, meterRegistry.get("jms.dedup.evictions").tag("cause", "size").counter().count());
+    }
+
+    @Test
+    void testConcurrentMarksAcceptEachIdOnce() throws Exception {
+        OperationDeduplicationCache cache = new OperationDeduplicationCache(config(Duration.ofMinutes(1), 100_000, 16), meterRegistry);
+        String[] ids = new String[10_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID().toString();
+        }
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] consumers = new Future<?>[8];
+            for (int c = 0; c < consumers.length; c++) {
+                consumers[c] = executor.submit(() -> {
+                    for (String id : ids) {
+                        if (cache.markIfAbsent(id)) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            for (Future<?> consumer : consumers) {
+                consumer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(ids.length, accepted.get());
+        assertEquals(ids.length, cache.size());
+    }
+
+    private static DeduplicationConfig config(Duration window, int maxEntries, int stripes) {
+        DeduplicationConfig deduplicationConfig = new DeduplicationConfig();
+        deduplicationConfig.setWindow(window);
+        deduplicationConfig.setMaxEntries(maxEntries);
+        deduplicationConfig.setStripes(stripes);
+        return deduplicationConfig;
+    }
+}
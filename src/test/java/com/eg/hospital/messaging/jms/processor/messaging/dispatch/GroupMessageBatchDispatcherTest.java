@@ -0,0 +1,50 @@
+package com.eg.hospital.messaging.jms.processor.messaging.dispatch;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.exception.JmsMessageException;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class GroupMessageBatchDispatcherTest {
+
+    private GroupMessageListener createListener;
+    private GroupMessageListener deleteListener;
+    private GroupMessageBatchDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        createListener = mock(GroupMessageListener.class);
+        deleteListener = mock(GroupMessageListener.class);
+        when(createListener.getOperation()).thenReturn("CREATE");
+        when(deleteListener.getOperation()).thenReturn("DELETE");
+        dispatcher = new GroupMessageBatchDispatcher(new GroupMessageHandlerRegistry(List.of(createListener, deleteListener)));
+    }
+
+    @Test
+    void testProcessMessagesRoutesInOrder() {
+        GroupMessageDTO create = GroupMessageDTO.builder().groupId("G1").parentGroupId("P1").operation("CREATE").build();
+        GroupMessageDTO delete = GroupMessageDTO.builder().groupId("G1").parentGroupId("P1").operation("DELETE").build();
+
+        dispatcher.processMessages(List.of(create, delete));
+
+        InOrder inOrder = inOrder(createListener, deleteListener);
+        inOrder.verify(createListener).processMessage(create);
+        inOrder.verify(deleteListener).processMessage(delete);
+    }
+
+    @Test
+    void testProcessMessagesStopsAtFailingMessage() {
+        GroupMessageDTO unknown = GroupMessageDTO.builder().groupId("G1").parentGroupId("P1").operation("UPDATE").build();
+        GroupMessageDTO create = GroupMessageDTO.builder().groupId("G2").parentGroupId("P1").operation("CREATE").build();
+
+        assertThrows(JmsMessageException.class, () -> dispatcher.processMessages(List.of(unknown, create)));
+        verify(createListener, never()).processMessage(any());
+    }
+}
@@ -0,0 +1,54 @@
+package com.eg.hospital.messaging.jms.processor.messaging.dispatch;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.exception.JmsMessageException;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class GroupMessageDispatcherTest {
+
+    private GroupMessageListener createListener;
+    private GroupMessageListener deleteListener;
+    private GroupMessageDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        createListener = mock(GroupMessageListener.class);
+        deleteListener = mock(GroupMessageListener.class);
+        when(createListener.getOperation()).thenReturn("CREATE");
+        when(deleteListener.getOperation()).thenReturn("DELETE");
+        dispatcher = new GroupMessageDispatcher(new GroupMessageHandlerRegistry(List.of(createListener, deleteListener)));
+    }
+
+    @Test
+    void testDispatchRoutesOnOperationProperty() {
+        GroupMessageDTO message = GroupMessageDTO.builder().groupId("G1").parentGroupId("P1").operation("DELETE").build();
+
+        dispatcher.dispatch(message, "DELETE");
+
+        verify(deleteListener).processMessage(message);
+        verify(createListener, never()).processMessage(any());
+    }
+
+    @Test
+    void testDispatchFallsBackToPayloadOperation() {
+        GroupMessageDTO message = GroupMessageDTO.builder().groupId("G1").parentGroupId("P1").operation("CREATE").build();
+
+        dispatcher.dispatch(message, null);
+
+        verify(createListener).processMessage(message);
+    }
+
+    @Test
+    void testDispatchUnknownOperationThrows() {
+        GroupMessageDTO message = GroupMessageDTO.builder().groupId("G1").parentGroupId("P1").operation("UPDATE").build();
+
+        assertThrows(JmsMessageException.class, () -> dispatcher.dispatch(message, "UPDATE"));
+    }
+}
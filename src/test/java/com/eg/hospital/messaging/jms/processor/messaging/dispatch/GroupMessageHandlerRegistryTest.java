@@ -0,0 +1,45 @@
+package com.eg.hospital.messaging.jms.processor.messaging.dispatch;
+
+import com.eg.hospital.messaging.jms.processor.exception.JmsMessageException;
+import com.eg.hospital.messaging.jms.processor.hierarchy.InMemoryGroupHierarchyIndex;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageListener;
+import com.eg.hospital.messaging.jms.processor.messaging.JmsCreateMessageListener;
+import com.eg.hospital.messaging.jms.processor.messaging.JmsDeleteMessageListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupMessageHandlerRegistryTest {
+
+    private final InMemoryGroupHierarchyIndex index = new InMemoryGroupHierarchyIndex();
+    private final JmsCreateMessageListener createListener = new JmsCreateMessageListener(index);
+    private final JmsDeleteMessageListener deleteListener = new JmsDeleteMessageListener(index);
+
+    @Test
+    void testHandlerForReturnsListenerByOperation() {
+        GroupMessageHandlerRegistry registry = new GroupMessageHandlerRegistry(List.of(createListener, deleteListener));
+
+        assertSame(createListener, registry.handlerFor("CREATE"));
+        assertSame(deleteListener, registry.handlerFor("DELETE"));
+        assertEquals(Set.of("CREATE", "DELETE"), registry.operations());
+    }
+
+    @Test
+    void testHandlerForUnknownOperationThrows() {
+        GroupMessageHandlerRegistry registry = new GroupMessageHandlerRegistry(List.of(createListener));
+
+        JmsMessageException exception = assertThrows(JmsMessageException.class, () -> registry.handlerFor("UPDATE"));
+        assertTrue(exception.getMessage().contains("UPDATE"));
+        assertThrows(JmsMessageException.class, () -> registry.handlerFor(null));
+    }
+
+    @Test
+    void testDuplicateOperationFailsRegistration() {
+        List<GroupMessageListener> listeners = List.of(createListener, new JmsCreateMessageListener(index));
+
+        assertThrows(IllegalStateException.class, () -> new GroupMessageHandlerRegistry(listeners));
+    }
+}
@@ -0,0 +1,148 @@
+package com.eg.hospital.messaging.jms.processor.messaging.dispatch;
+
+import com.eg.hospital.messaging.jms.processor.config.ListenerConfig;
+import com.eg.hospital.messaging.jms.processor.config.OrderingConfig;
+import com.eg.hospital.messaging.jms.processor.config.RedeliveryConfig;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.listener.MessageListenerContainer;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class ListenerModeCoordinatorTest {
+
+    private static final String DLQ_LISTENER_ID = "org.springframework.jms.JmsListenerEndpointContainer#0";
+
+    private final JmsListenerEndpointRegistry registry = mock(JmsListenerEndpointRegistry.class);
+    private final MessageListenerContainer createContainer = mock(MessageListenerContainer.class);
+    private final MessageListenerContainer deleteContainer = mock(MessageListenerContainer.class);
+    private final MessageListenerContainer dispatchContainer = mock(MessageListenerContainer.class);
+    private final MessageListenerContainer dlqContainer = mock(MessageListenerContainer.class);
+    private final ListenerConfig listenerConfig = new ListenerConfig();
+    private final OrderingConfig orderingConfig = new OrderingConfig();
+    private final RedeliveryConfig redeliveryConfig = new RedeliveryConfig();
+    private final MockEnvironment environment = new MockEnvironment();
+
+    @BeforeEach
+    void setUp() {
+        when(registry.getListenerContainerIds()).thenReturn(Set.of(JmsConstants.CREATE_LISTENER_ID,
+                JmsConstants.DELETE_LISTENER_ID, JmsConstants.DISPATCH_LISTENER_ID, DLQ_LISTENER_ID));
+        when(registry.getListenerContainer(JmsConstants.CREATE_LISTENER_ID)).thenReturn(createContainer);
+        when(registry.getListenerContainer(JmsConstants.DELETE_LISTENER_ID)).thenReturn(deleteContainer);
+        when(registry.getListenerContainer(JmsConstants.DISPATCH_LISTENER_ID)).thenReturn(dispatchContainer);
+        when(registry.getListenerContainer(DLQ_LISTENER_ID)).thenReturn(dlqContainer);
+    }
+
+    @Test
+    void testSelectorModeStartsSelectorListeners() {
+        ListenerModeCoordinator coordinator = new ListenerModeCoordinator(registry, listenerConfig, orderingConfig, redeliveryConfig, environment);
+
+        coordinator.start();
+
+        verify(createContainer).start();
+        verify(deleteContainer).start();
+        verify(dlqContainer).start();
+        verify(dispatchContainer, never()).start();
+        assertTrue(coordinator.isRunning());
+    }
+
+    @Test
+    void testDispatcherModeStartsDispatchListener() {
+        listenerConfig.setMode(ListenerConfig.Mode.DISPATCHER);
+        ListenerModeCoordinator coordinator = new ListenerModeCoordinator(registry, listenerConfig, orderingConfig, redeliveryConfig, environment);
+
+        coordinator.start();
+        coordinator.stop();
+
+        verify(dispatchContainer).start();
+        verify(dlqContainer).start();
+        verify(createContainer, never()).start();
+        verify(deleteContainer, never()).start();
+        verify(dispatchContainer).stop();
+        assertFalse(coordinator.isRunning());
+    }
+
+    @Test
+    void testOrderingRequiresDispatcherMode() {
+        orderingConfig.setEnabled(true);
+
+        assertThrows(IllegalStateException.class, () -> new ListenerModeCoordinator(registry, listenerConfig, orderingConfig, redeliveryConfig, environment));
+
+        listenerConfig.setMode(ListenerConfig.Mode.DISPATCHER);
+        new ListenerModeCoordinator(registry, listenerConfig, orderingConfig, redeliveryConfig, environment).start();
+        verify(dispatchContainer).start();
+    }
+
+    @Test
+    void testBatchModeStartsOnlyDeadLetterListener() {
+        listenerConfig.setMode(ListenerConfig.Mode.BATCH);
+        orderingConfig.setEnabled(true);
+        ListenerModeCoordinator coordinator = new ListenerModeCoordinator(registry, listenerConfig, orderingConfig, redeliveryConfig, environment);
+
+        coordinator.start();
+
+        verify(dlqContainer).start();
+        verify(createContainer, never()).start();
+        verify(deleteContainer, never()).start();
+        verify(dispatchContainer, never()).start();
+        assertTrue(coordinator.getActiveQueueListenerIds().isEmpty());
+    }
+
+    @Test
+    void testBrokerRedeliveryRejectedWithOrderingOrBatchMode() {
+        redeliveryConfig.setMode(RedeliveryConfig.Mode.BROKER);
+        new ListenerModeCoordinator(registry, listenerConfig, orderingConfig, redeliveryConfig, environment);
+
+        listenerConfig.setMode(ListenerConfig.Mode.DISPATCHER);
+        orderingConfig.setEnabled(true);
+        assertThrows(IllegalStateException.class,
+                () -> new ListenerModeCoordinator(registry, listenerConfig, orderingConfig, redeliveryConfig, environment));
+
+        listenerConfig.setMode(ListenerConfig.Mode.BATCH);
+        orderingConfig.setEnabled(false);
+        assertThrows(IllegalStateException.class,
+                () -> new ListenerModeCoordinator(registry, listenerConfig, orderingConfig, redeliveryConfig, environment));
+    }
+
+    @Test
+    void testConsumerLimitIsSharedBetweenContainers() {
+        ListenerModeCoordinator coordinator = new ListenerModeCoordinator(registry, listenerConfig, orderingConfig,
+                redeliveryConfig, environment);
+        DefaultMessageListenerContainer create = listenerContainer(1, 200);
+        DefaultMessageListenerContainer delete = listenerContainer(150, 200);
+        DefaultMessageListenerContainer dlq = listenerContainer(1, 4);
+        Map<String, MessageListenerContainer> containers = new LinkedHashMap<>();
+        containers.put(JmsConstants.CREATE_LISTENER_ID, create);
+        containers.put(JmsConstants.DELETE_LISTENER_ID, delete);
+        containers.put(DLQ_LISTENER_ID, dlq);
+
+        coordinator.limitConsumers(containers, 250);
+
+        assertEquals(4, dlq.getMaxConcurrentConsumers());
+        assertEquals(123, create.getMaxConcurrentConsumers());
+        assertEquals(123, delete.getMaxConcurrentConsumers());
+        assertEquals(123, delete.getConcurrentConsumers());
+        assertEquals(246, coordinator.getQueueConsumerLimit());
+
+        assertThrows(IllegalStateException.class, () -> coordinator.limitConsumers(containers, 2));
+    }
+
+    private static DefaultMessageListenerContainer listenerContainer(int concurrentConsumers, int maxConcurrentConsumers) {
+        DefaultMessageListenerContainer container = new DefaultMessageListenerContainer();
+        container.setConcurrentConsumers(concurrentConsumers);
+        container.setMaxConcurrentConsumers(maxConcurrentConsumers);
+        return container;
+    }
+}
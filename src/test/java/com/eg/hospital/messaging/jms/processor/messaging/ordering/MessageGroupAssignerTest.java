@@ -0,0 +1,51 @@
+package com.eg.hospital.messaging.jms.processor.messaging.ordering;
+
+import com.eg.hospital.messaging.jms.processor.config.OrderingConfig;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import jakarta.jms.Message;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class MessageGroupAssignerTest {
+
+    private final OrderingConfig orderingConfig = new OrderingConfig();
+    private final MessageGroupAssigner assigner = new MessageGroupAssigner(orderingConfig);
+
+    @Test
+    void testNoGroupWhenOrderingDisabled() throws Exception {
+        Message message = mock(Message.class);
+
+        assigner.assign(message, dto("G1", "P1"));
+
+        verify(message, never()).setStringProperty(anyString(), anyString());
+    }
+
+    @Test
+    void testGroupFromGroupId() throws Exception {
+        orderingConfig.setEnabled(true);
+        Message message = mock(Message.class);
+
+        assigner.assign(message, dto("G1", "P1"));
+
+        verify(message).setStringProperty("JMSXGroupID", "G1");
+    }
+
+    @Test
+    void testGroupFromParentGroupIdFallsBackToGroupId() {
+        orderingConfig.setEnabled(true);
+        orderingConfig.setKey(OrderingConfig.Key.PARENT_GROUP_ID);
+
+        assertEquals("P1", assigner.groupKey(dto("G1", "P1")));
+        assertEquals("G2", assigner.groupKey(dto("G2", " ")));
+        orderingConfig.setEnabled(false);
+        assertNull(assigner.groupKey(dto("G1", "P1")));
+    }
+
+    private static GroupMessageDTO dto(String groupId, String parentGroupId) {
+        return GroupMessageDTO.builder().groupId(groupId).parentGroupId(parentGroupId).operation("CREATE").build();
+    }
+}
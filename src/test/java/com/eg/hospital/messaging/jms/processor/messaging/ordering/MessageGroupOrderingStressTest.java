@@ -0,0 +1,179 @@
+package com.eg.hospital.messaging.jms.processor.messaging.ordering;
+
+import com.eg.hospital.messaging.jms.processor.config.BatchConfig;
+import com.eg.hospital.messaging.jms.processor.config.JmsConfig;
+import com.eg.hospital.messaging.jms.processor.config.ListenerConfig;
+import com.eg.hospital.messaging.jms.processor.config.OrderingConfig;
+import com.eg.hospital.messaging.jms.processor.config.QueueConfig;
+import com.eg.hospital.messaging.jms.processor.dto.BatchItemResultDTO;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageListener;
+import com.eg.hospital.messaging.jms.processor.messaging.JmsMessageProducer;
+import com.eg.hospital.messaging.jms.processor.messaging.dispatch.GroupMessageDispatcher;
+import com.eg.hospital.messaging.jms.processor.messaging.dispatch.GroupMessageHandlerRegistry;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import jakarta.jms.JMSException;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.config.SimpleJmsListenerEndpoint;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageGroupOrderingStressTest {
+
+    private static final String QUEUE = "hospital.management.ordering.stress";
+    private static final int GROUPS = 200;
+    private static final int MESSAGES_PER_GROUP = 50;
+    private static final int CONSUMERS = 16;
+
+    private final Map<String, Long> lastSequence = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inProgress = new ConcurrentHashMap<>();
+    private final List<String> violations = new CopyOnWriteArrayList<>();
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch processed = new CountDownLatch(GROUPS * MESSAGES_PER_GROUP);
+
+    private BrokerService broker;
+    private DefaultMessageListenerContainer container;
+
+    @BeforeEach
+    void startBroker() throws Exception {
+        broker = new BrokerService();
+        broker.setBrokerName("ordering-stress");
+        broker.setPersistent(false);
+        broker.setUseJmx(false);
+        broker.start();
+        broker.waitUntilStarted();
+    }
+
+    @AfterEach
+    void stopBroker() throws Exception {
+        if (container != null) {
+            container.shutdown();
+        }
+        broker.stop();
+        broker.waitUntilStopped();
+    }
+
+    @Test
+    void testPerGroupOrderingUnderConcurrentConsumers() throws Exception {
+        ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory("vm://ordering-stress?create=false");
+        JmsConfig jmsConfig = new JmsConfig();
+        MessageConverter converter = jmsConfig.jacksonJmsMessageConverter();
+        startConsumers(jmsConfig, connectionFactory, converter);
+
+        OrderingConfig orderingConfig = new OrderingConfig();
+        orderingConfig.setEnabled(true);
+        QueueConfig queueConfig = new QueueConfig();
+        queueConfig.setHospitalManagement(QUEUE);
+        JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
+        jmsTemplate.setMessageConverter(converter);
+        JmsMessageProducer producer = new JmsMessageProducer(jmsTemplate, queueConfig, new BatchConfig(),
+                null, new MessageGroupAssigner(orderingConfig));
+
+        List<GroupMessageDTO> messages = new ArrayList<>(GROUPS * MESSAGES_PER_GROUP);
+        for (int sequence = 0; sequence < MESSAGES_PER_GROUP; sequence++) {
+            for (int group = 0; group < GROUPS; group++) {
+                messages.add(GroupMessageDTO.builder()
+                        .groupId("G" + group)
+                        .parentGroupId("P" + (group % 10))
+                        .operation(sequence % 2 == 0 ? JmsConstants.CREATE_OPERATION : JmsConstants.DELETE_OPERATION)
+                        .timestamp(DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(sequence)))
+                        .build());
+            }
+        }
+        List<BatchItemResultDTO> results = producer.sendMessages(messages);
+        assertTrue(results.stream().allMatch(result -> JmsConstants.ITEM_SENT.equals(result.getStatus())));
+
+        assertTrue(processed.await(60, TimeUnit.SECONDS), "Messages left: " + processed.getCount());
+        assertEquals(List.of(), violations);
+        assertEquals(GROUPS, lastSequence.size());
+        assertTrue(lastSequence.values().stream().allMatch(last -> last == MESSAGES_PER_GROUP - 1));
+        assertTrue(threads.size() > 1, "Groups were not processed in parallel: " + threads);
+    }
+
+    private void startConsumers(JmsConfig jmsConfig, ActiveMQConnectionFactory connectionFactory,
+                                MessageConverter converter) throws Exception {
+        ListenerConfig listenerConfig = new ListenerConfig();
+        listenerConfig.setConcurrency(CONSUMERS + "-" + CONSUMERS);
+        GroupMessageDispatcher dispatcher = new GroupMessageDispatcher(new GroupMessageHandlerRegistry(List.of(
+                new RecordingListener(JmsConstants.CREATE_OPERATION), new RecordingListener(JmsConstants.DELETE_OPERATION))));
+
+        SimpleJmsListenerEndpoint endpoint = new SimpleJmsListenerEndpoint();
+        endpoint.setId(JmsConstants.DISPATCH_LISTENER_ID);
+        endpoint.setDestination(QUEUE);
+        endpoint.setMessageListener(message -> {
+            try {
+                dispatcher.dispatch((GroupMessageDTO) converter.fromMessage(message), message.getStringProperty(JmsConstants.OPERATION));
+            } catch (JMSException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        container = jmsConfig.jmsListenerContainerFactory(connectionFactory, converter, listenerConfig, new MockEnvironment())
+                .createListenerContainer(endpoint);
+        container.afterPropertiesSet();
+        container.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (broker.getDestination(new ActiveMQQueue(QUEUE)).getConsumers().size() < CONSUMERS
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private final class RecordingListener implements GroupMessageListener {
+
+        private final String operation;
+
+        private RecordingListener(String operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public void processMessage(GroupMessageDTO message) {
+            String groupId = message.getGroupId();
+            long sequence = Instant.parse(message.getTimestamp()).toEpochMilli();
+            AtomicInteger active = inProgress.computeIfAbsent(groupId, id -> new AtomicInteger());
+            if (active.incrementAndGet() > 1) {
+                violations.add(groupId + " processed concurrently at sequence " + sequence);
+            }
+            threads.add(Thread.currentThread().getName());
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(100_000));
+
+            Long previous = lastSequence.put(groupId, sequence);
+            long expected = previous == null ? 0 : previous + 1;
+            if (sequence != expected) {
+                violations.add(groupId + " expected sequence " + expected + " but got " + sequence);
+            }
+            active.decrementAndGet();
+            processed.countDown();
+        }
+
+        @Override
+        public String getOperation() {
+            return operation;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.eg.hospital.messaging.jms.processor.messaging.pool;
+
+import com.eg.hospital.messaging.jms.processor.config.JmsPoolConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.Connection;
+import jakarta.jms.Session;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class InstrumentedConnectionPoolTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private InstrumentedConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        ActiveMQConnectionFactory targetConnectionFactory =
+                new ActiveMQConnectionFactory("vm://pool-test?broker.persistent=false&broker.useJmx=false");
+        meterRegistry = new SimpleMeterRegistry();
+        pool = new InstrumentedConnectionPool(targetConnectionFactory, new JmsPoolConfig(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.destroy();
+    }
+
+    @Test
+    void testReusesPhysicalConnectionAndSession() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            try (Connection connection = pool.getConnectionFactory().createConnection();
+                 Session ignored = connection.createSession(false, Session.AUTO_ACKNOWLEDGE)) {
+                // borrowed and returned to the pool
+            }
+        }
+
+        assertEquals(3.0, count("jms.pool.requests", InstrumentedConnectionPool.CONNECTION));
+        assertEquals(1.0, count("jms.pool.misses", InstrumentedConnectionPool.CONNECTION));
+        assertEquals(2.0, count("jms.pool.hits", InstrumentedConnectionPool.CONNECTION));
+        assertEquals(1.0, count("jms.pool.misses", InstrumentedConnectionPool.SESSION));
+        assertEquals(2.0, count("jms.pool.hits", InstrumentedConnectionPool.SESSION));
+        assertEquals(3L, meterRegistry.get("jms.pool.wait").tag("resource", InstrumentedConnectionPool.SESSION).timer().count());
+    }
+
+    @Test
+    void testConcurrentSessionsAreMisses() throws Exception {
+        try (Connection connection = pool.getConnectionFactory().createConnection();
+             Session first = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+             Session second = connection.createSession(false, Session.AUTO_ACKNOWLEDGE)) {
+            assertNotSame(first, second);
+        }
+
+        assertEquals(2.0, count("jms.pool.misses", InstrumentedConnectionPool.SESSION));
+        assertEquals(0.0, count("jms.pool.hits", InstrumentedConnectionPool.SESSION));
+    }
+
+    private double count(String name, String resource) {
+        return meterRegistry.get(name).tag("resource", resource).functionCounter().count();
+    }
+}
@@ -0,0 +1,117 @@
+package com.eg.hospital.messaging.jms.processor.messaging.scaling;
+
+import com.eg.hospital.messaging.jms.processor.broker.BrokerStatistics;
+import com.eg.hospital.messaging.jms.processor.config.ListenerConfig;
+import com.eg.hospital.messaging.jms.processor.config.QueueConfig;
+import com.eg.hospital.messaging.jms.processor.messaging.dispatch.ListenerModeCoordinator;
+import com.eg.hospital.messaging.jms.processor.util.JmsConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class ListenerConcurrencyScalerTest {
+
+    private static final String QUEUE = "hospital.management.queue";
+
+    private final BrokerStatistics brokerStatistics = mock(BrokerStatistics.class);
+    private final ProcessingTimeTracker processingTimeTracker = new ProcessingTimeTracker();
+    private final DefaultMessageListenerContainer createContainer = container(QUEUE);
+    private final DefaultMessageListenerContainer deleteContainer = container(QUEUE);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ListenerModeCoordinator coordinator = mock(ListenerModeCoordinator.class);
+
+    private ListenerConcurrencyScaler scaler;
+
+    @BeforeEach
+    void setUp() {
+        JmsListenerEndpointRegistry registry = mock(JmsListenerEndpointRegistry.class);
+        when(registry.getListenerContainer(JmsConstants.CREATE_LISTENER_ID)).thenReturn(createContainer);
+        when(registry.getListenerContainer(JmsConstants.DELETE_LISTENER_ID)).thenReturn(deleteContainer);
+        when(coordinator.getActiveQueueListenerIds()).thenReturn(List.of(JmsConstants.CREATE_LISTENER_ID, JmsConstants.DELETE_LISTENER_ID));
+        when(coordinator.getQueueConsumerLimit()).thenReturn(Integer.MAX_VALUE);
+
+        QueueConfig queueConfig = new QueueConfig();
+        queueConfig.setHospitalManagement(QUEUE);
+
+        ListenerConfig listenerConfig = new ListenerConfig();
+        listenerConfig.getAdaptive().setMinConsumers(2);
+        listenerConfig.getAdaptive().setMaxConsumers(20);
+        listenerConfig.getAdaptive().setTargetDrainTime(Duration.ofSeconds(1));
+        listenerConfig.getAdaptive().setScaleUpSamples(2);
+        listenerConfig.getAdaptive().setScaleDownSamples(3);
+        listenerConfig.getAdaptive().setCooldown(Duration.ZERO);
+
+        scaler = new ListenerConcurrencyScaler(registry, coordinator, brokerStatistics, processingTimeTracker, queueConfig, listenerConfig, meterRegistry);
+    }
+
+    @Test
+    void testScalesUpAfterConsecutiveSamples() {
+        processingTimeTracker.record(5_000_000);
+        when(brokerStatistics.queueDepth(QUEUE)).thenReturn(4000L);
+
+        scaler.sample();
+        assertEquals(1, createContainer.getConcurrentConsumers());
+
+        scaler.sample();
+        assertEquals(10, createContainer.getConcurrentConsumers());
+        assertEquals(10, deleteContainer.getMaxConcurrentConsumers());
+        assertEquals(20, scaler.getCurrentConsumers());
+        assertEquals(1.0, meterRegistry.get("jms.listener.scaling.decisions").tag("direction", "up").counter().count());
+        assertEquals(1, scaler.getDecisions().size());
+    }
+
+    @Test
+    void testScalesDownOnlyAfterHysteresis() {
+        createContainer.setMaxConcurrentConsumers(8);
+        createContainer.setConcurrentConsumers(8);
+        deleteContainer.setMaxConcurrentConsumers(8);
+        deleteContainer.setConcurrentConsumers(8);
+        processingTimeTracker.record(1_000_000);
+        when(brokerStatistics.queueDepth(QUEUE)).thenReturn(0L);
+
+        scaler.sample();
+        scaler.sample();
+        assertEquals(8, createContainer.getConcurrentConsumers());
+
+        scaler.sample();
+        assertEquals(1, createContainer.getConcurrentConsumers());
+        assertEquals(1, deleteContainer.getConcurrentConsumers());
+        assertEquals(1.0, meterRegistry.get("jms.listener.scaling.decisions").tag("direction", "down").counter().count());
+    }
+
+    @Test
+    void testDesiredConsumersAreClamped() {
+        assertEquals(2, scaler.desiredConsumers(0, 1.0, 2));
+        assertEquals(20, scaler.desiredConsumers(1_000_000, 50.0, 2));
+        assertTrue(scaler.desiredConsumers(3000, 1.0, 2) % 2 == 0);
+
+        when(coordinator.getQueueConsumerLimit()).thenReturn(15);
+        assertEquals(14, scaler.desiredConsumers(1_000_000, 50.0, 2));
+    }
+
+    @Test
+    void testSkipsSampleWhenBrokerUnavailable() {
+        when(brokerStatistics.queueDepth(QUEUE)).thenReturn(-1L);
+
+        scaler.sample();
+        scaler.sample();
+
+        assertEquals(-1, scaler.getLastQueueDepth());
+        assertEquals(1, createContainer.getConcurrentConsumers());
+    }
+
+    private static DefaultMessageListenerContainer container(String destination) {
+        DefaultMessageListenerContainer container = new DefaultMessageListenerContainer();
+        container.setDestinationName(destination);
+        return container;
+    }
+}
@@ -0,0 +1,51 @@
+package com.eg.hospital.messaging.jms.processor.metrics;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessagingMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MessagingMetrics metrics = new MessagingMetrics(meterRegistry);
+
+    @Test
+    void testRecordsSendAndProcessTimesByOperationAndResult() {
+        metrics.recordSend("CREATE", 2_000_000, true);
+        metrics.recordSend("DELETE", 3_000_000, false);
+        metrics.recordProcess("DELETE", 1_000_000, true);
+        metrics.recordProcess("RENAME", 1_000_000, false);
+
+        Timer createSent = meterRegistry.get("jms.producer.send").tags("operation", "CREATE", "result", "success").timer();
+        assertEquals(1, createSent.count());
+        assertEquals(2, createSent.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, meterRegistry.get("jms.producer.send").tags("operation", "DELETE", "result", "failure").timer().count());
+        assertEquals(1, meterRegistry.get("jms.listener.process").tags("operation", "DELETE", "result", "success").timer().count());
+        assertEquals(1, meterRegistry.get("jms.listener.process").tags("operation", "UNKNOWN", "result", "failure").timer().count());
+    }
+
+    @Test
+    void testRecordsDwellTimeFromTheMessageTimestamp() {
+        metrics.recordDwell(message(DateTimeFormatter.ISO_INSTANT.format(Instant.now().minusMillis(50))));
+        metrics.recordDwell(message(DateTimeFormatter.ISO_INSTANT.format(Instant.now().plusSeconds(60))));
+        metrics.recordDwell(message("not a timestamp"));
+        metrics.recordDwell(message(null));
+
+        Timer dwell = meterRegistry.get("jms.message.dwell").tag("operation", "CREATE").timer();
+        assertEquals(2, dwell.count());
+        assertTrue(dwell.max(TimeUnit.MILLISECONDS) >= 50);
+        assertTrue(dwell.totalTime(TimeUnit.MILLISECONDS) < 60_000, "timestamps ahead of the clock count as zero");
+    }
+
+    private static GroupMessageDTO message(String timestamp) {
+        return GroupMessageDTO.builder().groupId("G1").parentGroupId("P1").operation("CREATE").timestamp(timestamp).build();
+    }
+}
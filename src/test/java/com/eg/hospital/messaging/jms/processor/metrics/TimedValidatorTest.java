@@ -0,0 +1,51 @@
+package com.eg.hospital.messaging.jms.processor.metrics;
+
+import com.eg.hospital.messaging.jms.processor.dto.RequestDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimedValidatorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LocalValidatorFactoryBean delegate = new LocalValidatorFactoryBean();
+    private final TimedValidator validator;
+
+    TimedValidatorTest() {
+        delegate.afterPropertiesSet();
+        validator = new TimedValidator(delegate, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        delegate.close();
+    }
+
+    @Test
+    void testTimesValidAndInvalidRequestsSeparately() {
+        Errors valid = validate("group-1", "parent-1");
+        Errors invalid = validate("g", "parent-1");
+        validate("group-2", "parent-2");
+
+        assertFalse(valid.hasErrors());
+        assertTrue(invalid.hasFieldErrors("groupId"));
+        assertEquals(2, meterRegistry.get("http.request.validation").tag("result", "valid").timer().count());
+        assertEquals(1, meterRegistry.get("http.request.validation").tag("result", "invalid").timer().count());
+    }
+
+    private Errors validate(String groupId, String parentGroupId) {
+        RequestDTO request = new RequestDTO();
+        request.setGroupId(groupId);
+        request.setParentGroupId(parentGroupId);
+        Errors errors = new BeanPropertyBindingResult(request, "requestDTO");
+        validator.validate(request, errors);
+        return errors;
+    }
+}
@@ -0,0 +1,99 @@
+package com.eg.hospital.messaging.jms.processor.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GcraRateLimiterTest {
+
+    private long now = 1_000_000_000L;
+
+    private final GcraRateLimiter rateLimiter = new GcraRateLimiter(10, 3, 3) {
+        @Override
+        protected long nanoTime() {
+            return now;
+        }
+    };
+
+    @Test
+    void testBurstThenSustainedRate() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("client-1"));
+        }
+        long wait = rateLimiter.tryAcquire("client-1");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+
+        now += wait;
+        assertEquals(0, rateLimiter.tryAcquire("client-1"));
+        assertTrue(rateLimiter.tryAcquire("client-1") > 0);
+    }
+
+    @Test
+    void testClientsHaveSeparateBuckets() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("client-1");
+        }
+
+        assertTrue(rateLimiter.tryAcquire("client-1") > 0);
+        assertEquals(0, rateLimiter.tryAcquire("client-2"));
+    }
+
+    @Test
+    void testClientsBeyondLimitShareOneBucket() {
+        for (int i = 1; i <= 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("client-" + i));
+        }
+        assertEquals(3, rateLimiter.clients());
+        assertEquals(0, rateLimiter.tryAcquire("client-6"));
+        assertTrue(rateLimiter.tryAcquire("client-7") > 0);
+        assertEquals(0, rateLimiter.tryAcquire("client-1"));
+    }
+
+    @Test
+    void testEvictIdleDropsOnlyFullBuckets() {
+        rateLimiter.tryAcquire("idle");
+        now += TimeUnit.SECONDS.toNanos(1);
+        rateLimiter.tryAcquire("active");
+
+        assertEquals(1, rateLimiter.evictIdle());
+        assertEquals(1, rateLimiter.clients());
+        assertEquals(0, rateLimiter.tryAcquire("idle"));
+    }
+
+    @Test
+    void testConcurrentRequestsNeverExceedBurst() throws InterruptedException {
+        GcraRateLimiter slow = new GcraRateLimiter(0.001, 50, 100);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    if (slow.tryAcquire("shared") == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(50, allowed.get());
+    }
+
+    @Test
+    void testRejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new GcraRateLimiter(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new GcraRateLimiter(1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new GcraRateLimiter(1, 1, 0));
+    }
+}
@@ -0,0 +1,73 @@
+package com.eg.hospital.messaging.jms.processor.ratelimit;
+
+import com.eg.hospital.messaging.jms.processor.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitInterceptor interceptor =
+            new RateLimitInterceptor("create", "X-API-Key", Set.of("tenant-a", "tenant-b"), Set.of("load-test"),
+                    new GcraRateLimiter(0.001, 2, 100), meterRegistry);
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void testLimitsEachApiKeySeparately() {
+        assertTrue(interceptor.preHandle(request("tenant-a"), response, new Object()));
+        assertTrue(interceptor.preHandle(request("tenant-a"), response, new Object()));
+
+        RateLimitExceededException rejection = assertThrows(RateLimitExceededException.class,
+                () -> interceptor.preHandle(request("tenant-a"), response, new Object()));
+        assertTrue(rejection.getRetryAfter().toSeconds() > 0);
+        assertTrue(interceptor.preHandle(request("tenant-b"), response, new Object()));
+
+        assertEquals(3, meterRegistry.get("http.rate.limit.decisions").tag("result", "allowed").counter().count());
+        assertEquals(1, meterRegistry.get("http.rate.limit.decisions").tag("result", "rejected").counter().count());
+        assertEquals(2, meterRegistry.get("http.rate.limit.clients").tag("route", "create").gauge().value());
+    }
+
+    @Test
+    void testFallsBackToRemoteAddress() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        interceptor.preHandle(request, response, new Object());
+        interceptor.preHandle(request, response, new Object());
+
+        assertThrows(RateLimitExceededException.class, () -> interceptor.preHandle(request, response, new Object()));
+        assertTrue(interceptor.preHandle(request("tenant-a"), response, new Object()));
+    }
+
+    @Test
+    void testUnknownApiKeysAreLimitedByRemoteAddress() {
+        interceptor.preHandle(request("made-up-1"), response, new Object());
+        interceptor.preHandle(request("made-up-2"), response, new Object());
+
+        assertThrows(RateLimitExceededException.class,
+                () -> interceptor.preHandle(request("made-up-3"), response, new Object()));
+        assertEquals(1, meterRegistry.get("http.rate.limit.clients").tag("route", "create").gauge().value());
+    }
+
+    @Test
+    void testExemptKeysAreNotLimited() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(interceptor.preHandle(request("load-test"), response, new Object()));
+        }
+
+        assertEquals(0, meterRegistry.get("http.rate.limit.clients").tag("route", "create").gauge().value());
+    }
+
+    private static MockHttpServletRequest request(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-API-Key", apiKey);
+        return request;
+    }
+}
@@ -10,6 +10,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -43,6 +45,7 @@ class CreateGroupServiceImplTest {
         assertEquals("P123", message.getParentGroupId());
         assertEquals("CREATE", message.getOperation());
         assertNotNull(message.getTimestamp());
+        assertNotNull(message.getOperationId());
     }
 
     @Test
@@ -58,4 +61,22 @@ class CreateGroupServiceImplTest {
         assertEquals("Group ID and Parent Group ID cannot be the same.", exception.getMessage());
         verify(groupMessageProducer, never()).sendMessage(any());
     }
+
+    @Test
+    void sendCreateGroupMessageAsync_returnsProducerFuture() {
+        RequestDTO requestDTO = new RequestDTO();
+        requestDTO.setGroupId("H123");
+        requestDTO.setParentGroupId("P123");
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        when(groupMessageProducer.sendMessageAsync(any())).thenReturn(future);
+
+        assertSame(future, createGroupServiceImpl.sendCreateGroupMessageAsync(requestDTO));
+
+        ArgumentCaptor<GroupMessageDTO> captor =
+                ArgumentCaptor.forClass(GroupMessageDTO.class);
+        verify(groupMessageProducer, times(1)).sendMessageAsync(captor.capture());
+        assertEquals("CREATE", captor.getValue().getOperation());
+        verify(groupMessageProducer, never()).sendMessage(any());
+    }
 }
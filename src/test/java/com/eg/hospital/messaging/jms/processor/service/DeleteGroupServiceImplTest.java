@@ -43,6 +43,7 @@ class DeleteGroupServiceImplTest {
         assertEquals("P123", message.getParentGroupId());
         assertEquals("DELETE", message.getOperation());
         assertNotNull(message.getTimestamp());
+        assertNotNull(message.getOperationId());
     }
 
     @Test
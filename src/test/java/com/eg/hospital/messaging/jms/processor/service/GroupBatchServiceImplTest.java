@@ -0,0 +1,108 @@
+package com.eg.hospital.messaging.jms.processor.service;
+
+import com.eg.hospital.messaging.jms.processor.config.BatchConfig;
+import com.eg.hospital.messaging.jms.processor.dto.BatchItemResultDTO;
+import com.eg.hospital.messaging.jms.processor.dto.BatchOperationDTO;
+import com.eg.hospital.messaging.jms.processor.dto.BatchRequestDTO;
+import com.eg.hospital.messaging.jms.processor.dto.BatchResponseDTO;
+import com.eg.hospital.messaging.jms.processor.dto.GroupMessageDTO;
+import com.eg.hospital.messaging.jms.processor.messaging.GroupMessageProducer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GroupBatchServiceImplTest {
+
+    @Mock
+    private GroupMessageProducer groupMessageProducer;
+
+    @Mock
+    private BatchConfig batchConfig;
+
+    @InjectMocks
+    private GroupBatchServiceImpl groupBatchServiceImpl;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(batchConfig.getMaxOperations()).thenReturn(10);
+    }
+
+    @Test
+    void sendGroupMessages_rejectsSameIdsAndSendsTheRest() {
+        BatchRequestDTO request = batch(
+                operation("CREATE", "H123", "P123"),
+                operation("DELETE", "H456", "H456"),
+                operation("DELETE", "H789", "P789"));
+
+        when(groupMessageProducer.sendMessages(anyList())).thenReturn(List.of(
+                BatchItemResultDTO.builder().index(0).groupId("H123").operation("CREATE").status("SENT").build(),
+                BatchItemResultDTO.builder().index(1).groupId("H789").operation("DELETE").status("SENT").build()));
+
+        BatchResponseDTO response = groupBatchServiceImpl.sendGroupMessages(request);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<GroupMessageDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(groupMessageProducer, times(1)).sendMessages(captor.capture());
+        List<GroupMessageDTO> messages = captor.getValue();
+        assertEquals(2, messages.size());
+        assertEquals("CREATE", messages.get(0).getOperation());
+        assertEquals("H789", messages.get(1).getGroupId());
+        assertNotNull(messages.get(1).getTimestamp());
+
+        assertEquals(207, response.getStatus());
+        assertEquals(3, response.getTotal());
+        assertEquals(2, response.getSent());
+        assertEquals(1, response.getFailed());
+        assertEquals("REJECTED", response.getResults().get(1).getStatus());
+        assertEquals(2, response.getResults().get(2).getIndex());
+        assertEquals("H789", response.getResults().get(2).getGroupId());
+    }
+
+    @Test
+    void sendGroupMessages_allSent_returnsOk() {
+        BatchRequestDTO request = batch(operation("CREATE", "H123", "P123"));
+
+        when(groupMessageProducer.sendMessages(anyList())).thenReturn(List.of(
+                BatchItemResultDTO.builder().index(0).groupId("H123").operation("CREATE").status("SENT").build()));
+
+        BatchResponseDTO response = groupBatchServiceImpl.sendGroupMessages(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("GROUP_BATCH_SUCCESS", response.getCode());
+    }
+
+    @Test
+    void sendGroupMessages_tooManyOperations_shouldThrowException() {
+        when(batchConfig.getMaxOperations()).thenReturn(1);
+        BatchRequestDTO request = batch(operation("CREATE", "H123", "P123"), operation("CREATE", "H124", "P123"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                groupBatchServiceImpl.sendGroupMessages(request));
+
+        assertEquals("Batch cannot contain more than 1 operations.", exception.getMessage());
+        verify(groupMessageProducer, never()).sendMessages(any());
+    }
+
+    private static BatchRequestDTO batch(BatchOperationDTO... operations) {
+        BatchRequestDTO request = new BatchRequestDTO();
+        request.setOperations(List.of(operations));
+        return request;
+    }
+
+    private static BatchOperationDTO operation(String operation, String groupId, String parentGroupId) {
+        BatchOperationDTO dto = new BatchOperationDTO();
+        dto.setOperation(operation);
+        dto.setGroupId(groupId);
+        dto.setParentGroupId(parentGroupId);
+        return dto;
+    }
+}
@@ -0,0 +1,50 @@
+package com.eg.hospital.messaging.jms.processor.service;
+
+import com.eg.hospital.messaging.jms.processor.dto.GroupNodeDTO;
+import com.eg.hospital.messaging.jms.processor.exception.GroupNotFoundException;
+import com.eg.hospital.messaging.jms.processor.hierarchy.InMemoryGroupHierarchyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupQueryServiceImplTest {
+
+    private GroupQueryServiceImpl groupQueryService;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryGroupHierarchyIndex index = new InMemoryGroupHierarchyIndex();
+        index.create("H123", "ROOT");
+        index.create("H1234", "H123");
+        groupQueryService = new GroupQueryServiceImpl(index);
+    }
+
+    @Test
+    void testGetGroup() {
+        GroupNodeDTO group = groupQueryService.getGroup("H1234");
+
+        assertEquals("H123", group.getParentGroupId());
+        assertTrue(group.isParentPresent());
+        assertEquals(0, group.getChildCount());
+        assertFalse(groupQueryService.getGroup("H123").isParentPresent());
+        assertThrows(GroupNotFoundException.class, () -> groupQueryService.getGroup("UNKNOWN"));
+    }
+
+    @Test
+    void testGetChildren() {
+        assertEquals(List.of("H1234"), groupQueryService.getChildren("H123", 10));
+        assertEquals(List.of("H123"), groupQueryService.getChildren("ROOT", 10));
+        assertEquals(List.of(), groupQueryService.getChildren("H1234", 10));
+        assertThrows(GroupNotFoundException.class, () -> groupQueryService.getChildren("UNKNOWN", 10));
+        assertThrows(IllegalArgumentException.class, () -> groupQueryService.getChildren("H123", 0));
+    }
+
+    @Test
+    void testGetAncestors() {
+        assertEquals(List.of("H123", "ROOT"), groupQueryService.getAncestors("H1234"));
+        assertThrows(GroupNotFoundException.class, () -> groupQueryService.getAncestors("ROOT"));
+    }
+}